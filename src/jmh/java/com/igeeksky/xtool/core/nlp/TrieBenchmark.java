@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import com.igeeksky.xtool.core.lang.Assert;
+import com.igeeksky.xtool.core.tuple.Tuple2;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trie 单线程基准测试
+ * <p>
+ * 参数：词典大小（size）、字符集及词长分布（charset）、实现（trie）；默认启用 GC 分析（-prof gc），
+ * 可同时比较耗时及每次操作的内存分配量（gc.alloc.rate.norm）。
+ * <pre>
+ *     mvn -P jmh test-compile exec:exec -Djmh.args="TrieBenchmark -p charset=CJK -prof gc"
+ * </pre>
+ * 多线程可通过 JMH 的 -t 参数指定线程数（每个线程独立的游标），读写混合见 {@link TrieReadWriteBenchmark}。
+ *
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class TrieBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int size;
+
+    @Param({"ASCII", "CJK"})
+    private String charset;
+
+    @Param({"LINKED", "SORTED_ARRAY", "RADIX"})
+    private String trie;
+
+    private Trie<String> dictionary;
+    private String[] keys;
+    private String[] misses;
+    private String[] words;
+    private String[] prefixes;
+    private String text;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        keys = TrieData.keys(charset, size, 7);
+        dictionary = TrieData.trie(trie, keys);
+        // 不在词典中的 key：同一分布下另一随机种子生成，再过滤掉词典中已有的 key（约保留 90% 以上）
+        String[] candidates = TrieData.keys(charset, Math.min(size, 100000), 11);
+        misses = Arrays.stream(candidates).filter(key -> !dictionary.contains(key)).toArray(String[]::new);
+        Assert.isTrue(misses.length >= candidates.length / 2, "too few misses: " + misses.length + "/" + candidates.length);
+        words = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            words[i] = keys[i] + keys[(i + 1) % keys.length];
+        }
+        prefixes = TrieData.prefixes(keys, "CJK".equals(charset) ? 1 : 2);
+        text = TrieData.text(keys, 2000, 13);
+    }
+
+    /**
+     * 每个线程独立的游标，依次循环访问 key
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int index;
+
+        int next(int length) {
+            int i = index;
+            index = (i + 1 == length) ? 0 : i + 1;
+            return i;
+        }
+    }
+
+    /**
+     * 覆盖已有 key 的值（路径上的节点均已存在，测试查找路径及写锁的开销）
+     */
+    @Benchmark
+    public String put(Cursor cursor) {
+        String key = keys[cursor.next(keys.length)];
+        return dictionary.put(key, key);
+    }
+
+    @Benchmark
+    public String getHit(Cursor cursor) {
+        return dictionary.get(keys[cursor.next(keys.length)]);
+    }
+
+    @Benchmark
+    public String getMiss(Cursor cursor) {
+        return dictionary.get(misses[cursor.next(misses.length)]);
+    }
+
+    @Benchmark
+    public Tuple2<String, String> prefixMatch(Cursor cursor) {
+        return dictionary.prefixMatch(words[cursor.next(words.length)]);
+    }
+
+    /**
+     * 以短前缀（ASCII 2 个字符，CJK 1 个字符）查找至多 10 个 key
+     */
+    @Benchmark
+    public List<Tuple2<String, String>> keysWithPrefix(Cursor cursor) {
+        return dictionary.keysWithPrefix(prefixes[cursor.next(prefixes.length)], 10, Integer.MAX_VALUE, true);
+    }
+
+    @Benchmark
+    public List<Found<String>> match() {
+        return dictionary.match(text);
+    }
+
+    @Benchmark
+    public List<Found<String>> matchAll() {
+        return dictionary.matchAll(text);
+    }
+
+    /**
+     * 流式匹配：不创建 key 字符串、Found 对象及结果集合
+     */
+    @Benchmark
+    public void matchStreaming(Blackhole blackhole) {
+        dictionary.match(text, 0, text.length(), true, true, (begin, end, value) -> {
+            blackhole.consume(value);
+            return true;
+        });
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * 基准测试数据：随机生成词典及待匹配文本
+ *
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+final class TrieData {
+
+    private TrieData() {
+    }
+
+    /**
+     * 生成随机 key（去重后按随机顺序排列）
+     * <p>
+     * ASCII：小写字母，长度 3 ~ 12，均匀分布；<br>
+     * CJK：常用汉字（约 3500 个，近似正态分布），长度 2 ~ 4，与中文词典的词长分布接近。
+     *
+     * @param charset ASCII 或 CJK
+     * @param size    key 数量
+     * @param seed    随机种子
+     * @return 随机 key
+     */
+    static String[] keys(String charset, int size, long seed) {
+        Random random = new Random(seed);
+        boolean cjk = "CJK".equals(charset);
+        TreeMap<String, Boolean> unique = new TreeMap<>();
+        while (unique.size() < size) {
+            char[] chars = new char[cjk ? 2 + random.nextInt(3) : 3 + random.nextInt(10)];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = cjk ? (char) (0x4E00 + (int) Math.abs(random.nextGaussian() * 1000) % 3500)
+                        : (char) ('a' + random.nextInt(26));
+            }
+            unique.put(new String(chars), Boolean.TRUE);
+        }
+        String[] keys = unique.keySet().toArray(new String[0]);
+        for (int i = keys.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            String tmp = keys[i];
+            keys[i] = keys[j];
+            keys[j] = tmp;
+        }
+        return keys;
+    }
+
+    /**
+     * 截取每个 key 的前 length 个字符作为前缀（key 的长度不足时取整个 key）
+     *
+     * @param keys   key
+     * @param length 前缀长度
+     * @return 前缀
+     */
+    static String[] prefixes(String[] keys, int length) {
+        return Arrays.stream(keys).map(key -> key.substring(0, Math.min(length, key.length()))).toArray(String[]::new);
+    }
+
+    /**
+     * 由 key 与随机字符交替拼接成文本
+     *
+     * @param keys   key
+     * @param length 文本的最小长度
+     * @param seed   随机种子
+     * @return 文本
+     */
+    static String text(String[] keys, int length, long seed) {
+        Random random = new Random(seed);
+        StringBuilder builder = new StringBuilder(length + 16);
+        while (builder.length() < length) {
+            builder.append(keys[random.nextInt(keys.length)]);
+            builder.append(keys[random.nextInt(keys.length)], 0, 1);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 创建词典
+     *
+     * @param type LINKED（默认节点）、SORTED_ARRAY（有序数组节点）、RADIX（基数树）
+     * @param keys key（值与 key 相同）
+     * @return 词典
+     */
+    static Trie<String> trie(String type, String[] keys) {
+        Trie<String> trie = switch (type) {
+            case "LINKED" -> new ConcurrentHashTrie<>();
+            case "SORTED_ARRAY" -> ConcurrentHashTrie.sortedArray();
+            case "RADIX" -> new RadixTrie<>();
+            default -> throw new IllegalArgumentException("unknown trie type: " + type);
+        };
+        for (String key : keys) {
+            trie.put(key, key);
+        }
+        return trie;
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trie 读写混合基准测试：同一词典上 3 个读线程（get）与 1 个写线程（remove + put）并发执行
+ * <p>
+ * 可通过 -tg 参数调整读写线程数，如：-tg 6,2。
+ * <pre>
+ *     mvn -P jmh test-compile exec:exec -Djmh.args="TrieReadWriteBenchmark -tg 6,2 -prof gc"
+ * </pre>
+ *
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Group)
+public class TrieReadWriteBenchmark {
+
+    @Param({"100000"})
+    private int size;
+
+    @Param({"ASCII", "CJK"})
+    private String charset;
+
+    @Param({"LINKED", "RADIX"})
+    private String trie;
+
+    private Trie<String> dictionary;
+    private String[] keys;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        keys = TrieData.keys(charset, size, 7);
+        dictionary = TrieData.trie(trie, keys);
+    }
+
+    /**
+     * 每个线程独立的游标，起始位置随机，避免各线程访问相同的 key
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int index = ThreadLocalRandom.current().nextInt(Integer.MAX_VALUE);
+
+        int next(int length) {
+            index = (index + 1) % length;
+            return index;
+        }
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public String get(Cursor cursor) {
+        return dictionary.get(keys[cursor.next(keys.length)]);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public String removeAndPut(Cursor cursor) {
+        String key = keys[cursor.next(keys.length)];
+        dictionary.remove(key);
+        return dictionary.put(key, key);
+    }
+
+}
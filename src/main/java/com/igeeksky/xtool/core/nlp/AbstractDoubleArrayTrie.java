@@ -0,0 +1,754 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import com.igeeksky.xtool.core.lang.Assert;
+import com.igeeksky.xtool.core.tuple.Tuple2;
+import com.igeeksky.xtool.core.tuple.Tuples;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>双数组 Trie 的只读操作</p>
+ * <pre>
+ *     子节点：t = base[s] + c + 1，当且仅当 check[t] == s 时，s 有字符为 c 的子节点 t
+ *     终止：  t = base[s]，当且仅当 check[t] == s 时，s 为某个 key 的末尾节点，值为 values[-base[t] - 1]
+ * </pre>
+ * 另用 labels 保存每个节点的子节点字符（升序），以支持按字典序遍历：
+ * labels[start] 为子节点数量 - 1，labels[start + 1] ~ labels[start + count] 为子节点字符，start 为 labelStart[s]（-1 表示无子节点）。
+ * <p>
+ * 子类仅需提供数组的存取方式（堆内数组或内存映射文件）。
+ *
+ * @param <V> 值类型
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+abstract class AbstractDoubleArrayTrie<V> implements Trie<V> {
+
+    /**
+     * 根节点位置（位置 0 不使用，check 为 0 表示该位置空闲）
+     */
+    static final int ROOT = 1;
+
+    private final int size;
+    private final int height;
+
+    AbstractDoubleArrayTrie(int size, int height) {
+        this.size = size;
+        this.height = height;
+    }
+
+    /**
+     * @return base 与 check 数组的长度
+     */
+    abstract int capacity();
+
+    abstract int base(int pos);
+
+    abstract int check(int pos);
+
+    abstract int labelStart(int pos);
+
+    abstract char label(int index);
+
+    /**
+     * @return labels 数组的长度
+     */
+    abstract int labelCount();
+
+    /**
+     * @param index 值序号（key 按字典序排列的序号）
+     * @return 值
+     */
+    abstract V valueAt(int index);
+
+    /**
+     * 查找子节点
+     *
+     * @param s 父节点
+     * @param c 字符
+     * @return 子节点位置（不存在则返回 -1）
+     */
+    private int child(int s, char c) {
+        int t = base(s) + c + 1;
+        if (t < capacity() && check(t) == s) {
+            return t;
+        }
+        return -1;
+    }
+
+    /**
+     * 获取节点的值
+     *
+     * @param s 节点
+     * @return 如果节点为某个 key 的末尾节点，返回该 key 对应的值；否则返回空
+     */
+    private V value(int s) {
+        int index = valueIndex(s);
+        return (index < 0) ? null : valueAt(index);
+    }
+
+    /**
+     * 获取节点的值序号
+     *
+     * @param s 节点
+     * @return 如果节点为某个 key 的末尾节点，返回值序号；否则返回 -1
+     */
+    private int valueIndex(int s) {
+        int t = base(s);
+        if (t > 0 && t < capacity() && check(t) == s) {
+            return -base(t) - 1;
+        }
+        return -1;
+    }
+
+    /**
+     * 精确匹配
+     *
+     * @param word 待匹配的字符串
+     * @return 匹配得到的节点（未匹配到则返回 -1）
+     */
+    private int exactlyMatch(String word) {
+        int s = ROOT;
+        for (int i = 0, len = word.length(); i < len; i++) {
+            s = child(s, word.charAt(i));
+            if (s < 0) {
+                return -1;
+            }
+        }
+        return s;
+    }
+
+    private Found<V> match(String word, int start, int end, boolean longestMatch) {
+        int s = ROOT;
+        Found<V> f = null;
+        for (int i = start; i < end; i++) {
+            s = child(s, word.charAt(i));
+            if (s < 0) {
+                return f;
+            }
+            V value = value(s);
+            if (value != null) {
+                f = new Found<>(start, i, word.substring(start, i + 1), value);
+                if (!longestMatch) {
+                    return f;
+                }
+            }
+        }
+        return f;
+    }
+
+    private void matchAll(String word, int start, int end, int maximum, List<Found<V>> founds) {
+        int s = ROOT;
+        for (int i = start; i < end; i++) {
+            s = child(s, word.charAt(i));
+            if (s < 0) {
+                return;
+            }
+            V value = value(s);
+            if (value != null) {
+                founds.add(new Found<>(start, i, word.substring(start, i + 1), value));
+                if (founds.size() >= maximum) {
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public V put(String key, V value) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " is read-only");
+    }
+
+    @Override
+    public void putAll(TreeMap<String, V> treeMap) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " is read-only");
+    }
+
+    @Override
+    public V get(String key) {
+        Assert.hasLength(key, "key must not be null or blank");
+        int s = exactlyMatch(key);
+        return (s < 0) ? null : value(s);
+    }
+
+    @Override
+    public Tuple2<String, V> prefixMatch(String word) {
+        return prefixMatch(word, true);
+    }
+
+    @Override
+    public Tuple2<String, V> prefixMatch(String word, boolean longestMatch) {
+        Assert.hasLength(word, "word must not be null or blank");
+        Found<V> found = match(word, 0, word.length(), longestMatch);
+        return (found == null) ? null : Tuples.of(found.key(), found.value());
+    }
+
+    @Override
+    public List<Tuple2<String, V>> prefixMatchAll(String word) {
+        return prefixMatchAll(word, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Tuple2<String, V>> prefixMatchAll(String word, int maximum) {
+        Assert.hasLength(word, "word must not be null or blank");
+        List<Found<V>> founds = new LinkedList<>();
+        matchAll(word, 0, word.length(), maximum, founds);
+        List<Tuple2<String, V>> result = new LinkedList<>();
+        founds.forEach(find -> result.add(Tuples.of(find.key(), find.value())));
+        return result;
+    }
+
+    @Override
+    public Tuple2<String, V> keyWithPrefix(String prefix) {
+        return keyWithPrefix(prefix, true);
+    }
+
+    @Override
+    public Tuple2<String, V> keyWithPrefix(String prefix, boolean longestMatch) {
+        Assert.hasLength(prefix, "prefix must not be null or empty");
+        int depth = height - prefix.length();
+        if (depth < 0) {
+            return null;
+        }
+        int s = exactlyMatch(prefix);
+        if (s < 0) {
+            return null;
+        }
+        NodeHelper.KeyValueCollector<V> function = new NodeHelper.KeyValueCollector<>(longestMatch);
+        V val = value(s);
+        if (val != null) {
+            if (!function.apply(prefix, val)) {
+                return Tuples.of(function.getKey(), function.getValue());
+            }
+        }
+        search(s, prefix.toCharArray(), depth, false, function);
+        String key = function.getKey();
+        return (key == null) ? null : Tuples.of(key, function.getValue());
+    }
+
+    @Override
+    public List<Tuple2<String, V>> keysWithPrefix(String prefix) {
+        return keysWithPrefix(prefix, Integer.MAX_VALUE, Integer.MAX_VALUE, true);
+    }
+
+    @Override
+    public List<Tuple2<String, V>> keysWithPrefix(String prefix, int maximum, int depth, boolean dfs) {
+        Assert.hasLength(prefix, "prefix must not be null or empty");
+        List<Tuple2<String, V>> values = new LinkedList<>();
+        if (maximum <= 0) {
+            return values;
+        }
+        depth = Math.min(height - prefix.length(), depth);
+        if (depth < 0) {
+            return values;
+        }
+        int s = exactlyMatch(prefix);
+        if (s < 0) {
+            return values;
+        }
+        NodeHelper.KeyValuesCollector<V> function = new NodeHelper.KeyValuesCollector<>(maximum, values);
+        V val = value(s);
+        if (val != null) {
+            if (!function.apply(prefix, val)) {
+                return values;
+            }
+        }
+        if (depth == 0) {
+            return values;
+        }
+        search(s, prefix.toCharArray(), depth, dfs, function);
+        return values;
+    }
+
+    @Override
+    public List<Tuple2<String, V>> fuzzyMatch(String word, int maxDistance) {
+        return fuzzyMatch(word, maxDistance, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Tuple2<String, V>> fuzzyMatch(String word, int maxDistance, int maximum) {
+        Assert.hasLength(word, "word must not be null or empty");
+        Assert.isTrue(maxDistance >= 0, "maxDistance must be greater than or equal to 0");
+        List<Tuple2<String, V>> values = new LinkedList<>();
+        int start = labelStart(ROOT);
+        if (maximum <= 0 || start < 0) {
+            return values;
+        }
+        LevenshteinRows rows = new LevenshteinRows(word, maxDistance, height);
+        int maxDepth = Math.min(rows.maxDepth(), height);
+        char[] chars = new char[maxDepth];
+        int[] states = new int[maxDepth];
+        int[] cursors = new int[maxDepth];
+        int[] ends = new int[maxDepth];
+
+        int top = 0;
+        states[0] = ROOT;
+        cursors[0] = start + 1;
+        ends[0] = start + 1 + label(start);
+        while (top >= 0) {
+            if (cursors[top] > ends[top]) {
+                top--;
+                continue;
+            }
+            char c = label(cursors[top]++);
+            int t = base(states[top]) + c + 1;
+            int level = top + 1;
+            chars[top] = c;
+            int min = rows.advance(level, c);
+            V value = value(t);
+            if (value != null && rows.distance(level) <= maxDistance) {
+                values.add(Tuples.of(String.valueOf(chars, 0, level), value));
+                if (values.size() >= maximum) {
+                    return values;
+                }
+            }
+            if (min > maxDistance || level == maxDepth) {
+                continue;
+            }
+            int ts = labelStart(t);
+            if (ts >= 0) {
+                top = level;
+                states[top] = t;
+                cursors[top] = ts + 1;
+                ends[top] = ts + 1 + label(ts);
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public List<Found<V>> match(String text) {
+        return match(text, true, true);
+    }
+
+    @Override
+    public List<Found<V>> match(String text, boolean longestMatch, boolean oneByOne) {
+        Assert.hasLength(text, "text must not be null or empty");
+        int length = text.length();
+        List<Found<V>> founds = new LinkedList<>();
+        for (int i = 0; i < length; i++) {
+            Found<V> found = match(text, i, length, longestMatch);
+            if (null != found) {
+                founds.add(found);
+                if (!oneByOne) {
+                    i = found.end();
+                }
+            }
+        }
+        return founds;
+    }
+
+    @Override
+    public List<Found<V>> matchAll(String text) {
+        return matchAll(text, true, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Found<V>> matchAll(String text, boolean oneByOne, int maximum) {
+        Assert.hasLength(text, "text must not be null or empty");
+        int length = text.length();
+        LinkedList<Found<V>> founds = new LinkedList<>();
+        Found<V> last = null;
+        for (int i = 0; i < length; i++) {
+            matchAll(text, i, length, maximum, founds);
+            int size = founds.size();
+            if (size >= maximum) {
+                return founds;
+            }
+            if (!oneByOne && size > 0) {
+                if (founds.getLast() != last) {
+                    last = founds.getLast();
+                    i = last.end();
+                }
+            }
+        }
+        return founds;
+    }
+
+    @Override
+    public void match(CharSequence text, int from, int to, boolean longestMatch, boolean oneByOne, MatchHandler<V> handler) {
+        Assert.notNull(text, "text must not be null");
+        Assert.notNull(handler, "handler must not be null");
+        Objects.checkFromToIndex(from, to, text.length());
+        for (int i = from; i < to; i++) {
+            int s = ROOT, last = -1, index = -1;
+            for (int j = i; j < to; j++) {
+                s = child(s, text.charAt(j));
+                if (s < 0) {
+                    break;
+                }
+                int vi = valueIndex(s);
+                if (vi >= 0) {
+                    last = j;
+                    index = vi;
+                    if (!longestMatch) {
+                        break;
+                    }
+                }
+            }
+            if (index >= 0) {
+                if (!handler.handle(i, last, valueAt(index))) {
+                    return;
+                }
+                if (!oneByOne) {
+                    i = last;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void matchAll(CharSequence text, int from, int to, boolean oneByOne, MatchHandler<V> handler) {
+        Assert.notNull(text, "text must not be null");
+        Assert.notNull(handler, "handler must not be null");
+        Objects.checkFromToIndex(from, to, text.length());
+        for (int i = from; i < to; i++) {
+            int s = ROOT, last = -1;
+            for (int j = i; j < to; j++) {
+                s = child(s, text.charAt(j));
+                if (s < 0) {
+                    break;
+                }
+                int vi = valueIndex(s);
+                if (vi >= 0) {
+                    if (!handler.handle(i, j, valueAt(vi))) {
+                        return;
+                    }
+                    last = j;
+                }
+            }
+            if (!oneByOne && last >= 0) {
+                i = last;
+            }
+        }
+    }
+
+    /**
+     * 遍历键（深度优先遍历 + 字典序）
+     *
+     * @param depth 遍历深度
+     * @return 遍历得到的键的集合
+     */
+    @Override
+    public List<String> keys(int depth) {
+        List<String> keys = new LinkedList<>();
+        traversal(depth, new NodeHelper.KeysCollector<>(Integer.MAX_VALUE, keys));
+        return keys;
+    }
+
+    /**
+     * 遍历值（深度优先遍历 + 字典序）
+     *
+     * @param depth 遍历深度
+     * @return 遍历得到的值的集合
+     */
+    @Override
+    public List<V> values(int depth) {
+        List<V> values = new LinkedList<>();
+        traversal(depth, new NodeHelper.ValuesCollector<>(Integer.MAX_VALUE, values));
+        return values;
+    }
+
+    /**
+     * 遍历键值对（深度优先遍历 + 字典序）
+     *
+     * @param depth    遍历深度
+     * @param function 每个键值对会作为参数调用此 function 的 apply 方法，如果 apply 方法返回 false，则停止遍历，否则继续遍历
+     */
+    @Override
+    public void traversal(int depth, BiFunction<String, V, Boolean> function) {
+        depth = Math.min(depth, height);
+        if (depth < 1) {
+            return;
+        }
+        traversal(ROOT, new char[0], depth, function);
+    }
+
+    /**
+     * 搜索给定节点的全部后缀节点
+     *
+     * @param s        起始节点
+     * @param prefix   前缀
+     * @param maxDepth 搜索的最大深度
+     * @param dfs      是否采用深度优先搜索
+     * @param function 用户自定义操作，其返回值为false时停止遍历
+     */
+    private void search(int s, char[] prefix, int maxDepth, boolean dfs, BiFunction<String, V, Boolean> function) {
+        if (dfs) {
+            traversal(s, prefix, maxDepth, function);
+        } else {
+            levelOrder(s, prefix, maxDepth, function);
+        }
+    }
+
+    /**
+     * 深度优先遍历给定节点的后缀节点（语义同 NodeHelper 的同名方法）
+     *
+     * @param s      起始节点
+     * @param prefix 前缀
+     * @param depth  搜索的最大深度
+     */
+    private void traversal(int s, char[] prefix, int depth, BiFunction<String, V, Boolean> function) {
+        int len = prefix.length;
+        char[] chars = Arrays.copyOf(prefix, len + depth);
+        int[] states = new int[depth];
+        int[] cursors = new int[depth];
+        int[] ends = new int[depth];
+
+        int start = labelStart(s);
+        if (start < 0) {
+            return;
+        }
+        int top = 0;
+        states[0] = s;
+        cursors[0] = start + 1;
+        ends[0] = start + 1 + label(start);
+        while (top >= 0) {
+            if (cursors[top] > ends[top]) {
+                top--;
+                continue;
+            }
+            char c = label(cursors[top]++);
+            int t = base(states[top]) + c + 1;
+            int level = top + 1;
+            chars[len + top] = c;
+            V value = value(t);
+            if (value != null) {
+                if (!function.apply(String.valueOf(chars, 0, len + level), value)) {
+                    return;
+                }
+            }
+            if (level == depth) {
+                continue;
+            }
+            int ts = labelStart(t);
+            if (ts >= 0) {
+                top = level;
+                states[top] = t;
+                cursors[top] = ts + 1;
+                ends[top] = ts + 1 + label(ts);
+            }
+        }
+    }
+
+    /**
+     * 广度优先（层序）遍历给定节点的后缀节点（语义同 NodeHelper 的同名方法）
+     *
+     * @param s        起始节点
+     * @param prefix   前缀
+     * @param maxDepth 搜索的最大深度
+     */
+    private void levelOrder(int s, char[] prefix, int maxDepth, BiFunction<String, V, Boolean> function) {
+        int width = prefix.length;
+        int[] frontier = {s};
+        char[] keys = Arrays.copyOf(prefix, Math.max(width, 1));
+        int[] next = new int[16];
+        char[] nextKeys = new char[0];
+        int count = 1;
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            // 按顺序展开当前层各节点的子节点（labels 已按字典序排列）
+            int nextWidth = width + 1, nextCount = 0;
+            for (int i = 0; i < count; i++) {
+                int ls = labelStart(frontier[i]);
+                if (ls < 0) {
+                    continue;
+                }
+                int n = label(ls) + 1;
+                if (nextCount + n > next.length) {
+                    next = Arrays.copyOf(next, Math.max(nextCount + n, next.length + (next.length >> 1)));
+                }
+                if ((nextCount + n) * nextWidth > nextKeys.length) {
+                    nextKeys = Arrays.copyOf(nextKeys, next.length * nextWidth);
+                }
+                int b = base(frontier[i]);
+                for (int j = 1; j <= n; j++) {
+                    char c = label(ls + j);
+                    int offset = nextCount * nextWidth;
+                    System.arraycopy(keys, i * width, nextKeys, offset, width);
+                    nextKeys[offset + width] = c;
+                    next[nextCount++] = b + c + 1;
+                }
+            }
+            if (nextCount == 0) {
+                return;
+            }
+            for (int i = 0; i < nextCount; i++) {
+                V value = value(next[i]);
+                if (value != null) {
+                    if (!function.apply(String.valueOf(nextKeys, i * nextWidth, nextWidth), value)) {
+                        return;
+                    }
+                }
+            }
+            int[] tmpStates = frontier;
+            frontier = next;
+            next = tmpStates;
+            char[] tmpKeys = keys;
+            keys = nextKeys;
+            nextKeys = tmpKeys;
+            width = nextWidth;
+            count = nextCount;
+        }
+    }
+
+    @Override
+    public Stream<Tuple2<String, V>> stream(int depth) {
+        depth = Math.min(depth, height);
+        int start = labelStart(ROOT);
+        if (depth < 1 || start < 0) {
+            return Stream.empty();
+        }
+        int count = label(start) + 1;
+        int[] firsts = new int[count];
+        char[] firstChars = new char[count];
+        for (int i = 0; i < count; i++) {
+            char c = label(start + 1 + i);
+            firstChars[i] = c;
+            firsts[i] = base(ROOT) + c + 1;
+        }
+        return StreamSupport.stream(new ArraySpliterator(firsts, firstChars, 0, count, new char[0], depth), false);
+    }
+
+    @Override
+    public Stream<Tuple2<String, V>> streamWithPrefix(String prefix, int depth) {
+        Assert.hasLength(prefix, "prefix must not be null or empty");
+        depth = Math.min(height - prefix.length(), depth);
+        if (depth < 0) {
+            return Stream.empty();
+        }
+        int s = exactlyMatch(prefix);
+        if (s < 0) {
+            return Stream.empty();
+        }
+        int last = prefix.length() - 1;
+        char[] base = prefix.substring(0, last).toCharArray();
+        ArraySpliterator spliterator = new ArraySpliterator(new int[]{s}, new char[]{prefix.charAt(last)}, 0, 1, base, depth + 1);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * 遍历若干棵子树的惰性迭代器（数组只读，无需加锁）
+     */
+    private final class ArraySpliterator extends TrieSpliterator<V> {
+
+        private final int[] firsts;
+        private final char[] firstChars;
+
+        private int[] states = new int[8];
+        private int[] cursors = new int[8];
+        private int[] ends = new int[8];
+        private int top = -1;
+
+        ArraySpliterator(int[] firsts, char[] firstChars, int lo, int hi, char[] base, int depth) {
+            super(lo, hi, base, depth);
+            this.firsts = firsts;
+            this.firstChars = firstChars;
+        }
+
+        @Override
+        protected void fill() {
+            while (!isFull() && (top >= 0 || lo < hi)) {
+                if (top < 0) {
+                    visit(firsts[lo], firstChars[lo], baseLength + 1);
+                    lo++;
+                    continue;
+                }
+                if (cursors[top] > ends[top]) {
+                    top--;
+                    continue;
+                }
+                char c = label(cursors[top]++);
+                visit(base(states[top]) + c + 1, c, baseLength + top + 2);
+            }
+        }
+
+        private void visit(int t, char c, int length) {
+            ensureChars(length);
+            chars[length - 1] = c;
+            V value = value(t);
+            if (value != null) {
+                add(String.valueOf(chars, 0, length), value);
+            }
+            if (length == maxLength) {
+                return;
+            }
+            int ts = labelStart(t);
+            if (ts >= 0) {
+                int level = top + 1;
+                if (level == states.length) {
+                    states = Arrays.copyOf(states, level << 1);
+                    cursors = Arrays.copyOf(cursors, level << 1);
+                    ends = Arrays.copyOf(ends, level << 1);
+                }
+                states[level] = t;
+                cursors[level] = ts + 1;
+                ends[level] = ts + 1 + label(ts);
+                top = level;
+            }
+        }
+
+        @Override
+        protected boolean inSubtree() {
+            return top >= 0;
+        }
+
+        @Override
+        protected TrieSpliterator<V> split(int lo, int mid) {
+            return new ArraySpliterator(firsts, firstChars, lo, mid, prefix(), depth());
+        }
+    }
+
+    @Override
+    public boolean contains(String key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public V remove(String key) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " is read-only");
+    }
+
+    @Override
+    public int height() {
+        return height;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size <= 0;
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " is read-only");
+    }
+
+}
@@ -0,0 +1,513 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import com.igeeksky.xtool.core.lang.Assert;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Aho-Corasick 自动机
+ * <p>
+ * 根据 {@link Trie} 的快照（或 {@link TreeMap}）编译生成，生成后不可修改。
+ * <p>
+ * {@link Trie#match} 和 {@link Trie#matchAll} 会在文本的每一个起始位置重新从根节点开始匹配，时间复杂度为 O(文本长度 × key 长度)；
+ * 自动机通过失败链接和输出链接，只需对文本做一次线性扫描，即可得到与 {@link Trie} 完全相同的匹配结果（包括最长匹配和逐字符匹配的语义）。
+ * <p>
+ * 所有状态均保存在基本类型数组中（按广度优先顺序编号），不创建节点对象。
+ * <p>
+ * 根据 Trie 编译时沿用其字符归一化器（{@link Trie#normalizer()}）：扫描文本时每个字符先经归一化再转移状态，
+ * 因此匹配结果与该 Trie 自身的匹配结果相同（key 为原文本中的字符）。
+ * <p>
+ * 注意：自动机是编译时的快照，之后对 Trie 的修改不会反映到自动机中，需重新编译。
+ *
+ * @param <V> 值类型
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+public class AhoCorasickMatcher<V> {
+
+    /**
+     * 根状态
+     */
+    private static final int ROOT = 0;
+
+    /**
+     * 最长的 key 的长度
+     */
+    private final int height;
+
+    /**
+     * 字符归一化器
+     */
+    private final CharNormalizer normalizer;
+
+    /**
+     * 键值对数量
+     */
+    private final int size;
+
+    /**
+     * 状态 s 的子状态的边存储于 [childBegin[s], childBegin[s + 1])，边 e 指向的状态为 e + 1
+     */
+    private final int[] childBegin;
+
+    /**
+     * 边的字符（同一状态的边按字符升序排列）
+     */
+    private final char[] labels;
+
+    /**
+     * 根状态的直接索引表（字符 → 子状态，0 表示无子状态）
+     */
+    private final int[] rootTable;
+
+    /**
+     * 失败链接
+     */
+    private final int[] fail;
+
+    /**
+     * 输出链接：沿失败链接找到的最近的终止状态（不含自身），0 表示无
+     */
+    private final int[] output;
+
+    /**
+     * 状态深度（即状态对应的前缀长度）
+     */
+    private final int[] depth;
+
+    /**
+     * 终止状态的值（非终止状态为空）
+     */
+    private final Object[] values;
+
+    /**
+     * 根据 Trie 的快照编译自动机
+     * <p>
+     * 通过 {@link Trie#traversal} 获取快照；对于 {@link ConcurrentHashTrie}，快照为弱一致性。
+     *
+     * @param trie 字典树（不能为空）
+     */
+    public AhoCorasickMatcher(Trie<V> trie) {
+        this(snapshot(trie), trie.normalizer());
+    }
+
+    /**
+     * 根据键值对编译自动机
+     *
+     * @param map 键值对（键：不为空且长度大于0；值：不能为空）
+     */
+    public AhoCorasickMatcher(TreeMap<String, V> map) {
+        this(snapshot(map), CharNormalizer.IDENTITY);
+    }
+
+    private AhoCorasickMatcher(Object[][] snapshot, CharNormalizer normalizer) {
+        Assert.notNull(normalizer, "normalizer must not be null");
+        this.normalizer = normalizer;
+        String[] keys = (String[]) snapshot[0];
+        Object[] vals = snapshot[1];
+        int count = keys.length;
+
+        // 预先计算状态数量：每个 key 贡献 (长度 - 与前一个 key 的公共前缀长度) 个新状态
+        int states = 1, maxLen = 0;
+        String prev = "";
+        for (String key : keys) {
+            int len = key.length();
+            states += len - commonPrefix(prev, key);
+            if (len > maxLen) {
+                maxLen = len;
+            }
+            prev = key;
+        }
+
+        this.size = count;
+        this.height = maxLen;
+        this.childBegin = new int[states + 1];
+        this.labels = new char[states - 1];
+        this.rootTable = new int[TrieConstants.TABLE_MAX_CAPACITY];
+        this.fail = new int[states];
+        this.output = new int[states];
+        this.depth = new int[states];
+        this.values = new Object[states];
+
+        build(keys, vals, states);
+    }
+
+    /**
+     * 广度优先构建状态转移表与失败链接
+     * <p>
+     * 由于 key 已排序，每个状态对应 keys 中的一段连续区间 [lo, hi)，该区间的 key 具有相同的前缀。
+     */
+    private void build(String[] keys, Object[] vals, int states) {
+        int[] lo = new int[states];
+        int[] hi = new int[states];
+        hi[ROOT] = keys.length;
+
+        int edges = 0;
+        for (int s = 0; s < states; s++) {
+            childBegin[s] = edges;
+            int d = depth[s], i = lo[s], end = hi[s];
+            // 与当前前缀长度相同的 key 必然排在区间首位
+            if (i < end && keys[i].length() == d) {
+                i++;
+            }
+            while (i < end) {
+                char c = keys[i].charAt(d);
+                int j = i + 1;
+                while (j < end && keys[j].charAt(d) == c) {
+                    j++;
+                }
+                int t = ++edges;
+                labels[t - 1] = c;
+                depth[t] = d + 1;
+                lo[t] = i;
+                hi[t] = j;
+                if (keys[i].length() == d + 1) {
+                    values[t] = vals[i];
+                }
+                if (s == ROOT) {
+                    rootTable[c] = t;
+                }
+                i = j;
+            }
+        }
+        childBegin[states] = edges;
+
+        // 失败链接与输出链接（状态已按广度优先编号，父状态的链接必然先于子状态计算）
+        for (int s = 0; s < states; s++) {
+            for (int e = childBegin[s], end = childBegin[s + 1]; e < end; e++) {
+                int t = e + 1;
+                if (s == ROOT) {
+                    fail[t] = ROOT;
+                } else {
+                    char c = labels[e];
+                    int f = fail[s];
+                    while (true) {
+                        int g = child(f, c);
+                        if (g > 0) {
+                            fail[t] = g;
+                            break;
+                        }
+                        if (f == ROOT) {
+                            fail[t] = ROOT;
+                            break;
+                        }
+                        f = fail[f];
+                    }
+                }
+                int f = fail[t];
+                output[t] = (values[f] != null) ? f : output[f];
+            }
+        }
+    }
+
+    private int child(int s, char c) {
+        if (s == ROOT) {
+            return rootTable[c];
+        }
+        int low = childBegin[s], high = childBegin[s + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char m = labels[mid];
+            if (m < c) {
+                low = mid + 1;
+            } else if (m > c) {
+                high = mid - 1;
+            } else {
+                return mid + 1;
+            }
+        }
+        return -1;
+    }
+
+    private int next(int s, char c) {
+        while (true) {
+            int g = child(s, c);
+            if (g > 0) {
+                return g;
+            }
+            if (s == ROOT) {
+                return ROOT;
+            }
+            s = fail[s];
+        }
+    }
+
+    /**
+     * 包含匹配，语义同 {@link Trie#match(String)}
+     *
+     * @param text 文本段（不为空且长度大于0）
+     * @return 返回该文本中包含的所有 keys 及对应 values、与及 key 的起止位置
+     */
+    public List<Found<V>> match(String text) {
+        return match(text, true, true);
+    }
+
+    /**
+     * 包含匹配，语义同 {@link Trie#match(String, boolean, boolean)}
+     *
+     * @param text         文本段（不为空且长度大于0）
+     * @param longestMatch 是否最长匹配（默认：true 最长匹配）
+     * @param oneByOne     是否逐字符匹配（是：当前下标 + 1开始查找；否：当前下标 + 找到词长度 + 1 开始查找）
+     * @return 返回该文本中包含的所有 keys 及对应 values、与及 key 的起止位置
+     */
+    public List<Found<V>> match(String text, boolean longestMatch, boolean oneByOne) {
+        Assert.hasLength(text, "text must not be null or empty");
+        List<Found<V>> founds = new LinkedList<>();
+        scan(text, new Window<>(this, text, false, longestMatch, oneByOne, Integer.MAX_VALUE, founds));
+        return founds;
+    }
+
+    /**
+     * 包含匹配，语义同 {@link Trie#matchAll(String)}
+     *
+     * @param text 文本段（不为空且长度大于0）
+     * @return 返回该文本中包含的所有 keys 及对应 values、与及 key 的起止位置
+     */
+    public List<Found<V>> matchAll(String text) {
+        return matchAll(text, true, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 包含匹配，语义同 {@link Trie#matchAll(String, boolean, int)}
+     *
+     * @param text     文本段（不为空且长度大于0）
+     * @param oneByOne 是否逐字符匹配（是：当前下标 + 1开始查找；否：当前下标 + 找到词长度 + 1 开始查找）
+     * @param maximum  最大返回结果数量
+     * @return 返回该文本中包含的所有 key 及对应 value、与及 key 的起止位置
+     */
+    public List<Found<V>> matchAll(String text, boolean oneByOne, int maximum) {
+        Assert.hasLength(text, "text must not be null or empty");
+        List<Found<V>> founds = new LinkedList<>();
+        scan(text, new Window<>(this, text, true, true, oneByOne, maximum, founds));
+        return founds;
+    }
+
+    /**
+     * 线性扫描文本
+     * <p>
+     * 自动机按结束位置输出匹配结果，而 Trie 的结果按起始位置排序；
+     * 因此使用长度为 height 的环形窗口暂存每个起始位置的结果，当某个起始位置不可能再有新的结果时，按起始位置顺序输出。
+     */
+    private void scan(String text, Window<V> window) {
+        if (height == 0) {
+            return;
+        }
+        int length = text.length();
+        int s = ROOT;
+        for (int j = 0; j < length; j++) {
+            s = next(s, normalizer.normalize(text.charAt(j)));
+            int t = (values[s] != null) ? s : output[s];
+            while (t != ROOT) {
+                window.add(j - depth[t] + 1, j, t);
+                t = output[t];
+            }
+            if (!window.flush(j - height + 1)) {
+                return;
+            }
+        }
+        window.flush(length - 1);
+    }
+
+    /**
+     * 最长的 key 的长度
+     *
+     * @return 最长的 key 的长度
+     */
+    public int height() {
+        return height;
+    }
+
+    /**
+     * 键值对数量
+     *
+     * @return 键值对数量
+     */
+    public int size() {
+        return size;
+    }
+
+    private static int commonPrefix(String a, String b) {
+        int len = Math.min(a.length(), b.length());
+        for (int i = 0; i < len; i++) {
+            if (a.charAt(i) != b.charAt(i)) {
+                return i;
+            }
+        }
+        return len;
+    }
+
+    private static <V> Object[][] snapshot(Trie<V> trie) {
+        Assert.notNull(trie, "trie must not be null");
+        List<String> keys = new ArrayList<>(Math.max(trie.size(), 16));
+        List<Object> vals = new ArrayList<>(Math.max(trie.size(), 16));
+        trie.traversal(Integer.MAX_VALUE, (key, value) -> {
+            keys.add(key);
+            vals.add(value);
+            return Boolean.TRUE;
+        });
+
+        String[] keyArray = keys.toArray(new String[0]);
+        Object[] valArray = vals.toArray();
+        for (int i = 1; i < keyArray.length; i++) {
+            if (keyArray[i - 1].compareTo(keyArray[i]) >= 0) {
+                // 遍历结果不是字典序（或有重复），重新排序去重
+                TreeMap<String, Object> sorted = new TreeMap<>();
+                for (int j = 0; j < keyArray.length; j++) {
+                    sorted.put(keyArray[j], valArray[j]);
+                }
+                return snapshot(sorted);
+            }
+        }
+        return new Object[][]{keyArray, valArray};
+    }
+
+    private static <V> Object[][] snapshot(TreeMap<String, V> map) {
+        Assert.notNull(map, "map must not be null");
+        if (map.comparator() != null) {
+            // 自定义比较器的顺序未必是字典序，按自然顺序重新排序
+            TreeMap<String, V> sorted = new TreeMap<>();
+            map.forEach(sorted::put);
+            map = sorted;
+        }
+        String[] keyArray = new String[map.size()];
+        Object[] valArray = new Object[map.size()];
+        int i = 0;
+        for (Map.Entry<String, V> entry : map.entrySet()) {
+            String key = entry.getKey();
+            V value = entry.getValue();
+            Assert.hasLength(key, "key must not be null or blank");
+            Assert.notNull(value, "value must not be null");
+            keyArray[i] = key;
+            valArray[i++] = value;
+        }
+        return new Object[][]{keyArray, valArray};
+    }
+
+    /**
+     * 环形窗口：暂存尚未输出的起始位置的匹配结果
+     *
+     * @param <V> 值类型
+     */
+    @SuppressWarnings("unchecked")
+    private static class Window<V> {
+
+        private final AhoCorasickMatcher<V> matcher;
+        private final String text;
+        private final boolean all;
+        private final boolean longestMatch;
+        private final boolean oneByOne;
+        private final int maximum;
+        private final List<Found<V>> founds;
+
+        private final int[] counts;
+        private final int[][] ends;
+        private final int[][] states;
+
+        /**
+         * 下一个待输出的起始位置
+         */
+        private int next;
+
+        /**
+         * 非逐字符匹配时，小于此位置的起始位置均需跳过
+         */
+        private int skipUntil;
+
+        private Window(AhoCorasickMatcher<V> matcher, String text, boolean all, boolean longestMatch,
+                       boolean oneByOne, int maximum, List<Found<V>> founds) {
+            this.matcher = matcher;
+            this.text = text;
+            this.all = all;
+            this.longestMatch = longestMatch;
+            this.oneByOne = oneByOne;
+            this.maximum = maximum;
+            this.founds = founds;
+            int h = matcher.height;
+            this.counts = new int[h];
+            this.ends = new int[h][];
+            this.states = new int[h][];
+        }
+
+        private void add(int begin, int end, int state) {
+            int slot = begin % counts.length;
+            int count = counts[slot];
+            if (!all && count > 0) {
+                // match：同一起始位置仅保留一个结果（结束位置依次递增，最长匹配保留最后一个，最短匹配保留第一个）
+                if (longestMatch) {
+                    ends[slot][0] = end;
+                    states[slot][0] = state;
+                }
+                return;
+            }
+            int[] e = ends[slot];
+            if (e == null) {
+                e = ends[slot] = new int[all ? 4 : 1];
+                states[slot] = new int[e.length];
+            } else if (count == e.length) {
+                e = ends[slot] = Arrays.copyOf(e, count << 1);
+                states[slot] = Arrays.copyOf(states[slot], count << 1);
+            }
+            e[count] = end;
+            states[slot][count] = state;
+            counts[slot] = count + 1;
+        }
+
+        /**
+         * 按起始位置顺序输出 [next, until] 的结果
+         *
+         * @param until 最后一个可输出的起始位置
+         * @return 是否需要继续匹配（达到最大数量时返回 false）
+         */
+        private boolean flush(int until) {
+            Object[] values = matcher.values;
+            while (next <= until) {
+                int begin = next++;
+                int slot = begin % counts.length;
+                int count = counts[slot];
+                if (count == 0) {
+                    continue;
+                }
+                counts[slot] = 0;
+                if (begin < skipUntil) {
+                    continue;
+                }
+                int[] e = ends[slot];
+                int[] s = states[slot];
+                int lastEnd = e[count - 1];
+                for (int i = 0; i < count; i++) {
+                    int end = e[i];
+                    founds.add(new Found<>(begin, end, text.substring(begin, end + 1), (V) values[s[i]]));
+                    if (all && founds.size() >= maximum) {
+                        return false;
+                    }
+                }
+                if (!oneByOne) {
+                    skipUntil = lastEnd + 1;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -17,6 +17,7 @@
 
 package com.igeeksky.xtool.core.nlp;
 
+import java.util.ConcurrentModificationException;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
@@ -44,6 +45,26 @@ public class AvlNode<V> extends TreeNode<V> {
         super(c, value, size, table);
     }
 
+    /**
+     * 创建同一下标的兄弟节点（子类可覆盖，以创建相同类型的节点）
+     *
+     * @param c 字符
+     * @return 新节点
+     */
+    protected AvlNode<V> newSibling(char c) {
+        return new AvlNode<>(c);
+    }
+
+    /**
+     * 复制链表节点为树节点（子类可覆盖，以创建相同类型的节点并保留附加信息）
+     *
+     * @param node 链表节点
+     * @return 新节点
+     */
+    protected AvlNode<V> copyOf(Node<V> node) {
+        return new AvlNode<>(node.c, node.value, node.size, node.table);
+    }
+
     public static <V> AvlNode<V> balance(AvlNode<V> root) {
         int factor = balanceFactor(root);
         if (factor >= TrieConstants.AVL_RIGHT_ROTATE_THRESHOLD) {
@@ -172,28 +193,37 @@ public class AvlNode<V> extends TreeNode<V> {
             }
         } else {
             for (Node<V> node : nodes) {
-                AvlNode<V> avl = new AvlNode<>(node.c, node.value, node.size, node.table);
-                root = insertAndBalance(root, avl);
+                root = insertAndBalance(root, copyOf(node));
             }
         }
         return root;
     }
 
+    /**
+     * 查找字符 c 对应的节点
+     * <p>
+     * 乐观读期间树可能正在旋转，读取到的链接可能暂时成环：因此用循环代替递归，并限制查找的层数不超过 AVL 树的最大高度，
+     * 超过则抛出 {@link ConcurrentModificationException}，由调用者转为加读锁后重新查找。
+     *
+     * @param c 字符
+     * @return 如果找到，返回该节点；否则返回空
+     */
     @Override
     public Node<V> find(char c) {
-        if (this.c > c) {
-            if (null != left) {
-                return left.find(c);
+        AvlNode<V> p = this;
+        for (int depth = 0; p != null; depth++) {
+            if (depth >= TrieConstants.AVL_MAX_HEIGHT) {
+                throw new ConcurrentModificationException("avl tree is being modified");
             }
-            return null;
-        } else if (this.c < c) {
-            if (null != right) {
-                return right.find(c);
+            if (p.c > c) {
+                p = p.left;
+            } else if (p.c < c) {
+                p = p.right;
+            } else {
+                return p;
             }
-            return null;
-        } else {
-            return this;
         }
+        return null;
     }
 
     @Override
@@ -203,9 +233,21 @@ public class AvlNode<V> extends TreeNode<V> {
         return list;
     }
 
+    @Override
+    protected int collectAll(Node<V>[] dest, int pos) {
+        if (this.left != null) {
+            pos = this.left.collectAll(dest, pos);
+        }
+        dest[pos++] = this;
+        if (this.right != null) {
+            pos = this.right.collectAll(dest, pos);
+        }
+        return pos;
+    }
+
     @Override
     public Node<V> insert(Node<V> parent, int index, char c, NodeConvertor<? extends Node<V>, ? extends TreeNode<V>> convertor) {
-        AvlNode<V> root = this, node = new AvlNode<>(c);
+        AvlNode<V> root = this, node = newSibling(c);
         AvlNode<V> insertion = insert(root, node);
         if (node == insertion) {
             root = balance(root);
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import com.igeeksky.xtool.core.lang.Assert;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * <p>批量匹配</p>
+ * 将多段文本分组后提交给 {@link Executor} 并行匹配，并按输入顺序返回每段文本的匹配结果。
+ * <p>
+ * 1. 短文本：连续的多段文本合并为一个任务，每个任务包含的字符数约为 chunkLength，以减少任务调度开销；<br>
+ * 2. 长文本：超过 chunkLength 的文本切分为多个分片，每个分片向后多读取 height - 1 个字符，
+ * 因此任一起始位置的匹配结果均与不切分时完全相同；所有分片均逐字符匹配（oneByOne = true），
+ * 如需跳过已匹配的词（oneByOne = false），则在合并分片结果时按顺序过滤。
+ * <p>
+ * 切分文本时读取的是当时的树高度，匹配期间并发写入的更长的 key 可能无法在分片边界处匹配到（弱一致性）。
+ * <p>
+ * 任一任务执行失败（如 Trie 或回调抛出异常），等待全部任务结束后将该异常抛给调用者，不返回不完整的结果。
+ *
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+final class BatchMatcher {
+
+    private BatchMatcher() {
+    }
+
+    /**
+     * 批量匹配
+     *
+     * @param trie         Trie
+     * @param texts        多段文本（元素不能为空）
+     * @param longestMatch 是否最长匹配
+     * @param oneByOne     是否逐字符匹配
+     * @param chunkLength  每个任务处理的字符数量
+     * @param executor     执行匹配任务的线程池
+     * @param <V>          值类型
+     * @return 每段文本的匹配结果（与输入顺序一致）
+     * @throws RuntimeException 任一匹配任务抛出的异常
+     */
+    static <V> List<List<Found<V>>> match(Trie<V> trie, Collection<String> texts, boolean longestMatch,
+                                          boolean oneByOne, int chunkLength, Executor executor) {
+        Assert.notNull(texts, "texts must not be null");
+        Assert.notNull(executor, "executor must not be null");
+        Assert.isTrue(chunkLength > 0, "chunkLength must be greater than 0");
+
+        List<String> docs = new ArrayList<>(texts);
+        int overlap = Math.max(trie.height() - 1, 0);
+
+        // 切分：每个分片为 [from, to)，匹配时向后多读取 overlap 个字符
+        List<Segment> segments = new ArrayList<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        int taskStart = 0, taskLength = 0;
+        for (int doc = 0, size = docs.size(); doc < size; doc++) {
+            String text = docs.get(doc);
+            Assert.notNull(text, "text must not be null");
+            int length = text.length();
+            boolean split = length > chunkLength;
+            for (int from = 0; from < length; from += chunkLength) {
+                int to = Math.min(from + chunkLength, length);
+                segments.add(new Segment(doc, from, to, split));
+                taskLength += to - from;
+                if (taskLength >= chunkLength) {
+                    futures.add(submit(trie, docs, segments, taskStart, segments.size(), longestMatch, oneByOne, overlap, executor));
+                    taskStart = segments.size();
+                    taskLength = 0;
+                }
+            }
+        }
+        if (taskStart < segments.size()) {
+            futures.add(submit(trie, docs, segments, taskStart, segments.size(), longestMatch, oneByOne, overlap, executor));
+        }
+        await(futures);
+
+        // 合并：按输入顺序组装每段文本的结果
+        List<List<Found<V>>> results = new ArrayList<>(docs.size());
+        for (int i = 0; i < docs.size(); i++) {
+            results.add(new ArrayList<>());
+        }
+        for (Segment segment : segments) {
+            List<Found<V>> result = results.get(segment.doc);
+            List<Found<V>> founds = segment.result();
+            if (!segment.split || oneByOne) {
+                result.addAll(founds);
+                continue;
+            }
+            for (Found<V> found : founds) {
+                if (result.isEmpty() || found.begin() > result.get(result.size() - 1).end()) {
+                    result.add(found);
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 等待全部任务结束：如有任务失败，抛出其原始异常
+     *
+     * @param futures 匹配任务
+     */
+    private static void await(List<CompletableFuture<Void>> futures) {
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException ex) {
+                throw ex;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private static <V> CompletableFuture<Void> submit(Trie<V> trie, List<String> docs, List<Segment> segments, int start, int end,
+                                        boolean longestMatch, boolean oneByOne, int overlap, Executor executor) {
+        // 复制分片列表：提交任务后，调用线程仍会继续向 segments 中添加分片
+        List<Segment> task = new ArrayList<>(segments.subList(start, end));
+        return CompletableFuture.runAsync(() -> {
+            for (Segment segment : task) {
+                String text = docs.get(segment.doc);
+                if (!segment.split) {
+                    segment.founds = trie.match(text, longestMatch, oneByOne);
+                    continue;
+                }
+                int from = segment.from, to = segment.to;
+                int limit = Math.min(to + overlap, text.length());
+                List<Found<V>> founds = new ArrayList<>();
+                trie.match(text, from, limit, longestMatch, true, (begin, last, value) -> {
+                    if (begin >= to) {
+                        return false;
+                    }
+                    founds.add(new Found<>(begin, last, text.substring(begin, last + 1), value));
+                    return true;
+                });
+                segment.founds = founds;
+            }
+        }, executor);
+    }
+
+    /**
+     * 文本分片
+     */
+    private static final class Segment {
+
+        private final int doc;
+        private final int from;
+        private final int to;
+        private final boolean split;
+
+        /**
+         * 匹配结果（由执行任务的线程写入，通过 Future 完成的 happens-before 关系对合并线程可见）
+         */
+        private List<?> founds = Collections.emptyList();
+
+        private Segment(int doc, int from, int to, boolean split) {
+            this.doc = doc;
+            this.from = from;
+            this.to = to;
+            this.split = split;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <V> List<Found<V>> result() {
+            return (List<Found<V>>) founds;
+        }
+    }
+}
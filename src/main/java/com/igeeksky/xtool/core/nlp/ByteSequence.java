@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * <p>字节序列的字符视图</p>
+ * 每个字节视为一个 0~255 的字符（等同于 ISO-8859-1 解码，但不复制数据），
+ * 使得基于字符的 Trie 可以直接在字节数组或 {@link ByteBuffer}（包括直接缓冲区）上匹配。
+ * <p>
+ * 下标为字节数组或缓冲区中的绝对位置，读取时不会改变缓冲区的 position。
+ *
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+final class ByteSequence implements CharSequence {
+
+    private final byte[] array;
+    private final int offset;
+    private final ByteBuffer buffer;
+    private final int length;
+
+    ByteSequence(byte[] array) {
+        this.array = array;
+        this.offset = 0;
+        this.buffer = null;
+        this.length = array.length;
+    }
+
+    ByteSequence(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            this.array = buffer.array();
+            this.offset = buffer.arrayOffset();
+            this.buffer = null;
+        } else {
+            this.array = null;
+            this.offset = 0;
+            this.buffer = buffer;
+        }
+        this.length = buffer.limit();
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (array != null) {
+            return (char) (array[offset + index] & 0xFF);
+        }
+        return (char) (buffer.get(index) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        Objects.checkFromToIndex(start, end, length);
+        return toString(start, end);
+    }
+
+    /**
+     * 将 [start, end) 范围的字节按 ISO-8859-1 转换为字符串（每个字节对应一个字符）
+     *
+     * @param start 起始位置（包含）
+     * @param end   结束位置（不包含）
+     * @return 字符串
+     */
+    String toString(int start, int end) {
+        if (array != null) {
+            return new String(array, offset + start, end - start, StandardCharsets.ISO_8859_1);
+        }
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public String toString() {
+        return toString(0, length);
+    }
+
+}
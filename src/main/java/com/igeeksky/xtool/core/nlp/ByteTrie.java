@@ -0,0 +1,175 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import com.igeeksky.xtool.core.lang.Assert;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <p>字节 Trie：以字节序列为 key，直接在 byte[] 或 {@link ByteBuffer} 上匹配</p>
+ * 适用于二进制协议、网络报文等场景：匹配前无需将字节解码为字符串。
+ * <p>
+ * 内部复用 {@link ConcurrentHashTrie} 及其节点结构，每个字节作为一个 0~255 的字符存储，
+ * 因此每个节点（包括根节点）至多 256 个子节点。
+ * <p>
+ * 字符串 key 按 UTF-8 编码为字节序列，因此可以直接匹配 UTF-8 编码的文本；
+ * 匹配结果的起止位置均为字节位置。
+ *
+ * @param <V> 值类型
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+public class ByteTrie<V> {
+
+    private final ConcurrentHashTrie<V> trie;
+
+    public ByteTrie() {
+        this.trie = new ConcurrentHashTrie<>();
+    }
+
+    /**
+     * @param creator   节点创建器
+     * @param convertor 节点转换器
+     */
+    public ByteTrie(NodeCreator<V> creator, NodeConvertor<? extends Node<V>, ? extends TreeNode<V>> convertor) {
+        this.trie = new ConcurrentHashTrie<>(creator, convertor);
+    }
+
+    /**
+     * 添加字节序列 key
+     *
+     * @param key   键（不为空且长度大于0）
+     * @param value 值（不为空）
+     * @return 旧值（如果没有旧值，返回 null）
+     */
+    public V put(byte[] key, V value) {
+        return trie.put(toKey(key), value);
+    }
+
+    /**
+     * 添加字符串 key（按 UTF-8 编码为字节序列）
+     *
+     * @param key   键（不为空且长度大于0）
+     * @param value 值（不为空）
+     * @return 旧值（如果没有旧值，返回 null）
+     */
+    public V put(String key, V value) {
+        Assert.hasLength(key, "key must not be null or empty");
+        return put(key.getBytes(StandardCharsets.UTF_8), value);
+    }
+
+    /**
+     * @param key 键
+     * @return 值（如果没有该 key，返回 null）
+     */
+    public V get(byte[] key) {
+        return trie.get(toKey(key));
+    }
+
+    /**
+     * @param key 键
+     * @return 是否存在该 key
+     */
+    public boolean contains(byte[] key) {
+        return trie.contains(toKey(key));
+    }
+
+    /**
+     * @param key 键
+     * @return 旧值（如果没有该 key，返回 null）
+     */
+    public V remove(byte[] key) {
+        return trie.remove(toKey(key));
+    }
+
+    public int size() {
+        return trie.size();
+    }
+
+    public boolean isEmpty() {
+        return trie.isEmpty();
+    }
+
+    public void clear() {
+        trie.clear();
+    }
+
+    /**
+     * 包含匹配（流式）：匹配规则同 {@link Trie#match(CharSequence, int, int, boolean, boolean, MatchHandler)}
+     *
+     * @param bytes        字节数组
+     * @param from         起始匹配位置（包含）
+     * @param to           结束匹配位置（不包含）
+     * @param longestMatch 是否最长匹配
+     * @param oneByOne     是否逐字节匹配
+     * @param handler      匹配结果处理器（起止位置为字节数组中的绝对位置，结束位置包含在内）
+     */
+    public void match(byte[] bytes, int from, int to, boolean longestMatch, boolean oneByOne, MatchHandler<V> handler) {
+        Assert.notNull(bytes, "bytes must not be null");
+        trie.match(new ByteSequence(bytes), from, to, longestMatch, oneByOne, handler);
+    }
+
+    /**
+     * 包含匹配（流式）：匹配缓冲区中 [position, limit) 范围的字节，不改变缓冲区的 position
+     * <p>
+     * 支持直接缓冲区（逐字节绝对读取，不复制数据）。
+     *
+     * @param buffer       缓冲区
+     * @param longestMatch 是否最长匹配
+     * @param oneByOne     是否逐字节匹配
+     * @param handler      匹配结果处理器（起止位置为缓冲区中的绝对位置，结束位置包含在内）
+     */
+    public void match(ByteBuffer buffer, boolean longestMatch, boolean oneByOne, MatchHandler<V> handler) {
+        Assert.notNull(buffer, "buffer must not be null");
+        trie.match(new ByteSequence(buffer), buffer.position(), buffer.limit(), longestMatch, oneByOne, handler);
+    }
+
+    /**
+     * 包含匹配（流式）：匹配规则同 {@link Trie#matchAll(CharSequence, int, int, boolean, MatchHandler)}
+     *
+     * @param bytes    字节数组
+     * @param from     起始匹配位置（包含）
+     * @param to       结束匹配位置（不包含）
+     * @param oneByOne 是否逐字节匹配
+     * @param handler  匹配结果处理器（起止位置为字节数组中的绝对位置，结束位置包含在内）
+     */
+    public void matchAll(byte[] bytes, int from, int to, boolean oneByOne, MatchHandler<V> handler) {
+        Assert.notNull(bytes, "bytes must not be null");
+        trie.matchAll(new ByteSequence(bytes), from, to, oneByOne, handler);
+    }
+
+    /**
+     * 包含匹配（流式）：匹配缓冲区中 [position, limit) 范围的字节，不改变缓冲区的 position
+     *
+     * @param buffer   缓冲区
+     * @param oneByOne 是否逐字节匹配
+     * @param handler  匹配结果处理器（起止位置为缓冲区中的绝对位置，结束位置包含在内）
+     */
+    public void matchAll(ByteBuffer buffer, boolean oneByOne, MatchHandler<V> handler) {
+        Assert.notNull(buffer, "buffer must not be null");
+        trie.matchAll(new ByteSequence(buffer), buffer.position(), buffer.limit(), oneByOne, handler);
+    }
+
+    private static String toKey(byte[] key) {
+        Assert.notNull(key, "key must not be null");
+        return new String(key, StandardCharsets.ISO_8859_1);
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+/**
+ * <p>字符归一化器</p>
+ * 添加 key 与匹配文本时，每个字符先经此归一化再查找节点，
+ * 因此大小写、全角半角等变体只需保存一份 key，无需重复添加。
+ * <p>
+ * 归一化为逐字符的一对一映射，因此匹配结果的起止位置与原文本一致。
+ * 实现须满足幂等性：{@code normalize(normalize(c)) == normalize(c)}。
+ *
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+@FunctionalInterface
+public interface CharNormalizer {
+
+    /**
+     * 不做任何转换
+     */
+    CharNormalizer IDENTITY = c -> c;
+
+    /**
+     * 转换为小写
+     */
+    CharNormalizer LOWER_CASE = Character::toLowerCase;
+
+    /**
+     * 全角转半角：全角 ASCII 字符（U+FF01 ~ U+FF5E）转为对应的半角字符，全角空格（U+3000）转为半角空格
+     */
+    CharNormalizer HALF_WIDTH = c -> {
+        if (c >= '\uFF01' && c <= '\uFF5E') {
+            return (char) (c - 0xFEE0);
+        }
+        return (c == '\u3000') ? ' ' : c;
+    };
+
+    /**
+     * 全角转半角，再转换为小写
+     */
+    CharNormalizer HALF_WIDTH_LOWER_CASE = HALF_WIDTH.andThen(LOWER_CASE);
+
+    /**
+     * 归一化字符
+     *
+     * @param c 原字符
+     * @return 归一化后的字符
+     */
+    char normalize(char c);
+
+    /**
+     * 组合归一化器：先执行当前归一化，再执行 after
+     *
+     * @param after 后执行的归一化器
+     * @return 组合后的归一化器
+     */
+    default CharNormalizer andThen(CharNormalizer after) {
+        return c -> after.normalize(normalize(c));
+    }
+
+    /**
+     * 归一化字符串
+     *
+     * @param str 原字符串
+     * @return 归一化后的字符串（所有字符均未改变时返回原字符串）
+     */
+    default String normalize(String str) {
+        if (this == IDENTITY) {
+            return str;
+        }
+        int len = str.length();
+        for (int i = 0; i < len; i++) {
+            char c = str.charAt(i);
+            char n = normalize(c);
+            if (n != c) {
+                char[] chars = str.toCharArray();
+                chars[i] = n;
+                for (int j = i + 1; j < len; j++) {
+                    chars[j] = normalize(chars[j]);
+                }
+                return new String(chars);
+            }
+        }
+        return str;
+    }
+
+}
@@ -20,98 +20,444 @@ package com.igeeksky.xtool.core.nlp;
 import com.igeeksky.xtool.core.tuple.Tuple2;
 import com.igeeksky.xtool.core.tuple.Tuples;
 import com.igeeksky.xtool.core.lang.Assert;
-import com.igeeksky.xtool.core.lang.IntegerValue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.TreeMap;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
 import java.util.function.BiFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * <p>使用动态数组实现的 Trie </p>
  * 默认使用单链表 和 Avl来处理 hash冲突
+ * <p>
+ * 并发控制：根据 key 的首字符选择分段锁（{@link StampedLock}）。
+ * get、prefixMatch、prefixMatchAll、match、matchAll 优先采用乐观读（不获取读锁，不写共享内存），
+ * 读取完成后校验期间是否有写操作：校验通过则直接返回，否则转为悲观读重新读取，因此结果与 put、remove 保持线性一致。
+ * <p>
+ * 字符归一化：可指定 {@link CharNormalizer}，添加、查找的 key 以及匹配的文本均逐字符归一化，
+ * 因此大小写、全角半角等变体只需添加一次；保存及遍历返回的 key 为归一化后的 key，
+ * 文本匹配（match、matchAll、prefixMatch 等）返回的 key 及起止位置仍对应原文本。
+ * <p>
+ * 运行指标：可指定 {@link TrieMetrics}，记录 get、put、remove、match 的耗时及分段锁的等待时间；
+ * 结构信息见 {@link ConcurrentHashTrie#structure()}。
  *
  * @author Patrick.Lau
  * @since 0.0.4 2021-10-23
  */
 public class ConcurrentHashTrie<V> implements Trie<V> {
 
-    private volatile int size = 0;
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<ConcurrentHashTrie> HEIGHT =
+            AtomicIntegerFieldUpdater.newUpdater(ConcurrentHashTrie.class, "height");
+
+    /**
+     * 统计信息：不同分段的写操作无需竞争同一个锁
+     * <p>
+     * size 使用 {@link LongAdder} 计数；lengthCounts 为 key 长度的分布，height 为其中计数大于 0 的最大长度，以 CAS 更新。
+     */
+    private final LongAdder size = new LongAdder();
     private volatile int height = 0;
-    private final TreeMap<Integer, IntegerValue> heightCache = new TreeMap<>();
+    private final ConcurrentHashMap<Integer, LongAdder> lengthCounts = new ConcurrentHashMap<>();
 
     private final NodeCreator<V> creator;
     private final NodeConvertor<? extends Node<V>, ? extends TreeNode<V>> convertor;
 
-    private final Root<V> root = new Root<>('0');
+    final CharNormalizer normalizer;
 
-    private final Object lock = new Object();
-    private final ReadWriteLock[] locks = new ReadWriteLock[TrieConstants.TABLE_MAX_CAPACITY];
+    /**
+     * 运行指标收集器（为空则不收集）
+     */
+    private final TrieMetrics metrics;
+
+    final Root<V> root = new Root<>('0');
+
+    /**
+     * 分段锁：根据 key 的首字符选择锁，首字符不同的 key 可以并发读写
+     */
+    private final StampedLock[] locks;
+    private final int lockMask;
 
     public ConcurrentHashTrie() {
         this(new LinkedNodeCreator<>(), new LinkedToAvlConvertor<>());
     }
 
+    /**
+     * @param lockStripes 分段锁数量（大于0且不大于 {@link TrieConstants#TABLE_MAX_CAPACITY}，非 2 的幂时向上取整为 2 的幂）
+     */
+    public ConcurrentHashTrie(int lockStripes) {
+        this(new LinkedNodeCreator<>(), new LinkedToAvlConvertor<>(), lockStripes);
+    }
+
+    /**
+     * @param normalizer 字符归一化器
+     */
+    public ConcurrentHashTrie(CharNormalizer normalizer) {
+        this(new LinkedNodeCreator<>(), new LinkedToAvlConvertor<>(), TrieConstants.DEFAULT_LOCK_STRIPES, normalizer);
+    }
+
+    /**
+     * @param metrics 运行指标收集器
+     */
+    public ConcurrentHashTrie(TrieMetrics metrics) {
+        this(new LinkedNodeCreator<>(), new LinkedToAvlConvertor<>(), TrieConstants.DEFAULT_LOCK_STRIPES, CharNormalizer.IDENTITY, metrics);
+    }
+
     public ConcurrentHashTrie(NodeCreator<V> creator, NodeConvertor<? extends Node<V>, ? extends TreeNode<V>> convertor) {
+        this(creator, convertor, TrieConstants.DEFAULT_LOCK_STRIPES);
+    }
+
+    /**
+     * @param creator     节点创建器
+     * @param convertor   节点转换器
+     * @param lockStripes 分段锁数量（大于0且不大于 {@link TrieConstants#TABLE_MAX_CAPACITY}，非 2 的幂时向上取整为 2 的幂）
+     */
+    public ConcurrentHashTrie(NodeCreator<V> creator, NodeConvertor<? extends Node<V>, ? extends TreeNode<V>> convertor, int lockStripes) {
+        this(creator, convertor, lockStripes, CharNormalizer.IDENTITY);
+    }
+
+    /**
+     * @param creator     节点创建器
+     * @param convertor   节点转换器
+     * @param lockStripes 分段锁数量（大于0且不大于 {@link TrieConstants#TABLE_MAX_CAPACITY}，非 2 的幂时向上取整为 2 的幂）
+     * @param normalizer  字符归一化器
+     */
+    public ConcurrentHashTrie(NodeCreator<V> creator, NodeConvertor<? extends Node<V>, ? extends TreeNode<V>> convertor, int lockStripes,
+                              CharNormalizer normalizer) {
+        this(creator, convertor, lockStripes, normalizer, null);
+    }
+
+    /**
+     * @param creator     节点创建器
+     * @param convertor   节点转换器
+     * @param lockStripes 分段锁数量（大于0且不大于 {@link TrieConstants#TABLE_MAX_CAPACITY}，非 2 的幂时向上取整为 2 的幂）
+     * @param normalizer  字符归一化器
+     * @param metrics     运行指标收集器（可为空：为空则不收集，不产生任何额外开销）
+     */
+    public ConcurrentHashTrie(NodeCreator<V> creator, NodeConvertor<? extends Node<V>, ? extends TreeNode<V>> convertor, int lockStripes,
+                              CharNormalizer normalizer, TrieMetrics metrics) {
+        Assert.notNull(normalizer, "normalizer must not be null");
+        Assert.isTrue(lockStripes > 0 && lockStripes <= TrieConstants.TABLE_MAX_CAPACITY,
+                "lockStripes must be between 1 and " + TrieConstants.TABLE_MAX_CAPACITY);
         this.creator = creator;
         this.convertor = convertor;
-        Arrays.fill(locks, new ReentrantReadWriteLock());
+        this.normalizer = normalizer;
+        this.metrics = metrics;
+        int stripes = Integer.highestOneBit(lockStripes);
+        if (stripes < lockStripes) {
+            stripes <<= 1;
+        }
+        this.lockMask = stripes - 1;
+        this.locks = new StampedLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.locks[i] = new StampedLock();
+        }
     }
 
-    private Lock getWriteLock(char c) {
-        return locks[c & TrieConstants.TABLE_MAX_MASK].writeLock();
+    /**
+     * 创建使用有序数组节点（{@link SortedArrayNode}）的 Trie
+     * <p>
+     * 有序数组节点的子节点已按字典序排列，遍历时无需排序，但插入和删除子节点需移动数组元素，适用于读多写少的词典。
+     *
+     * @param <V> 值类型
+     * @return 使用有序数组节点的 Trie
+     */
+    public static <V> ConcurrentHashTrie<V> sortedArray() {
+        return sortedArray(TrieConstants.DEFAULT_LOCK_STRIPES, CharNormalizer.IDENTITY);
     }
 
-    private Lock getReadLock(char c) {
-        return locks[c & TrieConstants.TABLE_MAX_MASK].readLock();
+    /**
+     * 创建使用有序数组节点（{@link SortedArrayNode}）的 Trie
+     *
+     * @param lockStripes 分段锁数量（大于0且不大于 {@link TrieConstants#TABLE_MAX_CAPACITY}，非 2 的幂时向上取整为 2 的幂）
+     * @param normalizer  字符归一化器
+     * @param <V>         值类型
+     * @return 使用有序数组节点的 Trie
+     */
+    public static <V> ConcurrentHashTrie<V> sortedArray(int lockStripes, CharNormalizer normalizer) {
+        return sortedArray(lockStripes, normalizer, null);
+    }
+
+    /**
+     * 创建使用有序数组节点（{@link SortedArrayNode}）的 Trie
+     * <p>
+     * 节点创建器与转换器在内部配对，避免有序数组节点与链表节点、Avl 节点混用。
+     *
+     * @param lockStripes 分段锁数量（大于0且不大于 {@link TrieConstants#TABLE_MAX_CAPACITY}，非 2 的幂时向上取整为 2 的幂）
+     * @param normalizer  字符归一化器
+     * @param metrics     运行指标收集器（可为空：为空则不收集）
+     * @param <V>         值类型
+     * @return 使用有序数组节点的 Trie
+     */
+    public static <V> ConcurrentHashTrie<V> sortedArray(int lockStripes, CharNormalizer normalizer, TrieMetrics metrics) {
+        return new ConcurrentHashTrie<>(new SortedArrayNodeCreator<>(), new SortedArrayNodeConvertor<>(), lockStripes, normalizer, metrics);
+    }
+
+    StampedLock getLock(char c) {
+        return locks[c & lockMask];
+    }
+
+    /**
+     * 获取写锁：如果需收集指标且未能立即获取，则记录等待时间
+     *
+     * @param stampedLock 分段锁
+     * @param c           用于选择分段锁的字符
+     * @return 锁标记
+     */
+    private long writeLock(StampedLock stampedLock, char c) {
+        if (metrics == null) {
+            return stampedLock.writeLock();
+        }
+        long stamp = stampedLock.tryWriteLock();
+        if (stamp != 0L) {
+            return stamp;
+        }
+        long start = System.nanoTime();
+        stamp = stampedLock.writeLock();
+        metrics.lockWait(c & lockMask, System.nanoTime() - start);
+        return stamp;
+    }
+
+    /**
+     * 获取读锁：如果需收集指标且未能立即获取，则记录等待时间
+     *
+     * @param stampedLock 分段锁
+     * @param c           用于选择分段锁的字符
+     * @return 锁标记
+     */
+    private long readLock(StampedLock stampedLock, char c) {
+        if (metrics == null) {
+            return stampedLock.readLock();
+        }
+        long stamp = stampedLock.tryReadLock();
+        if (stamp != 0L) {
+            return stamp;
+        }
+        long start = System.nanoTime();
+        stamp = stampedLock.readLock();
+        metrics.lockWait(c & lockMask, System.nanoTime() - start);
+        return stamp;
+    }
+
+    /**
+     * 添加键值对后的回调（调用时持有该 key 所属分段的写锁），供子类维护节点的附加信息
+     *
+     * @param key      键
+     * @param oldValue 旧值（可能为空）
+     * @param newValue 新值
+     */
+    void afterPut(String key, V oldValue, V newValue) {
+    }
+
+    /**
+     * 删除键值对后的回调（调用时持有该 key 所属分段的写锁），供子类维护节点的附加信息
+     *
+     * @param key      键
+     * @param oldValue 旧值
+     */
+    void afterRemove(String key, V oldValue) {
     }
 
     @Override
     public V put(String key, V value) {
+        if (metrics == null) {
+            return doPut(key, value);
+        }
+        long start = System.nanoTime();
+        try {
+            return doPut(key, value);
+        } finally {
+            metrics.record(TrieMetrics.Operation.PUT, System.nanoTime() - start);
+        }
+    }
+
+    private V doPut(String key, V value) {
         Assert.notNull(value, "value must not be null");
         Assert.hasLength(key, "key must not be null or blank");
-        Lock writeLock = getWriteLock(key.charAt(0));
-        writeLock.lock();
+        key = normalizer.normalize(key);
+        StampedLock stampedLock = getLock(key.charAt(0));
+        long stamp = writeLock(stampedLock, key.charAt(0));
         try {
             V oldVal = NodeHelper.put(root, key, value, creator, convertor);
+            afterPut(key, oldVal, value);
             if (null == oldVal) {
-                int length = key.length();
-                synchronized (lock) {
-                    ++size;
-                    if (length > height) {
-                        height = length;
-                    }
-                    heightCache.computeIfAbsent(length, lenKey -> new IntegerValue()).increment();
-                }
+                increase(key.length(), 1);
             }
             return oldVal;
         } finally {
-            writeLock.unlock();
+            stampedLock.unlockWrite(stamp);
         }
     }
 
+    /**
+     * 批量添加键值对
+     * <p>
+     * 利用 key 的字典序自底向上批量创建子树：
+     * <p>
+     * 1. 按首字符分组，如果根节点尚无该首字符的子节点，则在锁外创建完整子树（每个节点的数组按子节点数量一次性分配），
+     * 再获取该分段的写锁直接挂载到根节点；否则获取一次写锁后逐个添加该组的键值对；<br>
+     * 2. 键值对数量较多时，不同首字符的分组并行创建；<br>
+     * 3. size、height 等统计信息在每个分组添加完成后、释放该分段的写锁之前更新（与单个添加相同），
+     * 因此并发删除刚添加的 key 时，计数总是先增后减。
+     * <p>
+     * 同一分组内的键值对在同一次加锁期间可见，不同分组之间不保证原子性。
+     *
+     * @param map 多个键值对（键：不为空且长度大于0；值：不能为空）
+     */
     @Override
     public void putAll(TreeMap<String, V> map) {
         Assert.notNull(map, "map must not be null");
-        map.forEach(this::put);
+        if (map.isEmpty()) {
+            return;
+        }
+        if (normalizer != CharNormalizer.IDENTITY) {
+            // 归一化后的 key 需重新排序；归一化为同一 key 的多个键值对，按原顺序后者覆盖前者
+            TreeMap<String, V> normalized = new TreeMap<>();
+            map.forEach((key, value) -> {
+                Assert.hasLength(key, "key must not be null or blank");
+                normalized.put(normalizer.normalize(key), value);
+            });
+            map = normalized;
+        } else if (map.comparator() != null) {
+            // 自定义比较器的顺序未必是字典序，按自然顺序重新排序
+            TreeMap<String, V> sorted = new TreeMap<>();
+            sorted.putAll(map);
+            map = sorted;
+        }
+
+        int count = map.size();
+        String[] keys = new String[count];
+        Object[] values = new Object[count];
+        int i = 0, maxLength = 0;
+        for (Map.Entry<String, V> entry : map.entrySet()) {
+            String key = entry.getKey();
+            V value = entry.getValue();
+            Assert.notNull(value, "value must not be null");
+            Assert.hasLength(key, "key must not be null or blank");
+            maxLength = Math.max(maxLength, key.length());
+            keys[i] = key;
+            values[i++] = value;
+        }
+
+        // 按首字符分组：第 g 组为 [starts[g], starts[g + 1])
+        int[] starts = new int[Math.min(count, TrieConstants.TABLE_MAX_CAPACITY) + 1];
+        int groups = 0;
+        for (int j = 0; j < count; j++) {
+            if (j == 0 || keys[j].charAt(0) != keys[j - 1].charAt(0)) {
+                starts[groups++] = j;
+            }
+        }
+        starts[groups] = count;
+
+        int batches = (count < TrieConstants.BULK_PARALLEL_THRESHOLD) ? 1 : Math.min(groups, ForkJoinPool.getCommonPoolParallelism() * 4);
+        int groupCount = groups, lengthCount = maxLength + 1;
+        IntStream stream = IntStream.range(0, batches);
+        (batches > 1 ? stream.parallel() : stream).forEach(batch -> {
+            int from = (int) ((long) groupCount * batch / batches);
+            int to = (int) ((long) groupCount * (batch + 1) / batches);
+            int[][] bounds = new int[lengthCount][16];
+            int[] lengths = new int[lengthCount];
+            for (int g = from; g < to; g++) {
+                putGroup(keys, values, starts[g], starts[g + 1], bounds, lengths);
+            }
+        });
+    }
+
+    /**
+     * 添加首字符相同的一组键值对
+     *
+     * @param keys    按字典序排列的键
+     * @param values  与键一一对应的值
+     * @param lo      分组起始位置（包含）
+     * @param hi      分组结束位置（不包含）
+     * @param bounds  创建子树时使用的临时数组
+     * @param lengths 用于统计本组新增 key 的长度分布的临时数组（返回时已清零）
+     */
+    @SuppressWarnings("unchecked")
+    private void putGroup(String[] keys, Object[] values, int lo, int hi, int[][] bounds, int[] lengths) {
+        char c = keys[lo].charAt(0);
+        Node<V> subtree = null;
+        if (root.findChild(c) == null) {
+            subtree = creator.apply(c);
+            NodeHelper.build(subtree, keys, values, lo, hi, 1, bounds, creator, convertor);
+        }
+
+        StampedLock stampedLock = getLock(c);
+        long stamp = writeLock(stampedLock, c);
+        try {
+            if (subtree != null && root.putIfAbsent(subtree)) {
+                for (int i = lo; i < hi; i++) {
+                    lengths[keys[i].length()]++;
+                }
+            } else {
+                // 创建子树期间已有其它线程添加了该首字符的 key，逐个添加
+                for (int i = lo; i < hi; i++) {
+                    String key = keys[i];
+                    if (NodeHelper.put(root, key, (V) values[i], creator, convertor) == null) {
+                        lengths[key.length()]++;
+                    }
+                }
+            }
+            // 持有写锁时更新统计信息：其它线程只有获取写锁后才能删除本组的 key
+            for (int i = lo; i < hi; i++) {
+                int length = keys[i].length();
+                if (lengths[length] > 0) {
+                    increase(length, lengths[length]);
+                    lengths[length] = 0;
+                }
+            }
+        } finally {
+            stampedLock.unlockWrite(stamp);
+        }
     }
 
     @Override
     public V get(String key) {
+        if (metrics == null) {
+            return doGet(key);
+        }
+        long start = System.nanoTime();
+        try {
+            return doGet(key);
+        } finally {
+            metrics.record(TrieMetrics.Operation.GET, System.nanoTime() - start);
+        }
+    }
+
+    private V doGet(String key) {
         Assert.hasLength(key, "key must not be null or blank");
-        BaseNode<V> found;
-        Lock readLock = getReadLock(key.charAt(0));
-        readLock.lock();
+        key = normalizer.normalize(key);
+        StampedLock stampedLock = getLock(key.charAt(0));
+        long stamp = stampedLock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                BaseNode<V> found = NodeHelper.exactlyMatch(root, key);
+                V value = (found != null) ? found.value : null;
+                if (stampedLock.validate(stamp)) {
+                    return value;
+                }
+            } catch (RuntimeException ignored) {
+                // 乐观读期间节点被并发修改，读取到不一致的状态，转为悲观读
+            }
+        }
+        stamp = readLock(stampedLock, key.charAt(0));
         try {
-            found = NodeHelper.exactlyMatch(root, key);
+            BaseNode<V> found = NodeHelper.exactlyMatch(root, key);
+            return (found != null) ? found.value : null;
         } finally {
-            readLock.unlock();
+            stampedLock.unlockRead(stamp);
         }
-        return (found != null) ? found.getValue() : null;
     }
 
     @Override
@@ -122,15 +468,7 @@ public class ConcurrentHashTrie<V> implements Trie<V> {
     @Override
     public Tuple2<String, V> prefixMatch(String word, boolean longestMatch) {
         Assert.hasLength(word, "word must not be null or blank");
-        int length = word.length();
-        Found<V> found;
-        Lock readLock = getReadLock(word.charAt(0));
-        readLock.lock();
-        try {
-            found = NodeHelper.match(root, word, 0, length, longestMatch);
-        } finally {
-            readLock.unlock();
-        }
+        Found<V> found = match(word, 0, word.length(), longestMatch);
         return (found == null) ? null : Tuples.of(found.key(), found.value());
     }
 
@@ -142,16 +480,8 @@ public class ConcurrentHashTrie<V> implements Trie<V> {
     @Override
     public List<Tuple2<String, V>> prefixMatchAll(String word, int maximum) {
         Assert.hasLength(word, "word must not be null or blank");
-        int charsLen = word.length();
-        List<Found<V>> founds = new LinkedList<>();
-
-        Lock readLock = getReadLock(word.charAt(0));
-        readLock.lock();
-        try {
-            NodeHelper.matchAll(root, word, 0, charsLen, maximum, founds);
-        } finally {
-            readLock.unlock();
-        }
+        LinkedList<Found<V>> founds = new LinkedList<>();
+        matchAll(word, 0, word.length(), maximum, founds);
 
         List<Tuple2<String, V>> result = new LinkedList<>();
         founds.forEach(find -> result.add(Tuples.of(find.key(), find.value())));
@@ -166,6 +496,7 @@ public class ConcurrentHashTrie<V> implements Trie<V> {
     @Override
     public Tuple2<String, V> keyWithPrefix(String prefix, boolean longestMatch) {
         Assert.hasLength(prefix, "prefix must not be null or empty");
+        prefix = normalizer.normalize(prefix);
         int length = prefix.length();
         int depth = height - length;
         if (depth < 0) {
@@ -173,8 +504,8 @@ public class ConcurrentHashTrie<V> implements Trie<V> {
         }
         NodeHelper.KeyValueCollector<V> function = new NodeHelper.KeyValueCollector<>(longestMatch);
 
-        Lock readLock = getReadLock(prefix.charAt(0));
-        readLock.lock();
+        StampedLock stampedLock = getLock(prefix.charAt(0));
+        long stamp = readLock(stampedLock, prefix.charAt(0));
         try {
             BaseNode<V> found = NodeHelper.exactlyMatch(root, prefix);
             if (null == found) {
@@ -190,7 +521,7 @@ public class ConcurrentHashTrie<V> implements Trie<V> {
             String key = function.getKey();
             return (key == null) ? null : Tuples.of(key, function.getValue());
         } finally {
-            readLock.unlock();
+            stampedLock.unlockRead(stamp);
         }
     }
 
@@ -205,6 +536,7 @@ public class ConcurrentHashTrie<V> implements Trie<V> {
         if (maximum <= 0) {
             return new LinkedList<>();
         }
+        prefix = normalizer.normalize(prefix);
 
         int length = prefix.length();
         depth = Math.min(height - length, depth);
@@ -215,8 +547,8 @@ public class ConcurrentHashTrie<V> implements Trie<V> {
         List<Tuple2<String, V>> values = new LinkedList<>();
         NodeHelper.KeyValuesCollector<V> function = new NodeHelper.KeyValuesCollector<>(maximum, values);
 
-        Lock readLock = getReadLock(prefix.charAt(0));
-        readLock.lock();
+        StampedLock stampedLock = getLock(prefix.charAt(0));
+        long stamp = readLock(stampedLock, prefix.charAt(0));
         try {
             BaseNode<V> found = NodeHelper.exactlyMatch(root, prefix);
             if (null == found) {
@@ -233,7 +565,47 @@ public class ConcurrentHashTrie<V> implements Trie<V> {
             }
             NodeHelper.search(found, prefix.toCharArray(), depth, dfs, function);
         } finally {
-            readLock.unlock();
+            stampedLock.unlockRead(stamp);
+        }
+        return values;
+    }
+
+    @Override
+    public List<Tuple2<String, V>> fuzzyMatch(String word, int maxDistance) {
+        return fuzzyMatch(word, maxDistance, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 模糊匹配
+     * <p>
+     * 首字符也可能被替换、插入或删除，因此需遍历根节点的所有子节点，依次锁定各首字符，仅支持弱一致性。
+     * 具体一致性的描述同 {@link ConcurrentHashTrie#traversal} 方法
+     *
+     * @param word        待匹配的字符串（不为空且长度大于0）
+     * @param maxDistance 最大编辑距离（大于等于0）
+     * @param maximum     最大返回结果数量
+     * @return 所有编辑距离不超过 maxDistance 的 keys 及对应 values（深度优先遍历 + 字典序）
+     */
+    @Override
+    public List<Tuple2<String, V>> fuzzyMatch(String word, int maxDistance, int maximum) {
+        Assert.hasLength(word, "word must not be null or empty");
+        Assert.isTrue(maxDistance >= 0, "maxDistance must be greater than or equal to 0");
+        List<Tuple2<String, V>> values = new LinkedList<>();
+        if (maximum <= 0) {
+            return values;
+        }
+        NodeHelper.KeyValuesCollector<V> function = new NodeHelper.KeyValuesCollector<>(maximum, values);
+        LevenshteinRows rows = new LevenshteinRows(normalizer.normalize(word), maxDistance, height);
+        for (Node<V> node : root) {
+            StampedLock stampedLock = getLock(node.c);
+            long stamp = readLock(stampedLock, node.c);
+            try {
+                if (!NodeHelper.fuzzySearch(node, rows, function)) {
+                    return values;
+                }
+            } finally {
+                stampedLock.unlockRead(stamp);
+            }
         }
         return values;
     }
@@ -245,19 +617,24 @@ public class ConcurrentHashTrie<V> implements Trie<V> {
 
     @Override
     public List<Found<V>> match(String text, boolean longestMatch, boolean oneByOne) {
+        if (metrics == null) {
+            return matchText(text, longestMatch, oneByOne);
+        }
+        long start = System.nanoTime();
+        try {
+            return matchText(text, longestMatch, oneByOne);
+        } finally {
+            metrics.record(TrieMetrics.Operation.MATCH, System.nanoTime() - start);
+        }
+    }
+
+    private List<Found<V>> matchText(String text, boolean longestMatch, boolean oneByOne) {
         Assert.hasLength(text, "text must not be null or empty");
 
         int length = text.length();
         List<Found<V>> founds = new LinkedList<>();
         for (int i = 0; i < length; i++) {
-            Found<V> found;
-            Lock readLock = getReadLock(text.charAt(i));
-            readLock.lock();
-            try {
-                found = NodeHelper.match(root, text, i, length, longestMatch);
-            } finally {
-                readLock.unlock();
-            }
+            Found<V> found = match(text, i, length, longestMatch);
             if (null != found) {
                 founds.add(found);
                 if (!oneByOne) {
@@ -275,19 +652,25 @@ public class ConcurrentHashTrie<V> implements Trie<V> {
 
     @Override
     public List<Found<V>> matchAll(String text, boolean oneByOne, int maximum) {
+        if (metrics == null) {
+            return matchAllText(text, oneByOne, maximum);
+        }
+        long start = System.nanoTime();
+        try {
+            return matchAllText(text, oneByOne, maximum);
+        } finally {
+            metrics.record(TrieMetrics.Operation.MATCH, System.nanoTime() - start);
+        }
+    }
+
+    private List<Found<V>> matchAllText(String text, boolean oneByOne, int maximum) {
         Assert.hasLength(text, "text must not be null or empty");
 
         int charsLen = text.length();
         LinkedList<Found<V>> founds = new LinkedList<>();
         Found<V> last = null;
         for (int i = 0; i < charsLen; i++) {
-            Lock readLock = getReadLock(text.charAt(i));
-            readLock.lock();
-            try {
-                NodeHelper.matchAll(root, text, i, charsLen, maximum, founds);
-            } finally {
-                readLock.unlock();
-            }
+            matchAll(text, i, charsLen, maximum, founds);
             int size = founds.size();
             if (size >= maximum) {
                 return founds;
@@ -302,6 +685,168 @@ public class ConcurrentHashTrie<V> implements Trie<V> {
         return founds;
     }
 
+    /**
+     * 从文本的指定位置开始匹配（仅返回一个值）
+     * <p>
+     * 先乐观读，校验失败再转为悲观读
+     *
+     * @param text         文本
+     * @param start        起始匹配位置
+     * @param end          结束匹配位置
+     * @param longestMatch 是否最长匹配
+     * @return 匹配结果（未匹配到则返回空）
+     */
+    private Found<V> match(String text, int start, int end, boolean longestMatch) {
+        char first = normalizer.normalize(text.charAt(start));
+        StampedLock stampedLock = getLock(first);
+        long stamp = stampedLock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                Found<V> found = NodeHelper.match(root, text, start, end, longestMatch, normalizer);
+                if (stampedLock.validate(stamp)) {
+                    return found;
+                }
+            } catch (RuntimeException ignored) {
+                // 乐观读期间节点被并发修改，读取到不一致的状态，转为悲观读
+            }
+        }
+        stamp = readLock(stampedLock, first);
+        try {
+            return NodeHelper.match(root, text, start, end, longestMatch, normalizer);
+        } finally {
+            stampedLock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * 从文本的指定位置开始匹配（返回多个匹配到的值）
+     * <p>
+     * 先乐观读，校验失败则移除本次添加的结果，再转为悲观读
+     *
+     * @param text    文本
+     * @param start   起始匹配位置
+     * @param end     结束匹配位置
+     * @param maximum 结果集最大数量
+     * @param founds  用于保存结果集
+     */
+    private void matchAll(String text, int start, int end, int maximum, LinkedList<Found<V>> founds) {
+        int mark = founds.size();
+        char first = normalizer.normalize(text.charAt(start));
+        StampedLock stampedLock = getLock(first);
+        long stamp = stampedLock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                NodeHelper.matchAll(root, text, start, end, maximum, founds, normalizer);
+                if (stampedLock.validate(stamp)) {
+                    return;
+                }
+            } catch (RuntimeException ignored) {
+                // 乐观读期间节点被并发修改，读取到不一致的状态，转为悲观读
+            }
+            while (founds.size() > mark) {
+                founds.removeLast();
+            }
+        }
+        stamp = readLock(stampedLock, first);
+        try {
+            NodeHelper.matchAll(root, text, start, end, maximum, founds, normalizer);
+        } finally {
+            stampedLock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public void match(CharSequence text, int from, int to, boolean longestMatch, boolean oneByOne, MatchHandler<V> handler) {
+        streamMatch(text, from, to, false, longestMatch, oneByOne, handler);
+    }
+
+    @Override
+    public void matchAll(CharSequence text, int from, int to, boolean oneByOne, MatchHandler<V> handler) {
+        streamMatch(text, from, to, true, true, oneByOne, handler);
+    }
+
+    /**
+     * 流式匹配
+     * <p>
+     * 每个起始位置的匹配结果先在锁内（或乐观读）保存到缓冲区，释放锁后再回调处理器，
+     * 因此处理器中可以安全地读写当前 trie。
+     *
+     * @param text         文本
+     * @param from         起始匹配位置（包含）
+     * @param to           结束匹配位置（不包含）
+     * @param all          是否返回同一起始位置的全部匹配结果
+     * @param longestMatch 是否最长匹配（all 为 false 时有效）
+     * @param oneByOne     是否逐字符匹配
+     * @param handler      匹配结果处理器
+     */
+    private void streamMatch(CharSequence text, int from, int to, boolean all, boolean longestMatch, boolean oneByOne, MatchHandler<V> handler) {
+        if (metrics == null) {
+            doStreamMatch(text, from, to, all, longestMatch, oneByOne, handler);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            doStreamMatch(text, from, to, all, longestMatch, oneByOne, handler);
+        } finally {
+            metrics.record(TrieMetrics.Operation.MATCH, System.nanoTime() - start);
+        }
+    }
+
+    private void doStreamMatch(CharSequence text, int from, int to, boolean all, boolean longestMatch, boolean oneByOne, MatchHandler<V> handler) {
+        Assert.notNull(text, "text must not be null");
+        Assert.notNull(handler, "handler must not be null");
+        Objects.checkFromToIndex(from, to, text.length());
+        MatchBuffer<V> buffer = new MatchBuffer<>();
+        for (int i = from; i < to; i++) {
+            bufferMatch(text, i, to, all, longestMatch, buffer);
+            if (buffer.size() > 0) {
+                if (!buffer.emit(i, handler)) {
+                    return;
+                }
+                if (!oneByOne) {
+                    i = buffer.lastEnd();
+                }
+                buffer.clear();
+            }
+        }
+    }
+
+    /**
+     * 从文本的指定位置开始匹配，匹配结果保存到缓冲区
+     * <p>
+     * 先乐观读，校验失败则清空缓冲区，再转为悲观读
+     */
+    private void bufferMatch(CharSequence text, int start, int end, boolean all, boolean longestMatch, MatchBuffer<V> buffer) {
+        char first = normalizer.normalize(text.charAt(start));
+        StampedLock stampedLock = getLock(first);
+        long stamp = stampedLock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                doMatch(text, start, end, all, longestMatch, buffer);
+                if (stampedLock.validate(stamp)) {
+                    return;
+                }
+            } catch (RuntimeException ignored) {
+                // 乐观读期间节点被并发修改，读取到不一致的状态，转为悲观读
+            }
+            buffer.clear();
+        }
+        stamp = readLock(stampedLock, first);
+        try {
+            doMatch(text, start, end, all, longestMatch, buffer);
+        } finally {
+            stampedLock.unlockRead(stamp);
+        }
+    }
+
+    private void doMatch(CharSequence text, int start, int end, boolean all, boolean longestMatch, MatchBuffer<V> buffer) {
+        if (all) {
+            NodeHelper.matchAll(root, text, start, end, buffer, normalizer);
+        } else {
+            NodeHelper.match(root, text, start, end, longestMatch, buffer, normalizer);
+        }
+    }
+
     /**
      * 遍历值（深度优先遍历 + 字典序）
      * <p>
@@ -360,8 +905,8 @@ public class ConcurrentHashTrie<V> implements Trie<V> {
             return;
         }
         for (Node<V> node : root) {
-            Lock readLock = getReadLock(node.c);
-            readLock.lock();
+            StampedLock stampedLock = getLock(node.c);
+            long stamp = readLock(stampedLock, node.c);
             try {
                 depth = Math.min(depth, height);
                 if (depth < 1) {
@@ -378,11 +923,141 @@ public class ConcurrentHashTrie<V> implements Trie<V> {
                 }
                 NodeHelper.search(node, new char[]{node.c}, depth - 1, true, function);
             } finally {
-                readLock.unlock();
+                stampedLock.unlockRead(stamp);
             }
         }
     }
 
+    /**
+     * 惰性获取键值对的流
+     * <p>
+     * 每批（至多 {@value TrieSpliterator#BATCH_SIZE} 个）键值对在持有首字符分段读锁期间遍历，批与批之间释放锁，
+     * 因此仅支持弱一致性，具体描述同 {@link ConcurrentHashTrie#traversal} 方法。
+     *
+     * @param depth 遍历深度（key 的最大长度）
+     * @return 键值对的流
+     */
+    @Override
+    public Stream<Tuple2<String, V>> stream(int depth) {
+        if (depth < 1) {
+            return Stream.empty();
+        }
+        List<Node<V>> list = new ArrayList<>();
+        for (Node<V> node : root) {
+            list.add(node);
+        }
+        @SuppressWarnings("unchecked")
+        Node<V>[] firsts = list.toArray(new Node[0]);
+        return StreamSupport.stream(new NodeSpliterator(firsts, 0, firsts.length, new char[0], depth), false);
+    }
+
+    @Override
+    public Stream<Tuple2<String, V>> streamWithPrefix(String prefix, int depth) {
+        Assert.hasLength(prefix, "prefix must not be null or empty");
+        prefix = normalizer.normalize(prefix);
+        depth = Math.min(height - prefix.length(), depth);
+        if (depth < 0) {
+            return Stream.empty();
+        }
+        BaseNode<V> found;
+        StampedLock stampedLock = getLock(prefix.charAt(0));
+        long stamp = readLock(stampedLock, prefix.charAt(0));
+        try {
+            found = NodeHelper.exactlyMatch(root, prefix);
+        } finally {
+            stampedLock.unlockRead(stamp);
+        }
+        if (found == null) {
+            return Stream.empty();
+        }
+        char[] base = prefix.substring(0, prefix.length() - 1).toCharArray();
+        @SuppressWarnings("unchecked")
+        Node<V>[] firsts = new Node[]{(Node<V>) found};
+        // 前缀自身的节点即为子树根节点，因此 key 的最大长度为 prefix.length + depth
+        return StreamSupport.stream(new NodeSpliterator(firsts, 0, 1, base, depth + 1), false);
+    }
+
+    /**
+     * 遍历若干棵子树的惰性迭代器：每批遍历期间持有子树首字符的分段读锁
+     * <p>
+     * 每层的子节点按字典序复制到数组后再逐个遍历，因此批与批之间即使有并发修改，也不会影响迭代器自身的状态。
+     */
+    @SuppressWarnings("unchecked")
+    private final class NodeSpliterator extends TrieSpliterator<V> {
+
+        private final Node<V>[] firsts;
+
+        private Node<V>[][] levels = new Node[8][];
+        private int[] counts = new int[8];
+        private int[] cursors = new int[8];
+        private int top = -1;
+
+        NodeSpliterator(Node<V>[] firsts, int lo, int hi, char[] base, int depth) {
+            super(lo, hi, base, depth);
+            this.firsts = firsts;
+        }
+
+        @Override
+        protected void fill() {
+            while (!isFull() && (top >= 0 || lo < hi)) {
+                if (top < 0 && baseLength == 0) {
+                    chars[0] = firsts[lo].c;
+                }
+                StampedLock stampedLock = getLock(chars[0]);
+                long stamp = readLock(stampedLock, chars[0]);
+                try {
+                    if (top < 0) {
+                        // 遍历整棵树时，获取锁之后重新查找首字符节点（该节点可能已被删除或替换）
+                        Node<V> first = (baseLength == 0) ? root.findChild(firsts[lo].c) : firsts[lo];
+                        lo++;
+                        if (first != null) {
+                            visit(first, baseLength + 1);
+                        }
+                    }
+                    while (top >= 0 && !isFull()) {
+                        if (cursors[top] >= counts[top]) {
+                            top--;
+                            continue;
+                        }
+                        visit(levels[top][cursors[top]++], baseLength + top + 2);
+                    }
+                } finally {
+                    stampedLock.unlockRead(stamp);
+                }
+            }
+        }
+
+        private void visit(Node<V> node, int length) {
+            ensureChars(length);
+            chars[length - 1] = node.c;
+            V value = node.value;
+            if (value != null) {
+                add(String.valueOf(chars, 0, length), value);
+            }
+            if (length < maxLength && node.size() > 0) {
+                int level = top + 1;
+                if (level == levels.length) {
+                    levels = Arrays.copyOf(levels, level << 1);
+                    counts = Arrays.copyOf(counts, level << 1);
+                    cursors = Arrays.copyOf(cursors, level << 1);
+                }
+                counts[level] = NodeHelper.sortedChildren(node, levels, level);
+                cursors[level] = 0;
+                top = level;
+            }
+        }
+
+        @Override
+        protected boolean inSubtree() {
+            return top >= 0;
+        }
+
+        @Override
+        protected TrieSpliterator<V> split(int lo, int mid) {
+            return new NodeSpliterator(firsts, lo, mid, prefix(), depth());
+        }
+    }
+
     @Override
     public boolean contains(String key) {
         return get(key) != null;
@@ -390,58 +1065,173 @@ public class ConcurrentHashTrie<V> implements Trie<V> {
 
     @Override
     public V remove(String key) {
+        if (metrics == null) {
+            return doRemove(key);
+        }
+        long start = System.nanoTime();
+        try {
+            return doRemove(key);
+        } finally {
+            metrics.record(TrieMetrics.Operation.REMOVE, System.nanoTime() - start);
+        }
+    }
+
+    private V doRemove(String key) {
         Assert.hasLength(key, "key must not be null or blank");
-        Lock writeLock = getWriteLock(key.charAt(0));
-        writeLock.lock();
+        key = normalizer.normalize(key);
+        StampedLock stampedLock = getLock(key.charAt(0));
+        long stamp = writeLock(stampedLock, key.charAt(0));
         try {
             BaseNode<V> found = NodeHelper.remove(root, key, convertor);
             if (null != found) {
                 V oldVal = found.value;
                 if (oldVal != null) {
                     found.value = null;
-                    int length = key.length();
-                    synchronized (lock) {
-                        --size;
-                        long heightSize = heightCache.get(length).decrementAndGet();
-                        if (heightSize <= 0) {
-                            heightCache.remove(length);
-                            if (length == height) {
-                                Integer lowHeight = heightCache.lowerKey(length);
-                                height = (null == lowHeight ? 0 : lowHeight);
-                            }
-                        }
-                    }
+                    afterRemove(key, oldVal);
+                    decrease(key.length());
                 }
                 return oldVal;
             }
         } finally {
-            writeLock.unlock();
+            stampedLock.unlockWrite(stamp);
         }
         return null;
     }
 
+    /**
+     * 新增 count 个长度为 length 的 key（调用时持有该 key 所属分段的写锁）
+     * <p>
+     * 先增加计数，再提升高度：降低高度的线程 CAS 成功之后会重新检查计数，因此不会遗漏并发新增的 key。
+     *
+     * @param length key 长度
+     * @param count  新增数量
+     */
+    private void increase(int length, int count) {
+        size.add(count);
+        lengthCounts.computeIfAbsent(length, lenKey -> new LongAdder()).add(count);
+        raiseHeight(length);
+    }
+
+    /**
+     * 删除 1 个长度为 length 的 key（调用时持有该 key 所属分段的写锁）
+     *
+     * @param length key 长度
+     */
+    private void decrease(int length) {
+        size.decrement();
+        LongAdder counter = lengthCounts.get(length);
+        counter.decrement();
+        if (length == height && counter.sum() <= 0) {
+            lowerHeight(length);
+        }
+    }
+
+    private void raiseHeight(int length) {
+        int h;
+        while ((h = height) < length && !HEIGHT.compareAndSet(this, h, length)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * 最大长度的 key 已全部删除：高度降低为计数大于 0 的次大长度
+     *
+     * @param h 当前高度
+     */
+    private void lowerHeight(int h) {
+        while (true) {
+            int lower = h - 1;
+            while (lower > 0 && countOf(lower) <= 0) {
+                lower--;
+            }
+            if (!HEIGHT.compareAndSet(this, h, lower)) {
+                // 其它线程已修改高度
+                return;
+            }
+            // 查找期间其它分段可能新增了 (lower, h] 长度的 key，且因读取到的高度为 h 而未提升高度
+            int target = lower;
+            for (int length = h; length > lower; length--) {
+                if (countOf(length) > 0) {
+                    target = length;
+                    raiseHeight(length);
+                    break;
+                }
+            }
+            // 期间其它分段也可能删除了 target 长度的最后一个 key，且因读取到的高度不为 target 而未降低高度：继续降低
+            if (target == 0 || height != target || countOf(target) > 0) {
+                return;
+            }
+            h = target;
+        }
+    }
+
+    private long countOf(int length) {
+        LongAdder counter = lengthCounts.get(length);
+        return (counter == null) ? 0 : counter.sum();
+    }
+
     @Override
     public int height() {
         return height;
     }
 
+    @Override
+    public CharNormalizer normalizer() {
+        return normalizer;
+    }
+
+    /**
+     * 统计当前的结构信息：节点数量、链表桶及 AVL 桶数量、最长桶、各层数组填充率及估算的内存占用
+     * <p>
+     * 需遍历全部节点，耗时与节点数量成正比，仅用于诊断；
+     * 遍历时依次持有各首字符所属分段的读锁，因此仅支持弱一致性，具体描述同 {@link ConcurrentHashTrie#traversal} 方法。
+     *
+     * @return 结构统计信息
+     */
+    public TrieStructure structure() {
+        TrieStructure.Collector collector = new TrieStructure.Collector();
+        int children = 0;
+        for (Node<V> node : root) {
+            StampedLock stampedLock = getLock(node.c);
+            long stamp = readLock(stampedLock, node.c);
+            try {
+                collector.visit(node, 1);
+            } finally {
+                stampedLock.unlockRead(stamp);
+            }
+            children++;
+        }
+        collector.root(children, root.capacity());
+        return collector.build();
+    }
+
     @Override
     public int size() {
-        return size;
+        return (int) size.sum();
     }
 
     @Override
     public boolean isEmpty() {
-        return size <= 0;
+        return size.sum() <= 0;
     }
 
     @Override
     public void clear() {
-        synchronized (lock) {
-            size = 0;
+        // 按下标顺序获取全部写锁（其它操作最多同时持有一个分段锁，因此不会死锁）
+        long[] stamps = new long[locks.length];
+        int i = 0;
+        try {
+            for (; i < locks.length; i++) {
+                stamps[i] = locks[i].writeLock();
+            }
+            size.reset();
+            lengthCounts.clear();
             height = 0;
-            heightCache.clear();
             root.reset();
+        } finally {
+            while (--i >= 0) {
+                locks[i].unlockWrite(stamps[i]);
+            }
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,333 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import com.igeeksky.xtool.core.lang.Assert;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <p>双数组 Trie（只读）</p>
+ * 适用于启动时加载、之后不再修改的静态词典。
+ * <p>
+ * 所有节点保存在 base、check 两个 int 数组中，没有节点对象：
+ * <pre>
+ *     子节点：t = base[s] + c + 1，当且仅当 check[t] == s 时，s 有字符为 c 的子节点 t
+ *     终止：  t = base[s]，当且仅当 check[t] == s 时，s 为某个 key 的末尾节点，值为 values[-base[t] - 1]
+ * </pre>
+ * 为了支持按字典序遍历（keysWithPrefix、traversal），另用 labels 数组保存每个节点的子节点字符（升序）。
+ * <p>
+ * 所有修改操作（put、putAll、remove、clear）均抛出 {@link UnsupportedOperationException}。
+ * <p>
+ * 创建后不再修改，因此所有读操作均无需加锁。
+ *
+ * @param <V> 值类型
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+@SuppressWarnings("unchecked")
+public class DoubleArrayTrie<V> extends AbstractDoubleArrayTrie<V> {
+
+    private final int[] base;
+    private final int[] check;
+
+    /**
+     * 节点的子节点字符在 labels 中的起始位置（-1 表示无子节点）。
+     * <p>
+     * labels[start] 为子节点数量 - 1，labels[start + 1] ~ labels[start + count] 为升序排列的子节点字符
+     */
+    private final int[] labelStart;
+    private final char[] labels;
+
+    private final Object[] values;
+
+    /**
+     * 根据键值对创建双数组 Trie
+     *
+     * @param treeMap 多个键值对（键：不为空且长度大于0；值：不能为空）
+     */
+    public DoubleArrayTrie(TreeMap<String, V> treeMap) {
+        this(new Builder(sorted(treeMap)));
+    }
+
+    private DoubleArrayTrie(Builder builder) {
+        super(builder.keys.length, builder.height);
+        this.values = builder.values;
+        this.base = Arrays.copyOf(builder.base, builder.used);
+        this.check = Arrays.copyOf(builder.check, builder.used);
+        this.labelStart = Arrays.copyOf(builder.labelStart, builder.used);
+        this.labels = Arrays.copyOf(builder.labels, builder.labelCount);
+    }
+
+    private static <V> TreeMap<String, V> sorted(TreeMap<String, V> treeMap) {
+        Assert.notNull(treeMap, "treeMap must not be null");
+        if (treeMap.comparator() == null) {
+            return treeMap;
+        }
+        // 自定义比较器的顺序未必是字典序，按自然顺序重新排序
+        TreeMap<String, V> sorted = new TreeMap<>();
+        treeMap.forEach(sorted::put);
+        return sorted;
+    }
+
+    @Override
+    int capacity() {
+        return check.length;
+    }
+
+    @Override
+    int base(int pos) {
+        return base[pos];
+    }
+
+    @Override
+    int check(int pos) {
+        return check[pos];
+    }
+
+    @Override
+    int labelStart(int pos) {
+        return labelStart[pos];
+    }
+
+    @Override
+    char label(int index) {
+        return labels[index];
+    }
+
+    @Override
+    int labelCount() {
+        return labels.length;
+    }
+
+    @Override
+    V valueAt(int index) {
+        return (V) values[index];
+    }
+
+    /**
+     * 估算数组占用的内存（字节）：base、check、labelStart、labels 及 values 引用数组，不含值对象本身
+     *
+     * @return 估算的内存占用
+     */
+    public long memoryFootprint() {
+        long ints = (long) base.length + check.length + labelStart.length;
+        return (ints << 2) + ((long) labels.length << 1) + ((long) values.length << 2);
+    }
+
+    /**
+     * 双数组构建器
+     * <p>
+     * key 已按字典序排列，因此每个节点对应 keys 中的一段连续区间 [lo, hi)，区间内的 key 具有相同的前缀。
+     * 采用首次适配（first-fit）为每个节点的子节点寻找 base。
+     */
+    private static class Builder {
+
+        private final String[] keys;
+        private final Object[] values;
+        private final int height;
+
+        private int[] base;
+        private int[] check;
+        private int[] labelStart;
+        private char[] labels;
+        private int labelCount;
+
+        /**
+         * 已使用的最大位置 + 1
+         */
+        private int used = ROOT + 1;
+
+        /**
+         * 首次适配搜索的起始位置（此位置之前的空闲位置已极少）
+         */
+        private int nextCheckPos = ROOT + 1;
+
+        /**
+         * 待处理节点栈：位置、区间起始、区间结束、深度
+         */
+        private int[] stack = new int[64];
+        private int top;
+
+        /**
+         * 当前节点的子节点编码（0 表示终止，c + 1 表示字符 c）及对应区间
+         */
+        private int[] codes = new int[16];
+        private int[] los = new int[16];
+        private int[] his = new int[16];
+
+        private Builder(TreeMap<String, ?> treeMap) {
+            int count = treeMap.size();
+            this.keys = new String[count];
+            this.values = new Object[count];
+            int i = 0, maxLen = 0;
+            for (Map.Entry<String, ?> entry : treeMap.entrySet()) {
+                String key = entry.getKey();
+                Object value = entry.getValue();
+                Assert.hasLength(key, "key must not be null or blank");
+                Assert.notNull(value, "value must not be null");
+                maxLen = Math.max(maxLen, key.length());
+                keys[i] = key;
+                values[i++] = value;
+            }
+            this.height = maxLen;
+
+            int capacity = Math.max(TrieConstants.TABLE_MAX_CAPACITY + 2, keys.length * 2);
+            this.base = new int[capacity];
+            this.check = new int[capacity];
+            this.labelStart = new int[capacity];
+            Arrays.fill(labelStart, -1);
+            this.labels = new char[Math.max(16, keys.length * 2)];
+            this.check[ROOT] = ROOT;
+            build();
+        }
+
+        private void build() {
+            if (keys.length == 0) {
+                // 使根节点的任一子节点位置均越界
+                base[ROOT] = used;
+                return;
+            }
+            push(ROOT, 0, keys.length, 0);
+            while (top > 0) {
+                top -= 4;
+                int s = stack[top], lo = stack[top + 1], hi = stack[top + 2], d = stack[top + 3];
+                place(s, lo, hi, d);
+            }
+        }
+
+        private void place(int s, int lo, int hi, int d) {
+            int n = 0, i = lo;
+            // 与当前前缀长度相同的 key 必然排在区间首位
+            if (keys[i].length() == d) {
+                addCode(n++, 0, i, i + 1);
+                i++;
+            }
+            while (i < hi) {
+                char c = keys[i].charAt(d);
+                int j = i + 1;
+                while (j < hi && keys[j].charAt(d) == c) {
+                    j++;
+                }
+                addCode(n++, c + 1, i, j);
+                i = j;
+            }
+
+            int b = findBase(n);
+            base[s] = b;
+            int children = (codes[0] == 0) ? n - 1 : n;
+            if (children > 0) {
+                ensureLabels(children + 1);
+                labelStart[s] = labelCount;
+                labels[labelCount++] = (char) (children - 1);
+            }
+            for (int k = 0; k < n; k++) {
+                int t = b + codes[k];
+                check[t] = s;
+                used = Math.max(used, t + 1);
+                if (codes[k] == 0) {
+                    base[t] = -(los[k] + 1);
+                } else {
+                    labels[labelCount++] = (char) (codes[k] - 1);
+                }
+            }
+            // 逆序入栈，使出栈顺序与字典序一致（不影响结果，仅使相邻 key 的节点位置更接近）
+            for (int k = n - 1; k >= 0; k--) {
+                if (codes[k] != 0) {
+                    push(b + codes[k], los[k], his[k], d + 1);
+                }
+            }
+        }
+
+        private int findBase(int n) {
+            int first = codes[0], last = codes[n - 1];
+            int pos = Math.max(first + 1, nextCheckPos) - 1;
+            int nonzero = 0;
+            boolean firstFree = true;
+            outer:
+            while (true) {
+                pos++;
+                ensureCapacity(pos + 1);
+                if (check[pos] != 0) {
+                    nonzero++;
+                    continue;
+                }
+                if (firstFree) {
+                    nextCheckPos = pos;
+                    firstFree = false;
+                }
+                int b = pos - first;
+                ensureCapacity(b + last + 1);
+                for (int k = 1; k < n; k++) {
+                    if (check[b + codes[k]] != 0) {
+                        continue outer;
+                    }
+                }
+                // 已扫描区间绝大部分已被占用，下次从当前位置开始搜索
+                if (nonzero >= (pos - nextCheckPos + 1) * 0.95) {
+                    nextCheckPos = pos;
+                }
+                return b;
+            }
+        }
+
+        private void addCode(int k, int code, int lo, int hi) {
+            if (k == codes.length) {
+                int newLen = k << 1;
+                codes = Arrays.copyOf(codes, newLen);
+                los = Arrays.copyOf(los, newLen);
+                his = Arrays.copyOf(his, newLen);
+            }
+            codes[k] = code;
+            los[k] = lo;
+            his[k] = hi;
+        }
+
+        private void push(int s, int lo, int hi, int d) {
+            if (top + 4 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length << 1);
+            }
+            stack[top] = s;
+            stack[top + 1] = lo;
+            stack[top + 2] = hi;
+            stack[top + 3] = d;
+            top += 4;
+        }
+
+        private void ensureCapacity(int capacity) {
+            int oldCap = base.length;
+            if (capacity <= oldCap) {
+                return;
+            }
+            int newCap = Math.max(capacity, oldCap + (oldCap >> 1));
+            base = Arrays.copyOf(base, newCap);
+            check = Arrays.copyOf(check, newCap);
+            labelStart = Arrays.copyOf(labelStart, newCap);
+            Arrays.fill(labelStart, oldCap, newCap, -1);
+        }
+
+        private void ensureLabels(int n) {
+            int required = labelCount + n;
+            if (required > labels.length) {
+                labels = Arrays.copyOf(labels, Math.max(required, labels.length + (labels.length >> 1)));
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import com.igeeksky.xtool.core.lang.Assert;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>基于直方图的 Trie 运行指标收集器</p>
+ * 每种操作的耗时按 2 的幂分为 64 个区间计数（区间 i 为 [2<sup>i-1</sup>, 2<sup>i</sup>) 纳秒，区间 0 为 0 纳秒），
+ * 因此记录一次耗时仅需两次 {@link LongAdder} 累加，不分配内存；百分位数精度为所在区间的上界。
+ * <p>
+ * 分段锁等待按分段序号分别累计次数及时间。
+ * <pre>
+ *     HistogramTrieMetrics metrics = new HistogramTrieMetrics();
+ *     ConcurrentHashTrie&lt;String&gt; trie = new ConcurrentHashTrie&lt;&gt;(metrics);
+ *     ...
+ *     metrics.percentile(TrieMetrics.Operation.MATCH, 0.99);
+ *     metrics.lockWaitNanos();
+ * </pre>
+ *
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+public class HistogramTrieMetrics implements TrieMetrics {
+
+    private static final int BUCKETS = 64;
+
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    private final LongAdder[][] histograms = new LongAdder[OPERATIONS.length][BUCKETS];
+
+    private final LongAdder[] totals = new LongAdder[OPERATIONS.length];
+
+    private final ConcurrentHashMap<Integer, LockWait> lockWaits = new ConcurrentHashMap<>();
+
+    public HistogramTrieMetrics() {
+        for (int i = 0; i < OPERATIONS.length; i++) {
+            totals[i] = new LongAdder();
+            for (int j = 0; j < BUCKETS; j++) {
+                histograms[i][j] = new LongAdder();
+            }
+        }
+    }
+
+    @Override
+    public void record(Operation operation, long nanos) {
+        int ordinal = operation.ordinal();
+        histograms[ordinal][bucket(nanos)].increment();
+        totals[ordinal].add(nanos);
+    }
+
+    @Override
+    public void lockWait(int stripe, long nanos) {
+        LockWait wait = lockWaits.get(stripe);
+        if (wait == null) {
+            wait = lockWaits.computeIfAbsent(stripe, key -> new LockWait());
+        }
+        wait.count.increment();
+        wait.nanos.add(nanos);
+    }
+
+    private static int bucket(long nanos) {
+        return (nanos <= 0) ? 0 : Math.min(BUCKETS - Long.numberOfLeadingZeros(nanos), BUCKETS - 1);
+    }
+
+    /**
+     * @param operation 操作类型
+     * @return 操作次数
+     */
+    public long count(Operation operation) {
+        long count = 0;
+        for (LongAdder adder : histograms[operation.ordinal()]) {
+            count += adder.sum();
+        }
+        return count;
+    }
+
+    /**
+     * @param operation 操作类型
+     * @return 总耗时（纳秒）
+     */
+    public long totalNanos(Operation operation) {
+        return totals[operation.ordinal()].sum();
+    }
+
+    /**
+     * @param operation 操作类型
+     * @return 各耗时区间的操作次数（长度为 64，下标 i 对应 [2<sup>i-1</sup>, 2<sup>i</sup>) 纳秒）
+     */
+    public long[] histogram(Operation operation) {
+        LongAdder[] histogram = histograms[operation.ordinal()];
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = histogram[i].sum();
+        }
+        return counts;
+    }
+
+    /**
+     * 耗时的百分位数
+     *
+     * @param operation 操作类型
+     * @param quantile  分位（大于 0 且不大于 1，如：0.99）
+     * @return 百分位数所在区间的上界（纳秒）；无记录时返回 0
+     */
+    public long percentile(Operation operation, double quantile) {
+        Assert.isTrue(quantile > 0 && quantile <= 1, "quantile must be in (0, 1]");
+        long[] counts = histogram(operation);
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * quantile);
+        long accumulated = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            accumulated += counts[i];
+            if (accumulated >= rank) {
+                return (i == 0) ? 0 : (i == BUCKETS - 1) ? Long.MAX_VALUE : (1L << i) - 1;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * @param stripe 分段锁序号
+     * @return 该分段锁的等待次数
+     */
+    public long lockWaitCount(int stripe) {
+        LockWait wait = lockWaits.get(stripe);
+        return (wait == null) ? 0 : wait.count.sum();
+    }
+
+    /**
+     * @param stripe 分段锁序号
+     * @return 该分段锁的等待时间（纳秒）
+     */
+    public long lockWaitNanos(int stripe) {
+        LockWait wait = lockWaits.get(stripe);
+        return (wait == null) ? 0 : wait.nanos.sum();
+    }
+
+    /**
+     * @return 发生过等待的分段锁的等待时间（键：分段锁序号，值：等待时间，单位纳秒）
+     */
+    public Map<Integer, Long> lockWaitNanos() {
+        Map<Integer, Long> result = new TreeMap<>();
+        lockWaits.forEach((stripe, wait) -> result.put(stripe, wait.nanos.sum()));
+        return result;
+    }
+
+    /**
+     * 清空全部记录（与并发的记录操作之间不保证原子性）
+     */
+    public void reset() {
+        for (int i = 0; i < OPERATIONS.length; i++) {
+            totals[i].reset();
+            for (LongAdder adder : histograms[i]) {
+                adder.reset();
+            }
+        }
+        lockWaits.clear();
+    }
+
+    private static final class LockWait {
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder nanos = new LongAdder();
+
+    }
+
+}
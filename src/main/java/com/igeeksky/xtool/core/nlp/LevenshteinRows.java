@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+/**
+ * 编辑距离（Levenshtein）的动态规划行
+ * <p>
+ * 第 depth 行的第 j 列为：长度为 depth 的已遍历前缀 与 word 的前 j 个字符 之间的编辑距离。
+ * 遍历 Trie 时每向下一层计算一行，同一前缀的各行可被其所有后缀复用。
+ * <p>
+ * 与 word 长度差超过 maxDistance 的单元格不可能满足条件，因此每行只计算宽度为 2 * maxDistance + 1 的对角带，
+ * 带外的值视为 maxDistance + 1。
+ * <p>
+ * 非线程安全，每次搜索使用独立的实例。
+ *
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+final class LevenshteinRows {
+
+    private final String word;
+    private final int length;
+    private final int maxDistance;
+    private final int[][] rows;
+
+    /**
+     * 任一 key 与 word 的编辑距离均不超过 max(word.length(), height)，因此 maxDistance 超过该值时按该值计算，
+     * 结果不变，且行数不会随 maxDistance 增大（maxDistance 为 {@link Integer#MAX_VALUE} 时也不会溢出）。
+     *
+     * @param word        待匹配的字符串
+     * @param maxDistance 最大编辑距离
+     * @param height      Trie 的高度（最长 key 的长度）
+     */
+    LevenshteinRows(String word, int maxDistance, int height) {
+        this.word = word;
+        this.length = word.length();
+        int distance = Math.min(maxDistance, Math.max(length, height));
+        this.maxDistance = distance;
+        this.rows = new int[length + distance + 1][length + 2];
+        int[] first = rows[0];
+        for (int j = 0; j < first.length; j++) {
+            first[j] = Math.min(j, distance + 1);
+        }
+    }
+
+    /**
+     * @return 最大编辑距离（已按 max(word.length(), height) 截断）
+     */
+    int maxDistance() {
+        return maxDistance;
+    }
+
+    /**
+     * 长度超过 word.length() + maxDistance 的前缀，其编辑距离必然超过 maxDistance
+     *
+     * @return 最大搜索深度
+     */
+    int maxDepth() {
+        return length + maxDistance;
+    }
+
+    /**
+     * 根据第 depth - 1 行计算第 depth 行
+     *
+     * @param depth 深度（1 ~ {@link #maxDepth()}）
+     * @param c     第 depth 个字符
+     * @return 该行的最小值（超过 maxDistance 时，该前缀的所有后缀均无需再搜索）
+     */
+    int advance(int depth, char c) {
+        int[] prev = rows[depth - 1], cur = rows[depth];
+        int limit = maxDistance + 1;
+        int lo = Math.max(1, depth - maxDistance), hi = Math.min(length, depth + maxDistance);
+        int min = cur[lo - 1] = (lo == 1) ? Math.min(depth, limit) : limit;
+        for (int j = lo; j <= hi; j++) {
+            int cost = (word.charAt(j - 1) == c) ? 0 : 1;
+            int v = Math.min(prev[j - 1] + cost, Math.min(prev[j], cur[j - 1]) + 1);
+            cur[j] = v = Math.min(v, limit);
+            if (v < min) {
+                min = v;
+            }
+        }
+        // 带外右侧的值，供下一行使用
+        if (hi < length) {
+            cur[hi + 1] = limit;
+        }
+        return min;
+    }
+
+    /**
+     * @param depth 深度（已调用 {@link #advance(int, char)} 计算过该行）
+     * @return 长度为 depth 的已遍历前缀与 word 的编辑距离（超过 maxDistance 时返回 maxDistance + 1）
+     */
+    int distance(int depth) {
+        if (length - depth > maxDistance) {
+            return maxDistance + 1;
+        }
+        return rows[depth][length];
+    }
+}
@@ -42,6 +42,16 @@ public class LinkedNode<V> extends Node<V> {
         this.next = next;
     }
 
+    /**
+     * 创建同一下标的兄弟节点（子类可覆盖，以创建相同类型的节点）
+     *
+     * @param c 字符
+     * @return 新节点
+     */
+    protected LinkedNode<V> newSibling(char c) {
+        return new LinkedNode<>(c);
+    }
+
     @Override
     public Node<V> find(char c) {
         LinkedNode<V> node = this;
@@ -65,6 +75,14 @@ public class LinkedNode<V> extends Node<V> {
         return nodes;
     }
 
+    @Override
+    protected int collectAll(Node<V>[] dest, int pos) {
+        for (LinkedNode<V> node = this; node != null; node = node.next) {
+            dest[pos++] = node;
+        }
+        return pos;
+    }
+
     @Override
     public Node<V> insert(Node<V> parent, int index, char c, NodeConvertor<? extends Node<V>, ? extends TreeNode<V>> convertor) {
         //  遍历首节点及其后继节点：如果char值相同，返回该节点；如果char值不同，将新节点添加到链表末尾(超过阈值则转换成AVL树再插入新节点)
@@ -82,7 +100,7 @@ public class LinkedNode<V> extends Node<V> {
                     return head.insert(parent, index, c, convertor);
                 }
                 parent.increment();
-                LinkedNode<V> node = new LinkedNode<>(c);
+                LinkedNode<V> node = newSibling(c);
                 next.setNext(node);
                 return node;
             }
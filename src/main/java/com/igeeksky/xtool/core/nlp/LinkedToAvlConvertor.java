@@ -31,9 +31,9 @@ public class LinkedToAvlConvertor<V> implements NodeConvertor<LinkedNode<V>, Avl
      */
     @Override
     public AvlNode<V> toTreeNode(LinkedNode<V> first) {
-        AvlNode<V> root = new AvlNode<>(first.c, first.value, first.size, first.table);
+        AvlNode<V> root = copyToTreeNode(first);
         for (LinkedNode<V> next = first.next; next != null; next = next.next) {
-            root = AvlNode.insertAndBalance(root, new AvlNode<>(next.c, next.value, next.size, next.table));
+            root = AvlNode.insertAndBalance(root, copyToTreeNode(next));
         }
         return root;
     }
@@ -51,15 +51,35 @@ public class LinkedToAvlConvertor<V> implements NodeConvertor<LinkedNode<V>, Avl
         return head.next;
     }
 
-    private static <V> LinkedNode<V> fromAvlTree(AvlNode<V> root, LinkedNode<V> tail) {
+    private LinkedNode<V> fromAvlTree(AvlNode<V> root, LinkedNode<V> tail) {
         if (root.left != null) {
             tail = fromAvlTree(root.left, tail);
         }
-        tail.next = new LinkedNode<>(root.c, root.value, root.size, root.table);
+        tail.next = copyToLinkedNode(root);
         tail = tail.next;
         if (root.right != null) {
             tail = fromAvlTree(root.right, tail);
         }
         return tail;
     }
+
+    /**
+     * 复制单个链表节点为 AvlTree 节点（子类可覆盖，以复制更多的属性）
+     *
+     * @param node 链表节点
+     * @return AvlTree 节点
+     */
+    protected AvlNode<V> copyToTreeNode(LinkedNode<V> node) {
+        return new AvlNode<>(node.c, node.value, node.size, node.table);
+    }
+
+    /**
+     * 复制单个 AvlTree 节点为链表节点（子类可覆盖，以复制更多的属性）
+     *
+     * @param node AvlTree 节点
+     * @return 链表节点
+     */
+    protected LinkedNode<V> copyToLinkedNode(AvlNode<V> node) {
+        return new LinkedNode<>(node.c, node.value, node.size, node.table);
+    }
 }
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import com.igeeksky.xtool.core.io.IOException;
+import com.igeeksky.xtool.core.lang.Assert;
+import com.igeeksky.xtool.core.lang.codec.Codec;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * <p>内存映射 Trie（只读）</p>
+ * 通过 {@link FileChannel#map} 加载 {@link TrieSerializer} 写入的镜像文件，直接在映射内存上查询：
+ * <p>
+ * 1. 加载时仅读取文件头，不复制数组，也不解码值，因此启动几乎无需等待，且不占用堆内存；<br>
+ * 2. 文件内容由操作系统页缓存管理，同一主机的多个 JVM 加载同一文件时共享物理内存；<br>
+ * 3. 值在每次命中时经 {@link Codec} 解码，频繁读取同一值时，调用方可自行缓存。
+ * <p>
+ * 映射建立后即关闭文件通道，映射在对象被回收之前一直有效；加载后不应再修改该文件。
+ * <p>
+ * 所有修改操作（put、putAll、remove、clear）均抛出 {@link UnsupportedOperationException}。
+ *
+ * @param <V> 值类型
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+public class MappedTrie<V> extends AbstractDoubleArrayTrie<V> {
+
+    private final int capacity;
+    private final int labelCount;
+
+    private final IntBuffer base;
+    private final IntBuffer check;
+    private final IntBuffer labelStart;
+    private final CharBuffer labels;
+    private final IntBuffer valueOffsets;
+    private final ByteBuffer valueData;
+
+    private final Codec<V> codec;
+
+    /**
+     * 加载镜像文件
+     *
+     * @param path  文件路径
+     * @param codec 值的编解码器（须与写入时使用的编解码器一致）
+     */
+    public MappedTrie(Path path, Codec<V> codec) {
+        this(map(path), codec);
+    }
+
+    private MappedTrie(ByteBuffer buffer, Codec<V> codec) {
+        super(buffer.getInt(8), buffer.getInt(12));
+        Assert.notNull(codec, "codec must not be null");
+        this.codec = codec;
+        this.capacity = buffer.getInt(16);
+        this.labelCount = buffer.getInt(20);
+        int dataLength = buffer.getInt(24);
+        int size = size();
+
+        int offset = TrieSerializer.HEADER_LENGTH;
+        this.base = buffer.slice(offset, capacity * 4).asIntBuffer();
+        offset += capacity * 4;
+        this.check = buffer.slice(offset, capacity * 4).asIntBuffer();
+        offset += capacity * 4;
+        this.labelStart = buffer.slice(offset, capacity * 4).asIntBuffer();
+        offset += capacity * 4;
+        this.labels = buffer.slice(offset, labelCount * 2).asCharBuffer();
+        offset += (int) TrieSerializer.align(labelCount * 2L);
+        this.valueOffsets = buffer.slice(offset, (size + 1) * 4).asIntBuffer();
+        offset += (size + 1) * 4;
+        this.valueData = buffer.slice(offset, dataLength);
+    }
+
+    private static ByteBuffer map(Path path) {
+        Assert.notNull(path, "path must not be null");
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < TrieSerializer.HEADER_LENGTH || length > Integer.MAX_VALUE) {
+                throw new IOException("invalid trie image length: " + length + ", path: " + path);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            if (buffer.getInt(0) != TrieSerializer.MAGIC) {
+                throw new IOException("not a trie image: " + path);
+            }
+            int version = buffer.getInt(4);
+            if (version != TrieSerializer.VERSION) {
+                throw new IOException("unsupported trie image version: " + version + ", path: " + path);
+            }
+            return buffer;
+        } catch (java.io.IOException e) {
+            throw new IOException("map trie image failed: " + path, e);
+        }
+    }
+
+    @Override
+    int capacity() {
+        return capacity;
+    }
+
+    @Override
+    int base(int pos) {
+        return base.get(pos);
+    }
+
+    @Override
+    int check(int pos) {
+        return check.get(pos);
+    }
+
+    @Override
+    int labelStart(int pos) {
+        return labelStart.get(pos);
+    }
+
+    @Override
+    char label(int index) {
+        return labels.get(index);
+    }
+
+    @Override
+    int labelCount() {
+        return labelCount;
+    }
+
+    @Override
+    V valueAt(int index) {
+        int from = valueOffsets.get(index);
+        byte[] bytes = new byte[valueOffsets.get(index + 1) - from];
+        valueData.get(from, bytes);
+        return codec.decode(bytes);
+    }
+}
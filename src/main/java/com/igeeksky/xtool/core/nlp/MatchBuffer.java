@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import java.util.Arrays;
+
+/**
+ * <p>匹配结果缓冲区</p>
+ * 暂存从同一起始位置匹配到的结果（结束位置及值），以便在释放锁之后再回调 {@link MatchHandler}。
+ * <p>
+ * 同一起始位置的匹配结果数量不超过树的高度，缓冲区可在整段文本的匹配过程中重复使用。
+ *
+ * @param <V> 值类型
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+@SuppressWarnings("unchecked")
+final class MatchBuffer<V> {
+
+    private int[] ends = new int[8];
+    private Object[] values = new Object[8];
+    private int size;
+
+    void add(int end, V value) {
+        if (size == ends.length) {
+            ends = Arrays.copyOf(ends, size << 1);
+            values = Arrays.copyOf(values, size << 1);
+        }
+        ends[size] = end;
+        values[size++] = value;
+    }
+
+    void clear() {
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return 最后一个匹配结果的结束位置
+     */
+    int lastEnd() {
+        return ends[size - 1];
+    }
+
+    /**
+     * 将缓冲区中的匹配结果依次回调给处理器
+     *
+     * @param begin   起始位置
+     * @param handler 处理器
+     * @return 是否继续匹配（处理器返回 false 时停止）
+     */
+    boolean emit(int begin, MatchHandler<V> handler) {
+        for (int i = 0; i < size; i++) {
+            if (!handler.handle(begin, ends[i], (V) values[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
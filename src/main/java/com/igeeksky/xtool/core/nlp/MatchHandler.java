@@ -0,0 +1,42 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+/**
+ * <p>匹配结果处理器</p>
+ * 用于 {@link Trie#match(CharSequence, int, int, boolean, boolean, MatchHandler)} 等流式匹配方法：
+ * 每匹配到一个 key，仅回传起止位置和值，不创建 key 字符串、{@link Found} 对象及结果集合。
+ *
+ * @param <V> 值类型
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+@FunctionalInterface
+public interface MatchHandler<V> {
+
+    /**
+     * 处理一个匹配结果
+     *
+     * @param begin 匹配到的 key 在文本中的起始位置
+     * @param end   匹配到的 key 在文本中的结束位置（包含）
+     * @param value key 对应的值
+     * @return 是否继续匹配（false：停止匹配）
+     */
+    boolean handle(int begin, int end, V value);
+
+}
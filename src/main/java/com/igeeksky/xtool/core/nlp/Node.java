@@ -83,10 +83,12 @@ public abstract class Node<V> extends BaseNode<V> {
 
     @Override
     public Node<V> findChild(char c) {
-        if (table == null || table.length == 0) {
+        // 仅读取一次 table：乐观读期间 table 可能被并发替换（扩容或缩容）
+        Node<V>[] tab = table;
+        if (tab == null || tab.length == 0) {
             return null;
         }
-        Node<V> head = table[c & (table.length - 1)];
+        Node<V> head = tab[c & (tab.length - 1)];
         if (head != null) {
             if (head.c == c) {
                 return head;
@@ -120,6 +122,96 @@ public abstract class Node<V> extends BaseNode<V> {
      */
     protected abstract List<Node<V>> findAll();
 
+    /**
+     * 通过头节点将同一下标的所有兄弟节点依次写入 dest（不创建临时对象）
+     *
+     * @param dest 目标数组
+     * @param pos  写入的起始位置
+     * @return 写入后的下一个位置
+     */
+    protected abstract int collectAll(Node<V>[] dest, int pos);
+
+    /**
+     * 将所有子节点写入 dest（不保证顺序，不创建临时对象）
+     *
+     * @param dest 目标数组（长度不小于 {@link #size()}）
+     * @return 子节点数量
+     */
+    public int children(Node<V>[] dest) {
+        Node<V>[] tab = table;
+        if (tab == null || size == 0) {
+            return 0;
+        }
+        int n = 0;
+        for (Node<V> head : tab) {
+            if (head != null) {
+                n = head.collectAll(dest, n);
+            }
+        }
+        return n;
+    }
+
+    /**
+     * 将所有子节点按字典序写入 dest（不创建临时对象）
+     *
+     * @param dest 目标数组（长度不小于 {@link #size()}）
+     * @return 子节点数量
+     */
+    public int sortedChildren(Node<V>[] dest) {
+        int n = children(dest);
+        sortByChar(dest, n);
+        return n;
+    }
+
+    /**
+     * 按字符原地排序（数量较少时插入排序，否则堆排序）
+     *
+     * @param nodes 节点数组
+     * @param n     节点数量
+     */
+    static <V> void sortByChar(Node<V>[] nodes, int n) {
+        if (n <= 16) {
+            for (int i = 1; i < n; i++) {
+                Node<V> node = nodes[i];
+                char c = node.c;
+                int j = i - 1;
+                while (j >= 0 && nodes[j].c > c) {
+                    nodes[j + 1] = nodes[j];
+                    j--;
+                }
+                nodes[j + 1] = node;
+            }
+            return;
+        }
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDown(nodes, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            Node<V> max = nodes[0];
+            nodes[0] = nodes[end];
+            nodes[end] = max;
+            siftDown(nodes, 0, end);
+        }
+    }
+
+    private static <V> void siftDown(Node<V>[] nodes, int i, int n) {
+        Node<V> node = nodes[i];
+        int half = n >>> 1;
+        while (i < half) {
+            int child = (i << 1) + 1;
+            int right = child + 1;
+            if (right < n && nodes[right].c > nodes[child].c) {
+                child = right;
+            }
+            if (node.c >= nodes[child].c) {
+                break;
+            }
+            nodes[i] = nodes[child];
+            i = child;
+        }
+        nodes[i] = node;
+    }
+
     /**
      * 通过头节点增加新节点：
      *
@@ -212,10 +304,32 @@ public abstract class Node<V> extends BaseNode<V> {
     }
 
     private boolean isNeedExpand() {
+        return isNeedExpand(size, table.length);
+    }
+
+    private static boolean isNeedExpand(int size, int capacity) {
         if (size > TrieConstants.EXPAND_RANGE_63488) {
-            return table.length <= TrieConstants.TABLE_HALF_CAPACITY;
+            return capacity <= TrieConstants.TABLE_HALF_CAPACITY;
         }
-        return size >= ((table.length << 1) - 1);
+        return size >= ((capacity << 1) - 1);
+    }
+
+    /**
+     * 预分配数组：按子节点数量一次性分配数组，使后续增加这些子节点时无需逐次扩容
+     * <p>
+     * 数组容量与逐个增加子节点后的容量相同，因此不影响之后的扩容和缩容策略。
+     *
+     * @param count 即将增加的子节点数量（当前节点须无子节点）
+     */
+    public void presize(int count) {
+        if (this.table != null || count <= 0) {
+            return;
+        }
+        int capacity = TrieConstants.TABLE_INITIAL_CAPACITY;
+        while (isNeedExpand(count - 1, capacity)) {
+            capacity <<= 1;
+        }
+        this.table = new Node[capacity];
     }
 
     /**
@@ -312,52 +426,39 @@ public abstract class Node<V> extends BaseNode<V> {
     }
 
     /**
+     * 按字典序遍历子节点：一次性将子节点复制到数组并原地排序
+     *
      * @author Patrick.Lau
      * @since 0.0.4 2021-10-30
      */
     private static class NodeIterator<V> implements Iterator<Node<V>> {
 
-        private final List<Node<V>> list;
+        private final Node<V>[] nodes;
+        private final int count;
         private int index;
 
         public NodeIterator(Node<V> parent) {
-            Node<V>[] tab = parent.table;
-            if (tab == null || parent.size() == 0) {
-                this.list = Collections.emptyList();
+            int size = parent.size();
+            if (parent.table == null || size == 0) {
+                this.nodes = null;
+                this.count = 0;
                 return;
             }
-
-            // 使用AvlTree来做字典序处理
-            int count = 0;
-            AvlNode<Node<V>> root = null;
-            for (Node<V> node : tab) {
-                if (node != null) {
-                    List<Node<V>> nodes = node.findAll();
-                    for (Node<V> next : nodes) {
-                        ++count;
-                        if (root == null) {
-                            root = new AvlNode<>(next.c, next);
-                        } else {
-                            root = AvlNode.insertAndBalance(root, new AvlNode<>(next.c, next));
-                        }
-                    }
-                }
-            }
-
-            assert root != null;
-            List<Node<V>> nodes = new ArrayList<>(count);
-            root.inorderTraversalValue(nodes);
-            this.list = nodes;
+            this.nodes = new Node[size];
+            this.count = parent.sortedChildren(nodes);
         }
 
         @Override
         public boolean hasNext() {
-            return index < list.size();
+            return index < count;
         }
 
         @Override
         public Node<V> next() {
-            return list.get(index++);
+            if (index >= count) {
+                throw new NoSuchElementException();
+            }
+            return nodes[index++];
         }
     }
 
@@ -22,7 +22,6 @@ import com.igeeksky.xtool.core.tuple.Tuple2;
 import com.igeeksky.xtool.core.tuple.Tuples;
 
 import java.util.Arrays;
-import java.util.Iterator;
 import java.util.List;
 import java.util.function.BiFunction;
 
@@ -57,6 +56,62 @@ class NodeHelper {
         return oldVal;
     }
 
+    /**
+     * 批量创建子树：keys 已按字典序排列，且 [lo, hi) 区间内的 key 均以 node 对应的前缀（长度为 depth）开头
+     * <p>
+     * 每个节点先划分直接子节点对应的 key 区间，一次性分配数组，再依次增加子节点，最后递归创建各子节点的子树。
+     *
+     * @param node      子树的根节点（无子节点）
+     * @param keys      按字典序排列的键
+     * @param values    与键一一对应的值
+     * @param lo        区间起始位置（包含）
+     * @param hi        区间结束位置（不包含）
+     * @param depth     node 对应的前缀长度
+     * @param bounds    各层的子节点区间划分（可复用的临时数组，bounds[depth] 可被替换为更大的数组）
+     * @param creator   节点创建器
+     * @param convertor 节点转换器
+     * @param <V>       值类型
+     */
+    public static <V> void build(Node<V> node, String[] keys, Object[] values, int lo, int hi, int depth, int[][] bounds,
+                                 NodeCreator<V> creator, NodeConvertor<? extends Node<V>, ? extends TreeNode<V>> convertor) {
+        int i = lo;
+        if (keys[i].length() == depth) {
+            node.value = (V) values[i];
+            if (++i == hi) {
+                return;
+            }
+        }
+
+        // 划分子节点区间：第 k 个子节点为 [bound[k], bound[k + 1])
+        int[] bound = bounds[depth];
+        int count = 0;
+        char prev = keys[i].charAt(depth);
+        bound[count++] = i;
+        for (int j = i + 1; j < hi; j++) {
+            char c = keys[j].charAt(depth);
+            if (c != prev) {
+                if (count + 1 >= bound.length) {
+                    bounds[depth] = bound = Arrays.copyOf(bound, bound.length << 1);
+                }
+                bound[count++] = j;
+                prev = c;
+            }
+        }
+        bound[count] = hi;
+
+        node.presize(count);
+        for (int k = 0; k < count; k++) {
+            node.addChild(keys[bound[k]].charAt(depth), creator, convertor);
+        }
+
+        // 链表转换为 AVL 树时会复制节点，因此全部子节点增加完毕之后再查找子节点并创建其子树；
+        // 递归调用只会修改更深层的区间划分，当前层的 bound 保持不变
+        for (int k = 0; k < count; k++) {
+            int from = bound[k], to = bound[k + 1];
+            build(node.findChild(keys[from].charAt(depth)), keys, values, from, to, depth + 1, bounds, creator, convertor);
+        }
+    }
+
     /**
      * 精确匹配
      *
@@ -91,15 +146,16 @@ class NodeHelper {
      * @param start        char 数组的起始匹配位置
      * @param end          char 数组的结束匹配位置
      * @param longestMatch 是否最长匹配
+     * @param normalizer   字符归一化器
      * @param <V>          值类型
      * @return 匹配得到的节点
      */
-    public static <V> Found<V> match(BaseNode<V> root, String word, int start, int end, boolean longestMatch) {
+    public static <V> Found<V> match(BaseNode<V> root, String word, int start, int end, boolean longestMatch, CharNormalizer normalizer) {
         BaseNode<V> p = root;
         int last = end - 1;
         Found<V> f = null;
         for (int i = start; i < end; i++) {
-            BaseNode<V> ch = p.findChild(word.charAt(i));
+            BaseNode<V> ch = p.findChild(normalizer.normalize(word.charAt(i)));
             if (ch == null) {
                 return f;
             }
@@ -120,19 +176,20 @@ class NodeHelper {
     /**
      * 键匹配（返回多个匹配到的值）
      *
-     * @param root    根节点
-     * @param word    待匹配的字符串
-     * @param start   char 数组的起始匹配位置
-     * @param end     char 数组的结束匹配位置
-     * @param maximum 结果集最大数量
-     * @param founds  用于保存结果集
-     * @param <V>     值类型
+     * @param root       根节点
+     * @param word       待匹配的字符串
+     * @param start      char 数组的起始匹配位置
+     * @param end        char 数组的结束匹配位置
+     * @param maximum    结果集最大数量
+     * @param founds     用于保存结果集
+     * @param normalizer 字符归一化器
+     * @param <V>        值类型
      */
-    public static <V> void matchAll(BaseNode<V> root, String word, int start, int end, int maximum, List<Found<V>> founds) {
+    public static <V> void matchAll(BaseNode<V> root, String word, int start, int end, int maximum, List<Found<V>> founds, CharNormalizer normalizer) {
         BaseNode<V> p = root;
         int last = end - 1;
         for (int i = start; i < end; i++) {
-            BaseNode<V> ch = p.findChild(word.charAt(i));
+            BaseNode<V> ch = p.findChild(normalizer.normalize(word.charAt(i)));
             if (ch == null) {
                 return;
             }
@@ -148,6 +205,68 @@ class NodeHelper {
         }
     }
 
+    /**
+     * 匹配键（仅保存一个结果，不创建 key 字符串）
+     *
+     * @param root         根节点
+     * @param text         待匹配的文本
+     * @param start        起始匹配位置
+     * @param end          结束匹配位置
+     * @param longestMatch 是否最长匹配
+     * @param buffer       用于保存匹配结果
+     * @param normalizer   字符归一化器
+     * @param <V>          值类型
+     */
+    public static <V> void match(BaseNode<V> root, CharSequence text, int start, int end, boolean longestMatch, MatchBuffer<V> buffer, CharNormalizer normalizer) {
+        BaseNode<V> p = root;
+        int last = -1;
+        V value = null;
+        for (int i = start; i < end; i++) {
+            BaseNode<V> ch = p.findChild(normalizer.normalize(text.charAt(i)));
+            if (ch == null) {
+                break;
+            }
+            V val = ch.value;
+            if (val != null) {
+                last = i;
+                value = val;
+                if (!longestMatch) {
+                    break;
+                }
+            }
+            p = ch;
+        }
+        if (value != null) {
+            buffer.add(last, value);
+        }
+    }
+
+    /**
+     * 键匹配（保存全部匹配结果，不创建 key 字符串）
+     *
+     * @param root       根节点
+     * @param text       待匹配的文本
+     * @param start      起始匹配位置
+     * @param end        结束匹配位置
+     * @param buffer     用于保存匹配结果
+     * @param normalizer 字符归一化器
+     * @param <V>        值类型
+     */
+    public static <V> void matchAll(BaseNode<V> root, CharSequence text, int start, int end, MatchBuffer<V> buffer, CharNormalizer normalizer) {
+        BaseNode<V> p = root;
+        for (int i = start; i < end; i++) {
+            BaseNode<V> ch = p.findChild(normalizer.normalize(text.charAt(i)));
+            if (ch == null) {
+                return;
+            }
+            V val = ch.value;
+            if (val != null) {
+                buffer.add(i, val);
+            }
+            p = ch;
+        }
+    }
+
     /**
      * <p>搜索给定节点的全部后缀节点，并将后缀节点包含的所有值返回</p>
      *
@@ -160,71 +279,195 @@ class NodeHelper {
      */
     public static <V> void search(BaseNode<V> root, char[] prefix, int maxDepth, boolean dfs, BiFunction<String, V, Boolean> function) {
         if (dfs) {
-            traversal(root, prefix, maxDepth, true, function);
+            traversal(root, prefix, maxDepth, function);
         } else {
-            for (int depth = 1; depth <= maxDepth; depth++) {
-                boolean remaining = traversal(root, prefix, depth, false, function);
-                if (!remaining) {
-                    return;
-                }
-            }
+            levelOrder(root, prefix, maxDepth, function);
         }
     }
 
     /**
-     * 搜索给定节点的全部后缀节点，并将后缀节点包含的所有值返回
+     * 深度优先遍历给定节点的全部后缀节点
      *
-     * @param root  待搜索后缀节点的根起始节点（如果起始节点为根节点，那么返回整棵树包含的全部值）
-     * @param depth 搜索的最大深度
-     * @param dfs   是否采用深度优先搜索
-     * @param <V>   值类型
-     * @return 广度优先搜索，是否需要继续搜索下一层（上一次搜索的最深层是否有节点：有，继续搜索下一层；无，结束搜索）
+     * @param root     待搜索后缀节点的根起始节点（如果起始节点为根节点，那么返回整棵树包含的全部值）
+     * @param prefix   前缀
+     * @param depth    搜索的最大深度
+     * @param function 用户自定义操作，其返回值为false时停止遍历
+     * @param <V>      值类型
      */
-    private static <V> boolean traversal(BaseNode<V> root, char[] prefix, int depth, boolean dfs, BiFunction<String, V, Boolean> function) {
-        int threshold = depth - 1, curDep = 0;
-        boolean remaining = false;
-        Iterator<Node<V>>[] iterators = new Iterator[depth];
+    private static <V> void traversal(BaseNode<V> root, char[] prefix, int depth, BiFunction<String, V, Boolean> function) {
+        int curDep = 0;
+        // 每层复用同一数组保存（按字典序排列的）子节点，遍历过程不再为每个节点创建临时对象
+        Node<V>[][] levels = new Node[depth][];
+        int[] counts = new int[depth];
+        int[] cursors = new int[depth];
         int len = prefix.length;
         char[] chars = Arrays.copyOf(prefix, len + depth);
-        iterators[0] = root.iterator();
+        counts[0] = sortedChildren(root, levels, 0);
         while (curDep >= 0) {
-            Iterator<Node<V>> it = iterators[curDep];
-            if (curDep < threshold) {
-                boolean hasChild = false;
-                while (it.hasNext()) {
-                    Node<V> parent = it.next();
-                    int index = len + curDep;
-                    chars[index] = parent.c;
-                    if (dfs && parent.value != null) {
-                        if (!function.apply(String.valueOf(chars, 0, index + 1), parent.value)) {
-                            return false;
-                        }
-                    }
-                    if (parent.size() > 0) {
-                        iterators[++curDep] = parent.iterator();
-                        hasChild = true;
-                        break;
+            if (cursors[curDep] >= counts[curDep]) {
+                curDep--;
+                continue;
+            }
+            Node<V> node = levels[curDep][cursors[curDep]++];
+            int index = len + curDep;
+            chars[index] = node.c;
+            if (node.value != null) {
+                if (!function.apply(String.valueOf(chars, 0, index + 1), node.value)) {
+                    return;
+                }
+            }
+            if (curDep < depth - 1 && node.size() > 0) {
+                ++curDep;
+                counts[curDep] = sortedChildren(node, levels, curDep);
+                cursors[curDep] = 0;
+            }
+        }
+    }
+
+    /**
+     * 广度优先（层序）遍历给定节点的全部后缀节点
+     * <p>
+     * 逐层处理：当前层的节点及其 key 保存在 frontier 和 keys 中，处理完当前层后，
+     * 再按顺序将各节点的子节点（按字典序）及其 key 写入下一层的数组，因此同一层的节点按 key 的字典序排列。
+     * 每个节点仅访问一次，两层的数组交替复用。
+     *
+     * @param root     待搜索后缀节点的根起始节点
+     * @param prefix   前缀
+     * @param maxDepth 搜索的最大深度
+     * @param function 用户自定义操作，其返回值为false时停止遍历
+     * @param <V>      值类型
+     */
+    private static <V> void levelOrder(BaseNode<V> root, char[] prefix, int maxDepth, BiFunction<String, V, Boolean> function) {
+        Node<V>[][] scratch = new Node[1][];
+        int width = prefix.length + 1;
+        int count = sortedChildren(root, scratch, 0);
+        Node<V>[] frontier = Arrays.copyOf(scratch[0], Math.max(count, 16));
+        char[] keys = new char[frontier.length * width];
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(prefix, 0, keys, i * width, prefix.length);
+            keys[i * width + prefix.length] = frontier[i].c;
+        }
+        Node<V>[] next = new Node[frontier.length];
+        char[] nextKeys = new char[0];
+        for (int depth = 1; count > 0; depth++) {
+            for (int i = 0; i < count; i++) {
+                V value = frontier[i].value;
+                if (value != null) {
+                    if (!function.apply(String.valueOf(keys, i * width, width), value)) {
+                        return;
                     }
                 }
-                if (!hasChild) {
-                    iterators[curDep--] = null;
+            }
+            if (depth >= maxDepth) {
+                return;
+            }
+            int nextWidth = width + 1, nextCount = 0;
+            for (int i = 0; i < count; i++) {
+                Node<V> parent = frontier[i];
+                int size = parent.size();
+                if (size == 0) {
+                    continue;
                 }
-            } else {
-                remaining = true;
-                while (it.hasNext()) {
-                    Node<V> node = it.next();
-                    if (node.value != null) {
-                        int index = len + curDep;
-                        chars[index] = node.c;
-                        if (!function.apply(String.valueOf(chars, 0, index + 1), node.value)) {
-                            return false;
-                        }
-                    }
+                if (nextCount + size > next.length) {
+                    next = Arrays.copyOf(next, Math.max(nextCount + size, next.length + (next.length >> 1)));
+                }
+                if ((nextCount + size) * nextWidth > nextKeys.length) {
+                    nextKeys = Arrays.copyOf(nextKeys, next.length * nextWidth);
+                }
+                int n = sortedChildren(parent, scratch, 0);
+                Node<V>[] children = scratch[0];
+                for (int j = 0; j < n; j++) {
+                    int offset = nextCount * nextWidth;
+                    System.arraycopy(keys, i * width, nextKeys, offset, width);
+                    nextKeys[offset + width] = children[j].c;
+                    next[nextCount++] = children[j];
+                }
+            }
+            Node<V>[] tmpNodes = frontier;
+            frontier = next;
+            next = tmpNodes;
+            char[] tmpKeys = keys;
+            keys = nextKeys;
+            nextKeys = tmpKeys;
+            width = nextWidth;
+            count = nextCount;
+        }
+    }
+
+    /**
+     * 将 parent 的子节点按字典序写入 levels[level]（数组容量不足时扩容）
+     *
+     * @param parent 父节点
+     * @param levels 每层的子节点数组
+     * @param level  层
+     * @param <V>    值类型
+     * @return 子节点数量
+     */
+    static <V> int sortedChildren(BaseNode<V> parent, Node<V>[][] levels, int level) {
+        Node<V>[] nodes = levels[level];
+        if (parent instanceof Node<V> node) {
+            int size = node.size();
+            if (nodes == null || nodes.length < size) {
+                nodes = levels[level] = new Node[Math.max(size, 16)];
+            }
+            return node.sortedChildren(nodes);
+        }
+        // 根节点：子节点已按字典序迭代
+        int n = 0;
+        if (nodes == null) {
+            nodes = levels[level] = new Node[16];
+        }
+        for (Node<V> child : parent) {
+            if (n == nodes.length) {
+                nodes = levels[level] = Arrays.copyOf(nodes, n << 1);
+            }
+            nodes[n++] = child;
+        }
+        return n;
+    }
+
+    /**
+     * 模糊搜索：深度优先 + 字典序遍历给定节点及其后缀节点，返回与 word 的编辑距离不超过 maxDistance 的键值对
+     * <p>
+     * 每向下一层计算一行编辑距离，该行的最小值超过 maxDistance 时不再遍历此分支。
+     *
+     * @param first    起始节点（key 的首字符节点）
+     * @param rows     编辑距离的动态规划行
+     * @param function 用户自定义操作，其返回值为false时停止遍历
+     * @param <V>      值类型
+     * @return 是否需要继续搜索（function 返回 false 时为 false）
+     */
+    public static <V> boolean fuzzySearch(Node<V> first, LevenshteinRows rows, BiFunction<String, V, Boolean> function) {
+        int maxDepth = rows.maxDepth(), maxDistance = rows.maxDistance();
+        char[] chars = new char[maxDepth];
+        Node<V>[][] levels = new Node[maxDepth][];
+        int[] counts = new int[maxDepth];
+        int[] cursors = new int[maxDepth];
+        levels[0] = new Node[]{first};
+        counts[0] = 1;
+        int top = 0;
+        while (top >= 0) {
+            if (cursors[top] >= counts[top]) {
+                top--;
+                continue;
+            }
+            Node<V> node = levels[top][cursors[top]++];
+            int depth = top + 1;
+            chars[top] = node.c;
+            int min = rows.advance(depth, node.c);
+            V value = node.value;
+            if (value != null && rows.distance(depth) <= maxDistance) {
+                if (!function.apply(String.valueOf(chars, 0, depth), value)) {
+                    return false;
                 }
-                iterators[curDep--] = null;
+            }
+            if (min <= maxDistance && depth < maxDepth && node.size() > 0) {
+                ++top;
+                counts[top] = sortedChildren(node, levels, top);
+                cursors[top] = 0;
             }
         }
-        return remaining;
+        return true;
     }
 
     /**
@@ -0,0 +1,369 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import com.igeeksky.xtool.core.lang.Assert;
+import com.igeeksky.xtool.core.lang.codec.Codec;
+import com.igeeksky.xtool.core.tuple.Tuple2;
+import com.igeeksky.xtool.core.tuple.Tuples;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+/**
+ * <p>值保存于堆外内存的 Trie</p>
+ * 值经 {@link Codec} 编码后保存于直接内存（{@link ByteBuffer#allocateDirect} 分配的 slab），
+ * 节点仅保存 long 类型的地址，每次读取时再解码。
+ * 适用于值较大（如：序列化的实体）且数量较多的场景：值不再占用堆内存，老年代较小，垃圾回收的停顿时间随之缩短。
+ * <p>
+ * 1. 键的存储、查找及并发控制同 {@link ConcurrentHashTrie}；<br>
+ * 2. put 覆盖旧值、remove 删除键时释放旧值占用的块，块可被之后添加的值复用；clear 丢弃全部 slab；<br>
+ * 3. 读取值时如果该地址的块已被并发覆盖（或删除）的操作释放，则重新读取该键的地址：地址已改变则读取新值，
+ * 因此并发覆盖期间 get 总是返回旧值或新值；键已删除时视为不存在：get 返回空，遍历及匹配跳过该键。
+ * <p>
+ * 注意：返回旧值的操作（put、remove）需解码旧值；如无需旧值，使用 {@link OffHeapTrie#contains} 判断是否存在无需解码。
+ *
+ * @param <V> 值类型
+ * @author Patrick.Lau
+ * @see OffHeapValueStore
+ * @since 1.2.1
+ */
+public class OffHeapTrie<V> implements Trie<V> {
+
+    private final ConcurrentHashTrie<Long> trie;
+
+    private final OffHeapValueStore store;
+
+    private final Codec<V> codec;
+
+    /**
+     * @param codec 值的编解码器
+     */
+    public OffHeapTrie(Codec<V> codec) {
+        this(codec, OffHeapValueStore.DEFAULT_SLAB_SIZE);
+    }
+
+    /**
+     * @param codec    值的编解码器
+     * @param slabSize 每次分配的直接内存大小（不小于 4096，不大于 1G，非 2 的幂时向上取整为 2 的幂）
+     */
+    public OffHeapTrie(Codec<V> codec, int slabSize) {
+        this(codec, slabSize, CharNormalizer.IDENTITY);
+    }
+
+    /**
+     * @param codec      值的编解码器
+     * @param slabSize   每次分配的直接内存大小（不小于 4096，不大于 1G，非 2 的幂时向上取整为 2 的幂）
+     * @param normalizer 字符归一化器
+     */
+    public OffHeapTrie(Codec<V> codec, int slabSize, CharNormalizer normalizer) {
+        Assert.notNull(codec, "codec must not be null");
+        this.codec = codec;
+        this.store = new OffHeapValueStore(slabSize);
+        this.trie = new ConcurrentHashTrie<>(normalizer);
+    }
+
+    /**
+     * 解码已从 Trie 中移除的旧值（put 覆盖及 remove 返回的地址仅由当前线程释放）
+     *
+     * @param address 旧值的地址
+     * @return 旧值
+     */
+    private V decode(Long address) {
+        if (address == null) {
+            return null;
+        }
+        byte[] bytes = store.read(address);
+        return (bytes == null) ? null : codec.decode(bytes);
+    }
+
+    /**
+     * 解码键对应的值
+     * <p>
+     * 从 Trie 读取地址之后、读取块之前，该块可能已被并发的覆盖或删除操作释放：此时重新读取该键的地址，
+     * 地址未改变（或键已删除）说明该键已不存在，返回空；否则读取新地址。
+     *
+     * @param key     键（Trie 中的 key 或原文本，查询时会重新归一化）
+     * @param address 从 Trie 读取的地址
+     * @return 值（键已不存在时返回空）
+     */
+    private V decode(String key, Long address) {
+        while (address != null) {
+            byte[] bytes = store.read(address);
+            if (bytes != null) {
+                return codec.decode(bytes);
+            }
+            Long current = trie.get(key);
+            if (current == null || current.longValue() == address.longValue()) {
+                return null;
+            }
+            address = current;
+        }
+        return null;
+    }
+
+    private Tuple2<String, V> decode(Tuple2<String, Long> tuple) {
+        if (tuple == null) {
+            return null;
+        }
+        V value = decode(tuple.getT1(), tuple.getT2());
+        return (value == null) ? null : Tuples.of(tuple.getT1(), value);
+    }
+
+    private List<Tuple2<String, V>> decodeTuples(List<Tuple2<String, Long>> tuples) {
+        List<Tuple2<String, V>> result = new LinkedList<>();
+        for (Tuple2<String, Long> tuple : tuples) {
+            Tuple2<String, V> decoded = decode(tuple);
+            if (decoded != null) {
+                result.add(decoded);
+            }
+        }
+        return result;
+    }
+
+    private List<Found<V>> decodeFounds(List<Found<Long>> founds) {
+        List<Found<V>> result = new LinkedList<>();
+        for (Found<Long> found : founds) {
+            V value = decode(found.key(), found.value());
+            if (value != null) {
+                result.add(new Found<>(found.begin(), found.end(), found.key(), value));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public V put(String key, V value) {
+        Assert.notNull(value, "value must not be null");
+        Assert.hasLength(key, "key must not be null or blank");
+        long address = store.allocate(codec.encode(value));
+        Long old = trie.put(key, address);
+        if (old == null) {
+            return null;
+        }
+        V oldValue = decode(old);
+        store.free(old);
+        return oldValue;
+    }
+
+    /**
+     * 批量添加键值对（逐个添加，以便释放被覆盖的旧值）
+     *
+     * @param map 多个键值对（键：不为空且长度大于0；值：不能为空）
+     */
+    @Override
+    public void putAll(TreeMap<String, V> map) {
+        Assert.notNull(map, "map must not be null");
+        map.forEach(this::put);
+    }
+
+    @Override
+    public V get(String key) {
+        return decode(key, trie.get(key));
+    }
+
+    @Override
+    public Tuple2<String, V> prefixMatch(String word) {
+        return decode(trie.prefixMatch(word));
+    }
+
+    @Override
+    public Tuple2<String, V> prefixMatch(String word, boolean longestMatch) {
+        return decode(trie.prefixMatch(word, longestMatch));
+    }
+
+    @Override
+    public List<Tuple2<String, V>> prefixMatchAll(String word) {
+        return decodeTuples(trie.prefixMatchAll(word));
+    }
+
+    @Override
+    public List<Tuple2<String, V>> prefixMatchAll(String word, int maximum) {
+        return decodeTuples(trie.prefixMatchAll(word, maximum));
+    }
+
+    @Override
+    public Tuple2<String, V> keyWithPrefix(String prefix) {
+        return decode(trie.keyWithPrefix(prefix));
+    }
+
+    @Override
+    public Tuple2<String, V> keyWithPrefix(String prefix, boolean longestMatch) {
+        return decode(trie.keyWithPrefix(prefix, longestMatch));
+    }
+
+    @Override
+    public List<Tuple2<String, V>> keysWithPrefix(String prefix) {
+        return decodeTuples(trie.keysWithPrefix(prefix));
+    }
+
+    @Override
+    public List<Tuple2<String, V>> keysWithPrefix(String prefix, int maximum, int depth, boolean dfs) {
+        return decodeTuples(trie.keysWithPrefix(prefix, maximum, depth, dfs));
+    }
+
+    @Override
+    public List<Tuple2<String, V>> fuzzyMatch(String word, int maxDistance) {
+        return decodeTuples(trie.fuzzyMatch(word, maxDistance));
+    }
+
+    @Override
+    public List<Tuple2<String, V>> fuzzyMatch(String word, int maxDistance, int maximum) {
+        return decodeTuples(trie.fuzzyMatch(word, maxDistance, maximum));
+    }
+
+    @Override
+    public List<Found<V>> match(String text) {
+        return decodeFounds(trie.match(text));
+    }
+
+    @Override
+    public List<Found<V>> match(String text, boolean longestMatch, boolean oneByOne) {
+        return decodeFounds(trie.match(text, longestMatch, oneByOne));
+    }
+
+    @Override
+    public List<Found<V>> matchAll(String text) {
+        return decodeFounds(trie.matchAll(text));
+    }
+
+    @Override
+    public List<Found<V>> matchAll(String text, boolean oneByOne, int maximum) {
+        return decodeFounds(trie.matchAll(text, oneByOne, maximum));
+    }
+
+    @Override
+    public void match(CharSequence text, int from, int to, boolean longestMatch, boolean oneByOne, MatchHandler<V> handler) {
+        Assert.notNull(handler, "handler must not be null");
+        trie.match(text, from, to, longestMatch, oneByOne, decode(text, handler));
+    }
+
+    @Override
+    public void matchAll(CharSequence text, int from, int to, boolean oneByOne, MatchHandler<V> handler) {
+        Assert.notNull(handler, "handler must not be null");
+        trie.matchAll(text, from, to, oneByOne, decode(text, handler));
+    }
+
+    private MatchHandler<Long> decode(CharSequence text, MatchHandler<V> handler) {
+        return (begin, end, address) -> {
+            byte[] bytes = store.read(address);
+            V value = (bytes != null) ? codec.decode(bytes) : decode(text.subSequence(begin, end + 1).toString(), address);
+            return value == null || handler.handle(begin, end, value);
+        };
+    }
+
+    @Override
+    public List<String> keys(int depth) {
+        return trie.keys(depth);
+    }
+
+    @Override
+    public List<V> values(int depth) {
+        List<V> values = new LinkedList<>();
+        traversal(depth, (key, value) -> values.add(value));
+        return values;
+    }
+
+    @Override
+    public void traversal(int depth, BiFunction<String, V, Boolean> function) {
+        trie.traversal(depth, (key, address) -> {
+            V value = decode(key, address);
+            return value == null || function.apply(key, value);
+        });
+    }
+
+    @Override
+    public Stream<Tuple2<String, V>> stream(int depth) {
+        return trie.stream(depth).map(this::decode).filter(Objects::nonNull);
+    }
+
+    @Override
+    public Stream<Tuple2<String, V>> streamWithPrefix(String prefix, int depth) {
+        return trie.streamWithPrefix(prefix, depth).map(this::decode).filter(Objects::nonNull);
+    }
+
+    /**
+     * 判断键是否存在（无需解码值）
+     */
+    @Override
+    public boolean contains(String key) {
+        return trie.contains(key);
+    }
+
+    @Override
+    public V remove(String key) {
+        Long old = trie.remove(key);
+        if (old == null) {
+            return null;
+        }
+        V oldValue = decode(old);
+        store.free(old);
+        return oldValue;
+    }
+
+    @Override
+    public int height() {
+        return trie.height();
+    }
+
+    @Override
+    public CharNormalizer normalizer() {
+        return trie.normalizer();
+    }
+
+    @Override
+    public int size() {
+        return trie.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return trie.isEmpty();
+    }
+
+    /**
+     * 清空全部键值对，并丢弃全部直接内存（在其被垃圾回收之后归还操作系统）
+     * <p>
+     * 与并发的 put 之间不保证原子性：清空期间添加的值可能随 slab 一并丢弃，此后读取该键返回空。
+     */
+    @Override
+    public void clear() {
+        trie.clear();
+        store.clear();
+    }
+
+    /**
+     * @return 已分配的直接内存（字节）
+     */
+    public long allocatedBytes() {
+        return store.allocatedBytes();
+    }
+
+    /**
+     * @return 值已占用的直接内存（字节，包含块头及按 2 的幂取整的空间）
+     */
+    public long usedBytes() {
+        return store.usedBytes();
+    }
+
+}
@@ -0,0 +1,355 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import com.igeeksky.xtool.core.lang.Assert;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * <p>堆外字节块存储</p>
+ * 以固定大小的直接内存块（slab，{@link ByteBuffer#allocateDirect}）保存字节数组，返回 long 类型的地址。
+ * <p>
+ * 1. 分配：块大小为 2 的幂（包含 8 字节的块头，最小 16 字节），优先复用同一大小已释放的块，否则从当前 slab 顺序分配；
+ * 超过 slab 大小的数据单独分配一个 slab；<br>
+ * 2. 释放：块加入对应大小的空闲链表（链表指针保存在块内，不占用堆内存），单独分配的 slab 直接丢弃；<br>
+ * 3. 块头：int 标记 + int 长度。每次分配使用新的标记（32 位，0 表示已释放），并同时编码到地址中，读取时校验，
+ * 因此持有已释放地址的并发读取返回空，不会读取到复用该块的其它数据。
+ * <p>
+ * 注意：标记在 2<sup>32</sup> - 1 次分配后回绕，因此该保证是概率性的：仅当持有已释放地址的读取期间，
+ * 恰好经过 2<sup>32</sup> - 1 的整数倍次分配且该块被复用时，才可能读取到其它数据。
+ * <p>
+ * 地址格式：标记（高 32 位） | slab 序号 | 块偏移 / 16（低 32 位）。
+ * 块偏移总是 16 的倍数，占用 log2(slabSize) - 4 位，其余位为 slab 序号，因此可寻址的直接内存共 64G（2<sup>32</sup> * 16 字节）。
+ * <p>
+ * 并发控制：分配、释放持有写锁；读取优先乐观读，校验失败再转为悲观读。
+ * <p>
+ * 直接内存在丢弃的 slab 被垃圾回收之后才会归还操作系统。
+ *
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+final class OffHeapValueStore {
+
+    static final int MAX_SLAB_SIZE = 1 << 30;
+    static final int DEFAULT_SLAB_SIZE = 1 << 26;
+
+    private static final int HEADER = 8;
+    private static final int MIN_BLOCK_SHIFT = 4;
+
+    private static final int TAG_SHIFT = 32;
+
+    private final int slabSize;
+
+    /**
+     * 地址中块偏移（以 16 字节为单位）占用的位数
+     */
+    private final int offsetBits;
+
+    /**
+     * slab 的最大数量
+     */
+    private final int maxSlabs;
+
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * slab 数组：写时复制，读取时无需加锁
+     */
+    private volatile ByteBuffer[] slabs = new ByteBuffer[0];
+
+    /**
+     * 可复用的 slab 序号（单独分配的 slab 释放后）
+     */
+    private final List<Integer> freeSlabs = new ArrayList<>();
+
+    /**
+     * 各块大小（下标为 log2(块大小)）的空闲链表头地址，-1 表示空
+     */
+    private final long[] freeHeads = new long[32];
+
+    private int current = -1;
+    private int position;
+    private int lastTag;
+
+    private long allocated;
+    private long used;
+
+    /**
+     * @param slabSize slab 大小（不小于 4096，不大于 {@value MAX_SLAB_SIZE}，非 2 的幂时向上取整为 2 的幂）
+     */
+    OffHeapValueStore(int slabSize) {
+        Assert.isTrue(slabSize >= 4096 && slabSize <= MAX_SLAB_SIZE, "slabSize must be between 4096 and " + MAX_SLAB_SIZE);
+        int size = Integer.highestOneBit(slabSize);
+        this.slabSize = (size < slabSize) ? size << 1 : size;
+        this.offsetBits = Integer.numberOfTrailingZeros(this.slabSize) - MIN_BLOCK_SHIFT;
+        this.maxSlabs = 1 << (TAG_SHIFT - offsetBits);
+        Arrays.fill(freeHeads, -1L);
+    }
+
+    /**
+     * 保存字节数组
+     *
+     * @param bytes 字节数组
+     * @return 地址
+     */
+    long allocate(byte[] bytes) {
+        int length = bytes.length;
+        Assert.isTrue(length <= MAX_SLAB_SIZE - HEADER, "value is too large: " + length);
+        int blockSize = blockSize(length);
+        long stamp = lock.writeLock();
+        try {
+            int index, offset;
+            if (blockSize > slabSize) {
+                index = newSlab(blockSize);
+                offset = 0;
+            } else {
+                int shift = Integer.numberOfTrailingZeros(blockSize);
+                long head = freeHeads[shift];
+                if (head >= 0) {
+                    index = slabIndex(head);
+                    offset = offset(head);
+                    freeHeads[shift] = slabs[index].getLong(offset + HEADER);
+                } else {
+                    if (current < 0 || position + blockSize > slabSize) {
+                        current = newSlab(slabSize);
+                        position = 0;
+                    }
+                    index = current;
+                    offset = position;
+                    position += blockSize;
+                }
+            }
+            int tag = nextTag();
+            ByteBuffer slab = slabs[index];
+            slab.putInt(offset + 4, length);
+            slab.put(offset + HEADER, bytes);
+            slab.putInt(offset, tag);
+            used += blockSize;
+            return address(tag, index, offset);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 读取字节数组
+     *
+     * @param address 地址
+     * @return 字节数组（地址已释放则返回空）
+     */
+    byte[] read(long address) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                byte[] bytes = doRead(address);
+                if (lock.validate(stamp)) {
+                    return bytes;
+                }
+            } catch (RuntimeException ignored) {
+                // 乐观读期间块被并发释放或复用，读取到不一致的状态，转为悲观读
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return doRead(address);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private byte[] doRead(long address) {
+        ByteBuffer[] tab = slabs;
+        int index = slabIndex(address);
+        ByteBuffer slab = (index < tab.length) ? tab[index] : null;
+        if (slab == null) {
+            return null;
+        }
+        int offset = offset(address);
+        if (!isLive(slab, offset, address)) {
+            return null;
+        }
+        int length = slab.getInt(offset + 4);
+        if (length < 0 || length > slab.capacity() - offset - HEADER) {
+            // 仅可能出现于乐观读期间块被并发复用
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        slab.get(offset + HEADER, bytes);
+        return bytes;
+    }
+
+    /**
+     * 释放地址对应的块（地址已释放则忽略）
+     *
+     * @param address 地址
+     */
+    void free(long address) {
+        long stamp = lock.writeLock();
+        try {
+            ByteBuffer[] tab = slabs;
+            int index = slabIndex(address);
+            ByteBuffer slab = (index < tab.length) ? tab[index] : null;
+            if (slab == null) {
+                return;
+            }
+            int offset = offset(address);
+            if (!isLive(slab, offset, address)) {
+                return;
+            }
+            int blockSize = blockSize(slab.getInt(offset + 4));
+            used -= blockSize;
+            if (blockSize > slabSize) {
+                releaseSlab(index);
+                return;
+            }
+            int shift = Integer.numberOfTrailingZeros(blockSize);
+            slab.putInt(offset, 0);
+            slab.putLong(offset + HEADER, freeHeads[shift]);
+            freeHeads[shift] = address(0, index, offset);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 丢弃全部 slab（标记不重置，因此此前的地址均失效）
+     */
+    void clear() {
+        long stamp = lock.writeLock();
+        try {
+            slabs = new ByteBuffer[0];
+            freeSlabs.clear();
+            Arrays.fill(freeHeads, -1L);
+            current = -1;
+            position = 0;
+            allocated = 0;
+            used = 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @return 已分配的直接内存（字节）
+     */
+    long allocatedBytes() {
+        long stamp = lock.readLock();
+        try {
+            return allocated;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return 已使用的块（字节，包含块头及按 2 的幂取整的空间）
+     */
+    long usedBytes() {
+        long stamp = lock.readLock();
+        try {
+            return used;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * 块是否仍为该地址分配的块（slab 序号可能已被复用，因此先检查偏移）
+     */
+    private boolean isLive(ByteBuffer slab, int offset, long address) {
+        return offset <= slab.capacity() - HEADER && slab.getInt(offset) == tag(address);
+    }
+
+    private int newSlab(int capacity) {
+        ByteBuffer slab = ByteBuffer.allocateDirect(capacity);
+        allocated += capacity;
+        ByteBuffer[] tab = slabs;
+        if (!freeSlabs.isEmpty()) {
+            int index = freeSlabs.remove(freeSlabs.size() - 1);
+            ByteBuffer[] newTab = tab.clone();
+            newTab[index] = slab;
+            slabs = newTab;
+            return index;
+        }
+        int index = tab.length;
+        Assert.isTrue(index < maxSlabs, "too many slabs: " + maxSlabs);
+        ByteBuffer[] newTab = Arrays.copyOf(tab, index + 1);
+        newTab[index] = slab;
+        slabs = newTab;
+        return index;
+    }
+
+    private void releaseSlab(int index) {
+        ByteBuffer[] newTab = slabs.clone();
+        allocated -= newTab[index].capacity();
+        newTab[index] = null;
+        slabs = newTab;
+        freeSlabs.add(index);
+    }
+
+    /**
+     * 标记：非 0（0 表示块已释放）
+     */
+    private int nextTag() {
+        if (++lastTag == 0) {
+            lastTag = 1;
+        }
+        return lastTag;
+    }
+
+    /**
+     * 块大小：数据长度加块头后取整为 2 的幂；超过 slab 大小时为单独分配的 slab 大小（不取整）
+     *
+     * @param length 数据长度
+     * @return 块大小
+     */
+    private int blockSize(int length) {
+        int total = length + HEADER;
+        if (total > slabSize) {
+            return total;
+        }
+        int size = Integer.highestOneBit(total);
+        if (size < total) {
+            size <<= 1;
+        }
+        return Math.max(size, 1 << MIN_BLOCK_SHIFT);
+    }
+
+    private long address(int tag, int slab, int offset) {
+        int location = (slab << offsetBits) | (offset >>> MIN_BLOCK_SHIFT);
+        return ((long) tag << TAG_SHIFT) | (location & 0xFFFFFFFFL);
+    }
+
+    private static int tag(long address) {
+        return (int) (address >>> TAG_SHIFT);
+    }
+
+    private int slabIndex(long address) {
+        return ((int) address) >>> offsetBits;
+    }
+
+    private int offset(long address) {
+        return ((int) address & ((1 << offsetBits) - 1)) << MIN_BLOCK_SHIFT;
+    }
+
+}
@@ -0,0 +1,1041 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import com.igeeksky.xtool.core.lang.Assert;
+import com.igeeksky.xtool.core.lang.IntegerValue;
+import com.igeeksky.xtool.core.tuple.Tuple2;
+import com.igeeksky.xtool.core.tuple.Tuples;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>基数树（路径压缩 Trie）</p>
+ * 只有一个子节点且没有值的节点链压缩为一个节点，节点保存一段字符（char 数组）而不是单个字符：
+ * <pre>
+ *     key：http://a.com/index, http://a.com/item
+ *
+ *     ConcurrentHashTrie：每个字符一个节点（共 21 个节点）
+ *     RadixTrie：
+ *            "http://a.com/i"
+ *              /         \
+ *        "ndex"          "tem"
+ * </pre>
+ * 适用于 URL、文件路径等后缀较长且较少分支的词典：节点数量远少于字符数量，因此占用内存较少。
+ * <p>
+ * 添加 key 时，如与已有节点的字符段部分相同，则拆分该节点；删除 key 时，如节点只剩一个子节点且没有值，则与子节点合并。
+ * 节点的字符段及子节点数组创建后不再修改（拆分、合并、增删子节点时均创建新的数组或节点），仅值会被原地修改。
+ * <p>
+ * 并发控制：所有写操作共用一个 {@link StampedLock}；
+ * get、prefixMatch、prefixMatchAll、match、matchAll 优先采用乐观读，校验失败再转为悲观读，其它读操作获取读锁。
+ * <p>
+ * 与 {@link ConcurrentHashTrie} 的所有查询结果（包括顺序）均相同。
+ *
+ * @param <V> 值类型
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+@SuppressWarnings("unchecked")
+public class RadixTrie<V> implements Trie<V> {
+
+    private static final char[] EMPTY_SEGMENT = new char[0];
+
+    private volatile int size = 0;
+    private volatile int height = 0;
+    private final TreeMap<Integer, IntegerValue> heightCache = new TreeMap<>();
+
+    private final StampedLock lock = new StampedLock();
+
+    private RadixNode<V> root = new RadixNode<>(EMPTY_SEGMENT, null, null);
+
+    @Override
+    public V put(String key, V value) {
+        Assert.notNull(value, "value must not be null");
+        Assert.hasLength(key, "key must not be null or blank");
+        long stamp = lock.writeLock();
+        try {
+            return doPut(key, value);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 逐个添加键值对（获取一次写锁）
+     *
+     * @param treeMap 多个键值对（键：不为空且长度大于0；值：不能为空）
+     */
+    @Override
+    public void putAll(TreeMap<String, V> treeMap) {
+        Assert.notNull(treeMap, "treeMap must not be null");
+        for (Map.Entry<String, V> entry : treeMap.entrySet()) {
+            Assert.notNull(entry.getValue(), "value must not be null");
+            Assert.hasLength(entry.getKey(), "key must not be null or blank");
+        }
+        long stamp = lock.writeLock();
+        try {
+            treeMap.forEach(this::doPut);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 添加键值对（调用时持有写锁）
+     */
+    private V doPut(String key, V value) {
+        int len = key.length();
+        RadixNode<V> parent = root;
+        int i = 0;
+        while (true) {
+            RadixNode<V>[] children = parent.children;
+            int idx = indexOf(children, key.charAt(i));
+            if (idx < 0) {
+                RadixNode<V> leaf = new RadixNode<>(segment(key, i, len), value, null);
+                parent.children = insert(children, -idx - 1, leaf);
+                increase(len);
+                return null;
+            }
+            RadixNode<V> child = children[idx];
+            char[] seg = child.segment;
+            int common = commonLength(seg, key, i, len);
+            if (common == seg.length) {
+                i += common;
+                if (i == len) {
+                    V oldVal = child.value;
+                    child.value = value;
+                    if (oldVal == null) {
+                        increase(len);
+                    }
+                    return oldVal;
+                }
+                parent = child;
+                continue;
+            }
+            // 部分相同：拆分为公共前缀节点与剩余后缀节点
+            RadixNode<V> suffix = new RadixNode<>(Arrays.copyOfRange(seg, common, seg.length), child.value, child.children);
+            char[] head = Arrays.copyOf(seg, common);
+            RadixNode<V> middle;
+            if (i + common == len) {
+                middle = new RadixNode<>(head, value, new RadixNode[]{suffix});
+            } else {
+                RadixNode<V> leaf = new RadixNode<>(segment(key, i + common, len), value, null);
+                RadixNode<V>[] pair = (leaf.segment[0] < suffix.segment[0]) ? new RadixNode[]{leaf, suffix} : new RadixNode[]{suffix, leaf};
+                middle = new RadixNode<>(head, null, pair);
+            }
+            parent.children = replace(children, idx, middle);
+            increase(len);
+            return null;
+        }
+    }
+
+    @Override
+    public V get(String key) {
+        Assert.hasLength(key, "key must not be null or blank");
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                RadixNode<V> found = exactlyMatch(key);
+                V value = (found != null) ? found.value : null;
+                if (lock.validate(stamp)) {
+                    return value;
+                }
+            } catch (RuntimeException ignored) {
+                // 乐观读期间节点被并发修改，读取到不一致的状态，转为悲观读
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            RadixNode<V> found = exactlyMatch(key);
+            return (found != null) ? found.value : null;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private RadixNode<V> exactlyMatch(String key) {
+        int len = key.length();
+        RadixNode<V> node = root;
+        int i = 0;
+        while (i < len) {
+            RadixNode<V>[] children = node.children;
+            int idx = indexOf(children, key.charAt(i));
+            if (idx < 0) {
+                return null;
+            }
+            node = children[idx];
+            char[] seg = node.segment;
+            if (seg.length > len - i || commonLength(seg, key, i, len) < seg.length) {
+                return null;
+            }
+            i += seg.length;
+        }
+        return node;
+    }
+
+    @Override
+    public Tuple2<String, V> prefixMatch(String word) {
+        return prefixMatch(word, true);
+    }
+
+    @Override
+    public Tuple2<String, V> prefixMatch(String word, boolean longestMatch) {
+        Assert.hasLength(word, "word must not be null or blank");
+        Found<V> found = match(word, 0, word.length(), longestMatch, new MatchBuffer<>());
+        return (found == null) ? null : Tuples.of(found.key(), found.value());
+    }
+
+    @Override
+    public List<Tuple2<String, V>> prefixMatchAll(String word) {
+        return prefixMatchAll(word, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Tuple2<String, V>> prefixMatchAll(String word, int maximum) {
+        Assert.hasLength(word, "word must not be null or blank");
+        LinkedList<Found<V>> founds = new LinkedList<>();
+        matchAll(word, 0, word.length(), maximum, founds, new MatchBuffer<>());
+
+        List<Tuple2<String, V>> result = new LinkedList<>();
+        founds.forEach(find -> result.add(Tuples.of(find.key(), find.value())));
+        return result;
+    }
+
+    @Override
+    public Tuple2<String, V> keyWithPrefix(String prefix) {
+        return keyWithPrefix(prefix, true);
+    }
+
+    @Override
+    public Tuple2<String, V> keyWithPrefix(String prefix, boolean longestMatch) {
+        Assert.hasLength(prefix, "prefix must not be null or empty");
+        if (height < prefix.length()) {
+            return null;
+        }
+        NodeHelper.KeyValueCollector<V> function = new NodeHelper.KeyValueCollector<>(longestMatch);
+        long stamp = lock.readLock();
+        try {
+            search(prefix, Integer.MAX_VALUE, false, function);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        String key = function.getKey();
+        return (key == null) ? null : Tuples.of(key, function.getValue());
+    }
+
+    @Override
+    public List<Tuple2<String, V>> keysWithPrefix(String prefix) {
+        return keysWithPrefix(prefix, Integer.MAX_VALUE, Integer.MAX_VALUE, true);
+    }
+
+    @Override
+    public List<Tuple2<String, V>> keysWithPrefix(String prefix, int maximum, int depth, boolean dfs) {
+        Assert.hasLength(prefix, "prefix must not be null or empty");
+        List<Tuple2<String, V>> values = new LinkedList<>();
+        if (maximum <= 0) {
+            return values;
+        }
+        depth = Math.min(height - prefix.length(), depth);
+        if (depth < 0) {
+            return values;
+        }
+        NodeHelper.KeyValuesCollector<V> function = new NodeHelper.KeyValuesCollector<>(maximum, values);
+        long stamp = lock.readLock();
+        try {
+            search(prefix, depth, dfs, function);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return values;
+    }
+
+    /**
+     * 搜索以 prefix 为前缀的键值对（调用时持有读锁）
+     * <p>
+     * 广度优先：按 key 的长度从小到大遍历，同一长度的 key 按字典序排列，达到结果数量后即停止（见 {@link #levelOrder}）。
+     *
+     * @param prefix   前缀
+     * @param depth    搜索深度（相对于前缀）
+     * @param dfs      是否采用深度优先搜索
+     * @param function 用户自定义操作，其返回值为false时停止遍历
+     */
+    private void search(String prefix, int depth, boolean dfs, BiFunction<String, V, Boolean> function) {
+        int len = prefix.length();
+        RadixNode<V> node = root;
+        int i = 0, start = 0;
+        while (i < len) {
+            RadixNode<V>[] children = node.children;
+            int idx = indexOf(children, prefix.charAt(i));
+            if (idx < 0) {
+                return;
+            }
+            node = children[idx];
+            char[] seg = node.segment;
+            int common = commonLength(seg, prefix, i, len);
+            if (common < seg.length && i + common < len) {
+                return;
+            }
+            start = i;
+            i += seg.length;
+        }
+        // prefix 的末尾位于 node 的字符段中（或恰好为 node 的末尾）
+        char[] base = prefix.substring(0, start).toCharArray();
+        int maxLength = (int) Math.min(Integer.MAX_VALUE, (long) len + depth);
+        if (dfs) {
+            traversal(node, base, maxLength, function);
+            return;
+        }
+        levelOrder(node, new String(base), maxLength, function);
+    }
+
+    /**
+     * 广度优先遍历 start 及其全部后缀节点
+     * <p>
+     * 节点的字符段长度不同，同一层的节点对应的 key 长度未必相同，因此以 (key 长度, key) 为序的优先队列代替逐层的数组：
+     * 每次取出 key 最短（长度相同则字典序最小）的节点，处理后再将其子节点加入队列。
+     * 只访问已输出的节点及其子节点，function 返回 false 时即停止，无需遍历整棵子树。
+     *
+     * @param start     起始节点
+     * @param base      起始节点之前的 key 前缀
+     * @param maxLength key 的最大长度
+     * @param function  用户自定义操作，其返回值为false时停止遍历
+     */
+    private static <V> void levelOrder(RadixNode<V> start, String base, int maxLength, BiFunction<String, V, Boolean> function) {
+        PriorityQueue<Pending<V>> queue = new PriorityQueue<>();
+        String first = base + new String(start.segment);
+        if (first.length() <= maxLength) {
+            queue.add(new Pending<>(first, start));
+        }
+        Pending<V> pending;
+        while ((pending = queue.poll()) != null) {
+            String key = pending.key;
+            RadixNode<V> node = pending.node;
+            if (node.value != null && !key.isEmpty()) {
+                if (!function.apply(key, node.value)) {
+                    return;
+                }
+            }
+            RadixNode<V>[] children = node.children;
+            if (children == null) {
+                continue;
+            }
+            for (RadixNode<V> child : children) {
+                if (key.length() + child.segment.length <= maxLength) {
+                    queue.add(new Pending<>(key + new String(child.segment), child));
+                }
+            }
+        }
+    }
+
+    /**
+     * 广度优先遍历时待处理的节点及其 key（按 key 的长度及字典序排序）
+     */
+    private record Pending<V>(String key, RadixNode<V> node) implements Comparable<Pending<V>> {
+
+        @Override
+        public int compareTo(Pending<V> other) {
+            int diff = Integer.compare(key.length(), other.key.length());
+            return (diff != 0) ? diff : key.compareTo(other.key);
+        }
+    }
+
+    /**
+     * 深度优先遍历 start 及其全部后缀节点（字典序）
+     *
+     * @param start     起始节点
+     * @param base      起始节点之前的 key 前缀
+     * @param maxLength key 的最大长度
+     * @param function  用户自定义操作，其返回值为false时停止遍历
+     * @return 是否遍历完成（false：被 function 中止）
+     */
+    private static <V> boolean traversal(RadixNode<V> start, char[] base, int maxLength, BiFunction<String, V, Boolean> function) {
+        char[] chars = Arrays.copyOf(base, base.length + 16);
+        RadixNode<V>[][] levels = new RadixNode[8][];
+        int[] cursors = new int[8];
+        int[] lengths = new int[8];
+        levels[0] = new RadixNode[]{start};
+        lengths[0] = base.length;
+        int top = 0;
+        while (top >= 0) {
+            if (cursors[top] >= levels[top].length) {
+                top--;
+                continue;
+            }
+            RadixNode<V> node = levels[top][cursors[top]++];
+            char[] seg = node.segment;
+            int from = lengths[top];
+            int length = from + seg.length;
+            if (length > maxLength) {
+                continue;
+            }
+            if (length > chars.length) {
+                chars = Arrays.copyOf(chars, Math.max(length, chars.length << 1));
+            }
+            System.arraycopy(seg, 0, chars, from, seg.length);
+            V value = node.value;
+            if (value != null && length > 0) {
+                if (!function.apply(new String(chars, 0, length), value)) {
+                    return false;
+                }
+            }
+            if (node.children != null && length < maxLength) {
+                if (++top == levels.length) {
+                    levels = Arrays.copyOf(levels, top << 1);
+                    cursors = Arrays.copyOf(cursors, top << 1);
+                    lengths = Arrays.copyOf(lengths, top << 1);
+                }
+                levels[top] = node.children;
+                cursors[top] = 0;
+                lengths[top] = length;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public List<Tuple2<String, V>> fuzzyMatch(String word, int maxDistance) {
+        return fuzzyMatch(word, maxDistance, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Tuple2<String, V>> fuzzyMatch(String word, int maxDistance, int maximum) {
+        Assert.hasLength(word, "word must not be null or empty");
+        Assert.isTrue(maxDistance >= 0, "maxDistance must be greater than or equal to 0");
+        List<Tuple2<String, V>> values = new LinkedList<>();
+        if (maximum <= 0) {
+            return values;
+        }
+        NodeHelper.KeyValuesCollector<V> function = new NodeHelper.KeyValuesCollector<>(maximum, values);
+        LevenshteinRows rows = new LevenshteinRows(word, maxDistance, height());
+        long stamp = lock.readLock();
+        try {
+            fuzzySearch(rows, function);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return values;
+    }
+
+    /**
+     * 模糊搜索：深度优先遍历，逐字符计算编辑距离，某一行的最小值超过最大编辑距离时剪枝
+     */
+    private void fuzzySearch(LevenshteinRows rows, BiFunction<String, V, Boolean> function) {
+        RadixNode<V>[] firsts = root.children;
+        if (firsts == null) {
+            return;
+        }
+        int maxDepth = rows.maxDepth(), maxDistance = rows.maxDistance();
+        char[] chars = new char[maxDepth];
+        RadixNode<V>[][] levels = new RadixNode[8][];
+        int[] cursors = new int[8];
+        int[] lengths = new int[8];
+        levels[0] = firsts;
+        int top = 0;
+        while (top >= 0) {
+            if (cursors[top] >= levels[top].length) {
+                top--;
+                continue;
+            }
+            RadixNode<V> node = levels[top][cursors[top]++];
+            char[] seg = node.segment;
+            int from = lengths[top];
+            int min = 0, depth = from;
+            for (int k = 0; k < seg.length && depth < maxDepth && min <= maxDistance; k++) {
+                chars[depth++] = seg[k];
+                min = rows.advance(depth, seg[k]);
+            }
+            if (depth < from + seg.length) {
+                // 超过最大深度或已无法匹配
+                continue;
+            }
+            V value = node.value;
+            if (value != null && rows.distance(depth) <= maxDistance) {
+                if (!function.apply(new String(chars, 0, depth), value)) {
+                    return;
+                }
+            }
+            if (min <= maxDistance && depth < maxDepth && node.children != null) {
+                if (++top == levels.length) {
+                    levels = Arrays.copyOf(levels, top << 1);
+                    cursors = Arrays.copyOf(cursors, top << 1);
+                    lengths = Arrays.copyOf(lengths, top << 1);
+                }
+                levels[top] = node.children;
+                cursors[top] = 0;
+                lengths[top] = depth;
+            }
+        }
+    }
+
+    @Override
+    public List<Found<V>> match(String text) {
+        return match(text, true, true);
+    }
+
+    @Override
+    public List<Found<V>> match(String text, boolean longestMatch, boolean oneByOne) {
+        Assert.hasLength(text, "text must not be null or empty");
+        int length = text.length();
+        List<Found<V>> founds = new LinkedList<>();
+        MatchBuffer<V> buffer = new MatchBuffer<>();
+        for (int i = 0; i < length; i++) {
+            Found<V> found = match(text, i, length, longestMatch, buffer);
+            if (null != found) {
+                founds.add(found);
+                if (!oneByOne) {
+                    i = found.end();
+                }
+            }
+        }
+        return founds;
+    }
+
+    @Override
+    public List<Found<V>> matchAll(String text) {
+        return matchAll(text, true, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Found<V>> matchAll(String text, boolean oneByOne, int maximum) {
+        Assert.hasLength(text, "text must not be null or empty");
+        int length = text.length();
+        LinkedList<Found<V>> founds = new LinkedList<>();
+        Found<V> last = null;
+        MatchBuffer<V> buffer = new MatchBuffer<>();
+        for (int i = 0; i < length; i++) {
+            matchAll(text, i, length, maximum, founds, buffer);
+            int size = founds.size();
+            if (size >= maximum) {
+                return founds;
+            }
+            if (!oneByOne && size > 0) {
+                if (founds.getLast() != last) {
+                    last = founds.getLast();
+                    i = last.end();
+                }
+            }
+        }
+        return founds;
+    }
+
+    /**
+     * 从文本的指定位置开始匹配（仅返回一个值）：先乐观读，校验失败再转为悲观读
+     */
+    private Found<V> match(String text, int start, int end, boolean longestMatch, MatchBuffer<V> buffer) {
+        bufferMatch(text, start, end, false, longestMatch, buffer);
+        if (buffer.size() == 0) {
+            return null;
+        }
+        Found<V>[] found = new Found[1];
+        buffer.emit(start, (begin, last, value) -> {
+            found[0] = new Found<>(begin, last, text.substring(begin, last + 1), value);
+            return true;
+        });
+        buffer.clear();
+        return found[0];
+    }
+
+    /**
+     * 从文本的指定位置开始匹配（返回多个匹配到的值）：先乐观读，校验失败再转为悲观读
+     */
+    private void matchAll(String text, int start, int end, int maximum, LinkedList<Found<V>> founds, MatchBuffer<V> buffer) {
+        bufferMatch(text, start, end, true, true, buffer);
+        buffer.emit(start, (begin, last, value) -> {
+            founds.add(new Found<>(begin, last, text.substring(begin, last + 1), value));
+            return founds.size() < maximum;
+        });
+        buffer.clear();
+    }
+
+    @Override
+    public void match(CharSequence text, int from, int to, boolean longestMatch, boolean oneByOne, MatchHandler<V> handler) {
+        streamMatch(text, from, to, false, longestMatch, oneByOne, handler);
+    }
+
+    @Override
+    public void matchAll(CharSequence text, int from, int to, boolean oneByOne, MatchHandler<V> handler) {
+        streamMatch(text, from, to, true, true, oneByOne, handler);
+    }
+
+    /**
+     * 流式匹配：每个起始位置的匹配结果先保存到缓冲区，释放锁后再回调处理器
+     */
+    private void streamMatch(CharSequence text, int from, int to, boolean all, boolean longestMatch, boolean oneByOne, MatchHandler<V> handler) {
+        Assert.notNull(text, "text must not be null");
+        Assert.notNull(handler, "handler must not be null");
+        Objects.checkFromToIndex(from, to, text.length());
+        MatchBuffer<V> buffer = new MatchBuffer<>();
+        for (int i = from; i < to; i++) {
+            bufferMatch(text, i, to, all, longestMatch, buffer);
+            if (buffer.size() > 0) {
+                if (!buffer.emit(i, handler)) {
+                    return;
+                }
+                if (!oneByOne) {
+                    i = buffer.lastEnd();
+                }
+                buffer.clear();
+            }
+        }
+    }
+
+    /**
+     * 从文本的指定位置开始匹配，匹配结果保存到缓冲区：先乐观读，校验失败则清空缓冲区，再转为悲观读
+     */
+    private void bufferMatch(CharSequence text, int start, int end, boolean all, boolean longestMatch, MatchBuffer<V> buffer) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                doMatch(text, start, end, all, longestMatch, buffer);
+                if (lock.validate(stamp)) {
+                    return;
+                }
+            } catch (RuntimeException ignored) {
+                // 乐观读期间节点被并发修改，读取到不一致的状态，转为悲观读
+            }
+            buffer.clear();
+        }
+        stamp = lock.readLock();
+        try {
+            doMatch(text, start, end, all, longestMatch, buffer);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * 从 start 开始逐段匹配：key 只会在节点字符段的末尾结束，因此字符段中途不一致即可停止
+     */
+    private void doMatch(CharSequence text, int start, int end, boolean all, boolean longestMatch, MatchBuffer<V> buffer) {
+        RadixNode<V> node = root;
+        int i = start, last = -1;
+        V found = null;
+        while (i < end) {
+            RadixNode<V>[] children = node.children;
+            int idx = indexOf(children, text.charAt(i));
+            if (idx < 0) {
+                break;
+            }
+            node = children[idx];
+            char[] seg = node.segment;
+            if (seg.length > end - i || commonLength(seg, text, i, end) < seg.length) {
+                break;
+            }
+            i += seg.length;
+            V value = node.value;
+            if (value != null) {
+                if (all) {
+                    buffer.add(i - 1, value);
+                    continue;
+                }
+                last = i - 1;
+                found = value;
+                if (!longestMatch) {
+                    break;
+                }
+            }
+        }
+        if (found != null) {
+            buffer.add(last, found);
+        }
+    }
+
+    @Override
+    public List<String> keys(int depth) {
+        List<String> keys = new LinkedList<>();
+        traversal(depth, new NodeHelper.KeysCollector<>(Integer.MAX_VALUE, keys));
+        return keys;
+    }
+
+    @Override
+    public List<V> values(int depth) {
+        List<V> values = new LinkedList<>();
+        traversal(depth, new NodeHelper.ValuesCollector<>(Integer.MAX_VALUE, values));
+        return values;
+    }
+
+    /**
+     * 遍历键值对（深度优先遍历 + 字典序），遍历期间持有读锁
+     *
+     * @param depth    遍历深度
+     * @param function 每个键值对会作为参数调用此 function 的 apply 方法，如果 apply 方法返回 false，则停止遍历，否则继续遍历
+     */
+    @Override
+    public void traversal(int depth, BiFunction<String, V, Boolean> function) {
+        if (depth < 1) {
+            return;
+        }
+        long stamp = lock.readLock();
+        try {
+            traversal(root, EMPTY_SEGMENT, depth, function);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * 惰性获取键值对的流：每批键值对在持有读锁期间遍历，批与批之间释放锁，仅支持弱一致性
+     *
+     * @param depth 遍历深度（key 的最大长度）
+     * @return 键值对的流
+     */
+    @Override
+    public Stream<Tuple2<String, V>> stream(int depth) {
+        if (depth < 1) {
+            return Stream.empty();
+        }
+        RadixNode<V>[] firsts;
+        long stamp = lock.readLock();
+        try {
+            firsts = root.children;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        if (firsts == null) {
+            return Stream.empty();
+        }
+        return StreamSupport.stream(new RadixSpliterator(firsts, 0, firsts.length, EMPTY_SEGMENT, depth), false);
+    }
+
+    @Override
+    public Stream<Tuple2<String, V>> streamWithPrefix(String prefix, int depth) {
+        Assert.hasLength(prefix, "prefix must not be null or empty");
+        int len = prefix.length();
+        depth = Math.min(height - len, depth);
+        if (depth < 0) {
+            return Stream.empty();
+        }
+        RadixNode<V> node = root;
+        int i = 0, start = 0;
+        long stamp = lock.readLock();
+        try {
+            while (i < len) {
+                RadixNode<V>[] children = node.children;
+                int idx = indexOf(children, prefix.charAt(i));
+                if (idx < 0) {
+                    return Stream.empty();
+                }
+                node = children[idx];
+                char[] seg = node.segment;
+                int common = commonLength(seg, prefix, i, len);
+                if (common < seg.length && i + common < len) {
+                    return Stream.empty();
+                }
+                start = i;
+                i += seg.length;
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        // key 的最大长度为 prefix.length + depth，相对于子树根节点之前的公共前缀的深度为 len - start + depth
+        int relative = (int) Math.min(Integer.MAX_VALUE, (long) len - start + depth);
+        char[] base = prefix.substring(0, start).toCharArray();
+        return StreamSupport.stream(new RadixSpliterator(new RadixNode[]{node}, 0, 1, base, relative), false);
+    }
+
+    /**
+     * 遍历若干棵子树的惰性迭代器：节点的字符段及子节点数组不会被修改，因此批与批之间保存的数组引用始终有效
+     */
+    private final class RadixSpliterator extends TrieSpliterator<V> {
+
+        private final RadixNode<V>[] firsts;
+
+        private RadixNode<V>[][] levels = new RadixNode[8][];
+        private int[] cursors = new int[8];
+        private int[] lengths = new int[8];
+        private int top = -1;
+
+        RadixSpliterator(RadixNode<V>[] firsts, int lo, int hi, char[] base, int depth) {
+            super(lo, hi, base, depth);
+            this.firsts = firsts;
+        }
+
+        @Override
+        protected void fill() {
+            long stamp = lock.readLock();
+            try {
+                while (!isFull() && (top >= 0 || lo < hi)) {
+                    if (top < 0) {
+                        visit(firsts[lo++], baseLength);
+                        continue;
+                    }
+                    if (cursors[top] >= levels[top].length) {
+                        top--;
+                        continue;
+                    }
+                    visit(levels[top][cursors[top]++], lengths[top]);
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private void visit(RadixNode<V> node, int from) {
+            char[] seg = node.segment;
+            int length = from + seg.length;
+            if (length > maxLength) {
+                return;
+            }
+            ensureChars(length);
+            System.arraycopy(seg, 0, chars, from, seg.length);
+            V value = node.value;
+            if (value != null) {
+                add(new String(chars, 0, length), value);
+            }
+            if (node.children != null && length < maxLength) {
+                int level = top + 1;
+                if (level == levels.length) {
+                    levels = Arrays.copyOf(levels, level << 1);
+                    cursors = Arrays.copyOf(cursors, level << 1);
+                    lengths = Arrays.copyOf(lengths, level << 1);
+                }
+                levels[level] = node.children;
+                cursors[level] = 0;
+                lengths[level] = length;
+                top = level;
+            }
+        }
+
+        @Override
+        protected boolean inSubtree() {
+            return top >= 0;
+        }
+
+        @Override
+        protected TrieSpliterator<V> split(int lo, int mid) {
+            return new RadixSpliterator(firsts, lo, mid, prefix(), depth());
+        }
+    }
+
+    @Override
+    public boolean contains(String key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public V remove(String key) {
+        Assert.hasLength(key, "key must not be null or blank");
+        long stamp = lock.writeLock();
+        try {
+            return doRemove(key);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 删除键值对（调用时持有写锁）
+     * <p>
+     * 删除后如果节点没有子节点，则从父节点中移除；如果节点（或移除子节点之后的父节点）没有值且只剩一个子节点，则与该子节点合并。
+     */
+    private V doRemove(String key) {
+        int len = key.length();
+        RadixNode<V> grand = null, parent = root, node = null;
+        int parentIndex = -1, index = -1;
+        int i = 0;
+        while (i < len) {
+            if (node != null) {
+                grand = parent;
+                parent = node;
+                parentIndex = index;
+            }
+            RadixNode<V>[] children = parent.children;
+            index = indexOf(children, key.charAt(i));
+            if (index < 0) {
+                return null;
+            }
+            node = children[index];
+            char[] seg = node.segment;
+            if (seg.length > len - i || commonLength(seg, key, i, len) < seg.length) {
+                return null;
+            }
+            i += seg.length;
+        }
+        V oldVal = node.value;
+        if (oldVal == null) {
+            return null;
+        }
+        node.value = null;
+        decrease(len);
+
+        RadixNode<V>[] children = node.children;
+        if (children == null) {
+            parent.children = remove(parent.children, index);
+            if (grand != null && parent.value == null && parent.children != null && parent.children.length == 1) {
+                grand.children = replace(grand.children, parentIndex, merge(parent, parent.children[0]));
+            }
+        } else if (children.length == 1) {
+            parent.children = replace(parent.children, index, merge(node, children[0]));
+        }
+        return oldVal;
+    }
+
+    private void increase(int length) {
+        ++size;
+        if (length > height) {
+            height = length;
+        }
+        heightCache.computeIfAbsent(length, lenKey -> new IntegerValue()).increment();
+    }
+
+    private void decrease(int length) {
+        --size;
+        long heightSize = heightCache.get(length).decrementAndGet();
+        if (heightSize <= 0) {
+            heightCache.remove(length);
+            if (length == height) {
+                Integer lowHeight = heightCache.lowerKey(length);
+                height = (null == lowHeight ? 0 : lowHeight);
+            }
+        }
+    }
+
+    @Override
+    public int height() {
+        return height;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size <= 0;
+    }
+
+    @Override
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            root = new RadixNode<>(EMPTY_SEGMENT, null, null);
+            size = 0;
+            height = 0;
+            heightCache.clear();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 二分查找首字符为 c 的子节点
+     *
+     * @param children 子节点数组（按首字符升序排列，可能为空）
+     * @param c        首字符
+     * @return 子节点下标；未找到则返回 -(插入位置 + 1)
+     */
+    private static <V> int indexOf(RadixNode<V>[] children, char c) {
+        if (children == null) {
+            return -1;
+        }
+        int low = 0, high = children.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midChar = children[mid].segment[0];
+            if (midChar < c) {
+                low = mid + 1;
+            } else if (midChar > c) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * @return 字符段与 text[from, end) 的公共前缀长度
+     */
+    private static int commonLength(char[] seg, CharSequence text, int from, int end) {
+        int n = Math.min(seg.length, end - from);
+        int i = 0;
+        while (i < n && seg[i] == text.charAt(from + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static char[] segment(String key, int from, int to) {
+        char[] seg = new char[to - from];
+        key.getChars(from, to, seg, 0);
+        return seg;
+    }
+
+    private static <V> RadixNode<V> merge(RadixNode<V> head, RadixNode<V> tail) {
+        char[] seg = Arrays.copyOf(head.segment, head.segment.length + tail.segment.length);
+        System.arraycopy(tail.segment, 0, seg, head.segment.length, tail.segment.length);
+        return new RadixNode<>(seg, tail.value, tail.children);
+    }
+
+    private static <V> RadixNode<V>[] insert(RadixNode<V>[] children, int index, RadixNode<V> node) {
+        if (children == null) {
+            return new RadixNode[]{node};
+        }
+        RadixNode<V>[] array = new RadixNode[children.length + 1];
+        System.arraycopy(children, 0, array, 0, index);
+        array[index] = node;
+        System.arraycopy(children, index, array, index + 1, children.length - index);
+        return array;
+    }
+
+    private static <V> RadixNode<V>[] replace(RadixNode<V>[] children, int index, RadixNode<V> node) {
+        RadixNode<V>[] array = children.clone();
+        array[index] = node;
+        return array;
+    }
+
+    private static <V> RadixNode<V>[] remove(RadixNode<V>[] children, int index) {
+        if (children.length == 1) {
+            return null;
+        }
+        RadixNode<V>[] array = new RadixNode[children.length - 1];
+        System.arraycopy(children, 0, array, 0, index);
+        System.arraycopy(children, index + 1, array, index, children.length - index - 1);
+        return array;
+    }
+
+    /**
+     * 基数树节点
+     * <p>
+     * segment 及 children 数组创建后不再修改（children 引用可被替换为新数组）；叶子节点的 children 为空。
+     */
+    private static final class RadixNode<V> {
+
+        private final char[] segment;
+        private V value;
+        private RadixNode<V>[] children;
+
+        private RadixNode(char[] segment, V value, RadixNode<V>[] children) {
+            this.segment = segment;
+            this.value = value;
+            this.children = children;
+        }
+    }
+
+}
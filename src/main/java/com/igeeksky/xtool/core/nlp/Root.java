@@ -17,17 +17,37 @@
 
 package com.igeeksky.xtool.core.nlp;
 
-import java.util.Arrays;
 import java.util.Iterator;
 
 /**
+ * 根节点
+ * <p>
+ * 为了减少小 Trie 的内存占用，子节点的存储结构随首字符数量自适应：
+ * <pre>
+ *     1. 首字符数量不超过 {@link TrieConstants#ROOT_SMALL_CAPACITY} 时，子节点按字符升序保存在小数组中（写时复制），查找时二分查找；
+ *     2. 超过阈值后，转换为容量为 {@link TrieConstants#TABLE_MAX_CAPACITY} 的直接索引数组（下标即字符），
+ *        并用位图记录已占用的下标，遍历时只访问已占用的下标。
+ * </pre>
+ * 首字符不同的 key 使用不同的分段锁，因此增删子节点时需另外加锁（仅在首字符的子节点被创建或删除时）；
+ * 查找子节点时无需加锁。
+ *
  * @author Patrick.Lau
  * @since 0.0.4 2021-11-12
  */
+@SuppressWarnings("unchecked")
 class Root<V> extends BaseNode<V> {
 
-    @SuppressWarnings("unchecked")
-    protected final Node<V>[] table = new Node[TrieConstants.TABLE_MAX_CAPACITY];
+    private static final Node<?>[] EMPTY = new Node[0];
+
+    /**
+     * 小数组：按字符升序排列的子节点（写时复制）；转换为直接索引数组后为空
+     */
+    private volatile Node<V>[] small = (Node<V>[]) EMPTY;
+
+    /**
+     * 直接索引数组及其占用位图：首字符数量超过阈值后创建，清空时整体替换为 null
+     */
+    private volatile Table<V> table;
 
     public Root(char c) {
         super(c);
@@ -35,46 +55,233 @@ class Root<V> extends BaseNode<V> {
 
     @Override
     public Node<V> addChild(char c, NodeCreator<V> creator, NodeConvertor<? extends Node<V>, ? extends TreeNode<V>> convertor) {
-        int index = c & TrieConstants.TABLE_MAX_MASK;
-        Node<V> head = table[index];
-        if (head == null) {
-            return (table[index] = creator.apply(c));
+        Node<V> child = findChild(c);
+        if (child != null) {
+            return child;
+        }
+        synchronized (this) {
+            child = findChild(c);
+            if (child == null) {
+                child = creator.apply(c);
+                install(child);
+            }
+            return child;
+        }
+    }
+
+    /**
+     * 如果尚无与 child 字符相同的子节点，则挂载 child
+     *
+     * @param child 子节点（可为已创建完整子树的节点）
+     * @return 是否挂载成功
+     */
+    boolean putIfAbsent(Node<V> child) {
+        synchronized (this) {
+            if (findChild(child.c) != null) {
+                return false;
+            }
+            install(child);
+            return true;
+        }
+    }
+
+    /**
+     * 挂载子节点（须持有 this 的锁）
+     */
+    private void install(Node<V> child) {
+        char c = child.c;
+        Table<V> tab = table;
+        if (tab != null) {
+            tab.nodes[c] = child;
+            tab.occupied[c >>> 6] |= 1L << c;
+            return;
+        }
+        Node<V>[] arr = small;
+        int n = arr.length;
+        if (n >= TrieConstants.ROOT_SMALL_CAPACITY) {
+            toTable(arr);
+            install(child);
+            return;
         }
-        return head;
+        int index = -(indexOf(arr, c) + 1);
+        Node<V>[] newArr = new Node[n + 1];
+        System.arraycopy(arr, 0, newArr, 0, index);
+        System.arraycopy(arr, index, newArr, index + 1, n - index);
+        newArr[index] = child;
+        small = newArr;
+    }
+
+    /**
+     * 小数组转换为直接索引数组：先发布 table 再置空 small，查找时读到空的 small 即改读 table
+     * <p>
+     * 改读 table 时，table 可能已被 {@link #reset()} 置空，此时视为没有子节点。
+     */
+    private void toTable(Node<V>[] arr) {
+        Table<V> tab = new Table<>();
+        for (Node<V> node : arr) {
+            tab.nodes[node.c] = node;
+            tab.occupied[node.c >>> 6] |= 1L << node.c;
+        }
+        table = tab;
+        small = null;
     }
 
     @Override
     public Node<V> findChild(char c) {
-        return table[c & TrieConstants.TABLE_MAX_MASK];
+        Table<V> tab = table;
+        if (tab != null) {
+            return tab.nodes[c];
+        }
+        Node<V>[] arr = small;
+        if (arr == null) {
+            tab = table;
+            return (tab != null) ? tab.nodes[c] : null;
+        }
+        int index = indexOf(arr, c);
+        return (index >= 0) ? arr[index] : null;
     }
 
     @Override
     public void deleteChild(Node<V> child, NodeConvertor<? extends Node<V>, ? extends TreeNode<V>> convertor) {
-        table[child.c & TrieConstants.TABLE_MAX_MASK] = null;
+        char c = child.c;
+        synchronized (this) {
+            Table<V> tab = table;
+            if (tab != null) {
+                tab.nodes[c] = null;
+                tab.occupied[c >>> 6] &= ~(1L << c);
+                return;
+            }
+            Node<V>[] arr = small;
+            int index = indexOf(arr, c);
+            if (index < 0) {
+                return;
+            }
+            int n = arr.length;
+            Node<V>[] newArr = new Node[n - 1];
+            System.arraycopy(arr, 0, newArr, 0, index);
+            System.arraycopy(arr, index + 1, newArr, index, n - index - 1);
+            small = newArr;
+        }
+    }
+
+    /**
+     * 二分查找
+     *
+     * @param arr 按字符升序排列的子节点
+     * @param c   字符
+     * @return 如果找到，返回下标；否则返回 -(插入位置 + 1)
+     */
+    private static <V> int indexOf(Node<V>[] arr, char c) {
+        int low = 0, high = arr.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char k = arr[mid].c;
+            if (k < c) {
+                low = mid + 1;
+            } else if (k > c) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * @return 当前子节点数组的容量（小数组为其长度，直接索引数组为 {@link TrieConstants#TABLE_MAX_CAPACITY}）
+     */
+    int capacity() {
+        Table<V> tab = table;
+        if (tab != null) {
+            return tab.nodes.length;
+        }
+        Node<V>[] arr = small;
+        if (arr != null) {
+            return arr.length;
+        }
+        tab = table;
+        return (tab != null) ? tab.nodes.length : 0;
     }
 
+    /**
+     * 清空全部子节点，恢复为小数组
+     */
     public void reset() {
-        Arrays.fill(table, null);
+        synchronized (this) {
+            small = (Node<V>[]) EMPTY;
+            table = null;
+        }
     }
 
     @Override
     public Iterator<Node<V>> iterator() {
-        return new RootIterator<>(this.table);
+        Table<V> tab = table;
+        if (tab == null) {
+            Node<V>[] arr = small;
+            if (arr != null) {
+                return new ArrayIterator<>(arr);
+            }
+            tab = table;
+            if (tab == null) {
+                return new ArrayIterator<>((Node<V>[]) EMPTY);
+            }
+        }
+        return new TableIterator<>(tab.nodes, tab.occupied);
+    }
+
+    /**
+     * 直接索引数组与占用位图：两者作为整体发布，读取时只读一次 {@link #table}，避免读到不配对的数组与位图
+     */
+    private static final class Table<V> {
+
+        private final Node<V>[] nodes = new Node[TrieConstants.TABLE_MAX_CAPACITY];
+
+        private final long[] occupied = new long[TrieConstants.TABLE_MAX_CAPACITY >>> 6];
+    }
+
+    private static class ArrayIterator<V> implements Iterator<Node<V>> {
+
+        private final Node<V>[] array;
+        private int index;
+
+        public ArrayIterator(Node<V>[] array) {
+            this.array = array;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < array.length;
+        }
+
+        @Override
+        public Node<V> next() {
+            return (index < array.length) ? array[index++] : null;
+        }
     }
 
-    private static class RootIterator<V> implements Iterator<Node<V>> {
+    private static class TableIterator<V> implements Iterator<Node<V>> {
 
         private final Node<V>[] table;
+        private final long[] occupied;
         private Node<V> next;
         private int index;
 
-        public RootIterator(Node<V>[] table) {
+        public TableIterator(Node<V>[] table, long[] occupied) {
             this.table = table;
+            this.occupied = occupied;
         }
 
         private Node<V> findNext() {
             while (index < table.length) {
-                Node<V> f = table[index++];
+                int word = index >>> 6;
+                long bits = occupied[word] & (-1L << index);
+                if (bits == 0) {
+                    index = (word + 1) << 6;
+                    continue;
+                }
+                int i = (word << 6) + Long.numberOfTrailingZeros(bits);
+                index = i + 1;
+                Node<V> f = table[i];
                 if (f != null) {
                     return f;
                 }
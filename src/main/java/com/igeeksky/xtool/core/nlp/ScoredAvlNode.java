@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+/**
+ * 缓存子树最大评分的 AVL 树节点
+ *
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+class ScoredAvlNode<V> extends AvlNode<V> implements ScoredNode {
+
+    private double maxScore = Double.NEGATIVE_INFINITY;
+
+    public ScoredAvlNode(char c) {
+        super(c);
+    }
+
+    public ScoredAvlNode(char c, V value, int size, Node<V>[] table, double maxScore) {
+        super(c, value, size, table);
+        this.maxScore = maxScore;
+    }
+
+    @Override
+    protected AvlNode<V> newSibling(char c) {
+        return new ScoredAvlNode<>(c);
+    }
+
+    @Override
+    protected AvlNode<V> copyOf(Node<V> node) {
+        return new ScoredAvlNode<>(node.c, node.value, node.size, node.table, ((ScoredNode) node).getMaxScore());
+    }
+
+    @Override
+    public double getMaxScore() {
+        return maxScore;
+    }
+
+    @Override
+    public void setMaxScore(double maxScore) {
+        this.maxScore = maxScore;
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import com.igeeksky.xtool.core.lang.Assert;
+import com.igeeksky.xtool.core.tuple.Tuple2;
+import com.igeeksky.xtool.core.tuple.Tuples;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * <p>支持按评分获取前 K 个补全结果的并发 Trie</p>
+ * 根据值计算评分（如词频、热度），每个节点缓存其子树的最大评分。
+ * <p>
+ * put、remove 时在持有分段写锁期间，自底向上更新 key 路径上各节点的最大评分：
+ * 评分升高时逐层取最大值，直到某层不再变化；评分降低或删除时则根据子节点重新计算，同样在某层不再变化时停止。
+ * <p>
+ * {@link #topKWithPrefix(String, int)} 在持有分段读锁期间，以最大评分为优先级进行最佳优先搜索，
+ * 只访问可能进入前 K 名的子树，而无需遍历前缀下的所有 key。
+ *
+ * @param <V> 值类型
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+@SuppressWarnings("unchecked")
+public class ScoredConcurrentHashTrie<V> extends ConcurrentHashTrie<V> {
+
+    private final ToDoubleFunction<V> scorer;
+
+    /**
+     * @param scorer 评分函数（根据值计算评分，评分越高越靠前）
+     */
+    public ScoredConcurrentHashTrie(ToDoubleFunction<V> scorer) {
+        this(scorer, TrieConstants.DEFAULT_LOCK_STRIPES);
+    }
+
+    /**
+     * @param scorer      评分函数（根据值计算评分，评分越高越靠前）
+     * @param lockStripes 分段锁数量（大于0且不大于 {@link TrieConstants#TABLE_MAX_CAPACITY}，非 2 的幂时向上取整为 2 的幂）
+     */
+    public ScoredConcurrentHashTrie(ToDoubleFunction<V> scorer, int lockStripes) {
+        super(new ScoredLinkedNodeCreator<>(), new ScoredLinkedToAvlConvertor<>(), lockStripes);
+        Assert.notNull(scorer, "scorer must not be null");
+        this.scorer = scorer;
+    }
+
+    /**
+     * 逐个添加键值对（批量创建子树时无法维护最大评分）
+     *
+     * @param map 多个键值对（键：不为空且长度大于0；值：不能为空）
+     */
+    @Override
+    public void putAll(TreeMap<String, V> map) {
+        Assert.notNull(map, "map must not be null");
+        for (Map.Entry<String, V> entry : map.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    void afterPut(String key, V oldValue, V newValue) {
+        double score = scorer.applyAsDouble(newValue);
+        if (oldValue == null || scorer.applyAsDouble(oldValue) <= score) {
+            raise(key, score);
+        } else {
+            recompute(key);
+        }
+    }
+
+    @Override
+    void afterRemove(String key, V oldValue) {
+        recompute(key);
+    }
+
+    /**
+     * 评分升高：自底向上取最大值，某层不再变化时停止
+     */
+    private void raise(String key, double score) {
+        Node<V>[] path = path(key);
+        for (int i = path.length - 1; i >= 0; i--) {
+            ScoredNode node = (ScoredNode) path[i];
+            if (node.getMaxScore() >= score) {
+                return;
+            }
+            node.setMaxScore(score);
+        }
+    }
+
+    /**
+     * 评分降低或删除：自底向上根据子节点重新计算，某层不再变化时停止
+     * <p>
+     * 删除可能已移除路径末尾的节点，因此从仍存在的最深节点开始计算。
+     */
+    private void recompute(String key) {
+        Node<V>[] path = path(key);
+        for (int i = path.length - 1; i >= 0; i--) {
+            Node<V> node = path[i];
+            if (node == null) {
+                continue;
+            }
+            double max = subtreeMaxScore(node);
+            ScoredNode scored = (ScoredNode) node;
+            if (scored.getMaxScore() == max) {
+                return;
+            }
+            scored.setMaxScore(max);
+        }
+    }
+
+    /**
+     * 获取 key 路径上的节点（不存在的节点为 null）
+     */
+    private Node<V>[] path(String key) {
+        int length = key.length();
+        Node<V>[] path = new Node[length];
+        BaseNode<V> parent = root;
+        for (int i = 0; i < length; i++) {
+            Node<V> child = parent.findChild(key.charAt(i));
+            if (child == null) {
+                break;
+            }
+            path[i] = child;
+            parent = child;
+        }
+        return path;
+    }
+
+    private double subtreeMaxScore(Node<V> node) {
+        double max = (node.value == null) ? Double.NEGATIVE_INFINITY : scorer.applyAsDouble(node.value);
+        int size = node.size();
+        if (size == 0) {
+            return max;
+        }
+        Node<V>[] children = new Node[size];
+        int n = node.children(children);
+        for (int i = 0; i < n; i++) {
+            max = Math.max(max, ((ScoredNode) children[i]).getMaxScore());
+        }
+        return max;
+    }
+
+    /**
+     * 获取以 prefix 为前缀的评分最高的 k 个键值对
+     * <p>
+     * 按评分降序排列，评分相同时按 key 的字典序排列。
+     *
+     * @param prefix 前缀（包含 prefix 本身）
+     * @param k      最大数量
+     * @return 评分最高的 k 个键值对（不足 k 个则返回全部）
+     */
+    public List<Tuple2<String, V>> topKWithPrefix(String prefix, int k) {
+        Assert.hasLength(prefix, "prefix must not be null or empty");
+        List<Tuple2<String, V>> result = new ArrayList<>(Math.max(0, Math.min(k, 64)));
+        if (k <= 0) {
+            return result;
+        }
+
+        prefix = normalizer.normalize(prefix);
+        StampedLock stampedLock = getLock(prefix.charAt(0));
+        long stamp = stampedLock.readLock();
+        try {
+            BaseNode<V> found = NodeHelper.exactlyMatch(root, prefix);
+            if (null == found) {
+                return result;
+            }
+            Node<V> start = (Node<V>) found;
+            PriorityQueue<Candidate<V>> queue = new PriorityQueue<>();
+            Node<V>[] children = new Node[16];
+            queue.add(new Candidate<>(prefix, start, ((ScoredNode) start).getMaxScore(), false));
+            while (!queue.isEmpty() && result.size() < k) {
+                Candidate<V> candidate = queue.poll();
+                Node<V> node = candidate.node;
+                if (candidate.terminal) {
+                    result.add(Tuples.of(candidate.key, node.value));
+                    continue;
+                }
+                // 展开子树：节点自身的值与各子节点的子树分别作为候选
+                V value = node.value;
+                if (value != null) {
+                    queue.add(new Candidate<>(candidate.key, node, scorer.applyAsDouble(value), true));
+                }
+                int size = node.size();
+                if (size == 0) {
+                    continue;
+                }
+                if (children.length < size) {
+                    children = new Node[size];
+                }
+                int n = node.children(children);
+                for (int i = 0; i < n; i++) {
+                    Node<V> child = children[i];
+                    double maxScore = ((ScoredNode) child).getMaxScore();
+                    if (maxScore != Double.NEGATIVE_INFINITY) {
+                        queue.add(new Candidate<>(candidate.key + child.c, child, maxScore, false));
+                    }
+                }
+            }
+            return result;
+        } finally {
+            stampedLock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * 搜索候选项：terminal 为 true 表示节点自身的键值对，否则表示节点的整棵子树（评分为子树最大评分）
+     */
+    private record Candidate<V>(String key, Node<V> node, double score,
+                                boolean terminal) implements Comparable<Candidate<V>> {
+
+        @Override
+        public int compareTo(Candidate<V> o) {
+            int cmp = Double.compare(o.score, score);
+            if (cmp != 0) {
+                return cmp;
+            }
+            cmp = key.compareTo(o.key);
+            if (cmp != 0) {
+                return cmp;
+            }
+            // 同一节点：先输出自身的键值对，再展开子节点
+            return Boolean.compare(o.terminal, terminal);
+        }
+    }
+}
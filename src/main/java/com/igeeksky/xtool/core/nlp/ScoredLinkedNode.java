@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+/**
+ * 缓存子树最大评分的链表节点
+ *
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+class ScoredLinkedNode<V> extends LinkedNode<V> implements ScoredNode {
+
+    private double maxScore = Double.NEGATIVE_INFINITY;
+
+    public ScoredLinkedNode(char c) {
+        super(c);
+    }
+
+    public ScoredLinkedNode(char c, V value, int size, Node<V>[] table, double maxScore) {
+        super(c, value, size, table);
+        this.maxScore = maxScore;
+    }
+
+    @Override
+    protected LinkedNode<V> newSibling(char c) {
+        return new ScoredLinkedNode<>(c);
+    }
+
+    @Override
+    public double getMaxScore() {
+        return maxScore;
+    }
+
+    @Override
+    public void setMaxScore(double maxScore) {
+        this.maxScore = maxScore;
+    }
+}
@@ -0,0 +1,401 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import com.igeeksky.xtool.core.lang.Assert;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * <p>分词器</p>
+ * 以 Trie 作为词典，支持三种分词模式（见 {@link Mode}）：正向最大匹配、逆向最大匹配、最大概率（有向无环图 + 动态规划）。
+ * 词典中不存在的字符作为单字输出（值为空）。
+ * <p>
+ * 单遍处理：所有模式均只调用一次 Trie 的流式匹配，逆向最大匹配及最大概率模式在匹配过程中于“切分点”
+ * （此前匹配到的词均不跨越的位置）分段计算，已完成的分段随即输出；切分点之间没有匹配到词的字符直接作为单字输出，不缓存。
+ * 词连续重叠、长度超过 {@value MAX_SEGMENT_LENGTH} 仍无切分点的分段将被强制切分（跨越强制切分位置的词被忽略，
+ * 该位置附近的结果可能与不切分时不同），因此内存占用与文本长度无关。
+ * <p>
+ * 缓冲区在多次调用之间复用，因此分词器不是线程安全的：每个线程应使用独立的实例（词典可共享）。
+ * <pre>
+ *     Segmenter&lt;Integer&gt; segmenter = new Segmenter&lt;&gt;(dictionary, Integer::doubleValue);
+ *     segmenter.segment("研究生命起源", Segmenter.Mode.MAX_PROBABILITY) == [研究, 生命, 起源]
+ * </pre>
+ *
+ * @param <V> 值类型
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+public class Segmenter<V> {
+
+    /**
+     * 分段的最小长度：达到此长度且位于切分点时，输出该分段
+     */
+    private static final int SEGMENT_LENGTH = 4096;
+
+    /**
+     * 分段的最大长度：达到此长度仍无切分点时，强制切分
+     */
+    static final int MAX_SEGMENT_LENGTH = 1 << 16;
+
+    /**
+     * 得分比较的误差范围
+     */
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * 分词模式
+     */
+    public enum Mode {
+
+        /**
+         * 正向最大匹配：从左到右，每次取以当前位置开始的最长词
+         */
+        FORWARD,
+
+        /**
+         * 逆向最大匹配：从右到左，每次取以当前位置结束的最长词
+         */
+        BACKWARD,
+
+        /**
+         * 最大概率：以全部匹配到的词构建有向无环图，动态规划求各词概率之积最大的路径。
+         * <p>
+         * 词的概率为 频次 / 总频次；未指定频次函数时，各词及单字的概率相同，即为词数最少的路径（最短路径）。
+         */
+        MAX_PROBABILITY
+
+    }
+
+    private final Trie<V> dictionary;
+
+    private final ToDoubleFunction<? super V> frequency;
+
+    /**
+     * 总频次的对数（单字的频次为 1，因此单字的得分为其相反数）
+     */
+    private final double logTotal;
+
+    // 分段缓冲区：匹配到的词（按起始位置升序）
+    private int segmentStart;
+    private int maxEnd;
+    private int edgeCount;
+    private int[] edgeBegins = new int[64];
+    private int[] edgeEnds = new int[64];
+    private Object[] edgeValues = new Object[64];
+
+    // 分段缓冲区：按位置（相对于分段起始位置）
+    private int[] routes = new int[64];
+    private Object[] routeValues = new Object[64];
+    private double[] scores = new double[65];
+    private int[] stack = new int[64];
+
+    private MatchHandler<V> handler;
+    private boolean stopped;
+
+    /**
+     * 最大概率模式为最短路径（词数最少）
+     *
+     * @param dictionary 词典
+     */
+    public Segmenter(Trie<V> dictionary) {
+        Assert.notNull(dictionary, "dictionary must not be null");
+        this.dictionary = dictionary;
+        this.frequency = null;
+        // 各词及单字的得分均为 -1
+        this.logTotal = 1;
+    }
+
+    /**
+     * 以值作为词的频次，总频次为创建时词典中全部词的频次之和（词典变更较大时应重新创建分词器）
+     *
+     * @param dictionary 词典
+     * @param frequency  频次函数（根据值返回词的频次，小于等于 0 的词在最大概率模式中不会被选择）
+     */
+    public Segmenter(Trie<V> dictionary, ToDoubleFunction<? super V> frequency) {
+        Assert.notNull(dictionary, "dictionary must not be null");
+        Assert.notNull(frequency, "frequency must not be null");
+        this.dictionary = dictionary;
+        this.frequency = frequency;
+        double[] total = {0};
+        dictionary.traversal(Integer.MAX_VALUE, (key, value) -> {
+            total[0] += Math.max(0, frequency.applyAsDouble(value));
+            return true;
+        });
+        this.logTotal = Math.log(Math.max(total[0], 1));
+    }
+
+    /**
+     * 分词
+     *
+     * @param text 文本
+     * @param mode 分词模式
+     * @return 词的列表（按文本顺序）
+     */
+    public List<String> segment(String text, Mode mode) {
+        Assert.notNull(text, "text must not be null");
+        List<String> words = new ArrayList<>();
+        segment(text, 0, text.length(), mode, (begin, end, value) -> words.add(text.substring(begin, end + 1)));
+        return words;
+    }
+
+    /**
+     * 分词（流式）
+     * <p>
+     * 按文本顺序逐个回调处理器：起止位置为文本中的绝对位置（结束位置包含在内），
+     * 词典中不存在的单字值为空；处理器返回 false 时停止分词。
+     *
+     * @param text    文本
+     * @param from    起始位置（包含）
+     * @param to      结束位置（不包含）
+     * @param mode    分词模式
+     * @param handler 分词结果处理器
+     */
+    public void segment(CharSequence text, int from, int to, Mode mode, MatchHandler<V> handler) {
+        Assert.notNull(text, "text must not be null");
+        Assert.notNull(mode, "mode must not be null");
+        Assert.notNull(handler, "handler must not be null");
+        Objects.checkFromToIndex(from, to, text.length());
+        if (from == to) {
+            return;
+        }
+        this.handler = handler;
+        this.stopped = false;
+        try {
+            if (mode == Mode.FORWARD) {
+                forward(text, from, to);
+            } else {
+                graph(text, from, to, mode);
+            }
+        } finally {
+            this.handler = null;
+            Arrays.fill(edgeValues, 0, edgeCount, null);
+            this.edgeCount = 0;
+        }
+    }
+
+    /**
+     * 正向最大匹配：即最长匹配且非逐字符匹配的结果，词之间未匹配的字符作为单字输出
+     */
+    private void forward(CharSequence text, int from, int to) {
+        int[] position = {from};
+        dictionary.match(text, from, to, true, false, (begin, end, value) -> {
+            if (!singles(position[0], begin)) {
+                return false;
+            }
+            position[0] = end + 1;
+            return emit(begin, end, value);
+        });
+        if (!stopped) {
+            singles(position[0], to);
+        }
+    }
+
+    /**
+     * 逆向最大匹配及最大概率：逐字符匹配全部词，在切分点分段计算
+     */
+    private void graph(CharSequence text, int from, int to, Mode mode) {
+        segmentStart = from;
+        maxEnd = from - 1;
+        edgeCount = 0;
+        dictionary.matchAll(text, from, to, true, (begin, end, value) -> {
+            if (begin > maxEnd) {
+                // 此前的词均在 begin 之前结束：[segmentStart, maxEnd] 可独立计算，(maxEnd, begin) 均为单字
+                if ((begin > maxEnd + 1 || begin - segmentStart >= SEGMENT_LENGTH) && !cut(begin, mode)) {
+                    return false;
+                }
+            } else if (begin - segmentStart >= MAX_SEGMENT_LENGTH) {
+                // 强制切分：跨越 begin 的词被忽略
+                if (!flush(begin, mode)) {
+                    return false;
+                }
+            }
+            addEdge(begin, end, value);
+            maxEnd = Math.max(maxEnd, end);
+            return true;
+        });
+        if (!stopped) {
+            cut(to, mode);
+        }
+    }
+
+    /**
+     * 在切分点输出此前的分段 [segmentStart, maxEnd] 及之后未匹配到词的单字 (maxEnd, position)
+     *
+     * @param position 切分点（下一个词的起始位置或文本结束位置）
+     * @return 是否继续
+     */
+    private boolean cut(int position, Mode mode) {
+        int segmentEnd = Math.max(maxEnd + 1, segmentStart);
+        if (segmentEnd > segmentStart && !flush(segmentEnd, mode)) {
+            return false;
+        }
+        segmentStart = position;
+        return singles(segmentEnd, position);
+    }
+
+    private void addEdge(int begin, int end, V value) {
+        if (edgeCount == edgeBegins.length) {
+            int capacity = edgeCount << 1;
+            edgeBegins = Arrays.copyOf(edgeBegins, capacity);
+            edgeEnds = Arrays.copyOf(edgeEnds, capacity);
+            edgeValues = Arrays.copyOf(edgeValues, capacity);
+        }
+        edgeBegins[edgeCount] = begin;
+        edgeEnds[edgeCount] = end;
+        edgeValues[edgeCount++] = value;
+    }
+
+    /**
+     * 计算并输出分段 [segmentStart, segmentEnd)，然后清空缓冲区（在 segmentEnd 及之后结束的词被忽略）
+     *
+     * @param segmentEnd 分段结束位置（不包含）
+     * @return 是否继续
+     */
+    private boolean flush(int segmentEnd, Mode mode) {
+        int length = segmentEnd - segmentStart;
+        if (routes.length < length) {
+            int capacity = Math.max(length, routes.length << 1);
+            routes = new int[capacity];
+            routeValues = new Object[capacity];
+            scores = new double[capacity + 1];
+            stack = new int[capacity];
+        }
+        boolean result = (mode == Mode.BACKWARD) ? backward(length) : maxProbability(length);
+        Arrays.fill(edgeValues, 0, edgeCount, null);
+        Arrays.fill(routeValues, 0, length, null);
+        edgeCount = 0;
+        segmentStart = segmentEnd;
+        return result;
+    }
+
+    /**
+     * 逆向最大匹配：routes[e] 为以 e 结束的最长词的起始位置；从分段末尾向前取词（结束位置依次入栈），再按文本顺序输出
+     */
+    private boolean backward(int length) {
+        int start = segmentStart;
+        Arrays.fill(routes, 0, length, -1);
+        for (int i = 0; i < edgeCount; i++) {
+            int end = edgeEnds[i] - start;
+            // 边按起始位置升序：同一结束位置首次写入的即为最长词
+            if (end < length && routes[end] < 0) {
+                routes[end] = edgeBegins[i] - start;
+                routeValues[end] = edgeValues[i];
+            }
+        }
+        int top = 0;
+        for (int end = length - 1; end >= 0; end = begin(end) - 1) {
+            stack[top++] = end;
+        }
+        while (top > 0) {
+            int end = stack[--top];
+            if (!emit(start + begin(end), start + end, routeValues[end])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param end 结束位置（相对于分段起始位置）
+     * @return 以 end 结束的最长词的起始位置（无匹配的词则为单字）
+     */
+    private int begin(int end) {
+        int begin = routes[end];
+        return (begin >= 0) ? begin : end;
+    }
+
+    /**
+     * 最大概率：scores[i] 为从 i 到分段末尾的最大得分（对数概率之和），routes[i] 为从 i 开始的词的结束位置
+     */
+    @SuppressWarnings("unchecked")
+    private boolean maxProbability(int length) {
+        int start = segmentStart;
+        double single = -logTotal;
+        scores[length] = 0;
+        // 边按起始位置升序，从后向前处理
+        int edge = edgeCount - 1;
+        for (int i = length - 1; i >= 0; i--) {
+            double best = single + scores[i + 1];
+            int route = i;
+            Object routeValue = null;
+            for (; edge >= 0 && edgeBegins[edge] - start == i; edge--) {
+                int end = edgeEnds[edge] - start;
+                if (end >= length) {
+                    continue;
+                }
+                double score = score((V) edgeValues[edge]) + scores[end + 1];
+                // 得分相同（同一组词的不同排列，仅有浮点误差）时取较长的词；单字的词优先于词典中不存在的单字
+                if (score > best + EPSILON || (score >= best - EPSILON && (end > route || routeValue == null))) {
+                    best = score;
+                    route = end;
+                    routeValue = edgeValues[edge];
+                }
+            }
+            scores[i] = best;
+            routes[i] = route;
+            routeValues[i] = routeValue;
+        }
+        for (int i = 0; i < length; i = routes[i] + 1) {
+            if (!emit(start + i, start + routes[i], (V) routeValues[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private double score(V value) {
+        if (frequency == null) {
+            return -logTotal;
+        }
+        return Math.log(frequency.applyAsDouble(value)) - logTotal;
+    }
+
+    /**
+     * @return 分段缓冲区的当前容量
+     */
+    int capacity() {
+        return routes.length;
+    }
+
+    /**
+     * 输出 [from, to) 的单字
+     */
+    private boolean singles(int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!emit(i, i, null)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean emit(int begin, int end, Object value) {
+        if (!handler.handle(begin, end, (V) value)) {
+            stopped = true;
+            return false;
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,462 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import com.igeeksky.xtool.core.lang.Assert;
+import com.igeeksky.xtool.core.tuple.Tuple2;
+
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>分片 Trie</p>
+ * 一个逻辑词典由 N 个相互独立的 Trie（分片）组成：根据 key 的首字符（归一化后）计算分片序号，
+ * 每个分片有各自的根节点、分段锁及 size、height 等统计信息，因此大量写入时不同分片之间不会竞争。
+ * <p>
+ * 路由规则：分片序号 = floorMod(partitioner(首字符), N)。
+ * 首字符相同的 key 必定位于同一分片，因此：
+ * <p>
+ * 1. put、get、remove、prefixMatch、keysWithPrefix、streamWithPrefix 等操作仅访问一个分片；<br>
+ * 2. match、matchAll、fuzzyMatch、keys、values、traversal、stream 等操作访问全部分片，
+ * 再按起始位置（文本匹配）或字典序（遍历）合并，结果及顺序与单个 Trie 相同。
+ * <p>
+ * 跨分片的操作不保证原子性（如：clear、putAll、size），仅支持弱一致性。
+ * <p>
+ * 注意：如果分片使用了字符归一化，须使用相同的 {@link CharNormalizer} 创建分片 Trie，否则路由可能错误。
+ *
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+public class ShardedTrie<V> implements Trie<V> {
+
+    private static final Comparator<Found<?>> BY_BEGIN = Comparator.comparingInt(Found::begin);
+
+    private final Trie<V>[] shards;
+
+    private final CharNormalizer normalizer;
+
+    private final IntUnaryOperator partitioner;
+
+    /**
+     * @param shards 分片数量（大于0）
+     */
+    public ShardedTrie(int shards) {
+        this(shards, CharNormalizer.IDENTITY);
+    }
+
+    /**
+     * @param shards     分片数量（大于0）
+     * @param normalizer 字符归一化器
+     */
+    public ShardedTrie(int shards, CharNormalizer normalizer) {
+        this(shards, () -> new ConcurrentHashTrie<>(normalizer), normalizer, IntUnaryOperator.identity());
+    }
+
+    /**
+     * @param shards      分片数量（大于0）
+     * @param factory     分片 Trie 的创建器（每次调用均须返回新的空 Trie）
+     * @param normalizer  字符归一化器（须与分片 Trie 使用的归一化器相同）
+     * @param partitioner 首字符的哈希函数（默认为字符编码本身）
+     */
+    @SuppressWarnings("unchecked")
+    public ShardedTrie(int shards, Supplier<? extends Trie<V>> factory, CharNormalizer normalizer, IntUnaryOperator partitioner) {
+        Assert.isTrue(shards > 0, "shards must be greater than 0");
+        Assert.notNull(factory, "factory must not be null");
+        Assert.notNull(normalizer, "normalizer must not be null");
+        Assert.notNull(partitioner, "partitioner must not be null");
+        this.normalizer = normalizer;
+        this.partitioner = partitioner;
+        this.shards = new Trie[shards];
+        for (int i = 0; i < shards; i++) {
+            Trie<V> shard = factory.get();
+            Assert.notNull(shard, "factory must not return null");
+            this.shards[i] = shard;
+        }
+    }
+
+    /**
+     * @return 分片数量
+     */
+    public int shards() {
+        return shards.length;
+    }
+
+    /**
+     * @param c 首字符（未归一化）
+     * @return 分片序号
+     */
+    int indexOf(char c) {
+        return Math.floorMod(partitioner.applyAsInt(normalizer.normalize(c)), shards.length);
+    }
+
+    private Trie<V> shard(String str) {
+        return shards[indexOf(str.charAt(0))];
+    }
+
+    @Override
+    public V put(String key, V value) {
+        Assert.hasLength(key, "key must not be null or blank");
+        return shard(key).put(key, value);
+    }
+
+    /**
+     * 批量添加键值对
+     * <p>
+     * 按分片拆分后，各分片分别批量添加（键值对数量较多时并行添加），不同分片之间不保证原子性。
+     *
+     * @param map 多个键值对（键：不为空且长度大于0；值：不能为空）
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void putAll(TreeMap<String, V> map) {
+        Assert.notNull(map, "map must not be null");
+        if (map.isEmpty()) {
+            return;
+        }
+        TreeMap<String, V>[] parts = new TreeMap[shards.length];
+        map.forEach((key, value) -> {
+            Assert.hasLength(key, "key must not be null or blank");
+            int index = indexOf(key.charAt(0));
+            TreeMap<String, V> part = parts[index];
+            if (part == null) {
+                parts[index] = part = new TreeMap<>(map.comparator());
+            }
+            part.put(key, value);
+        });
+        IntStream stream = IntStream.range(0, shards.length);
+        if (map.size() >= TrieConstants.BULK_PARALLEL_THRESHOLD) {
+            stream = stream.parallel();
+        }
+        stream.forEach(i -> {
+            if (parts[i] != null) {
+                shards[i].putAll(parts[i]);
+            }
+        });
+    }
+
+    @Override
+    public V get(String key) {
+        Assert.hasLength(key, "key must not be null or blank");
+        return shard(key).get(key);
+    }
+
+    @Override
+    public Tuple2<String, V> prefixMatch(String word) {
+        return prefixMatch(word, true);
+    }
+
+    @Override
+    public Tuple2<String, V> prefixMatch(String word, boolean longestMatch) {
+        Assert.hasLength(word, "word must not be null or blank");
+        return shard(word).prefixMatch(word, longestMatch);
+    }
+
+    @Override
+    public List<Tuple2<String, V>> prefixMatchAll(String word) {
+        return prefixMatchAll(word, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Tuple2<String, V>> prefixMatchAll(String word, int maximum) {
+        Assert.hasLength(word, "word must not be null or blank");
+        return shard(word).prefixMatchAll(word, maximum);
+    }
+
+    @Override
+    public Tuple2<String, V> keyWithPrefix(String prefix) {
+        return keyWithPrefix(prefix, true);
+    }
+
+    @Override
+    public Tuple2<String, V> keyWithPrefix(String prefix, boolean longestMatch) {
+        Assert.hasLength(prefix, "prefix must not be null or empty");
+        return shard(prefix).keyWithPrefix(prefix, longestMatch);
+    }
+
+    @Override
+    public List<Tuple2<String, V>> keysWithPrefix(String prefix) {
+        return keysWithPrefix(prefix, Integer.MAX_VALUE, Integer.MAX_VALUE, true);
+    }
+
+    @Override
+    public List<Tuple2<String, V>> keysWithPrefix(String prefix, int maximum, int depth, boolean dfs) {
+        Assert.hasLength(prefix, "prefix must not be null or empty");
+        return shard(prefix).keysWithPrefix(prefix, maximum, depth, dfs);
+    }
+
+    @Override
+    public List<Tuple2<String, V>> fuzzyMatch(String word, int maxDistance) {
+        return fuzzyMatch(word, maxDistance, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 模糊匹配：编辑距离不限制首字符，因此访问全部分片，合并后按字典序排列
+     */
+    @Override
+    public List<Tuple2<String, V>> fuzzyMatch(String word, int maxDistance, int maximum) {
+        Assert.hasLength(word, "word must not be null or empty");
+        Assert.isTrue(maxDistance >= 0, "maxDistance must be greater than or equal to 0");
+        if (maximum <= 0) {
+            return new ArrayList<>(0);
+        }
+        // 每个分片的结果均为该分片的前 maximum 个，因此合并后的前 maximum 个即为全局结果
+        List<Tuple2<String, V>> values = new ArrayList<>();
+        for (Trie<V> shard : shards) {
+            values.addAll(shard.fuzzyMatch(word, maxDistance, maximum));
+        }
+        values.sort(Comparator.comparing(Tuple2::getT1));
+        return truncate(values, maximum);
+    }
+
+    @Override
+    public List<Found<V>> match(String text) {
+        return match(text, true, true);
+    }
+
+    /**
+     * 包含匹配：每个分片仅能匹配到以该分片首字符开始的 key，各分片逐字符匹配后按起始位置合并；
+     * 非逐字符匹配时，再跳过与前一结果重叠的结果（与单个 Trie 的跳过规则相同）
+     */
+    @Override
+    public List<Found<V>> match(String text, boolean longestMatch, boolean oneByOne) {
+        Assert.hasLength(text, "text must not be null or empty");
+        List<Found<V>> founds = new ArrayList<>();
+        for (Trie<V> shard : shards) {
+            founds.addAll(shard.match(text, longestMatch, true));
+        }
+        founds.sort(BY_BEGIN);
+        if (oneByOne) {
+            return founds;
+        }
+        List<Found<V>> result = new ArrayList<>();
+        int lastEnd = -1;
+        for (Found<V> found : founds) {
+            if (found.begin() > lastEnd) {
+                result.add(found);
+                lastEnd = found.end();
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Found<V>> matchAll(String text) {
+        return matchAll(text, true, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 包含匹配（返回全部结果）：同 {@link ShardedTrie#match(String, boolean, boolean)}，
+     * 同一起始位置的多个结果由同一分片匹配，合并时保持原顺序（稳定排序）
+     */
+    @Override
+    public List<Found<V>> matchAll(String text, boolean oneByOne, int maximum) {
+        Assert.hasLength(text, "text must not be null or empty");
+        if (maximum <= 0) {
+            return new ArrayList<>(0);
+        }
+        // 逐字符匹配时，各分片的前 maximum 个结果已足够；否则跳过的结果也计入了分片的数量，须全部匹配
+        int limit = oneByOne ? maximum : Integer.MAX_VALUE;
+        List<Found<V>> founds = new ArrayList<>();
+        for (Trie<V> shard : shards) {
+            founds.addAll(shard.matchAll(text, true, limit));
+        }
+        founds.sort(BY_BEGIN);
+        if (oneByOne) {
+            return truncate(founds, maximum);
+        }
+        List<Found<V>> result = new ArrayList<>();
+        int lastEnd = -1, begin = -1;
+        for (Found<V> found : founds) {
+            if (found.begin() == begin || found.begin() > lastEnd) {
+                if (result.size() >= maximum) {
+                    break;
+                }
+                result.add(found);
+                begin = found.begin();
+                lastEnd = found.end();
+            }
+        }
+        return result;
+    }
+
+    private static <T> List<T> truncate(List<T> list, int maximum) {
+        return (list.size() > maximum) ? new ArrayList<>(list.subList(0, maximum)) : list;
+    }
+
+    @Override
+    public List<String> keys(int depth) {
+        List<String> keys = new LinkedList<>();
+        traversal(depth, (key, value) -> keys.add(key));
+        return keys;
+    }
+
+    @Override
+    public List<V> values(int depth) {
+        List<V> values = new LinkedList<>();
+        traversal(depth, (key, value) -> values.add(value));
+        return values;
+    }
+
+    /**
+     * 遍历：各分片的键值对均为字典序，逐个比较各分片的当前 key 合并，因此结果仍为字典序
+     */
+    @Override
+    public void traversal(int depth, BiFunction<String, V, Boolean> function) {
+        Iterator<Tuple2<String, V>> iterator = iterator(depth);
+        while (iterator.hasNext()) {
+            Tuple2<String, V> tuple = iterator.next();
+            if (!function.apply(tuple.getT1(), tuple.getT2())) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public Stream<Tuple2<String, V>> stream(int depth) {
+        if (depth < 1) {
+            return Stream.empty();
+        }
+        Spliterator<Tuple2<String, V>> spliterator = Spliterators.spliteratorUnknownSize(iterator(depth),
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    @Override
+    public Stream<Tuple2<String, V>> streamWithPrefix(String prefix, int depth) {
+        Assert.hasLength(prefix, "prefix must not be null or empty");
+        return shard(prefix).streamWithPrefix(prefix, depth);
+    }
+
+    private Iterator<Tuple2<String, V>> iterator(int depth) {
+        if (depth < 1) {
+            return Collections.emptyIterator();
+        }
+        List<Iterator<Tuple2<String, V>>> iterators = new ArrayList<>(shards.length);
+        for (Trie<V> shard : shards) {
+            iterators.add(shard.stream(depth).iterator());
+        }
+        return new MergingIterator<>(iterators);
+    }
+
+    @Override
+    public boolean contains(String key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public V remove(String key) {
+        Assert.hasLength(key, "key must not be null or blank");
+        return shard(key).remove(key);
+    }
+
+    @Override
+    public CharNormalizer normalizer() {
+        return normalizer;
+    }
+
+    @Override
+    public int height() {
+        int height = 0;
+        for (Trie<V> shard : shards) {
+            height = Math.max(height, shard.height());
+        }
+        return height;
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Trie<V> shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (Trie<V> shard : shards) {
+            if (!shard.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        for (Trie<V> shard : shards) {
+            shard.clear();
+        }
+    }
+
+    /**
+     * 多路归并：各分片的迭代器均按 key 的字典序排列，每次取出当前 key 最小的键值对
+     */
+    private static final class MergingIterator<V> implements Iterator<Tuple2<String, V>> {
+
+        private final PriorityQueue<Head<V>> queue;
+
+        MergingIterator(List<Iterator<Tuple2<String, V>>> iterators) {
+            this.queue = new PriorityQueue<>(Math.max(1, iterators.size()), Comparator.comparing(head -> head.current.getT1()));
+            for (Iterator<Tuple2<String, V>> iterator : iterators) {
+                if (iterator.hasNext()) {
+                    queue.add(new Head<>(iterator.next(), iterator));
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !queue.isEmpty();
+        }
+
+        @Override
+        public Tuple2<String, V> next() {
+            Head<V> head = queue.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            Tuple2<String, V> current = head.current;
+            if (head.iterator.hasNext()) {
+                head.current = head.iterator.next();
+                queue.add(head);
+            }
+            return current;
+        }
+
+    }
+
+    private static final class Head<V> {
+
+        private Tuple2<String, V> current;
+
+        private final Iterator<Tuple2<String, V>> iterator;
+
+        Head(Tuple2<String, V> current, Iterator<Tuple2<String, V>> iterator) {
+            this.current = current;
+            this.iterator = iterator;
+        }
+
+    }
+
+}
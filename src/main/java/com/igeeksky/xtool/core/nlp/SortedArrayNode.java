@@ -0,0 +1,287 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>有序数组节点</p>
+ * 子节点按字符升序保存在 table 中，只使用前 size 个元素，没有哈希冲突，也不需要链表节点和 AVL 树节点之间的转换：
+ * <pre>
+ *     1. 数组容量不超过 {@link TrieConstants#SORTED_ARRAY_SCAN_THRESHOLD} 时，数组按子节点数量精确分配，
+ *        查找时顺序比较各子节点的字符；
+ *     2. 数组容量超过阈值时，数组按 1.5 倍扩容，另用与 table 平行的 keys 数组保存子节点字符，查找时对 keys 二分查找。
+ * </pre>
+ * 与 {@link LinkedNode}、{@link AvlNode} 相比，子节点本身已按字典序排列，遍历时无需排序；
+ * 但插入和删除子节点需移动数组元素，时间复杂度为 O(n)，适用于读多写少的词典。
+ * <p>
+ * 所有子节点均须为 {@link SortedArrayNode}，请通过 {@link ConcurrentHashTrie#sortedArray()} 创建：
+ * <pre>
+ *     Trie&lt;String&gt; trie = ConcurrentHashTrie.sortedArray();
+ * </pre>
+ *
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+@SuppressWarnings("unchecked")
+public class SortedArrayNode<V> extends Node<V> {
+
+    /**
+     * 子节点字符（升序），与 table 平行；table 容量不超过 {@link TrieConstants#SORTED_ARRAY_SCAN_THRESHOLD} 时为空
+     */
+    protected char[] keys;
+
+    public SortedArrayNode(char c) {
+        super(c);
+    }
+
+    @Override
+    public Node<V> addChild(char c, NodeCreator<V> creator, NodeConvertor<? extends Node<V>, ? extends TreeNode<V>> convertor) {
+        int index = indexOf(keys, table, size, c);
+        if (index >= 0) {
+            return table[index];
+        }
+        index = -(index + 1);
+        Node<V> child = creator.apply(c);
+        if (table == null || size == table.length) {
+            int newCap = (size < TrieConstants.SORTED_ARRAY_SCAN_THRESHOLD) ? size + 1 : size + (size >> 1) + 1;
+            Node<V>[] newTab = new Node[newCap];
+            char[] newKeys = (newCap > TrieConstants.SORTED_ARRAY_SCAN_THRESHOLD) ? new char[newCap] : null;
+            if (size > 0) {
+                System.arraycopy(table, 0, newTab, 0, index);
+                System.arraycopy(table, index, newTab, index + 1, size - index);
+                if (newKeys != null) {
+                    copyKeys(newKeys, 0, 0, index);
+                    copyKeys(newKeys, index, index + 1, size - index);
+                }
+            }
+            newTab[index] = child;
+            if (newKeys != null) {
+                newKeys[index] = c;
+            }
+            keys = newKeys;
+            table = newTab;
+        } else {
+            System.arraycopy(table, index, table, index + 1, size - index);
+            table[index] = child;
+            if (keys != null) {
+                System.arraycopy(keys, index, keys, index + 1, size - index);
+                keys[index] = c;
+            }
+        }
+        ++size;
+        return child;
+    }
+
+    @Override
+    public Node<V> findChild(char c) {
+        // 仅读取一次 keys 和 table：乐观读期间数组可能被并发修改或替换（不一致的状态由乐观读的校验发现）
+        Node<V>[] tab = table;
+        if (tab == null) {
+            return null;
+        }
+        int index = indexOf(keys, tab, Math.min(size, tab.length), c);
+        return (index >= 0) ? tab[index] : null;
+    }
+
+    /**
+     * 查找字符为 c 的子节点的下标
+     *
+     * @param ks  子节点字符（可能为空）
+     * @param tab 子节点数组
+     * @param n   子节点数量
+     * @param c   字符
+     * @return 如果找到，返回下标；否则返回 -(插入位置 + 1)
+     */
+    private static <V> int indexOf(char[] ks, Node<V>[] tab, int n, char c) {
+        if (n == 0) {
+            return -1;
+        }
+        if (ks != null) {
+            return Arrays.binarySearch(ks, 0, Math.min(n, ks.length), c);
+        }
+        for (int i = 0; i < n; i++) {
+            char k = tab[i].c;
+            if (k == c) {
+                return i;
+            }
+            if (k > c) {
+                return -(i + 1);
+            }
+        }
+        return -(n + 1);
+    }
+
+    /**
+     * 复制子节点字符：如果旧数组没有 keys，则从子节点读取
+     */
+    private void copyKeys(char[] dest, int srcPos, int destPos, int length) {
+        if (keys != null) {
+            System.arraycopy(keys, srcPos, dest, destPos, length);
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            dest[destPos + i] = table[srcPos + i].c;
+        }
+    }
+
+    @Override
+    public void deleteChild(Node<V> child, NodeConvertor<? extends Node<V>, ? extends TreeNode<V>> convertor) {
+        int index = indexOf(keys, table, size, child.c);
+        if (index < 0) {
+            return;
+        }
+        if (--size == 0) {
+            keys = null;
+            table = null;
+            return;
+        }
+        // 小数组保持精确分配；大数组空闲位置超过 3/4 时缩容
+        int capacity = table.length;
+        if (capacity <= TrieConstants.SORTED_ARRAY_SCAN_THRESHOLD || size <= (capacity >> 2)) {
+            int newCap = (size <= TrieConstants.SORTED_ARRAY_SCAN_THRESHOLD) ? size : size + (size >> 1) + 1;
+            Node<V>[] newTab = new Node[newCap];
+            System.arraycopy(table, 0, newTab, 0, index);
+            System.arraycopy(table, index + 1, newTab, index, size - index);
+            char[] newKeys = null;
+            if (newCap > TrieConstants.SORTED_ARRAY_SCAN_THRESHOLD) {
+                newKeys = new char[newCap];
+                System.arraycopy(keys, 0, newKeys, 0, index);
+                System.arraycopy(keys, index + 1, newKeys, index, size - index);
+            }
+            keys = newKeys;
+            table = newTab;
+            return;
+        }
+        System.arraycopy(table, index + 1, table, index, size - index);
+        table[size] = null;
+        if (keys != null) {
+            System.arraycopy(keys, index + 1, keys, index, size - index);
+        }
+    }
+
+    /**
+     * 预分配数组：按子节点数量精确分配数组
+     *
+     * @param count 即将增加的子节点数量（当前节点须无子节点）
+     */
+    @Override
+    public void presize(int count) {
+        if (this.table != null || count <= 0) {
+            return;
+        }
+        this.keys = (count > TrieConstants.SORTED_ARRAY_SCAN_THRESHOLD) ? new char[count] : null;
+        this.table = new Node[count];
+    }
+
+    /**
+     * 子节点已按字典序排列，直接按数组顺序遍历
+     *
+     * @return 子节点迭代器
+     */
+    @Override
+    public Iterator<Node<V>> iterator() {
+        return new ArrayIterator<>(table, size);
+    }
+
+    /**
+     * table 中的每个元素都是独立的子节点，不存在同一下标的兄弟节点
+     */
+    @Override
+    public Node<V> find(char c) {
+        return (this.c == c) ? this : null;
+    }
+
+    @Override
+    protected List<Node<V>> findAll() {
+        return Collections.singletonList(this);
+    }
+
+    @Override
+    protected int collectAll(Node<V>[] dest, int pos) {
+        dest[pos] = this;
+        return pos + 1;
+    }
+
+    /**
+     * 子节点已按字典序排列，直接复制
+     */
+    @Override
+    public int sortedChildren(Node<V>[] dest) {
+        Node<V>[] tab = table;
+        if (tab == null || size == 0) {
+            return 0;
+        }
+        System.arraycopy(tab, 0, dest, 0, size);
+        return size;
+    }
+
+    @Override
+    public int children(Node<V>[] dest) {
+        return sortedChildren(dest);
+    }
+
+    @Override
+    public Node<V> insert(Node<V> parent, int index, char c, NodeConvertor<? extends Node<V>, ? extends TreeNode<V>> convertor) {
+        throw new UnsupportedOperationException("SortedArrayNode does not support hash bucket");
+    }
+
+    @Override
+    public Node<V> delete(BaseNode<V> deletion, NodeConvertor<? extends Node<V>, ? extends TreeNode<V>> convertor) {
+        return (deletion == this) ? null : this;
+    }
+
+    @Override
+    public void split(Node<V>[] newTab, int oldCap, int oldIndex, NodeConvertor<? extends Node<V>, ? extends TreeNode<V>> convertor) {
+        throw new UnsupportedOperationException("SortedArrayNode does not support hash bucket");
+    }
+
+    @Override
+    public Node<V> join(Node<V> old, NodeConvertor<? extends Node<V>, ? extends TreeNode<V>> convertor) {
+        throw new UnsupportedOperationException("SortedArrayNode does not support hash bucket");
+    }
+
+    private static class ArrayIterator<V> implements Iterator<Node<V>> {
+
+        private final Node<V>[] table;
+        private final int size;
+        private int index;
+
+        ArrayIterator(Node<V>[] table, int size) {
+            this.table = table;
+            this.size = (table == null) ? 0 : Math.min(size, table.length);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @Override
+        public Node<V> next() {
+            if (index >= size) {
+                throw new NoSuchElementException();
+            }
+            return table[index++];
+        }
+    }
+}
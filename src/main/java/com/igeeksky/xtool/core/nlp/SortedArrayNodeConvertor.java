@@ -0,0 +1,40 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+/**
+ * 有序数组节点的转换器
+ * <p>
+ * {@link SortedArrayNode} 的子节点保存在有序数组中，不存在哈希冲突，因此不会发生链表与树的互相转换。
+ * 此转换器仅用于 {@link ConcurrentHashTrie#sortedArray()} 与 {@link SortedArrayNodeCreator} 配对，其方法均不会被调用。
+ *
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+class SortedArrayNodeConvertor<V> implements NodeConvertor<SortedArrayNode<V>, AvlNode<V>> {
+
+    @Override
+    public AvlNode<V> toTreeNode(SortedArrayNode<V> node) {
+        throw new UnsupportedOperationException("SortedArrayNode does not need to be converted");
+    }
+
+    @Override
+    public SortedArrayNode<V> fromTreeNode(AvlNode<V> node) {
+        throw new UnsupportedOperationException("SortedArrayNode does not need to be converted");
+    }
+}
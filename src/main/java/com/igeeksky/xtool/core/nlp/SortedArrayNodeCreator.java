@@ -0,0 +1,32 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+/**
+ * 创建有序数组节点
+ *
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+class SortedArrayNodeCreator<V> implements NodeCreator<V> {
+
+    @Override
+    public Node<V> apply(char c) {
+        return new SortedArrayNode<>(c);
+    }
+}
@@ -17,11 +17,18 @@
 
 package com.igeeksky.xtool.core.nlp;
 
+import com.igeeksky.xtool.core.lang.Assert;
 import com.igeeksky.xtool.core.tuple.Tuple2;
 
+import java.nio.CharBuffer;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiFunction;
+import java.util.stream.Stream;
 
 /**
  * @author Patrick.Lau
@@ -220,6 +227,47 @@ public interface Trie<V> {
      */
     List<Tuple2<String, V>> keysWithPrefix(String prefix, int maximum, int depth, boolean dfs);
 
+    /**
+     * 模糊匹配：返回与 word 的编辑距离（Levenshtein）不超过 maxDistance 的 key 及对应 value
+     * <p>
+     * 编辑距离为将一个字符串变为另一个字符串所需的最少单字符操作（插入、删除、替换）次数。
+     * <p>
+     * 默认返回全部结果，maximum = {@link Integer#MAX_VALUE}
+     * <p>
+     * 此方法等同于：trie.fuzzyMatch("abd", 1, Integer.MAX_VALUE)
+     *
+     * <pre>
+     *     Trie中已有：ab, abc, abcd, abd, bcd
+     *     trie.fuzzyMatch("abd", 1) == [[ab, ab], [abc, abc], [abcd, abcd], [abd, abd]]
+     * </pre>
+     *
+     * @param word        待匹配的字符串（不为空且长度大于0）
+     * @param maxDistance 最大编辑距离（大于等于0）
+     * @return 所有编辑距离不超过 maxDistance 的 keys 及对应 values（深度优先遍历 + 字典序）
+     */
+    List<Tuple2<String, V>> fuzzyMatch(String word, int maxDistance);
+
+    /**
+     * 模糊匹配：返回与 word 的编辑距离（Levenshtein）不超过 maxDistance 的 key 及对应 value
+     * <p>
+     * 深度优先遍历，每向下一层，根据上一层的动态规划行计算新的一行（即已遍历的前缀与 word 各前缀的编辑距离），
+     * 如果该行的最小值已超过 maxDistance，则其所有后缀均不可能满足条件，不再遍历此分支。
+     *
+     * <pre>
+     *     Trie中已有：ab, abc, abcd, abd, bcd
+     *     trie.fuzzyMatch("abd", 0, 1000) == [[abd, abd]]
+     *     trie.fuzzyMatch("abd", 1, 1000) == [[ab, ab], [abc, abc], [abcd, abcd], [abd, abd]]
+     *     trie.fuzzyMatch("abd", 1, 2) == [[ab, ab], [abc, abc]]
+     *     trie.fuzzyMatch("abd", 2, 1000) == [[ab, ab], [abc, abc], [abcd, abcd], [abd, abd], [bcd, bcd]]
+     * </pre>
+     *
+     * @param word        待匹配的字符串（不为空且长度大于0）
+     * @param maxDistance 最大编辑距离（大于等于0）
+     * @param maximum     最大返回结果数量（默认：{@link Integer#MAX_VALUE}）
+     * @return 所有编辑距离不超过 maxDistance 的 keys 及对应 values（深度优先遍历 + 字典序）
+     */
+    List<Tuple2<String, V>> fuzzyMatch(String word, int maxDistance, int maximum);
+
     /**
      * 包含匹配：输入一段文本，返回该文本中包含的 key 及对应 value、与及 key 的起止位置
      * <p>
@@ -333,6 +381,136 @@ public interface Trie<V> {
      */
     List<Found<V>> matchAll(String text, boolean oneByOne, int maximum);
 
+    /**
+     * 批量包含匹配：使用 {@link ForkJoinPool#commonPool()} 并行匹配多段文本
+     * <p>
+     * 等同于：trie.batchMatch(texts, true, true, ForkJoinPool.commonPool())
+     *
+     * @param texts 多段文本（元素不能为空）
+     * @return 每段文本的匹配结果（与输入顺序一致）
+     */
+    default List<List<Found<V>>> batchMatch(Collection<String> texts) {
+        return batchMatch(texts, true, true, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 批量包含匹配：将多段文本分组后提交给线程池并行匹配，每段文本的匹配规则同 {@link Trie#match(String, boolean, boolean)}
+     * <p>
+     * 较短的文本合并为一个任务；很长的文本按 {@link TrieConstants#DEFAULT_BATCH_CHUNK_LENGTH} 切分为多个任务，
+     * 分片之间重叠 height() - 1 个字符，因此匹配结果与不切分时相同。
+     *
+     * @param texts        多段文本（元素不能为空）
+     * @param longestMatch 是否最长匹配
+     * @param oneByOne     是否逐字符匹配
+     * @param executor     执行匹配任务的线程池
+     * @return 每段文本的匹配结果（与输入顺序一致）
+     */
+    default List<List<Found<V>>> batchMatch(Collection<String> texts, boolean longestMatch, boolean oneByOne, Executor executor) {
+        return BatchMatcher.match(this, texts, longestMatch, oneByOne, TrieConstants.DEFAULT_BATCH_CHUNK_LENGTH, executor);
+    }
+
+    /**
+     * 批量包含匹配：同 {@link Trie#batchMatch(Collection, boolean, boolean, Executor)}
+     *
+     * @param texts        多段文本（元素不能为空）
+     * @param longestMatch 是否最长匹配
+     * @param oneByOne     是否逐字符匹配
+     * @param executor     执行匹配任务的线程池
+     * @return 每段文本的匹配结果（与输入顺序一致）
+     */
+    default List<List<Found<V>>> batchMatch(Stream<String> texts, boolean longestMatch, boolean oneByOne, Executor executor) {
+        Assert.notNull(texts, "texts must not be null");
+        return batchMatch(texts.toList(), longestMatch, oneByOne, executor);
+    }
+
+    /**
+     * 包含匹配（流式）：匹配规则同 {@link Trie#match(String, boolean, boolean)}，
+     * 但不创建 key 字符串及结果集合，每匹配到一个 key 即回调处理器。
+     * <p>
+     * 回调的起止位置为文本中的绝对位置（结束位置包含在内）；处理器返回 false 时停止匹配。
+     * <p>
+     * 默认实现基于 {@link Trie#match(String, boolean, boolean)}，实现类应覆盖此方法以避免创建临时对象。
+     *
+     * @param text         文本
+     * @param from         起始匹配位置（包含）
+     * @param to           结束匹配位置（不包含）
+     * @param longestMatch 是否最长匹配
+     * @param oneByOne     是否逐字符匹配（是：当前下标 + 1开始查找；否：当前下标 + 找到词长度 + 1 开始查找）
+     * @param handler      匹配结果处理器
+     */
+    default void match(CharSequence text, int from, int to, boolean longestMatch, boolean oneByOne, MatchHandler<V> handler) {
+        Assert.notNull(text, "text must not be null");
+        Assert.notNull(handler, "handler must not be null");
+        Objects.checkFromToIndex(from, to, text.length());
+        if (from == to) {
+            return;
+        }
+        for (Found<V> found : match(text.subSequence(from, to).toString(), longestMatch, oneByOne)) {
+            if (!handler.handle(found.begin() + from, found.end() + from, found.value())) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 包含匹配（流式）：同 {@link Trie#match(CharSequence, int, int, boolean, boolean, MatchHandler)}
+     *
+     * @param text         字符数组
+     * @param offset       起始匹配位置（包含）
+     * @param length       匹配长度
+     * @param longestMatch 是否最长匹配
+     * @param oneByOne     是否逐字符匹配
+     * @param handler      匹配结果处理器（起止位置为字符数组中的绝对位置）
+     */
+    default void match(char[] text, int offset, int length, boolean longestMatch, boolean oneByOne, MatchHandler<V> handler) {
+        Assert.notNull(text, "text must not be null");
+        Objects.checkFromIndexSize(offset, length, text.length);
+        match(CharBuffer.wrap(text), offset, offset + length, longestMatch, oneByOne, handler);
+    }
+
+    /**
+     * 包含匹配（流式）：匹配规则同 {@link Trie#matchAll(String, boolean, int)}，
+     * 但不创建 key 字符串及结果集合，每匹配到一个 key 即回调处理器。
+     * <p>
+     * 回调的起止位置为文本中的绝对位置（结束位置包含在内）；处理器返回 false 时停止匹配。
+     * <p>
+     * 默认实现基于 {@link Trie#matchAll(String, boolean, int)}，实现类应覆盖此方法以避免创建临时对象。
+     *
+     * @param text     文本
+     * @param from     起始匹配位置（包含）
+     * @param to       结束匹配位置（不包含）
+     * @param oneByOne 是否逐字符匹配（是：当前下标 + 1开始查找；否：当前下标 + 找到词长度 + 1 开始查找）
+     * @param handler  匹配结果处理器
+     */
+    default void matchAll(CharSequence text, int from, int to, boolean oneByOne, MatchHandler<V> handler) {
+        Assert.notNull(text, "text must not be null");
+        Assert.notNull(handler, "handler must not be null");
+        Objects.checkFromToIndex(from, to, text.length());
+        if (from == to) {
+            return;
+        }
+        for (Found<V> found : matchAll(text.subSequence(from, to).toString(), oneByOne, Integer.MAX_VALUE)) {
+            if (!handler.handle(found.begin() + from, found.end() + from, found.value())) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 包含匹配（流式）：同 {@link Trie#matchAll(CharSequence, int, int, boolean, MatchHandler)}
+     *
+     * @param text     字符数组
+     * @param offset   起始匹配位置（包含）
+     * @param length   匹配长度
+     * @param oneByOne 是否逐字符匹配
+     * @param handler  匹配结果处理器（起止位置为字符数组中的绝对位置）
+     */
+    default void matchAll(char[] text, int offset, int length, boolean oneByOne, MatchHandler<V> handler) {
+        Assert.notNull(text, "text must not be null");
+        Objects.checkFromIndexSize(offset, length, text.length);
+        matchAll(CharBuffer.wrap(text), offset, offset + length, oneByOne, handler);
+    }
+
     /**
      * 遍历键（！！慎用：如果树中包含大量的键值对，可能会导致内存溢出！！）
      * <p>
@@ -388,6 +566,40 @@ public interface Trie<V> {
      */
     void traversal(int depth, BiFunction<String, V, Boolean> function);
 
+    /**
+     * 惰性获取键值对的流（深度优先遍历 + 字典序）
+     * <p>
+     * 与 {@link #keys(int)}、{@link #values(int)} 不同，不会一次性将全部键值对加载到内存，而是按需遍历节点，
+     * 因此适用于导出大量键值对，也可通过 limit、findFirst 等操作提前结束遍历。
+     * <p>
+     * 按首字符分割，支持并行流。
+     *
+     * <pre>
+     *     Trie中已有：ab, abc, abcd, abd, bcd
+     *     trie.stream(3).map(Tuple2::getT1).toList() == [ab, abc, abd, bcd]
+     * </pre>
+     *
+     * @param depth 遍历深度（key 的最大长度）
+     * @return 键值对的流
+     */
+    Stream<Tuple2<String, V>> stream(int depth);
+
+    /**
+     * 惰性获取以 prefix 为前缀的键值对的流（深度优先遍历 + 字典序）
+     * <p>
+     * 与 {@link #keysWithPrefix(String, int, int, boolean)} 的深度优先遍历结果相同，但不会一次性加载到内存。
+     *
+     * <pre>
+     *     Trie中已有：ab, abc, abcd, abd, bcd
+     *     trie.streamWithPrefix("ab", 1).map(Tuple2::getT1).toList() == [ab, abc, abd]
+     * </pre>
+     *
+     * @param prefix 前缀（不为空且长度大于0）
+     * @param depth  搜索深度（相对于前缀）
+     * @return 键值对的流
+     */
+    Stream<Tuple2<String, V>> streamWithPrefix(String prefix, int depth);
+
     /**
      * 精确匹配：判断树中是否存在该 Key
      * <p>
@@ -454,6 +666,15 @@ public interface Trie<V> {
      */
     int height();
 
+    /**
+     * 字符归一化器：添加 key 及匹配文本时，每个字符先经此归一化
+     *
+     * @return 字符归一化器（默认为 {@link CharNormalizer#IDENTITY}）
+     */
+    default CharNormalizer normalizer() {
+        return CharNormalizer.IDENTITY;
+    }
+
     /**
      * 树中已有键值对的数量
      *
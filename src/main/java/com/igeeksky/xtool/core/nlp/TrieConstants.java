@@ -29,12 +29,21 @@ public class TrieConstants {
     public static final int TABLE_HALF_CAPACITY = TABLE_MAX_CAPACITY >> 1;
     public static final int TABLE_MAX_MASK = TABLE_MAX_CAPACITY - 1;
     public static final int TABLE_INITIAL_CAPACITY = 1;
+    public static final int ROOT_SMALL_CAPACITY = 128;
+    public static final int DEFAULT_LOCK_STRIPES = 256;
+    public static final int DEFAULT_BATCH_CHUNK_LENGTH = 1 << 14;
+    public static final int BULK_PARALLEL_THRESHOLD = 1 << 16;
+    public static final int SORTED_ARRAY_SCAN_THRESHOLD = 8;
     public static final int TO_TREE_NODE_THRESHOLD = 8;
     public static final int FROM_TREE_NODE_THRESHOLD = 3;
     public static final int AVL_RIGHT_ROTATE_THRESHOLD = 2;
     public static final int AVL_LEFT_ROTATE_THRESHOLD = -2;
     public static final int AVL_RIGHT_SLANT = -1;
     public static final int AVL_LEFT_SLANT = 1;
+    /**
+     * AVL 树的最大高度：同一个桶最多有 65536 个节点（每个字符一个），而高度为 23 的 AVL 树至少有 75024 个节点，因此高度不超过 22
+     */
+    public static final int AVL_MAX_HEIGHT = 22;
 
     /**
      * 根据当前直接后缀的数量来判断缩容策略，预留一定的缓冲空间，避免增加一个Key就扩容，删除一个key就缩容，同时又避免空间浪费过多
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+/**
+ * <p>Trie 运行指标收集器</p>
+ * 用于 {@link ConcurrentHashTrie}：记录各操作的耗时及分段锁的等待时间，以便定位匹配变慢的原因
+ * （锁竞争、AVL 桶过深或分支过多等，结构信息见 {@link ConcurrentHashTrie#structure()}）。
+ * <p>
+ * 未指定收集器时，trie 不会调用 {@link System#nanoTime()}，也不会调用任何回调方法。
+ * <p>
+ * 回调方法由执行操作的线程同步调用，且可能被多个线程并发调用，实现类须线程安全且尽可能轻量。
+ *
+ * @author Patrick.Lau
+ * @see HistogramTrieMetrics
+ * @since 1.2.1
+ */
+public interface TrieMetrics {
+
+    /**
+     * 操作类型
+     */
+    enum Operation {
+
+        GET,
+
+        PUT,
+
+        REMOVE,
+
+        /**
+         * 文本匹配（match、matchAll 等，一次调用记录一次，与文本长度无关）
+         */
+        MATCH
+
+    }
+
+    /**
+     * 记录一次操作的耗时
+     *
+     * @param operation 操作类型
+     * @param nanos     耗时（纳秒，包含锁等待时间）
+     */
+    void record(Operation operation, long nanos);
+
+    /**
+     * 记录一次分段锁等待
+     * <p>
+     * 仅当未能立即获取锁时才会调用（乐观读校验成功及无竞争的加锁均不会调用）。
+     *
+     * @param stripe 分段锁序号
+     * @param nanos  等待时间（纳秒）
+     */
+    void lockWait(int stripe, long nanos);
+
+}
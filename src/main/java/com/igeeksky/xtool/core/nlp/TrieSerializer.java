@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import com.igeeksky.xtool.core.io.IOException;
+import com.igeeksky.xtool.core.lang.Assert;
+import com.igeeksky.xtool.core.lang.codec.Codec;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.TreeMap;
+
+/**
+ * <p>Trie 序列化工具</p>
+ * 将 Trie 写为紧凑的二进制镜像文件，可通过 {@link MappedTrie} 以内存映射方式直接加载（无需反序列化）。
+ * <p>
+ * 文件格式（大端序，各段均按 4 字节对齐）：
+ * <pre>
+ *     header:        magic, version, size, height, capacity, labelCount, valueDataLength（7 个 int）
+ *     base:          int[capacity]
+ *     check:         int[capacity]
+ *     labelStart:    int[capacity]
+ *     labels:        char[labelCount]（labelCount 为奇数时补 2 字节）
+ *     valueOffsets:  int[size + 1]
+ *     valueData:     byte[valueDataLength]（值经 {@link Codec} 编码后依次存放）
+ * </pre>
+ * 整个文件须能一次映射，因此大小不能超过 {@link Integer#MAX_VALUE} 字节。
+ *
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+public class TrieSerializer {
+
+    /**
+     * 文件标识："XTRI"
+     */
+    static final int MAGIC = 0x58545249;
+
+    static final int VERSION = 1;
+
+    static final int HEADER_LENGTH = 7 * 4;
+
+    private TrieSerializer() {
+    }
+
+    /**
+     * 将 Trie 写入文件
+     * <p>
+     * 如果不是 {@link DoubleArrayTrie} 或 {@link MappedTrie}，先遍历全部键值对创建 {@link DoubleArrayTrie} 再写入。
+     *
+     * @param trie  Trie
+     * @param codec 值的编解码器
+     * @param path  文件路径（已存在则覆盖）
+     * @param <V>   值类型
+     */
+    public static <V> void write(Trie<V> trie, Codec<V> codec, Path path) {
+        Assert.notNull(trie, "trie must not be null");
+        Assert.notNull(codec, "codec must not be null");
+        Assert.notNull(path, "path must not be null");
+
+        AbstractDoubleArrayTrie<V> arrayTrie;
+        if (trie instanceof AbstractDoubleArrayTrie<V> t) {
+            arrayTrie = t;
+        } else {
+            TreeMap<String, V> map = new TreeMap<>();
+            trie.traversal(Integer.MAX_VALUE, (key, value) -> {
+                map.put(key, value);
+                return true;
+            });
+            arrayTrie = new DoubleArrayTrie<>(map);
+        }
+        write(arrayTrie, codec, path);
+    }
+
+    private static <V> void write(AbstractDoubleArrayTrie<V> trie, Codec<V> codec, Path path) {
+        int size = trie.size();
+        int capacity = trie.capacity();
+        int labelCount = trie.labelCount();
+
+        byte[][] encoded = new byte[size][];
+        long dataLength = 0;
+        for (int i = 0; i < size; i++) {
+            encoded[i] = codec.encode(trie.valueAt(i));
+            dataLength += encoded[i].length;
+        }
+
+        long fileLength = HEADER_LENGTH + 3L * capacity * 4 + align(labelCount * 2L) + (size + 1L) * 4 + dataLength;
+        if (fileLength > Integer.MAX_VALUE) {
+            throw new IOException("trie image is too large to be mapped: " + fileLength + " bytes");
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(size);
+            out.writeInt(trie.height());
+            out.writeInt(capacity);
+            out.writeInt(labelCount);
+            out.writeInt((int) dataLength);
+            for (int i = 0; i < capacity; i++) {
+                out.writeInt(trie.base(i));
+            }
+            for (int i = 0; i < capacity; i++) {
+                out.writeInt(trie.check(i));
+            }
+            for (int i = 0; i < capacity; i++) {
+                out.writeInt(trie.labelStart(i));
+            }
+            for (int i = 0; i < labelCount; i++) {
+                out.writeChar(trie.label(i));
+            }
+            if ((labelCount & 1) == 1) {
+                out.writeChar(0);
+            }
+            int offset = 0;
+            out.writeInt(offset);
+            for (byte[] bytes : encoded) {
+                offset += bytes.length;
+                out.writeInt(offset);
+            }
+            for (byte[] bytes : encoded) {
+                out.write(bytes);
+            }
+        } catch (java.io.IOException e) {
+            throw new IOException("write trie image failed: " + path, e);
+        }
+    }
+
+    static long align(long length) {
+        return (length + 3) & ~3L;
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import com.igeeksky.xtool.core.tuple.Tuple2;
+import com.igeeksky.xtool.core.tuple.Tuples;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * <p>键值对的惰性分割迭代器（深度优先遍历 + 字典序）</p>
+ * 待遍历的范围为若干棵按字典序排列的子树（通常为根节点的各个首字符子节点），
+ * 每次按需遍历一批（至多 {@link #BATCH_SIZE} 个）键值对放入缓冲区，不会一次性将全部键值对加载到内存。
+ * <p>
+ * 尚未开始遍历时，可按子树分割为两个迭代器，因此支持并行流。
+ *
+ * @param <V> 值类型
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+@SuppressWarnings("unchecked")
+abstract class TrieSpliterator<V> implements Spliterator<Tuple2<String, V>> {
+
+    static final int BATCH_SIZE = 64;
+
+    /**
+     * 下一棵待遍历子树的序号（包含）
+     */
+    protected int lo;
+
+    /**
+     * 子树序号上限（不包含）
+     */
+    protected final int hi;
+
+    /**
+     * 子树根节点之前的公共前缀的长度
+     */
+    protected final int baseLength;
+
+    /**
+     * key 的最大长度
+     */
+    protected final int maxLength;
+
+    /**
+     * 当前 key 的字符（前 baseLength 个为子树根节点之前的公共前缀）
+     */
+    protected char[] chars;
+
+    private final String[] keys = new String[BATCH_SIZE];
+    private final Object[] values = new Object[BATCH_SIZE];
+    private int pos;
+    private int count;
+
+    /**
+     * @param lo        子树序号起始（包含）
+     * @param hi        子树序号上限（不包含）
+     * @param base      子树根节点之前的公共前缀
+     * @param depth     遍历深度（key 的最大长度为 base.length + depth）
+     */
+    protected TrieSpliterator(int lo, int hi, char[] base, int depth) {
+        this.lo = lo;
+        this.hi = hi;
+        this.baseLength = base.length;
+        this.maxLength = (int) Math.min(Integer.MAX_VALUE, (long) base.length + depth);
+        this.chars = Arrays.copyOf(base, base.length + 16);
+    }
+
+    /**
+     * 继续遍历，通过 {@link #add(String, Object)} 将键值对放入缓冲区，直到缓冲区已满或遍历结束
+     */
+    protected abstract void fill();
+
+    /**
+     * @return 是否已开始遍历某棵子树（尚未遍历完成）
+     */
+    protected abstract boolean inSubtree();
+
+    /**
+     * @return 子树根节点之前的公共前缀
+     */
+    protected char[] prefix() {
+        return Arrays.copyOf(chars, baseLength);
+    }
+
+    /**
+     * @return 遍历深度（相对于公共前缀）
+     */
+    protected int depth() {
+        return maxLength - baseLength;
+    }
+
+    /**
+     * 创建遍历 [lo, mid) 子树的迭代器
+     *
+     * @param lo  子树序号起始（包含）
+     * @param mid 子树序号上限（不包含）
+     * @return 新的迭代器
+     */
+    protected abstract TrieSpliterator<V> split(int lo, int mid);
+
+    /**
+     * 放入缓冲区
+     *
+     * @param key   键
+     * @param value 值
+     */
+    protected void add(String key, V value) {
+        keys[count] = key;
+        values[count++] = value;
+    }
+
+    /**
+     * @return 缓冲区是否已满
+     */
+    protected boolean isFull() {
+        return count == BATCH_SIZE;
+    }
+
+    /**
+     * 确保 chars 的容量不小于 length
+     *
+     * @param length 所需容量
+     */
+    protected void ensureChars(int length) {
+        if (length > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(length, chars.length << 1));
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Tuple2<String, V>> action) {
+        if (pos == count) {
+            pos = count = 0;
+            fill();
+            if (count == 0) {
+                return false;
+            }
+        }
+        String key = keys[pos];
+        V value = (V) values[pos];
+        keys[pos] = null;
+        values[pos++] = null;
+        action.accept(Tuples.of(key, value));
+        return true;
+    }
+
+    @Override
+    public Spliterator<Tuple2<String, V>> trySplit() {
+        // 已开始遍历时，剩余元素无法按前后顺序分割
+        if (pos < count || inSubtree() || hi - lo < 2) {
+            return null;
+        }
+        int mid = (lo + hi) >>> 1;
+        TrieSpliterator<V> prefix = split(lo, mid);
+        lo = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | DISTINCT | NONNULL | CONCURRENT;
+    }
+}
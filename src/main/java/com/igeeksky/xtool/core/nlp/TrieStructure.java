@@ -0,0 +1,266 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import java.util.Arrays;
+
+/**
+ * <p>Trie 结构统计信息</p>
+ * 由 {@link ConcurrentHashTrie#structure()} 生成，用于分析查找及匹配的性能问题：
+ * 哈希冲突较多（链表桶过长或 AVL 桶较多）、分支过多（数组较大而填充率较低）或内存占用过高等。
+ * <p>
+ * 内存估算基于 64 位 JVM 且开启压缩指针（对象头 12 字节，引用 4 字节，按 8 字节对齐），
+ * 仅包含节点及其数组，不包含值对象。
+ *
+ * @param nodes           节点数量（不含根节点）
+ * @param keys            键数量（值不为空的节点数量）
+ * @param listBuckets     链表桶数量（数组中头节点为链表节点的非空位置的数量）
+ * @param treeBuckets     AVL 桶数量（数组中头节点为 AVL 节点的非空位置的数量）
+ * @param maxBucketLength 最长的桶包含的节点数量
+ * @param fillRatios      各层数组的填充率（非空位置数量 / 数组容量），下标 0 为根节点，下标 i 为第 i 层节点的子节点数组
+ * @param estimatedBytes  估算的内存占用（字节）
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+public record TrieStructure(long nodes, long keys, long listBuckets, long treeBuckets, int maxBucketLength,
+                            double[] fillRatios, long estimatedBytes) {
+
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+
+    /**
+     * Node 的字段：char c、value、size、table
+     */
+    private static final int NODE_FIELDS = 2 + REFERENCE + 4 + REFERENCE;
+
+    public TrieStructure {
+        fillRatios = fillRatios.clone();
+    }
+
+    /**
+     * @return 各层数组的填充率（副本）
+     */
+    @Override
+    public double[] fillRatios() {
+        return fillRatios.clone();
+    }
+
+    /**
+     * @param depth 层级（0 为根节点）
+     * @return 该层数组的填充率（超出范围返回 0）
+     */
+    public double fillRatio(int depth) {
+        return (depth >= 0 && depth < fillRatios.length) ? fillRatios[depth] : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "{\"nodes\":" + nodes +
+                ", \"keys\":" + keys +
+                ", \"listBuckets\":" + listBuckets +
+                ", \"treeBuckets\":" + treeBuckets +
+                ", \"maxBucketLength\":" + maxBucketLength +
+                ", \"fillRatios\":" + Arrays.toString(fillRatios) +
+                ", \"estimatedBytes\":" + estimatedBytes +
+                "}";
+    }
+
+    static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    static long arrayBytes(int length, int elementBytes) {
+        return align(ARRAY_HEADER + (long) length * elementBytes);
+    }
+
+    /**
+     * 估算节点自身的内存占用（不含子节点数组）
+     */
+    static long shallowBytes(Node<?> node) {
+        long bytes = OBJECT_HEADER + NODE_FIELDS;
+        if (node instanceof AvlNode) {
+            // height、left、right
+            bytes += 1 + REFERENCE + REFERENCE;
+        } else if (node instanceof LinkedNode) {
+            // next
+            bytes += REFERENCE;
+        } else if (node instanceof SortedArrayNode<?> arrayNode) {
+            // keys
+            bytes += REFERENCE;
+            char[] keys = arrayNode.keys;
+            if (keys != null) {
+                return align(bytes) + arrayBytes(keys.length, 2);
+            }
+        }
+        if (node instanceof ScoredNode) {
+            // maxScore
+            bytes += 8;
+        }
+        return align(bytes);
+    }
+
+    /**
+     * 结构统计信息收集器（非线程安全，遍历期间须持有相应分段的读锁）
+     */
+    static final class Collector {
+
+        private long nodes;
+        private long keys;
+        private long listBuckets;
+        private long treeBuckets;
+        private int maxBucketLength;
+        private long bytes;
+
+        private long[] slots = new long[8];
+        private long[] capacities = new long[8];
+
+        /**
+         * 遍历时每层复用同一数组保存子节点
+         */
+        private Node<?>[][] levels = new Node[8][];
+        private int[] counts = new int[8];
+        private int[] cursors = new int[8];
+
+        /**
+         * @param children 根节点的子节点数量
+         * @param capacity 根节点的数组容量
+         */
+        void root(int children, int capacity) {
+            // char c、value、small、table、occupied
+            bytes += align(OBJECT_HEADER + 2 + REFERENCE * 4);
+            if (capacity > 0) {
+                bytes += arrayBytes(capacity, REFERENCE);
+            }
+            if (capacity == TrieConstants.TABLE_MAX_CAPACITY) {
+                bytes += arrayBytes(capacity >>> 6, 8);
+            }
+            addFill(0, children, capacity);
+        }
+
+        /**
+         * 统计节点及其全部后代节点
+         * <p>
+         * 深度优先遍历，用循环代替递归（同 {@link NodeHelper} 的遍历），因此 key 很长时也不会栈溢出。
+         *
+         * @param node  节点
+         * @param depth 节点所在层级（根节点的子节点为 1）
+         */
+        void visit(Node<?> node, int depth) {
+            if (levels[0] == null) {
+                levels[0] = new Node[1];
+            }
+            levels[0][0] = node;
+            counts[0] = 1;
+            cursors[0] = 0;
+            int top = 0;
+            while (top >= 0) {
+                if (cursors[top] >= counts[top]) {
+                    Arrays.fill(levels[top], 0, counts[top], null);
+                    top--;
+                    continue;
+                }
+                Node<?> current = levels[top][cursors[top]++];
+                nodes++;
+                if (current.value != null) {
+                    keys++;
+                }
+                bytes += shallowBytes(current);
+                Node<?>[] table = current.table;
+                if (table == null || current.size == 0) {
+                    continue;
+                }
+                bytes += arrayBytes(table.length, REFERENCE);
+                int next = top + 1;
+                Node<?>[] children = level(next, current.size);
+                int occupied = 0, count = 0;
+                for (Node<?> head : table) {
+                    if (head == null) {
+                        continue;
+                    }
+                    occupied++;
+                    if (head instanceof SortedArrayNode) {
+                        // 有序数组节点：每个位置仅一个节点，没有桶
+                        children[count++] = head;
+                        continue;
+                    }
+                    int length = collect(head, children, count) - count;
+                    if (head instanceof TreeNode) {
+                        treeBuckets++;
+                    } else {
+                        listBuckets++;
+                    }
+                    maxBucketLength = Math.max(maxBucketLength, length);
+                    count += length;
+                }
+                addFill(depth + top, occupied, table.length);
+                counts[next] = count;
+                cursors[next] = 0;
+                top = next;
+            }
+        }
+
+        /**
+         * @param level 层
+         * @param size  该层需保存的子节点数量
+         * @return 该层的子节点数组（容量不小于 size）
+         */
+        private Node<?>[] level(int level, int size) {
+            if (level == levels.length) {
+                int newLength = level << 1;
+                levels = Arrays.copyOf(levels, newLength);
+                counts = Arrays.copyOf(counts, newLength);
+                cursors = Arrays.copyOf(cursors, newLength);
+            }
+            Node<?>[] nodes = levels[level];
+            if (nodes == null || nodes.length < size) {
+                nodes = levels[level] = new Node[Math.max(size, 16)];
+            }
+            return nodes;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static int collect(Node head, Node[] dest, int pos) {
+            return head.collectAll(dest, pos);
+        }
+
+        private void addFill(int depth, int occupied, int capacity) {
+            if (depth >= slots.length) {
+                int newLength = Math.max(slots.length << 1, depth + 1);
+                slots = Arrays.copyOf(slots, newLength);
+                capacities = Arrays.copyOf(capacities, newLength);
+            }
+            slots[depth] += occupied;
+            capacities[depth] += capacity;
+        }
+
+        TrieStructure build() {
+            int length = capacities.length;
+            while (length > 1 && capacities[length - 1] == 0) {
+                length--;
+            }
+            double[] fillRatios = new double[length];
+            for (int i = 0; i < length; i++) {
+                fillRatios[i] = (capacities[i] == 0) ? 0 : (double) slots[i] / capacities[i];
+            }
+            return new TrieStructure(nodes, keys, listBuckets, treeBuckets, maxBucketLength, fillRatios, bytes);
+        }
+
+    }
+
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import com.igeeksky.xtool.core.lang.Assert;
+import com.igeeksky.xtool.core.tuple.Tuple2;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * <p>版本化 Trie：修改在私有副本上进行，完成后原子发布为新版本</p>
+ * 适用于定期整体重载或批量修改的词典（如敏感词词典）：
+ * <p>
+ * 1. 读操作直接访问当前版本（一次 volatile 读），不与写操作竞争锁，且不会读到修改了一半的词典；<br>
+ * 2. {@link #update(Consumer)}：将当前版本的键值对复制到有序映射，修改后整体创建新版本并发布；<br>
+ * 3. {@link #reload(TreeMap)}：直接用新词典创建新版本并发布；<br>
+ * 4. 已发布的版本不再修改，{@link #snapshot()} 返回的版本可用于需要多次查询保持一致的场景。
+ * <p>
+ * 默认使用 {@link DoubleArrayTrie} 创建版本（只读，读操作无需加锁），也可指定其它创建方式。
+ * <p>
+ * 写操作之间串行执行；单个 put、remove 同样会创建新版本（复杂度为 O(n)），批量修改应使用 {@link #update(Consumer)}。
+ *
+ * @param <V> 值类型
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+public class VersionedTrie<V> implements Trie<V> {
+
+    private final Function<TreeMap<String, V>, ? extends Trie<V>> builder;
+
+    private final Object lock = new Object();
+
+    private volatile Version<V> current;
+
+    public VersionedTrie() {
+        this(DoubleArrayTrie::new);
+    }
+
+    /**
+     * @param builder 版本创建器（根据有序映射创建 Trie，创建后该 Trie 不应再被修改）
+     */
+    public VersionedTrie(Function<TreeMap<String, V>, ? extends Trie<V>> builder) {
+        Assert.notNull(builder, "builder must not be null");
+        this.builder = builder;
+        this.current = new Version<>(0L, build(new TreeMap<>()));
+    }
+
+    /**
+     * @return 当前版本号（每次发布新版本加 1）
+     */
+    public long version() {
+        return current.number();
+    }
+
+    /**
+     * 获取当前版本
+     * <p>
+     * 返回的 Trie 不会再被修改，多次查询的结果保持一致；调用方不应修改此 Trie。
+     *
+     * @return 当前版本的 Trie
+     */
+    public Trie<V> snapshot() {
+        return current.trie();
+    }
+
+    /**
+     * 使用新词典替换当前版本
+     *
+     * @param dictionary 新词典（键：不为空且长度大于0；值：不能为空）
+     */
+    public void reload(TreeMap<String, V> dictionary) {
+        Assert.notNull(dictionary, "dictionary must not be null");
+        Trie<V> trie = build(dictionary);
+        synchronized (lock) {
+            current = new Version<>(current.number() + 1, trie);
+        }
+    }
+
+    /**
+     * 批量修改：复制当前版本的全部键值对，在副本上执行 updater，再创建并发布新版本
+     * <p>
+     * 修改期间读操作继续访问旧版本，发布之后访问新版本。
+     *
+     * @param updater 修改操作（参数为当前版本键值对的副本）
+     */
+    public void update(Consumer<? super TreeMap<String, V>> updater) {
+        Assert.notNull(updater, "updater must not be null");
+        synchronized (lock) {
+            Version<V> version = current;
+            TreeMap<String, V> staged = new TreeMap<>();
+            version.trie().traversal(Integer.MAX_VALUE, (key, value) -> {
+                staged.put(key, value);
+                return true;
+            });
+            updater.accept(staged);
+            current = new Version<>(version.number() + 1, build(staged));
+        }
+    }
+
+    private Trie<V> build(TreeMap<String, V> map) {
+        Trie<V> trie = builder.apply(map);
+        Assert.notNull(trie, "builder must not return null");
+        return trie;
+    }
+
+    /**
+     * 添加键值对并发布新版本（批量修改应使用 {@link #update(Consumer)}）
+     */
+    @Override
+    public V put(String key, V value) {
+        Assert.hasLength(key, "key must not be null or blank");
+        Assert.notNull(value, "value must not be null");
+        synchronized (lock) {
+            V oldVal = current.trie().get(key);
+            update(map -> map.put(key, value));
+            return oldVal;
+        }
+    }
+
+    @Override
+    public void putAll(TreeMap<String, V> treeMap) {
+        Assert.notNull(treeMap, "treeMap must not be null");
+        update(map -> map.putAll(treeMap));
+    }
+
+    @Override
+    public V get(String key) {
+        return current.trie().get(key);
+    }
+
+    @Override
+    public Tuple2<String, V> prefixMatch(String word) {
+        return current.trie().prefixMatch(word);
+    }
+
+    @Override
+    public Tuple2<String, V> prefixMatch(String word, boolean longestMatch) {
+        return current.trie().prefixMatch(word, longestMatch);
+    }
+
+    @Override
+    public List<Tuple2<String, V>> prefixMatchAll(String word) {
+        return current.trie().prefixMatchAll(word);
+    }
+
+    @Override
+    public List<Tuple2<String, V>> prefixMatchAll(String word, int maximum) {
+        return current.trie().prefixMatchAll(word, maximum);
+    }
+
+    @Override
+    public Tuple2<String, V> keyWithPrefix(String prefix) {
+        return current.trie().keyWithPrefix(prefix);
+    }
+
+    @Override
+    public Tuple2<String, V> keyWithPrefix(String prefix, boolean longestMatch) {
+        return current.trie().keyWithPrefix(prefix, longestMatch);
+    }
+
+    @Override
+    public List<Tuple2<String, V>> keysWithPrefix(String prefix) {
+        return current.trie().keysWithPrefix(prefix);
+    }
+
+    @Override
+    public List<Tuple2<String, V>> keysWithPrefix(String prefix, int maximum, int depth, boolean dfs) {
+        return current.trie().keysWithPrefix(prefix, maximum, depth, dfs);
+    }
+
+    @Override
+    public List<Tuple2<String, V>> fuzzyMatch(String word, int maxDistance) {
+        return current.trie().fuzzyMatch(word, maxDistance);
+    }
+
+    @Override
+    public List<Tuple2<String, V>> fuzzyMatch(String word, int maxDistance, int maximum) {
+        return current.trie().fuzzyMatch(word, maxDistance, maximum);
+    }
+
+    @Override
+    public List<Found<V>> match(String text) {
+        return current.trie().match(text);
+    }
+
+    @Override
+    public List<Found<V>> match(String text, boolean longestMatch, boolean oneByOne) {
+        return current.trie().match(text, longestMatch, oneByOne);
+    }
+
+    @Override
+    public List<Found<V>> matchAll(String text) {
+        return current.trie().matchAll(text);
+    }
+
+    @Override
+    public List<Found<V>> matchAll(String text, boolean oneByOne, int maximum) {
+        return current.trie().matchAll(text, oneByOne, maximum);
+    }
+
+    /**
+     * 批量包含匹配：全部文本均使用同一版本匹配
+     */
+    @Override
+    public List<List<Found<V>>> batchMatch(Collection<String> texts, boolean longestMatch, boolean oneByOne, Executor executor) {
+        return current.trie().batchMatch(texts, longestMatch, oneByOne, executor);
+    }
+
+    @Override
+    public void match(CharSequence text, int from, int to, boolean longestMatch, boolean oneByOne, MatchHandler<V> handler) {
+        current.trie().match(text, from, to, longestMatch, oneByOne, handler);
+    }
+
+    @Override
+    public void matchAll(CharSequence text, int from, int to, boolean oneByOne, MatchHandler<V> handler) {
+        current.trie().matchAll(text, from, to, oneByOne, handler);
+    }
+
+    @Override
+    public List<String> keys(int depth) {
+        return current.trie().keys(depth);
+    }
+
+    @Override
+    public List<V> values(int depth) {
+        return current.trie().values(depth);
+    }
+
+    @Override
+    public void traversal(int depth, BiFunction<String, V, Boolean> function) {
+        current.trie().traversal(depth, function);
+    }
+
+    @Override
+    public Stream<Tuple2<String, V>> stream(int depth) {
+        return current.trie().stream(depth);
+    }
+
+    @Override
+    public Stream<Tuple2<String, V>> streamWithPrefix(String prefix, int depth) {
+        return current.trie().streamWithPrefix(prefix, depth);
+    }
+
+    @Override
+    public boolean contains(String key) {
+        return current.trie().contains(key);
+    }
+
+    /**
+     * 删除键值对并发布新版本（批量修改应使用 {@link #update(Consumer)}）
+     */
+    @Override
+    public V remove(String key) {
+        Assert.hasLength(key, "key must not be null or blank");
+        synchronized (lock) {
+            V oldVal = current.trie().get(key);
+            if (oldVal != null) {
+                update(map -> map.remove(key));
+            }
+            return oldVal;
+        }
+    }
+
+    @Override
+    public int height() {
+        return current.trie().height();
+    }
+
+    @Override
+    public CharNormalizer normalizer() {
+        return current.trie().normalizer();
+    }
+
+    @Override
+    public int size() {
+        return current.trie().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return current.trie().isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        reload(new TreeMap<>());
+    }
+
+    /**
+     * 版本：版本号与对应的 Trie 作为一个整体发布
+     *
+     * @param number 版本号
+     * @param trie   Trie（发布后不再修改）
+     * @param <V>    值类型
+     */
+    private record Version<V>(long number, Trie<V> trie) {
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+public class AhoCorasickMatcherTest {
+
+    @Test
+    public void match() {
+        Trie<String> trie = new ConcurrentHashTrie<>();
+        for (String key : new String[]{"ab", "bc", "cd", "ef", "efg"}) {
+            trie.put(key, key);
+        }
+        AhoCorasickMatcher<String> matcher = new AhoCorasickMatcher<>(trie);
+
+        String expected = "[{\"begin\":0, \"end\":1, \"key\":\"ab\", \"value\":\"ab\"}, {\"begin\":1, \"end\":2, \"key\":\"bc\", \"value\":\"bc\"}, {\"begin\":2, \"end\":3, \"key\":\"cd\", \"value\":\"cd\"}, {\"begin\":4, \"end\":6, \"key\":\"efg\", \"value\":\"efg\"}]";
+        Assertions.assertEquals(expected, matcher.match("abcdefg").toString());
+
+        expected = "[{\"begin\":0, \"end\":1, \"key\":\"ab\", \"value\":\"ab\"}, {\"begin\":2, \"end\":3, \"key\":\"cd\", \"value\":\"cd\"}, {\"begin\":4, \"end\":5, \"key\":\"ef\", \"value\":\"ef\"}]";
+        Assertions.assertEquals(expected, matcher.match("abcdefg", false, false).toString());
+
+        expected = "[{\"begin\":0, \"end\":1, \"key\":\"ab\", \"value\":\"ab\"}, {\"begin\":2, \"end\":3, \"key\":\"cd\", \"value\":\"cd\"}, {\"begin\":4, \"end\":6, \"key\":\"efg\", \"value\":\"efg\"}]";
+        Assertions.assertEquals(expected, matcher.match("abcdefg", true, false).toString());
+    }
+
+    @Test
+    public void matchAll() {
+        TreeMap<String, String> map = new TreeMap<>();
+        for (String key : new String[]{"ab", "bc", "cd", "ef", "efg"}) {
+            map.put(key, key);
+        }
+        AhoCorasickMatcher<String> matcher = new AhoCorasickMatcher<>(map);
+
+        String expected = "[{\"begin\":0, \"end\":1, \"key\":\"ab\", \"value\":\"ab\"}, {\"begin\":1, \"end\":2, \"key\":\"bc\", \"value\":\"bc\"}, {\"begin\":2, \"end\":3, \"key\":\"cd\", \"value\":\"cd\"}, {\"begin\":4, \"end\":5, \"key\":\"ef\", \"value\":\"ef\"}, {\"begin\":4, \"end\":6, \"key\":\"efg\", \"value\":\"efg\"}]";
+        Assertions.assertEquals(expected, matcher.matchAll("abcdefg").toString());
+
+        expected = "[{\"begin\":0, \"end\":1, \"key\":\"ab\", \"value\":\"ab\"}, {\"begin\":2, \"end\":3, \"key\":\"cd\", \"value\":\"cd\"}, {\"begin\":4, \"end\":5, \"key\":\"ef\", \"value\":\"ef\"}, {\"begin\":4, \"end\":6, \"key\":\"efg\", \"value\":\"efg\"}]";
+        Assertions.assertEquals(expected, matcher.matchAll("abcdefg", false, Integer.MAX_VALUE).toString());
+
+        expected = "[{\"begin\":0, \"end\":1, \"key\":\"ab\", \"value\":\"ab\"}]";
+        Assertions.assertEquals(expected, matcher.matchAll("abcdefg", false, 1).toString());
+    }
+
+    @Test
+    public void normalizer() {
+        // 沿用 Trie 的字符归一化器：匹配结果与 Trie 自身的匹配结果相同
+        for (CharNormalizer normalizer : new CharNormalizer[]{CharNormalizer.LOWER_CASE, CharNormalizer.HALF_WIDTH_LOWER_CASE}) {
+            Trie<String> trie = new ConcurrentHashTrie<>(normalizer);
+            trie.put("Java", "java");
+            trie.put("c++", "c++");
+            AhoCorasickMatcher<String> matcher = new AhoCorasickMatcher<>(trie);
+            String text = "I like JAVA, ＪａＶａ and C＋＋";
+            Assertions.assertEquals(trie.match(text), matcher.match(text));
+            Assertions.assertEquals(trie.matchAll(text), matcher.matchAll(text));
+            Assertions.assertFalse(matcher.match(text).isEmpty());
+        }
+        Assertions.assertEquals(CharNormalizer.LOWER_CASE, new ShardedTrie<String>(2, CharNormalizer.LOWER_CASE).normalizer());
+    }
+
+    @Test
+    public void empty() {
+        AhoCorasickMatcher<String> matcher = new AhoCorasickMatcher<>(new ConcurrentHashTrie<>());
+        Assertions.assertEquals(0, matcher.size());
+        Assertions.assertEquals(0, matcher.height());
+        Assertions.assertTrue(matcher.match("abc").isEmpty());
+        Assertions.assertTrue(matcher.matchAll("abc").isEmpty());
+    }
+
+    @Test
+    public void sameAsTrie() {
+        // 与 ConcurrentHashTrie 比较：随机生成 key 和文本，所有参数组合的匹配结果均应完全相同
+        Random random = new Random(7);
+        Trie<String> trie = new ConcurrentHashTrie<>();
+        for (int i = 0; i < 2000; i++) {
+            String key = randomString(random, 1 + random.nextInt(6));
+            trie.put(key, key);
+        }
+        AhoCorasickMatcher<String> matcher = new AhoCorasickMatcher<>(trie);
+        Assertions.assertEquals(trie.size(), matcher.size());
+        Assertions.assertEquals(trie.height(), matcher.height());
+
+        for (int i = 0; i < 200; i++) {
+            String text = randomString(random, 1 + random.nextInt(200));
+            for (boolean longestMatch : new boolean[]{true, false}) {
+                for (boolean oneByOne : new boolean[]{true, false}) {
+                    List<Found<String>> expected = trie.match(text, longestMatch, oneByOne);
+                    Assertions.assertEquals(expected, matcher.match(text, longestMatch, oneByOne));
+                }
+            }
+            for (boolean oneByOne : new boolean[]{true, false}) {
+                for (int maximum : new int[]{1, 5, Integer.MAX_VALUE}) {
+                    List<Found<String>> expected = trie.matchAll(text, oneByOne, maximum);
+                    Assertions.assertEquals(expected, matcher.matchAll(text, oneByOne, maximum));
+                }
+            }
+        }
+    }
+
+    private static String randomString(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(4));
+        }
+        return new String(chars);
+    }
+}
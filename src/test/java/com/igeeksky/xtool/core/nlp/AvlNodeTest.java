@@ -22,6 +22,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.ConcurrentModificationException;
 import java.util.List;
 
 /**
@@ -273,6 +274,37 @@ public class AvlNodeTest {
         Assertions.assertEquals(head3.toString(), head.toString());
     }
 
+    @Test
+    public void joinLinked() {
+        // 合并链表：逐个复制链表节点，保持节点类型及缓存的最大评分
+        AvlNode<String> head = new ScoredAvlNode<>('n');
+        head = AvlNode.insertAndBalance(head, new ScoredAvlNode<>('i'));
+        LinkedNode<String> list = null;
+        String text = "pfjlm";
+        for (int i = text.length() - 1; i >= 0; i--) {
+            char c = text.charAt(i);
+            LinkedNode<String> node = new ScoredLinkedNode<>(c, String.valueOf(c), 0, null, c);
+            node.setNext(list);
+            list = node;
+        }
+        head = (AvlNode<String>) head.join(list, new ScoredLinkedToAvlConvertor<>());
+
+        List<Node<String>> nodes = head.findAll();
+        Assertions.assertEquals(7, nodes.size());
+        for (Node<String> node : nodes) {
+            Assertions.assertInstanceOf(ScoredAvlNode.class, node);
+            if (text.indexOf(node.c) >= 0) {
+                Assertions.assertEquals(String.valueOf(node.c), node.value);
+                Assertions.assertEquals(node.c, ((ScoredNode) node).getMaxScore());
+            }
+        }
+        AvlNode<String> expected = buildAvlTree("ni", 2);
+        for (char c : text.toCharArray()) {
+            expected = AvlNode.insertAndBalance(expected, new AvlNode<>(c, String.valueOf(c)));
+        }
+        Assertions.assertEquals(expected.toString(), head.toString());
+    }
+
     @Test
     public void fromAvl() {
         String value = "niohkpfjlm";
@@ -319,6 +351,26 @@ public class AvlNodeTest {
         Assertions.assertNull(node);
     }
 
+    @Test
+    public void findBounded() {
+        // 全部字符均在同一棵树中时，查找层数不超过最大高度
+        AvlNode<String> root = new AvlNode<>((char) 0);
+        for (int c = 1; c < TrieConstants.TABLE_MAX_CAPACITY; c++) {
+            root = AvlNode.insertAndBalance(root, new AvlNode<>((char) c));
+        }
+        for (int c = 0; c < TrieConstants.TABLE_MAX_CAPACITY; c++) {
+            Assertions.assertEquals((char) c, root.find((char) c).c);
+        }
+
+        // 旋转期间读取到成环的链接：抛出异常而不是无限循环
+        AvlNode<String> m = new AvlNode<>('m');
+        AvlNode<String> c = new AvlNode<>('c');
+        m.left = c;
+        c.right = m;
+        Assertions.assertEquals(c, m.find('c'));
+        Assertions.assertThrows(ConcurrentModificationException.class, () -> m.find('e'));
+    }
+
     @Test
     public void findAll() {
         String value = "niohkpfjlm";
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+public class ByteTrieTest {
+
+    @Test
+    public void putAndGet() {
+        ByteTrie<String> trie = new ByteTrie<>();
+        byte[] binary = {0, (byte) 0xFF, (byte) 0x80, 1};
+        Assertions.assertNull(trie.put(binary, "binary"));
+        Assertions.assertNull(trie.put("中国", "中国"));
+        Assertions.assertEquals("中国", trie.put("中国".getBytes(StandardCharsets.UTF_8), "China"));
+        Assertions.assertEquals(2, trie.size());
+
+        Assertions.assertEquals("binary", trie.get(binary.clone()));
+        Assertions.assertEquals("China", trie.get("中国".getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertNull(trie.get(new byte[]{0, (byte) 0xFF}));
+        Assertions.assertFalse(trie.contains("中".getBytes(StandardCharsets.UTF_8)));
+
+        Assertions.assertEquals("binary", trie.remove(binary));
+        Assertions.assertFalse(trie.contains(binary));
+        Assertions.assertEquals(1, trie.size());
+        trie.clear();
+        Assertions.assertTrue(trie.isEmpty());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> trie.put(new byte[0], "empty"));
+    }
+
+    @Test
+    public void match() {
+        // 与逐字节暴力匹配比较：堆数组、堆缓冲区、直接缓冲区的匹配结果均应相同
+        Random random = new Random(17);
+        ByteTrie<String> trie = new ByteTrie<>();
+        List<byte[]> keys = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            byte[] key = randomBytes(random, 1 + random.nextInt(4));
+            keys.add(key);
+            trie.put(key, Arrays.toString(key));
+        }
+        byte[] text = randomBytes(random, 5000);
+        int from = 7, to = text.length - 3;
+
+        for (boolean longestMatch : new boolean[]{true, false}) {
+            for (boolean oneByOne : new boolean[]{true, false}) {
+                List<String> expected = bruteForce(keys, text, from, to, longestMatch, oneByOne);
+                Assertions.assertFalse(expected.isEmpty());
+
+                List<String> actual = new ArrayList<>();
+                trie.match(text, from, to, longestMatch, oneByOne, collector(actual));
+                Assertions.assertEquals(expected, actual);
+
+                ByteBuffer heap = ByteBuffer.wrap(text).position(from).limit(to);
+                actual.clear();
+                trie.match(heap, longestMatch, oneByOne, collector(actual));
+                Assertions.assertEquals(expected, actual);
+                Assertions.assertEquals(from, heap.position());
+
+                ByteBuffer direct = ByteBuffer.allocateDirect(text.length).put(text).position(from).limit(to);
+                actual.clear();
+                trie.match(direct, longestMatch, oneByOne, collector(actual));
+                Assertions.assertEquals(expected, actual);
+            }
+        }
+
+        List<String> all = new ArrayList<>();
+        trie.matchAll(text, from, to, true, collector(all));
+        List<String> direct = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(text.length).put(text).position(from).limit(to);
+        trie.matchAll(buffer, true, collector(direct));
+        Assertions.assertEquals(all, direct);
+        Assertions.assertTrue(all.size() >= bruteForce(keys, text, from, to, true, true).size());
+    }
+
+    @Test
+    public void matchUtf8() {
+        ByteTrie<String> trie = new ByteTrie<>();
+        trie.put("中国", "中国");
+        trie.put("中国人", "中国人");
+        trie.put("人民", "人民");
+        byte[] text = "我是中国人民".getBytes(StandardCharsets.UTF_8);
+
+        List<String> actual = new ArrayList<>();
+        trie.match(text, 0, text.length, true, false, collector(actual));
+        Assertions.assertEquals(List.of("6-14:中国人"), actual);
+
+        actual.clear();
+        trie.matchAll(text, 0, text.length, true, collector(actual));
+        Assertions.assertEquals(List.of("6-11:中国", "6-14:中国人", "12-17:人民"), actual);
+    }
+
+    private static MatchHandler<String> collector(List<String> results) {
+        return (begin, end, value) -> results.add(begin + "-" + end + ":" + value);
+    }
+
+    private static List<String> bruteForce(List<byte[]> keys, byte[] text, int from, int to, boolean longestMatch, boolean oneByOne) {
+        List<String> results = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            byte[] found = null;
+            for (byte[] key : keys) {
+                if (i + key.length <= to && Arrays.equals(key, 0, key.length, text, i, i + key.length)) {
+                    if (found == null || (longestMatch ? key.length > found.length : key.length < found.length)) {
+                        found = key;
+                    }
+                }
+            }
+            if (found != null) {
+                int end = i + found.length - 1;
+                results.add(i + "-" + end + ":" + Arrays.toString(found));
+                if (!oneByOne) {
+                    i = end;
+                }
+            }
+        }
+        return results;
+    }
+
+    private static byte[] randomBytes(Random random, int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            // 取值集中在少数字节（包括 0x00 和 0xFF），以便产生足够的匹配
+            bytes[i] = (byte) (random.nextInt(4) == 0 ? 0xFF : random.nextInt(3));
+        }
+        return bytes;
+    }
+
+}
@@ -93,6 +93,40 @@ public class ConcurrentHashTrie2Test {
         }
     }
 
+    @Test
+    public void bulkPutAll() {
+        // 批量添加（超过并行阈值）与逐个添加的结果应完全相同；部分首字符在批量添加前已存在
+        Random random = new Random(19);
+        TreeMap<String, Integer> keyValues = new TreeMap<>();
+        while (keyValues.size() < TrieConstants.BULK_PARALLEL_THRESHOLD + 1000) {
+            char[] chars = new char[1 + random.nextInt(5)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = (char) (random.nextInt(4) == 0 ? 0x4e00 + random.nextInt(2000) : 'a' + random.nextInt(26));
+            }
+            keyValues.put(new String(chars), keyValues.size());
+        }
+
+        Trie<Integer> expected = new ConcurrentHashTrie<>();
+        Trie<Integer> trie = new ConcurrentHashTrie<>();
+        for (String key : new String[]{"a", "bcd", "zz", "中"}) {
+            expected.put(key, -1);
+            trie.put(key, -1);
+        }
+        keyValues.forEach(expected::put);
+        trie.putAll(keyValues);
+
+        Assertions.assertEquals(expected.size(), trie.size());
+        Assertions.assertEquals(expected.height(), trie.height());
+        Assertions.assertEquals(expected.keys(Integer.MAX_VALUE), trie.keys(Integer.MAX_VALUE));
+        Assertions.assertEquals(expected.values(Integer.MAX_VALUE), trie.values(Integer.MAX_VALUE));
+
+        for (String key : expected.keys(Integer.MAX_VALUE)) {
+            Assertions.assertEquals(expected.remove(key), trie.remove(key));
+        }
+        Assertions.assertTrue(trie.isEmpty());
+        Assertions.assertEquals(0, trie.height());
+    }
+
     @Test
     public void mapMethod() {
         // 思维导图中的方法示例
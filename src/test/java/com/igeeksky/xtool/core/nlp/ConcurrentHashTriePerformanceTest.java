@@ -266,4 +266,61 @@ public class ConcurrentHashTriePerformanceTest {
         System.out.println(method + "matchAll\t" + (t4 - t3));
         System.out.println(method + "size\t\t" + matchAll.size());
     }
+
+    @Test
+    public void ahoCorasickMatch() {
+        String method = "AhoCorasickMatcher-match\t";
+        long t1 = System.currentTimeMillis();
+
+        Trie<String> trie = new ConcurrentHashTrie<>();
+        Random random = new Random();
+        int size = 1000000;
+        TreeMap<String, String> pairs = new TreeMap<>();
+        while (pairs.size() < size) {
+            int length = 2 + random.nextInt(7);
+            char[] chars = new char[length];
+            for (int j = 0; j < length; j++) {
+                chars[j] = (char) (65 + random.nextInt(26));
+            }
+            String key = new String(chars);
+            pairs.put(key, key);
+        }
+
+        int charsLen = 10000000;
+        char[] chars = new char[charsLen];
+        for (int i = 0; i < charsLen; i++) {
+            chars[i] = (char) (65 + random.nextInt(26));
+        }
+        String text = new String(chars);
+
+        long t2 = System.currentTimeMillis();
+        System.out.println(method + "init-keys:\t" + (t2 - t1));
+
+        trie.putAll(pairs);
+        long t3 = System.currentTimeMillis();
+        System.out.println(method + "putAll:\t\t" + (t3 - t2));
+
+        AhoCorasickMatcher<String> matcher = new AhoCorasickMatcher<>(trie);
+        long t4 = System.currentTimeMillis();
+        System.out.println(method + "compile:\t" + (t4 - t3));
+
+        List<Found<String>> trieFounds = trie.match(text);
+        long t5 = System.currentTimeMillis();
+        System.out.println(method + "trie-match:\t" + (t5 - t4));
+
+        List<Found<String>> acFounds = matcher.match(text);
+        long t6 = System.currentTimeMillis();
+        System.out.println(method + "ac-match:\t" + (t6 - t5));
+
+        List<Found<String>> trieAll = trie.matchAll(text);
+        long t7 = System.currentTimeMillis();
+        System.out.println(method + "trie-matchAll:\t" + (t7 - t6));
+
+        List<Found<String>> acAll = matcher.matchAll(text);
+        long t8 = System.currentTimeMillis();
+        System.out.println(method + "ac-matchAll:\t" + (t8 - t7));
+
+        Assertions.assertEquals(trieFounds.size(), acFounds.size());
+        Assertions.assertEquals(trieAll.size(), acAll.size());
+    }
 }
@@ -23,6 +23,11 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.util.*;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Patrick.Lau
@@ -730,5 +735,583 @@ public class ConcurrentHashTrieTest {
         Assertions.assertTrue(trie.isEmpty());
     }
 
+    @Test
+    public void lockStripes() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ConcurrentHashTrie<String>(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ConcurrentHashTrie<String>(TrieConstants.TABLE_MAX_CAPACITY + 1));
+
+        // 分段锁数量非 2 的幂，向上取整；不同首字符的 key 分布于不同的分段
+        Trie<String> trie = new ConcurrentHashTrie<>(3);
+        List<String> keys = Arrays.asList("abc", "bcd", "cde", "def", "efg");
+        keys.forEach(key -> trie.put(key, key));
+        for (String key : keys) {
+            Assertions.assertEquals(key, trie.get(key));
+        }
+        Assertions.assertEquals(keys, trie.keys(3));
+
+        trie.clear();
+        Assertions.assertTrue(trie.isEmpty());
+        Assertions.assertNull(trie.get("abc"));
+    }
+
+    @Test
+    public void optimisticRead() throws InterruptedException {
+        // 写线程反复增删与读线程首字符相同的 key（触发扩容、缩容、链表与 AVL 树互转），读线程读取的固定 key 必须始终存在
+        Trie<String> trie = new ConcurrentHashTrie<>();
+        List<String> stable = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            String key = "a" + (char) ('0' + i) + "z";
+            stable.add(key);
+            trie.put(key, key);
+        }
+
+        long deadline = System.currentTimeMillis() + 500;
+        Thread writer = new Thread(() -> {
+            Random random = new Random();
+            while (System.currentTimeMillis() < deadline) {
+                for (int i = 0; i < 256; i++) {
+                    String key = "a" + (char) (128 + random.nextInt(4096)) + "y";
+                    trie.put(key, key);
+                }
+                trie.keys(3).forEach(key -> {
+                    if (key.endsWith("y")) {
+                        trie.remove(key);
+                    }
+                });
+            }
+        });
+        writer.start();
+
+        int reads = 0;
+        while (System.currentTimeMillis() < deadline) {
+            for (String key : stable) {
+                Assertions.assertEquals(key, trie.get(key));
+                Assertions.assertEquals(key, trie.prefixMatch(key + "xx").getT2());
+                Assertions.assertEquals(1, trie.match(key).size());
+                Assertions.assertEquals(1, trie.matchAll(key).size());
+                reads++;
+            }
+        }
+        writer.join();
+        Assertions.assertTrue(reads > 0);
+        Assertions.assertEquals(stable.size(), trie.size());
+    }
+
+    @Test
+    public void matchHandler() {
+        Trie<String> trie = new ConcurrentHashTrie<>();
+        for (String key : new String[]{"ab", "abc", "abcd", "abd", "bcd"}) {
+            trie.put(key, key);
+        }
+        String text = "xxabcdexx";
+        for (boolean longestMatch : new boolean[]{true, false}) {
+            for (boolean oneByOne : new boolean[]{true, false}) {
+                List<Found<String>> founds = new ArrayList<>();
+                trie.match(text, 0, text.length(), longestMatch, oneByOne, collector(text, founds));
+                Assertions.assertEquals(trie.match(text, longestMatch, oneByOne), founds);
+            }
+        }
+        for (boolean oneByOne : new boolean[]{true, false}) {
+            List<Found<String>> founds = new ArrayList<>();
+            trie.matchAll(text, 0, text.length(), oneByOne, collector(text, founds));
+            Assertions.assertEquals(trie.matchAll(text, oneByOne, Integer.MAX_VALUE), founds);
+        }
+
+        // 字符数组：起止位置为数组中的绝对位置，且不超出 [offset, offset + length) 范围
+        List<Found<String>> founds = new ArrayList<>();
+        trie.matchAll(text.toCharArray(), 3, 3, true, collector(text, founds));
+        Assertions.assertEquals("[{\"begin\":3, \"end\":5, \"key\":\"bcd\", \"value\":\"bcd\"}]", founds.toString());
+
+        // 处理器返回 false 时停止匹配
+        founds.clear();
+        trie.matchAll(new StringBuilder(text), 0, text.length(), true, (begin, end, value) -> {
+            founds.add(new Found<>(begin, end, value, value));
+            return founds.size() < 2;
+        });
+        Assertions.assertEquals(trie.matchAll(text, true, 2), founds);
+
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> trie.match(text, 2, 1, true, true, (b, e, v) -> true));
+    }
+
+    private static MatchHandler<String> collector(String text, List<Found<String>> founds) {
+        return (begin, end, value) -> founds.add(new Found<>(begin, end, text.substring(begin, end + 1), value));
+    }
+
+    @Test
+    public void batchMatch() {
+        Random random = new Random(17);
+        Trie<String> trie = new ConcurrentHashTrie<>();
+        for (int i = 0; i < 500; i++) {
+            char[] chars = new char[1 + random.nextInt(6)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = (char) ('a' + random.nextInt(3));
+            }
+            String key = new String(chars);
+            trie.put(key, key);
+        }
+        List<String> texts = new ArrayList<>();
+        texts.add("");
+        for (int i = 0; i < 50; i++) {
+            char[] chars = new char[random.nextInt(100)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = (char) ('a' + random.nextInt(4));
+            }
+            texts.add(new String(chars));
+        }
+
+        // 分片长度小于树高度，长文本被切分为大量分片，结果须与逐段匹配完全相同
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int chunkLength : new int[]{3, 16, TrieConstants.DEFAULT_BATCH_CHUNK_LENGTH}) {
+                for (boolean longestMatch : new boolean[]{true, false}) {
+                    for (boolean oneByOne : new boolean[]{true, false}) {
+                        List<List<Found<String>>> results = BatchMatcher.match(trie, texts, longestMatch, oneByOne, chunkLength, executor);
+                        Assertions.assertEquals(texts.size(), results.size());
+                        for (int i = 0; i < texts.size(); i++) {
+                            String text = texts.get(i);
+                            List<Found<String>> expected = text.isEmpty() ? List.of() : trie.match(text, longestMatch, oneByOne);
+                            Assertions.assertEquals(expected, results.get(i));
+                        }
+                    }
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        List<List<Found<String>>> results = trie.batchMatch(texts.subList(1, texts.size()));
+        for (int i = 1; i < texts.size(); i++) {
+            Assertions.assertEquals(trie.match(texts.get(i)), results.get(i - 1));
+        }
+    }
+
+    @Test
+    public void batchMatchFailure() {
+        // 任一任务抛出异常时，调用者收到该异常，而不是不完整的结果
+        Trie<String> trie = new ConcurrentHashTrie<>() {
+            @Override
+            public List<Found<String>> match(String text, boolean longestMatch, boolean oneByOne) {
+                if (text.startsWith("boom")) {
+                    throw new IllegalStateException(text);
+                }
+                return super.match(text, longestMatch, oneByOne);
+            }
+
+            @Override
+            public void match(CharSequence text, int from, int to, boolean longestMatch, boolean oneByOne, MatchHandler<String> handler) {
+                if (text.toString().startsWith("boom")) {
+                    throw new IllegalStateException(text.toString());
+                }
+                super.match(text, from, to, longestMatch, oneByOne, handler);
+            }
+        };
+        trie.put("ab", "ab");
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            texts.add((i == 13) ? "boom" + i : "xxabxx" + i);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            IllegalStateException e = Assertions.assertThrows(IllegalStateException.class,
+                    () -> BatchMatcher.match(trie, texts, true, true, 8, executor));
+            Assertions.assertEquals("boom13", e.getMessage());
+
+            // 长文本分片匹配时抛出的异常同样传递给调用者
+            Assertions.assertThrows(IllegalStateException.class,
+                    () -> BatchMatcher.match(trie, List.of("xxabxx".repeat(10), "boom".repeat(10)), true, true, 8, executor));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void fuzzyMatch() {
+        Trie<String> trie = new ConcurrentHashTrie<>();
+        for (String key : new String[]{"ab", "abc", "abcd", "abd", "bcd"}) {
+            trie.put(key, key);
+        }
+        Assertions.assertEquals("[[abd, abd]]", trie.fuzzyMatch("abd", 0, 1000).toString());
+        Assertions.assertEquals("[[ab, ab], [abc, abc], [abcd, abcd], [abd, abd]]", trie.fuzzyMatch("abd", 1).toString());
+        Assertions.assertEquals("[[ab, ab], [abc, abc]]", trie.fuzzyMatch("abd", 1, 2).toString());
+        Assertions.assertEquals("[[ab, ab], [abc, abc], [abcd, abcd], [abd, abd], [bcd, bcd]]", trie.fuzzyMatch("abd", 2).toString());
+        Assertions.assertTrue(trie.fuzzyMatch("abd", 2, 0).isEmpty());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> trie.fuzzyMatch("abd", -1));
+
+        // maxDistance 很大时按 max(word 长度, 树高度) 计算，结果为全部 key
+        String all = "[[ab, ab], [abc, abc], [abcd, abcd], [abd, abd], [bcd, bcd]]";
+        Assertions.assertEquals(all, trie.fuzzyMatch("abd", Integer.MAX_VALUE).toString());
+        Assertions.assertEquals(all, trie.fuzzyMatch("abd", 100000).toString());
+
+        // 与逐个计算编辑距离的结果比较
+        Random random = new Random(23);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            char[] chars = new char[1 + random.nextInt(7)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = (char) ('a' + random.nextInt(5));
+            }
+            String key = new String(chars);
+            trie.put(key, key);
+            keys.add(key);
+        }
+        List<String> sorted = new ArrayList<>(new TreeSet<>(trie.keys(Integer.MAX_VALUE)));
+        for (int i = 0; i < 100; i++) {
+            String word = keys.get(random.nextInt(keys.size())) + (char) ('a' + random.nextInt(6));
+            for (int maxDistance = 0; maxDistance <= 3; maxDistance++) {
+                List<String> expected = new ArrayList<>();
+                for (String key : sorted) {
+                    if (levenshtein(key, word) <= maxDistance) {
+                        expected.add(key);
+                    }
+                }
+                List<String> actual = new ArrayList<>();
+                trie.fuzzyMatch(word, maxDistance).forEach(tuple -> actual.add(tuple.getT1()));
+                Assertions.assertEquals(expected, actual, word + ", " + maxDistance);
+            }
+        }
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[][] dp = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            for (int j = 0; j <= b.length(); j++) {
+                if (i == 0 || j == 0) {
+                    dp[i][j] = i + j;
+                } else {
+                    int cost = (a.charAt(i - 1) == b.charAt(j - 1)) ? 0 : 1;
+                    dp[i][j] = Math.min(dp[i - 1][j - 1] + cost, Math.min(dp[i - 1][j], dp[i][j - 1]) + 1);
+                }
+            }
+        }
+        return dp[a.length()][b.length()];
+    }
+
+    @Test
+    public void keysWithPrefixBfs() {
+        // 广度优先：按 key 的长度逐层返回，同一层按字典序排列
+        Random random = new Random(29);
+        Trie<String> trie = new ConcurrentHashTrie<>();
+        for (int i = 0; i < 3000; i++) {
+            char[] chars = new char[1 + random.nextInt(7)];
+            chars[0] = 'a';
+            for (int j = 1; j < chars.length; j++) {
+                chars[j] = (char) ('a' + random.nextInt(4));
+            }
+            String key = new String(chars);
+            trie.put(key, key);
+        }
+        for (String prefix : new String[]{"a", "ab", "abc"}) {
+            List<String> all = new ArrayList<>();
+            trie.keysWithPrefix(prefix).forEach(tuple -> all.add(tuple.getT1()));
+            all.sort(Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder()));
+            for (int depth : new int[]{0, 1, 2, 5, Integer.MAX_VALUE}) {
+                for (int maximum : new int[]{1, 10, 100, Integer.MAX_VALUE}) {
+                    List<String> expected = all.stream()
+                            .filter(key -> key.length() - prefix.length() <= depth)
+                            .limit(maximum)
+                            .toList();
+                    List<String> actual = new ArrayList<>();
+                    trie.keysWithPrefix(prefix, maximum, depth, false).forEach(tuple -> actual.add(tuple.getT1()));
+                    Assertions.assertEquals(expected, actual, prefix + ", " + depth + ", " + maximum);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void stream() {
+        // 惰性流：结果与 traversal 相同，并行流保持字典序，且可提前结束遍历
+        Random random = new Random(31);
+        Trie<String> trie = new ConcurrentHashTrie<>();
+        for (int i = 0; i < 5000; i++) {
+            char[] chars = new char[1 + random.nextInt(7)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = (char) ('a' + random.nextInt(6));
+            }
+            String key = new String(chars);
+            trie.put(key, key);
+        }
+        for (int depth : new int[]{0, 1, 3, Integer.MAX_VALUE}) {
+            List<Tuple2<String, String>> expected = new ArrayList<>();
+            trie.traversal(depth, (key, value) -> expected.add(Tuples.of(key, value)));
+            Assertions.assertEquals(expected, trie.stream(depth).toList());
+            Assertions.assertEquals(expected, trie.stream(depth).parallel().toList());
+        }
+        Assertions.assertEquals(trie.keys(Integer.MAX_VALUE).subList(0, 10),
+                trie.stream(Integer.MAX_VALUE).map(Tuple2::getT1).limit(10).toList());
+        Assertions.assertEquals(trie.keys(Integer.MAX_VALUE).get(0),
+                trie.stream(Integer.MAX_VALUE).findFirst().map(Tuple2::getT1).orElse(null));
+
+        for (String prefix : new String[]{"a", "ab", "abc", "abcdef", "g"}) {
+            for (int depth : new int[]{0, 1, 2, 5, Integer.MAX_VALUE}) {
+                Assertions.assertEquals(trie.keysWithPrefix(prefix, Integer.MAX_VALUE, depth, true),
+                        trie.streamWithPrefix(prefix, depth).toList(), prefix + ", " + depth);
+            }
+        }
+
+        // 遍历过程中修改：弱一致性，不抛出异常
+        Iterator<Tuple2<String, String>> iterator = trie.stream(Integer.MAX_VALUE).iterator();
+        int count = 0;
+        while (iterator.hasNext()) {
+            String key = iterator.next().getT1();
+            if (count++ % 100 == 0) {
+                trie.remove(key);
+                trie.put(key + "z", key);
+            }
+        }
+        Assertions.assertTrue(count > 0);
+    }
+
+    @Test
+    public void normalizer() {
+        // 大小写、全角半角变体只保存一份 key，匹配结果的起止位置及 key 对应原文本
+        Trie<String> trie = new ConcurrentHashTrie<>(CharNormalizer.HALF_WIDTH_LOWER_CASE);
+        Assertions.assertNull(trie.put("Java", "java"));
+        Assertions.assertEquals("java", trie.put("ＪＡＶＡ", "JAVA"));
+        Assertions.assertNull(trie.put("c++", "c++"));
+        Assertions.assertEquals(2, trie.size());
+        Assertions.assertEquals(List.of("c++", "java"), trie.keys(Integer.MAX_VALUE));
+
+        Assertions.assertEquals("JAVA", trie.get("jAvA"));
+        Assertions.assertEquals("JAVA", trie.get("ｊａｖａ"));
+        Assertions.assertTrue(trie.contains("Ｃ＋＋"));
+        Assertions.assertEquals(List.of(Tuples.of("java", "JAVA")), trie.keysWithPrefix("JA"));
+
+        String text = "I like ＪＡＶＡ and C++";
+        List<Found<String>> expected = List.of(new Found<>(7, 10, "ＪＡＶＡ", "JAVA"), new Found<>(16, 18, "C++", "c++"));
+        Assertions.assertEquals(expected, trie.match(text));
+        Assertions.assertEquals(expected, trie.matchAll(text));
+        Assertions.assertEquals(Tuples.of("JaVa", "JAVA"), trie.prefixMatch("JaVaScript"));
+
+        List<String> streamed = new ArrayList<>();
+        trie.match((CharSequence) text, 0, text.length(), true, false,
+                (begin, end, value) -> streamed.add(begin + "-" + end + ":" + value));
+        Assertions.assertEquals(List.of("7-10:JAVA", "16-18:c++"), streamed);
+
+        TreeMap<String, String> map = new TreeMap<>();
+        map.put("PYTHON", "PYTHON");
+        map.put("Ｐｙｔｈｏｎ", "Python");
+        trie.putAll(map);
+        Assertions.assertEquals(3, trie.size());
+        Assertions.assertEquals("Python", trie.get("python"));
+
+        Assertions.assertEquals("JAVA", trie.remove("JAVA"));
+        Assertions.assertFalse(trie.contains("java"));
+        Assertions.assertTrue(trie.match(text, true, true).stream().noneMatch(found -> found.value().equals("JAVA")));
+    }
+
+    @Test
+    public void concurrentSizeAndHeight() throws Exception {
+        // 多个线程在不同分段并发添加、删除不同长度的 key，结束后 size、height 应与剩余的 key 一致
+        Trie<String> trie = new ConcurrentHashTrie<>();
+        int threads = 4;
+        List<Set<String>> remains = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            Set<String> remain = new HashSet<>();
+            remains.add(remain);
+            char first = (char) ('a' + t);
+            executor.execute(() -> {
+                Random random = new Random(first);
+                for (int i = 0; i < 20000; i++) {
+                    char[] chars = new char[1 + random.nextInt(12)];
+                    chars[0] = first;
+                    for (int j = 1; j < chars.length; j++) {
+                        chars[j] = (char) ('a' + random.nextInt(3));
+                    }
+                    String key = new String(chars);
+                    if (random.nextInt(3) == 0) {
+                        trie.remove(key);
+                        remain.remove(key);
+                    } else {
+                        trie.put(key, key);
+                        remain.add(key);
+                    }
+                }
+                // 删除最长的 key，使高度降低
+                remain.removeIf(key -> {
+                    if (key.length() > 8) {
+                        trie.remove(key);
+                        return true;
+                    }
+                    return false;
+                });
+            });
+        }
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        int size = remains.stream().mapToInt(Set::size).sum();
+        int height = remains.stream().flatMap(Set::stream).mapToInt(String::length).max().orElse(0);
+        Assertions.assertEquals(size, trie.size());
+        Assertions.assertEquals(height, trie.height());
+        Assertions.assertEquals(8, trie.height());
+
+        // 在不同分段并发删除最大长度与次大长度的 key，高度应降至剩余 key 的最大长度
+        String longest = "x123456789", lower = "y12345678";
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        ExecutorService remover = Executors.newFixedThreadPool(2);
+        for (int i = 0; i < 2000; i++) {
+            trie.put(longest, longest);
+            trie.put(lower, lower);
+            Assertions.assertEquals(longest.length(), trie.height());
+            List<Future<?>> futures = new ArrayList<>(2);
+            for (String key : List.of(longest, lower)) {
+                futures.add(remover.submit(() -> {
+                    barrier.await();
+                    return trie.remove(key);
+                }));
+            }
+            for (Future<?> future : futures) {
+                Assertions.assertNotNull(future.get());
+            }
+            Assertions.assertEquals(size, trie.size());
+            Assertions.assertEquals(8, trie.height());
+        }
+        remover.shutdown();
+
+        trie.clear();
+        Assertions.assertEquals(0, trie.size());
+        Assertions.assertEquals(0, trie.height());
+    }
+
+    @Test
+    public void concurrentPutAllAndRemove() throws Exception {
+        // 批量添加的同时，另一线程删除刚添加的 key，结束后 size、height 应与剩余的 key 一致
+        Random random = new Random(19);
+        TreeMap<String, String> map = new TreeMap<>();
+        List<String> longest = new ArrayList<>();
+        while (map.size() < 60000) {
+            char[] chars = new char[(random.nextInt(10) == 0) ? 7 : 3 + random.nextInt(3)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = (char) ('a' + random.nextInt(26));
+            }
+            String key = new String(chars);
+            if (map.put(key, key) == null && chars.length == 7) {
+                longest.add(key);
+            }
+        }
+        Collections.shuffle(longest, random);
+
+        Trie<String> trie = new ConcurrentHashTrie<>();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> remover = executor.submit(() -> {
+                long deadline = System.currentTimeMillis() + 60000;
+                for (String key : longest) {
+                    while (trie.remove(key) == null) {
+                        Assertions.assertTrue(System.currentTimeMillis() < deadline);
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            trie.putAll(map);
+            remover.get(1, TimeUnit.MINUTES);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertEquals(map.size() - longest.size(), trie.size());
+        Assertions.assertEquals(5, trie.height());
+        Assertions.assertNull(trie.get(longest.get(0)));
+        Assertions.assertEquals(map.size() - longest.size(), trie.keys(Integer.MAX_VALUE).size());
+    }
+
+    @Test
+    public void metrics() throws InterruptedException {
+        HistogramTrieMetrics metrics = new HistogramTrieMetrics();
+        ConcurrentHashTrie<String> trie = new ConcurrentHashTrie<>(metrics);
+        trie.put("ab", "ab");
+        trie.put("abc", "abc");
+        trie.put("bc", "bc");
+        trie.get("ab");
+        trie.get("xy");
+        trie.remove("bc");
+        trie.match("xxabcxx");
+        trie.matchAll("xxabcxx");
+        trie.match("xxabcxx", 0, 7, true, true, (begin, end, value) -> true);
+
+        Assertions.assertEquals(3, metrics.count(TrieMetrics.Operation.PUT));
+        Assertions.assertEquals(2, metrics.count(TrieMetrics.Operation.GET));
+        Assertions.assertEquals(1, metrics.count(TrieMetrics.Operation.REMOVE));
+        Assertions.assertEquals(3, metrics.count(TrieMetrics.Operation.MATCH));
+        Assertions.assertTrue(metrics.totalNanos(TrieMetrics.Operation.MATCH) > 0);
+        Assertions.assertEquals(3, Arrays.stream(metrics.histogram(TrieMetrics.Operation.PUT)).sum());
+        Assertions.assertTrue(metrics.percentile(TrieMetrics.Operation.PUT, 1.0) >= metrics.percentile(TrieMetrics.Operation.PUT, 0.5));
+        // 无竞争时不记录锁等待
+        Assertions.assertTrue(metrics.lockWaitNanos().isEmpty());
+
+        // 持有 'a' 所属分段的写锁，另一线程的 get 须等待
+        java.util.concurrent.locks.StampedLock lock = trie.getLock('a');
+        long stamp = lock.writeLock();
+        Thread reader = new Thread(() -> trie.get("abc"));
+        reader.start();
+        Thread.sleep(50);
+        lock.unlockWrite(stamp);
+        reader.join();
+
+        int stripe = 'a' & (TrieConstants.DEFAULT_LOCK_STRIPES - 1);
+        Assertions.assertEquals(1, metrics.lockWaitCount(stripe));
+        Assertions.assertTrue(metrics.lockWaitNanos(stripe) > 0);
+        Assertions.assertEquals(Collections.singleton(stripe), metrics.lockWaitNanos().keySet());
+
+        metrics.reset();
+        Assertions.assertEquals(0, metrics.count(TrieMetrics.Operation.GET));
+        Assertions.assertEquals(0, metrics.lockWaitCount(stripe));
+    }
 
-}
\ No newline at end of file
+    @Test
+    public void structure() {
+        ConcurrentHashTrie<String> trie = new ConcurrentHashTrie<>();
+        Assertions.assertEquals(0, trie.structure().nodes());
+
+        // a -> [b, c], ab -> [c]：每个桶仅一个节点
+        for (String key : new String[]{"a", "ab", "ac", "abc"}) {
+            trie.put(key, key);
+        }
+        TrieStructure structure = trie.structure();
+        Assertions.assertEquals(4, structure.nodes());
+        Assertions.assertEquals(4, structure.keys());
+        Assertions.assertEquals(3, structure.listBuckets());
+        Assertions.assertEquals(0, structure.treeBuckets());
+        Assertions.assertEquals(1, structure.maxBucketLength());
+        Assertions.assertArrayEquals(new double[]{1.0, 1.0, 1.0}, structure.fillRatios());
+        Assertions.assertTrue(structure.estimatedBytes() > 0);
+
+        // 低位相同的 16 个字符落入同一个桶，链表转换为 AVL
+        for (int i = 0; i < 16; i++) {
+            String key = "z" + (char) ('a' + (i << 10));
+            trie.put(key, key);
+        }
+        structure = trie.structure();
+        Assertions.assertEquals(21, structure.nodes());
+        Assertions.assertEquals(20, structure.keys());
+        Assertions.assertEquals(1, structure.treeBuckets());
+        Assertions.assertEquals(16, structure.maxBucketLength());
+        Assertions.assertTrue(structure.fillRatio(1) < 1.0);
+
+        // 有序数组节点没有桶
+        ConcurrentHashTrie<String> arrayTrie = ConcurrentHashTrie.sortedArray();
+        for (String key : new String[]{"a", "ab", "ac", "abc"}) {
+            arrayTrie.put(key, key);
+        }
+        structure = arrayTrie.structure();
+        Assertions.assertEquals(4, structure.nodes());
+        Assertions.assertEquals(0, structure.listBuckets() + structure.treeBuckets());
+
+        // 返回的填充率数组为副本
+        structure.fillRatios()[0] = -1;
+        Assertions.assertEquals(1.0, structure.fillRatio(0));
+
+        // 很长的 key 不会导致栈溢出
+        ConcurrentHashTrie<String> deepTrie = new ConcurrentHashTrie<>();
+        String longKey = "ab".repeat(50000);
+        deepTrie.put(longKey, "long");
+        deepTrie.put("ac", "ac");
+        structure = deepTrie.structure();
+        Assertions.assertEquals(100001, structure.nodes());
+        Assertions.assertEquals(2, structure.keys());
+        Assertions.assertEquals(100000, structure.fillRatios().length);
+        Assertions.assertEquals(1.0, structure.fillRatio(99999));
+    }
+}
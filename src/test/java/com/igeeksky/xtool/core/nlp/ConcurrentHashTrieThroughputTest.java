@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 多线程吞吐量测试（读写混合）
+ * <p>
+ * 固定读线程数量，逐步增加写线程数量，比较单个锁与分段锁的吞吐量；
+ * 另测试仅有写线程时的吞吐量（size、height 统计信息的更新开销）。
+ *
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+@Disabled
+public class ConcurrentHashTrieThroughputTest {
+
+    private static final int KEYS_PER_THREAD = 100000;
+    private static final int READERS = 4;
+    private static final long DURATION_MILLIS = 3000;
+
+    @Test
+    public void mixedReadWrite() throws InterruptedException {
+        for (int stripes : new int[]{1, TrieConstants.DEFAULT_LOCK_STRIPES}) {
+            for (int writers : new int[]{1, 2, 4, 8}) {
+                run(stripes, writers);
+            }
+        }
+    }
+
+    @Test
+    public void writeOnly() throws InterruptedException {
+        for (int writers : new int[]{1, 2, 4, 8}) {
+            run(TrieConstants.DEFAULT_LOCK_STRIPES, writers, 0);
+        }
+    }
+
+    private static void run(int stripes, int writers) throws InterruptedException {
+        run(stripes, writers, READERS);
+    }
+
+    private static void run(int stripes, int writers, int readers) throws InterruptedException {
+        Trie<String> trie = new ConcurrentHashTrie<>(stripes);
+        List<String[]> keys = new ArrayList<>(writers + readers);
+        for (int i = 0; i < writers + readers; i++) {
+            keys.add(randomKeys(new Random(i), KEYS_PER_THREAD));
+        }
+        for (String[] array : keys) {
+            for (String key : array) {
+                trie.put(key, key);
+            }
+        }
+
+        LongAdder reads = new LongAdder();
+        LongAdder writes = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        long deadline = System.currentTimeMillis() + DURATION_MILLIS;
+        List<Thread> threads = new ArrayList<>(writers + readers);
+        for (int i = 0; i < writers; i++) {
+            String[] array = keys.get(i);
+            threads.add(new Thread(() -> {
+                await(start);
+                int j = 0;
+                while (System.currentTimeMillis() < deadline) {
+                    String key = array[j++ % array.length];
+                    trie.remove(key);
+                    trie.put(key, key);
+                    writes.add(2);
+                }
+            }));
+        }
+        for (int i = 0; i < readers; i++) {
+            String[] array = keys.get(writers + i);
+            threads.add(new Thread(() -> {
+                await(start);
+                int j = 0;
+                while (System.currentTimeMillis() < deadline) {
+                    trie.get(array[j++ % array.length]);
+                    reads.increment();
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        double seconds = DURATION_MILLIS / 1000.0;
+        System.out.printf("stripes:\t%d\twriters:\t%d\treaders:\t%d\twrite-ops/s:\t%.0f\tread-ops/s:\t%.0f%n",
+                stripes, writers, readers, writes.sum() / seconds, reads.sum() / seconds);
+    }
+
+    private static String[] randomKeys(Random random, int size) {
+        String[] keys = new String[size];
+        for (int i = 0; i < size; i++) {
+            int length = 4 + random.nextInt(5);
+            char[] chars = new char[length];
+            for (int j = 0; j < length; j++) {
+                chars[j] = (char) (65 + random.nextInt(58));
+            }
+            keys[i] = new String(chars);
+        }
+        return keys;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import com.igeeksky.xtool.core.lang.codec.StringCodec;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * 内存占用报告：DoubleArrayTrie vs ConcurrentHashTrie；MappedTrie 加载耗时
+ * <p>
+ * key 的生成方式与 {@link ConcurrentHashTriePerformanceTest} 相同，需较大的堆内存（建议 -Xmx32g 以上）。
+ *
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+@Disabled
+public class DoubleArrayTriePerformanceTest {
+
+    @Test
+    public void memoryFootprint() {
+        String method = "DoubleArrayTrie-memory\t";
+        TreeMap<String, String> map = keys(100000000);
+        System.out.println(method + "keys:\t" + map.size());
+
+        long m0 = usedMemory();
+        Trie<String> hashTrie = new ConcurrentHashTrie<>();
+        long t1 = System.currentTimeMillis();
+        map.forEach(hashTrie::put);
+        long t2 = System.currentTimeMillis();
+        long m1 = usedMemory();
+        System.out.println(method + "ConcurrentHashTrie-put:\t" + (t2 - t1) + "ms\t" + ((m1 - m0) >> 20) + "MB");
+
+        hashTrie.clear();
+        hashTrie = null;
+        long m2 = usedMemory();
+        long t3 = System.currentTimeMillis();
+        DoubleArrayTrie<String> arrayTrie = new DoubleArrayTrie<>(map);
+        long t4 = System.currentTimeMillis();
+        long m3 = usedMemory();
+        System.out.println(method + "DoubleArrayTrie-build:\t" + (t4 - t3) + "ms\t" + ((m3 - m2) >> 20) + "MB\t" +
+                "arrays:" + (arrayTrie.memoryFootprint() >> 20) + "MB");
+
+        for (String key : map.keySet()) {
+            Assertions.assertEquals(key, arrayTrie.get(key));
+        }
+        long t5 = System.currentTimeMillis();
+        System.out.println(method + "DoubleArrayTrie-get:\t" + (t5 - t4) + "ms");
+    }
+
+    @Test
+    public void mappedTrie() throws Exception {
+        String method = "MappedTrie\t";
+        TreeMap<String, String> map = keys(100000000);
+        System.out.println(method + "keys:\t" + map.size());
+
+        StringCodec codec = StringCodec.getInstance(StandardCharsets.UTF_8);
+        Path path = Files.createTempFile("trie", ".bin");
+        try {
+            long t1 = System.currentTimeMillis();
+            TrieSerializer.write(new DoubleArrayTrie<>(map), codec, path);
+            long t2 = System.currentTimeMillis();
+            System.out.println(method + "build-write:\t" + (t2 - t1) + "ms\t" + (Files.size(path) >> 20) + "MB");
+
+            long m0 = usedMemory();
+            long t3 = System.nanoTime();
+            MappedTrie<String> trie = new MappedTrie<>(path, codec);
+            long t4 = System.nanoTime();
+            long m1 = usedMemory();
+            System.out.println(method + "load:\t" + ((t4 - t3) / 1000) + "us\theap:" + ((m1 - m0) >> 10) + "KB");
+
+            long t5 = System.currentTimeMillis();
+            for (String key : map.keySet()) {
+                Assertions.assertEquals(key, trie.get(key));
+            }
+            long t6 = System.currentTimeMillis();
+            System.out.println(method + "get:\t" + (t6 - t5) + "ms");
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    private static TreeMap<String, String> keys(int size) {
+        Random random = new Random();
+        TreeMap<String, String> map = new TreeMap<>();
+        for (int i = 0; i < size; i++) {
+            int length = random.nextInt(9);
+            if (length > 5) {
+                char[] chars = new char[length];
+                for (int j = 0; j < length; ) {
+                    int index = random.nextInt(91);
+                    if (index >= 65) {
+                        chars[j] = (char) index;
+                        ++j;
+                    }
+                }
+                String key = new String(chars);
+                map.put(key, key);
+                i++;
+            }
+        }
+        return map;
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+public class DoubleArrayTrieTest {
+
+    @Test
+    public void get() {
+        TreeMap<String, String> map = new TreeMap<>();
+        for (String key : new String[]{"ab", "abc", "bc", "中文", "中国", "\u0000", "\uffff\uffff"}) {
+            map.put(key, key);
+        }
+        DoubleArrayTrie<String> trie = new DoubleArrayTrie<>(map);
+        Assertions.assertEquals(7, trie.size());
+        Assertions.assertEquals(3, trie.height());
+        map.forEach((key, value) -> Assertions.assertEquals(value, trie.get(key)));
+
+        Assertions.assertNull(trie.get("a"));
+        Assertions.assertNull(trie.get("abcd"));
+        Assertions.assertNull(trie.get("中"));
+        Assertions.assertTrue(trie.contains("中国"));
+        Assertions.assertFalse(trie.contains("国"));
+    }
+
+    @Test
+    public void readOnly() {
+        TreeMap<String, String> map = new TreeMap<>();
+        map.put("ab", "ab");
+        DoubleArrayTrie<String> trie = new DoubleArrayTrie<>(map);
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> trie.put("bc", "bc"));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> trie.putAll(map));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> trie.remove("ab"));
+        Assertions.assertThrows(UnsupportedOperationException.class, trie::clear);
+        Assertions.assertEquals("ab", trie.get("ab"));
+    }
+
+    @Test
+    public void empty() {
+        DoubleArrayTrie<String> trie = new DoubleArrayTrie<>(new TreeMap<>());
+        Assertions.assertTrue(trie.isEmpty());
+        Assertions.assertEquals(0, trie.height());
+        Assertions.assertNull(trie.get("\u0000"));
+        Assertions.assertNull(trie.get("abc"));
+        Assertions.assertTrue(trie.match("abc").isEmpty());
+        Assertions.assertTrue(trie.keys(Integer.MAX_VALUE).isEmpty());
+        Assertions.assertTrue(trie.keysWithPrefix("a").isEmpty());
+    }
+
+    @Test
+    public void sameAsTrie() {
+        // 与 ConcurrentHashTrie 比较：随机生成 key 和文本，所有读操作的结果均应完全相同
+        Random random = new Random(11);
+        Trie<String> expected = new ConcurrentHashTrie<>();
+        TreeMap<String, String> map = new TreeMap<>();
+        for (int i = 0; i < 3000; i++) {
+            String key = randomString(random, 1 + random.nextInt(6));
+            expected.put(key, key);
+            map.put(key, key);
+        }
+        DoubleArrayTrie<String> trie = new DoubleArrayTrie<>(map);
+        Assertions.assertEquals(expected.size(), trie.size());
+        Assertions.assertEquals(expected.height(), trie.height());
+
+        for (int depth = 0; depth <= 7; depth++) {
+            Assertions.assertEquals(expected.keys(depth), trie.keys(depth));
+            Assertions.assertEquals(expected.values(depth), trie.values(depth));
+            Assertions.assertEquals(expected.stream(depth).toList(), trie.stream(depth).toList());
+            Assertions.assertEquals(expected.stream(depth).toList(), trie.stream(depth).parallel().toList());
+        }
+
+        List<String> prefixes = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            prefixes.add(randomString(random, 1 + random.nextInt(4)));
+        }
+        for (String prefix : prefixes) {
+            Assertions.assertEquals(expected.get(prefix), trie.get(prefix));
+            Assertions.assertEquals(expected.prefixMatch(prefix + prefix), trie.prefixMatch(prefix + prefix));
+            Assertions.assertEquals(expected.prefixMatch(prefix, false), trie.prefixMatch(prefix, false));
+            Assertions.assertEquals(expected.prefixMatchAll(prefix + prefix), trie.prefixMatchAll(prefix + prefix));
+            Assertions.assertEquals(expected.prefixMatchAll(prefix + prefix, 2), trie.prefixMatchAll(prefix + prefix, 2));
+            Assertions.assertEquals(expected.keyWithPrefix(prefix), trie.keyWithPrefix(prefix));
+            Assertions.assertEquals(expected.keyWithPrefix(prefix, false), trie.keyWithPrefix(prefix, false));
+            Assertions.assertEquals(expected.keysWithPrefix(prefix), trie.keysWithPrefix(prefix));
+            for (boolean dfs : new boolean[]{true, false}) {
+                for (int maximum : new int[]{1, 7, Integer.MAX_VALUE}) {
+                    for (int depth : new int[]{0, 1, 3, Integer.MAX_VALUE}) {
+                        Assertions.assertEquals(expected.keysWithPrefix(prefix, maximum, depth, dfs),
+                                trie.keysWithPrefix(prefix, maximum, depth, dfs));
+                    }
+                }
+            }
+            for (int depth : new int[]{0, 1, 3, Integer.MAX_VALUE}) {
+                Assertions.assertEquals(expected.streamWithPrefix(prefix, depth).toList(),
+                        trie.streamWithPrefix(prefix, depth).toList());
+            }
+            for (int maxDistance : new int[]{0, 1, 2, 100000, Integer.MAX_VALUE}) {
+                Assertions.assertEquals(expected.fuzzyMatch(prefix, maxDistance), trie.fuzzyMatch(prefix, maxDistance));
+                Assertions.assertEquals(expected.fuzzyMatch(prefix, maxDistance, 3), trie.fuzzyMatch(prefix, maxDistance, 3));
+            }
+        }
+
+        for (int i = 0; i < 200; i++) {
+            String text = randomString(random, 1 + random.nextInt(200));
+            for (boolean longestMatch : new boolean[]{true, false}) {
+                for (boolean oneByOne : new boolean[]{true, false}) {
+                    Assertions.assertEquals(expected.match(text, longestMatch, oneByOne),
+                            trie.match(text, longestMatch, oneByOne));
+                }
+            }
+            for (boolean oneByOne : new boolean[]{true, false}) {
+                for (int maximum : new int[]{1, 5, Integer.MAX_VALUE}) {
+                    Assertions.assertEquals(expected.matchAll(text, oneByOne, maximum),
+                            trie.matchAll(text, oneByOne, maximum));
+                }
+                List<Found<String>> founds = new ArrayList<>();
+                trie.matchAll(text, 0, text.length(), oneByOne, (begin, end, value) ->
+                        founds.add(new Found<>(begin, end, value, value)));
+                Assertions.assertEquals(expected.matchAll(text, oneByOne, Integer.MAX_VALUE), founds);
+                for (boolean longestMatch : new boolean[]{true, false}) {
+                    founds.clear();
+                    trie.match(text.toCharArray(), 0, text.length(), longestMatch, oneByOne, (begin, end, value) ->
+                            founds.add(new Found<>(begin, end, value, value)));
+                    Assertions.assertEquals(expected.match(text, longestMatch, oneByOne), founds);
+                }
+            }
+        }
+    }
+
+    private static String randomString(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            int r = random.nextInt(6);
+            // 混入大跨度字符，覆盖根节点之外的大字符集分支
+            chars[i] = (r < 5) ? (char) ('a' + r) : (char) (0x4e00 + random.nextInt(3));
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import com.igeeksky.xtool.core.io.IOException;
+import com.igeeksky.xtool.core.lang.codec.StringCodec;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+public class MappedTrieTest {
+
+    private static final StringCodec CODEC = StringCodec.getInstance(StandardCharsets.UTF_8);
+
+    @Test
+    public void writeAndLoad() throws Exception {
+        Random random = new Random(13);
+        Trie<String> expected = new ConcurrentHashTrie<>();
+        for (int i = 0; i < 3000; i++) {
+            char[] chars = new char[1 + random.nextInt(6)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = (random.nextInt(6) < 5) ? (char) ('a' + random.nextInt(5)) : '中';
+            }
+            String key = new String(chars);
+            expected.put(key, key + "-值");
+        }
+
+        Path path = Files.createTempFile("trie", ".bin");
+        try {
+            TrieSerializer.write(expected, CODEC, path);
+            MappedTrie<String> trie = new MappedTrie<>(path, CODEC);
+            Assertions.assertEquals(expected.size(), trie.size());
+            Assertions.assertEquals(expected.height(), trie.height());
+            Assertions.assertEquals(expected.keys(Integer.MAX_VALUE), trie.keys(Integer.MAX_VALUE));
+            Assertions.assertEquals(expected.values(Integer.MAX_VALUE), trie.values(Integer.MAX_VALUE));
+
+            for (int i = 0; i < 300; i++) {
+                String word = "abcde中".charAt(random.nextInt(6)) + "" + "abcde中".charAt(random.nextInt(6));
+                Assertions.assertEquals(expected.get(word), trie.get(word));
+                Assertions.assertEquals(expected.prefixMatch(word + word), trie.prefixMatch(word + word));
+                Assertions.assertEquals(expected.keysWithPrefix(word), trie.keysWithPrefix(word));
+                Assertions.assertEquals(expected.match(word + word + word), trie.match(word + word + word));
+            }
+
+            // 再次写入映射得到的 Trie，文件内容应完全相同
+            Path copy = Files.createTempFile("trie", ".bin");
+            try {
+                TrieSerializer.write(trie, CODEC, copy);
+                Assertions.assertArrayEquals(Files.readAllBytes(path), Files.readAllBytes(copy));
+            } finally {
+                Files.deleteIfExists(copy);
+            }
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void invalidImage() throws Exception {
+        Path path = Files.createTempFile("trie", ".bin");
+        try {
+            Files.write(path, new byte[64]);
+            Assertions.assertThrows(IOException.class, () -> new MappedTrie<>(path, CODEC));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}
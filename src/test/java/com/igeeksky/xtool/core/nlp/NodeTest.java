@@ -26,6 +26,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Random;
 
 /**
  * @author Patrick.Lau
@@ -347,4 +348,34 @@ public class NodeTest {
             Assertions.assertEquals(i++, next.c);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void sortedChildren() {
+        // 字符随机排列，且低位相同的字符较多，使同一下标既有链表也有 AVL 树
+        List<Character> chars = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            chars.add((char) ((i % 3) * 4096 + i));
+        }
+        Collections.shuffle(chars, new Random(5));
+        for (int count : new int[]{1, 7, 16, 17, 300}) {
+            LinkedNode<String> parent = new LinkedNode<>('0');
+            for (int i = 0; i < count; i++) {
+                parent.addChild(chars.get(i), creator, convertor);
+            }
+            List<Character> expected = new ArrayList<>(chars.subList(0, count));
+            Collections.sort(expected);
+
+            Node<String>[] nodes = new Node[count];
+            Assertions.assertEquals(count, parent.sortedChildren(nodes));
+            List<Character> actual = new ArrayList<>();
+            for (Node<String> node : nodes) {
+                actual.add(node.c);
+            }
+            Assertions.assertEquals(expected, actual);
+
+            actual.clear();
+            parent.forEach(node -> actual.add(node.c));
+            Assertions.assertEquals(expected, actual);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import com.igeeksky.xtool.core.lang.codec.Codec;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+ * 比较值保存于堆内（ConcurrentHashTrie）与堆外（OffHeapTrie）时的垃圾回收耗时
+ * <p>
+ * 20 万个键，值为 1KB 的字节数组：添加后反复覆盖部分键的值（同时产生临时对象），
+ * 统计期间的垃圾回收次数、耗时，以及一次完全垃圾回收（System.gc）的耗时。
+ * <p>
+ * 建议使用较大的堆运行，如：-Xms1g -Xmx1g
+ *
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+@Disabled
+public class OffHeapTriePerformanceTest {
+
+    private static final int SIZE = 200000;
+    private static final int VALUE_LENGTH = 1024;
+
+    private static final Codec<byte[]> CODEC = new Codec<>() {
+        @Override
+        public byte[] encode(byte[] value) {
+            return value;
+        }
+
+        @Override
+        public byte[] decode(byte[] source) {
+            return source;
+        }
+    };
+
+    @Test
+    public void gc() {
+        gc("ConcurrentHashTrie\t", new ConcurrentHashTrie<>());
+        gc("OffHeapTrie       \t", new OffHeapTrie<>(CODEC));
+    }
+
+    private static void gc(String method, Trie<byte[]> trie) {
+        Random random = new Random(41);
+        for (int i = 0; i < SIZE; i++) {
+            trie.put("key:" + i, newValue(random));
+        }
+        System.gc();
+
+        long[] before = gcStats();
+        long t1 = System.currentTimeMillis();
+        long checksum = 0;
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < SIZE / 4; i++) {
+                trie.put("key:" + random.nextInt(SIZE), newValue(random));
+                checksum += trie.get("key:" + random.nextInt(SIZE))[0];
+            }
+        }
+        long t2 = System.currentTimeMillis();
+        long[] after = gcStats();
+
+        long t3 = System.currentTimeMillis();
+        System.gc();
+        long t4 = System.currentTimeMillis();
+
+        System.out.println(method + "churn:\t" + (t2 - t1) + "\tgc-count:\t" + (after[0] - before[0])
+                + "\tgc-time:\t" + (after[1] - before[1]) + "\tfull-gc:\t" + (t4 - t3)
+                + "\theap(MB):\t" + (usedMemory() >> 20) + "\tchecksum:\t" + checksum);
+        Assertions.assertEquals(SIZE, trie.size());
+        trie.clear();
+        System.gc();
+    }
+
+    private static byte[] newValue(Random random) {
+        byte[] value = new byte[VALUE_LENGTH];
+        random.nextBytes(value);
+        return value;
+    }
+
+    private static long[] gcStats() {
+        long count = 0, time = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += bean.getCollectionCount();
+            time += bean.getCollectionTime();
+        }
+        return new long[]{count, time};
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import com.igeeksky.xtool.core.lang.codec.StringCodec;
+import com.igeeksky.xtool.core.tuple.Tuples;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+public class OffHeapTrieTest {
+
+    private static final StringCodec CODEC = StringCodec.getInstance(StandardCharsets.UTF_8);
+
+    @Test
+    public void putAndRemove() {
+        OffHeapTrie<String> trie = new OffHeapTrie<>(CODEC, 4096);
+        Assertions.assertNull(trie.put("ab", "ab-1"));
+        Assertions.assertNull(trie.put("abc", "abc"));
+        Assertions.assertEquals("ab-1", trie.put("ab", "ab-2"));
+        Assertions.assertEquals("ab-2", trie.get("ab"));
+        Assertions.assertEquals(2, trie.size());
+        Assertions.assertEquals(4096, trie.allocatedBytes());
+        // 每个值占用 16 字节的块（8 字节块头 + 数据）
+        Assertions.assertEquals(32, trie.usedBytes());
+
+        Assertions.assertEquals(Tuples.of("abc", "abc"), trie.prefixMatch("abcd"));
+        Assertions.assertEquals(List.of(Tuples.of("ab", "ab-2"), Tuples.of("abc", "abc")), trie.keysWithPrefix("a"));
+        Assertions.assertEquals(List.of(new Found<>(2, 4, "abc", "abc")), trie.match("xxabcxx"));
+        List<String> streamed = new ArrayList<>();
+        trie.matchAll((CharSequence) "xxabcxx", 0, 7, true, (begin, end, value) -> streamed.add(begin + "-" + end + ":" + value));
+        Assertions.assertEquals(List.of("2-3:ab-2", "2-4:abc"), streamed);
+        Assertions.assertEquals(List.of("ab-2", "abc"), trie.values(Integer.MAX_VALUE));
+        Assertions.assertEquals(List.of(Tuples.of("ab", "ab-2"), Tuples.of("abc", "abc")), trie.stream(3).toList());
+
+        Assertions.assertEquals("abc", trie.remove("abc"));
+        Assertions.assertNull(trie.remove("abc"));
+        Assertions.assertFalse(trie.contains("abc"));
+        Assertions.assertEquals(16, trie.usedBytes());
+
+        // 大于 slab 的值单独分配，删除后即丢弃
+        String large = "x".repeat(10000);
+        trie.put("large", large);
+        Assertions.assertEquals(large, trie.get("large"));
+        Assertions.assertEquals(4096 + 10008, trie.allocatedBytes());
+        trie.remove("large");
+        Assertions.assertEquals(4096, trie.allocatedBytes());
+
+        trie.clear();
+        Assertions.assertTrue(trie.isEmpty());
+        Assertions.assertEquals(0, trie.allocatedBytes());
+        Assertions.assertNull(trie.get("ab"));
+    }
+
+    @Test
+    public void reuse() {
+        // 释放的块被之后添加的同样大小的值复用，直接内存不再增长
+        OffHeapTrie<String> trie = new OffHeapTrie<>(CODEC, 1 << 16);
+        Random random = new Random(31);
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 1000; i++) {
+                trie.put("key" + i, "value-" + round + "-" + random.nextInt(1000));
+            }
+        }
+        Assertions.assertEquals(1000, trie.size());
+        Assertions.assertEquals(1000 * 32, trie.usedBytes());
+        Assertions.assertEquals(1 << 16, trie.allocatedBytes());
+        for (int i = 0; i < 1000; i++) {
+            Assertions.assertTrue(trie.get("key" + i).startsWith("value-19-"));
+        }
+    }
+
+    @Test
+    public void staleAddress() {
+        // 已释放的地址不会读取到复用该块的其它值
+        OffHeapValueStore store = new OffHeapValueStore(4096);
+        long first = store.allocate(new byte[]{1, 2, 3});
+        store.free(first);
+        // 同一个块被反复复用：超过 2^18 次分配后，已释放的地址仍不会读取到复用该块的数据
+        for (int i = 0; i < (1 << 18) + 2; i++) {
+            long address = store.allocate(new byte[]{7});
+            Assertions.assertNull(store.read(first));
+            store.free(address);
+        }
+        long second = store.allocate(new byte[]{4, 5, 6});
+        Assertions.assertNotEquals(first, second);
+        Assertions.assertNull(store.read(first));
+        Assertions.assertArrayEquals(new byte[]{4, 5, 6}, store.read(second));
+        // 重复释放被忽略
+        store.free(first);
+        Assertions.assertArrayEquals(new byte[]{4, 5, 6}, store.read(second));
+
+        store.clear();
+        Assertions.assertNull(store.read(second));
+        long third = store.allocate(new byte[0]);
+        Assertions.assertNull(store.read(second));
+        Assertions.assertArrayEquals(new byte[0], store.read(third));
+    }
+
+    @Test
+    public void concurrentOverwrite() throws Exception {
+        // 另一线程不断覆盖同一个键：读取到的地址被释放后重新读取，get 及匹配不应返回空
+        OffHeapTrie<String> trie = new OffHeapTrie<>(CODEC, 4096);
+        trie.put("k", "v-0");
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread writer = new Thread(() -> {
+            for (int i = 1; running.get(); i++) {
+                trie.put("k", "v-" + i);
+            }
+        });
+        writer.start();
+        try {
+            for (int i = 0; i < 200000; i++) {
+                String value = trie.get("k");
+                Assertions.assertNotNull(value);
+                Assertions.assertTrue(value.startsWith("v-"));
+                if ((i & 63) == 0) {
+                    Assertions.assertEquals(1, trie.match("xkx").size());
+                    Assertions.assertEquals(1, trie.keysWithPrefix("k").size());
+                }
+            }
+        } finally {
+            running.set(false);
+            writer.join();
+        }
+        Assertions.assertEquals(1, trie.size());
+    }
+
+    @Test
+    public void sameAsTrie() {
+        Random random = new Random(37);
+        Trie<String> expected = new ConcurrentHashTrie<>();
+        Trie<String> trie = new OffHeapTrie<>(CODEC, 4096);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            String key = randomString(random, 1 + random.nextInt(8));
+            keys.add(key);
+            String value = key.repeat(1 + random.nextInt(20));
+            Assertions.assertEquals(expected.put(key, value), trie.put(key, value));
+        }
+        for (int i = 0; i < 2000; i++) {
+            String key = keys.get(random.nextInt(keys.size()));
+            Assertions.assertEquals(expected.remove(key), trie.remove(key));
+        }
+        TreeMap<String, String> map = new TreeMap<>();
+        for (int i = 0; i < 1000; i++) {
+            String key = randomString(random, 1 + random.nextInt(10));
+            map.put(key, key);
+        }
+        expected.putAll(map);
+        trie.putAll(map);
+
+        Assertions.assertEquals(expected.size(), trie.size());
+        Assertions.assertEquals(expected.height(), trie.height());
+        Assertions.assertEquals(expected.stream(Integer.MAX_VALUE).toList(), trie.stream(Integer.MAX_VALUE).toList());
+        for (int i = 0; i < 200; i++) {
+            String prefix = randomString(random, 1 + random.nextInt(4));
+            Assertions.assertEquals(expected.get(prefix), trie.get(prefix));
+            Assertions.assertEquals(expected.prefixMatchAll(prefix + prefix), trie.prefixMatchAll(prefix + prefix));
+            Assertions.assertEquals(expected.keysWithPrefix(prefix, 7, 3, false), trie.keysWithPrefix(prefix, 7, 3, false));
+            Assertions.assertEquals(expected.fuzzyMatch(prefix, 1), trie.fuzzyMatch(prefix, 1));
+        }
+        String text = randomString(random, 2000);
+        Assertions.assertEquals(expected.match(text, true, false), trie.match(text, true, false));
+        Assertions.assertEquals(expected.matchAll(text), trie.matchAll(text));
+    }
+
+    private static String randomString(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(4));
+        }
+        return new String(chars);
+    }
+
+}
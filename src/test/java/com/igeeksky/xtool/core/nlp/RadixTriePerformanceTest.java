@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * 比较基数树与 ConcurrentHashTrie 的内存占用和查找速度（URL 词典）
+ *
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+@Disabled
+public class RadixTriePerformanceTest {
+
+    private static final String[] HOSTS = {"www.example.com", "api.example.com", "cdn.static.net", "docs.igeeksky.com", "shop.example.org"};
+    private static final String[] DIRS = {"user", "users", "product", "products", "order", "static", "images", "api", "v1", "v2", "search", "category"};
+
+    @Test
+    public void heapAndGet() {
+        Random random = new Random(17);
+        TreeMap<String, String> treeMap = new TreeMap<>();
+        while (treeMap.size() < 500000) {
+            String url = randomUrl(random);
+            treeMap.put(url, url);
+        }
+        List<String> keys = new ArrayList<>(treeMap.keySet());
+        Collections.shuffle(keys, random);
+        long chars = keys.stream().mapToLong(String::length).sum();
+        System.out.println("keys:\t" + keys.size() + "\tavg-length:\t" + (chars / keys.size()));
+
+        heapAndGet("LinkedNode     \t", new ConcurrentHashTrie<>(), treeMap, keys);
+        heapAndGet("SortedArrayNode\t", ConcurrentHashTrie.sortedArray(), treeMap, keys);
+        heapAndGet("RadixTrie      \t", new RadixTrie<>(), treeMap, keys);
+    }
+
+    private static void heapAndGet(String method, Trie<String> trie, TreeMap<String, String> treeMap, List<String> keys) {
+        long before = usedMemory();
+        long t1 = System.currentTimeMillis();
+        for (String key : keys) {
+            trie.put(key, key);
+        }
+        long t2 = System.currentTimeMillis();
+        long heap = usedMemory() - before;
+        System.out.println(method + "put:\t" + (t2 - t1) + "\theap(MB):\t" + (heap >> 20) + "\tbytes/key:\t" + (heap / keys.size()));
+
+        for (int round = 0; round < 3; round++) {
+            long t3 = System.currentTimeMillis();
+            int found = 0;
+            for (String key : keys) {
+                if (trie.get(key) != null) {
+                    found++;
+                }
+            }
+            long t4 = System.currentTimeMillis();
+            System.out.println(method + "get:\t" + (t4 - t3));
+            Assertions.assertEquals(treeMap.size(), found);
+        }
+
+        String text = String.join(" ", keys.subList(0, 20000));
+        long t5 = System.currentTimeMillis();
+        int size = trie.match(text, true, false).size();
+        long t6 = System.currentTimeMillis();
+        System.out.println(method + "match:\t" + (t6 - t5) + "\tfound:\t" + size);
+    }
+
+    private static String randomUrl(Random random) {
+        StringBuilder builder = new StringBuilder(96);
+        builder.append(random.nextBoolean() ? "https://" : "http://").append(HOSTS[random.nextInt(HOSTS.length)]);
+        int dirs = 1 + random.nextInt(3);
+        for (int i = 0; i < dirs; i++) {
+            builder.append('/').append(DIRS[random.nextInt(DIRS.length)]);
+        }
+        // 较长且唯一的后缀：资源编号及查询参数
+        builder.append('/').append(Long.toHexString(random.nextLong() & Long.MAX_VALUE));
+        if (random.nextBoolean()) {
+            builder.append("?page=").append(random.nextInt(100)).append("&sort=desc");
+        }
+        return builder.toString();
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import com.igeeksky.xtool.core.tuple.Tuple2;
+import com.igeeksky.xtool.core.tuple.Tuples;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+public class RadixTrieTest {
+
+    @Test
+    public void splitAndMerge() {
+        RadixTrie<String> trie = new RadixTrie<>();
+        trie.put("http://a.com/index", "index");
+        trie.put("http://a.com/item", "item");
+        trie.put("http://a.com/i", "i");
+        trie.put("http://b.com", "b");
+        Assertions.assertEquals(4, trie.size());
+        Assertions.assertEquals(18, trie.height());
+        Assertions.assertEquals("i", trie.get("http://a.com/i"));
+        Assertions.assertNull(trie.get("http://a.com/"));
+        Assertions.assertNull(trie.get("http://a.com/inde"));
+        Assertions.assertNull(trie.get("http://a.com/indexes"));
+
+        Assertions.assertEquals(List.of("http://a.com/i", "http://a.com/index", "http://a.com/item", "http://b.com"),
+                trie.keys(Integer.MAX_VALUE));
+        Assertions.assertEquals(List.of(Tuples.of("http://a.com/index", "index")), trie.keysWithPrefix("http://a.com/in"));
+        Assertions.assertEquals(Tuples.of("http://a.com/i", "i"), trie.prefixMatch("http://a.com/it", false));
+        Assertions.assertEquals(Tuples.of("http://a.com/item", "item"), trie.prefixMatch("http://a.com/items"));
+
+        // 删除中间节点的值：与唯一的子节点合并
+        Assertions.assertEquals("index", trie.remove("http://a.com/index"));
+        Assertions.assertEquals("i", trie.remove("http://a.com/i"));
+        Assertions.assertNull(trie.remove("http://a.com/i"));
+        Assertions.assertEquals(List.of("http://a.com/item", "http://b.com"), trie.keys(Integer.MAX_VALUE));
+        Assertions.assertEquals(17, trie.height());
+        Assertions.assertEquals("item", trie.get("http://a.com/item"));
+
+        Assertions.assertEquals("item", trie.remove("http://a.com/item"));
+        Assertions.assertEquals(12, trie.height());
+        Assertions.assertEquals("b", trie.remove("http://b.com"));
+        Assertions.assertTrue(trie.isEmpty());
+        Assertions.assertEquals(0, trie.height());
+    }
+
+    @Test
+    public void levelOrder() {
+        // 字符段长度不同：较短的父节点的长子节点排在较长的父节点的短子节点之后，同一长度按字典序
+        RadixTrie<String> trie = new RadixTrie<>();
+        for (String key : new String[]{"a", "azz", "azzzz", "abc", "abcd", "ab"}) {
+            trie.put(key, key);
+        }
+        Assertions.assertEquals(List.of("a", "ab", "abc", "azz", "abcd", "azzzz"),
+                trie.keysWithPrefix("a", Integer.MAX_VALUE, Integer.MAX_VALUE, false).stream().map(Tuple2::getT1).toList());
+        Assertions.assertEquals(List.of("a", "ab", "abc"),
+                trie.keysWithPrefix("a", 3, Integer.MAX_VALUE, false).stream().map(Tuple2::getT1).toList());
+        Assertions.assertEquals(Tuples.of("abc", "abc"), trie.keyWithPrefix("abc", false));
+        Assertions.assertEquals(List.of(Tuples.of("a", "a"), Tuples.of("ab", "ab")), trie.keysWithPrefix("a", Integer.MAX_VALUE, 1, false));
+    }
+
+    @Test
+    public void sameAsTrie() {
+        // 与 ConcurrentHashTrie 比较：随机添加、删除之后，所有读操作的结果均应完全相同
+        Random random = new Random(23);
+        Trie<String> expected = new ConcurrentHashTrie<>();
+        Trie<String> trie = new RadixTrie<>();
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            String key = randomString(random, 1 + random.nextInt(10));
+            keys.add(key);
+            Assertions.assertEquals(expected.put(key, key + i), trie.put(key, key + i));
+        }
+        for (int i = 0; i < 2000; i++) {
+            String key = keys.get(random.nextInt(keys.size()));
+            Assertions.assertEquals(expected.remove(key), trie.remove(key));
+        }
+        TreeMap<String, String> map = new TreeMap<>();
+        for (int i = 0; i < 1000; i++) {
+            String key = randomString(random, 1 + random.nextInt(12));
+            map.put(key, key);
+        }
+        expected.putAll(map);
+        trie.putAll(map);
+
+        Assertions.assertEquals(expected.size(), trie.size());
+        Assertions.assertEquals(expected.height(), trie.height());
+        for (int depth = 0; depth <= 13; depth++) {
+            Assertions.assertEquals(expected.keys(depth), trie.keys(depth));
+            Assertions.assertEquals(expected.values(depth), trie.values(depth));
+            Assertions.assertEquals(expected.stream(depth).toList(), trie.stream(depth).parallel().toList());
+        }
+
+        for (int i = 0; i < 300; i++) {
+            String prefix = randomString(random, 1 + random.nextInt(5));
+            Assertions.assertEquals(expected.get(prefix), trie.get(prefix));
+            Assertions.assertEquals(expected.contains(prefix), trie.contains(prefix));
+            Assertions.assertEquals(expected.prefixMatch(prefix + prefix), trie.prefixMatch(prefix + prefix));
+            Assertions.assertEquals(expected.prefixMatch(prefix + prefix, false), trie.prefixMatch(prefix + prefix, false));
+            Assertions.assertEquals(expected.prefixMatchAll(prefix + prefix), trie.prefixMatchAll(prefix + prefix));
+            Assertions.assertEquals(expected.prefixMatchAll(prefix + prefix, 2), trie.prefixMatchAll(prefix + prefix, 2));
+            Assertions.assertEquals(expected.keyWithPrefix(prefix), trie.keyWithPrefix(prefix));
+            Assertions.assertEquals(expected.keyWithPrefix(prefix, false), trie.keyWithPrefix(prefix, false));
+            for (boolean dfs : new boolean[]{true, false}) {
+                for (int maximum : new int[]{1, 7, Integer.MAX_VALUE}) {
+                    for (int depth : new int[]{0, 1, 3, Integer.MAX_VALUE}) {
+                        Assertions.assertEquals(expected.keysWithPrefix(prefix, maximum, depth, dfs),
+                                trie.keysWithPrefix(prefix, maximum, depth, dfs));
+                    }
+                }
+            }
+            for (int depth : new int[]{0, 1, 3, Integer.MAX_VALUE}) {
+                Assertions.assertEquals(expected.streamWithPrefix(prefix, depth).toList(),
+                        trie.streamWithPrefix(prefix, depth).toList());
+            }
+            for (int maxDistance : new int[]{0, 1, 2, 100000, Integer.MAX_VALUE}) {
+                Assertions.assertEquals(expected.fuzzyMatch(prefix, maxDistance), trie.fuzzyMatch(prefix, maxDistance));
+            }
+        }
+
+        String text = randomString(random, 3000);
+        for (boolean longestMatch : new boolean[]{true, false}) {
+            for (boolean oneByOne : new boolean[]{true, false}) {
+                Assertions.assertEquals(expected.match(text, longestMatch, oneByOne), trie.match(text, longestMatch, oneByOne));
+                List<String> expectedStream = new ArrayList<>();
+                expected.match((CharSequence) text, 5, text.length(), longestMatch, oneByOne,
+                        (begin, end, value) -> expectedStream.add(begin + "-" + end + ":" + value));
+                List<String> actualStream = new ArrayList<>();
+                trie.match((CharSequence) text, 5, text.length(), longestMatch, oneByOne,
+                        (begin, end, value) -> actualStream.add(begin + "-" + end + ":" + value));
+                Assertions.assertEquals(expectedStream, actualStream);
+            }
+            Assertions.assertEquals(expected.matchAll(text, longestMatch, 100), trie.matchAll(text, longestMatch, 100));
+        }
+        Assertions.assertEquals(expected.matchAll(text), trie.matchAll(text));
+
+        trie.clear();
+        Assertions.assertTrue(trie.isEmpty());
+        Assertions.assertEquals(0, trie.height());
+        Assertions.assertEquals(List.of(), trie.keys(Integer.MAX_VALUE));
+    }
+
+    private static String randomString(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(4));
+        }
+        return new String(chars);
+    }
+
+}
@@ -20,7 +20,13 @@ package com.igeeksky.xtool.core.nlp;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * @author Patrick.Lau
@@ -41,4 +47,90 @@ public class RootTest {
         Assertions.assertFalse(hasNext);
         Assertions.assertNull(iterator.next());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void smallToTable() {
+        Root<String> root = new Root<>('0');
+        LinkedNodeCreator<String> creator = new LinkedNodeCreator<>();
+        int count = TrieConstants.ROOT_SMALL_CAPACITY * 3;
+        // 逆序添加，遍历结果仍按字符升序排列
+        for (int i = count - 1; i >= 0; i--) {
+            char c = (char) (i * 100);
+            Node<String> child = root.addChild(c, creator, null);
+            Assertions.assertSame(child, root.addChild(c, creator, null));
+            Assertions.assertSame(child, root.findChild(c));
+            assertAscending(root, count - i);
+        }
+        Assertions.assertNull(root.findChild((char) 1));
+
+        for (int i = 0; i < count; i += 2) {
+            root.deleteChild(root.findChild((char) (i * 100)), null);
+        }
+        Assertions.assertNull(root.findChild((char) 0));
+        Assertions.assertNotNull(root.findChild((char) 100));
+        assertAscending(root, count / 2);
+
+        // 挂载已存在的首字符失败
+        Assertions.assertFalse(root.putIfAbsent(new LinkedNode<>((char) 100)));
+        Assertions.assertTrue(root.putIfAbsent(new LinkedNode<>((char) 0)));
+        assertAscending(root, count / 2 + 1);
+
+        root.reset();
+        Assertions.assertNull(root.findChild((char) 100));
+        Assertions.assertFalse(root.iterator().hasNext());
+    }
+
+    @Test
+    public void concurrentResetAndIterate() throws Exception {
+        Root<String> root = new Root<>('0');
+        LinkedNodeCreator<String> creator = new LinkedNodeCreator<>();
+        int count = TrieConstants.ROOT_SMALL_CAPACITY + 1;
+        AtomicBoolean stop = new AtomicBoolean();
+        Thread writer = new Thread(() -> {
+            while (!stop.get()) {
+                for (int i = 0; i < count; i++) {
+                    root.addChild((char) (i * 100), creator, null);
+                }
+                root.reset();
+            }
+        });
+        writer.start();
+        // 写线程反复在小数组、直接索引数组与清空之间切换，读线程不应出现异常
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 50000; i++) {
+                        int size = 0;
+                        for (Node<String> ignored : root) {
+                            size++;
+                        }
+                        Assertions.assertTrue(size <= count);
+                        Node<String> child = root.findChild((char) 100);
+                        Assertions.assertTrue(child == null || child.c == 100);
+                        Assertions.assertTrue(root.capacity() >= 0);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            stop.set(true);
+            writer.join();
+            executor.shutdown();
+        }
+    }
+
+    private static void assertAscending(Root<String> root, int expected) {
+        int count = 0, last = -1;
+        for (Node<String> node : root) {
+            Assertions.assertTrue(node.c > last);
+            last = node.c;
+            count++;
+        }
+        Assertions.assertEquals(expected, count);
+    }
+}
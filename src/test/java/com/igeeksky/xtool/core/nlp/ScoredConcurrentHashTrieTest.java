@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import com.igeeksky.xtool.core.tuple.Tuple2;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+public class ScoredConcurrentHashTrieTest {
+
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz0123456789中文分词";
+
+    @Test
+    public void topKWithPrefix() {
+        ScoredConcurrentHashTrie<Integer> trie = new ScoredConcurrentHashTrie<>(v -> v);
+        trie.put("apple", 10);
+        trie.put("app", 30);
+        trie.put("application", 20);
+        trie.put("apply", 20);
+        trie.put("banana", 100);
+
+        List<Tuple2<String, Integer>> top = trie.topKWithPrefix("ap", 3);
+        Assertions.assertEquals("[app, application, apply]", keys(top).toString());
+        Assertions.assertEquals(Integer.valueOf(30), top.get(0).getT2());
+
+        // 评分降低后重新排序
+        trie.put("app", 1);
+        Assertions.assertEquals("[application, apply, apple, app]", keys(trie.topKWithPrefix("ap", 10)).toString());
+
+        // 删除后不再出现
+        trie.remove("application");
+        Assertions.assertEquals("[apply]", keys(trie.topKWithPrefix("ap", 1)).toString());
+
+        Assertions.assertTrue(trie.topKWithPrefix("ap", 0).isEmpty());
+        Assertions.assertTrue(trie.topKWithPrefix("c", 5).isEmpty());
+    }
+
+    @Test
+    public void randomOperations() {
+        ScoredConcurrentHashTrie<Integer> trie = new ScoredConcurrentHashTrie<>(v -> v);
+        Map<String, Integer> map = new HashMap<>();
+        Random random = new Random(20261018);
+        for (int i = 0; i < 20000; i++) {
+            String key = randomKey(random);
+            if (random.nextInt(4) == 0) {
+                Assertions.assertEquals(map.remove(key), trie.remove(key));
+            } else {
+                int value = random.nextInt(1000);
+                Assertions.assertEquals(map.put(key, value), trie.put(key, value));
+            }
+            if (i % 500 == 0) {
+                verify(trie, map, random);
+            }
+        }
+        verify(trie, map, random);
+    }
+
+    @Test
+    public void concurrentOperations() throws InterruptedException {
+        ScoredConcurrentHashTrie<Integer> trie = new ScoredConcurrentHashTrie<>(v -> v, 4);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 10000; i++) {
+                    String key = randomKey(random);
+                    if (random.nextInt(4) == 0) {
+                        trie.remove(key);
+                    } else {
+                        trie.put(key, random.nextInt(1000));
+                    }
+                    List<Tuple2<String, Integer>> top = trie.topKWithPrefix(key.substring(0, 1), 5);
+                    for (int j = 1; j < top.size(); j++) {
+                        Assertions.assertTrue(top.get(j - 1).getT2() >= top.get(j).getT2());
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Map<String, Integer> map = new HashMap<>();
+        trie.traversal(Integer.MAX_VALUE, (key, value) -> {
+            map.put(key, value);
+            return true;
+        });
+        verify(trie, map, new Random(1));
+    }
+
+    private static void verify(ScoredConcurrentHashTrie<Integer> trie, Map<String, Integer> map, Random random) {
+        for (int i = 0; i < 50; i++) {
+            String key = randomKey(random);
+            String prefix = key.substring(0, Math.min(key.length(), 1 + random.nextInt(2)));
+            int k = 1 + random.nextInt(20);
+            List<String> expected = map.entrySet().stream()
+                    .filter(e -> e.getKey().startsWith(prefix))
+                    .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                    .limit(k)
+                    .map(e -> e.getKey() + "=" + e.getValue())
+                    .toList();
+            List<String> actual = trie.topKWithPrefix(prefix, k).stream()
+                    .map(t -> t.getT1() + "=" + t.getT2())
+                    .toList();
+            Assertions.assertEquals(expected, actual, prefix);
+        }
+    }
+
+    private static String randomKey(Random random) {
+        int length = 1 + random.nextInt(4);
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            // 首字符取值范围较小，使同一前缀下的 key 足够多
+            int bound = (i == 0) ? 3 : ALPHABET.length();
+            chars[i] = ALPHABET.charAt(random.nextInt(bound));
+        }
+        return new String(chars);
+    }
+
+    private static List<String> keys(List<Tuple2<String, Integer>> tuples) {
+        List<String> keys = new ArrayList<>(tuples.size());
+        for (Tuple2<String, Integer> tuple : tuples) {
+            keys.add(tuple.getT1());
+        }
+        return keys;
+    }
+}
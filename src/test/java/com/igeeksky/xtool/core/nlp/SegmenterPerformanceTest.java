@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+/**
+ * 分词速度：30 万词的中文词典（2-4 字），约 2000 万字符的文本（词典中的词与随机单字交替）
+ *
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+@Disabled
+public class SegmenterPerformanceTest {
+
+    @Test
+    public void segment() {
+        Random random = new Random(47);
+        Trie<Integer> dictionary = new ConcurrentHashTrie<>();
+        String[] words = new String[300000];
+        for (int i = 0; i < words.length; i++) {
+            char[] chars = new char[2 + random.nextInt(3)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = (char) (0x4E00 + Math.abs((int) (random.nextGaussian() * 600)) % 3500);
+            }
+            words[i] = new String(chars);
+            dictionary.put(words[i], 1 + random.nextInt(1000));
+        }
+        StringBuilder builder = new StringBuilder(1 << 25);
+        while (builder.length() < 20_000_000) {
+            builder.append(words[random.nextInt(words.length)]);
+            if (random.nextInt(3) == 0) {
+                builder.append((char) (0x4E00 + random.nextInt(3500)));
+            }
+        }
+        String text = builder.toString();
+
+        Segmenter<Integer> segmenter = new Segmenter<>(dictionary, Integer::doubleValue);
+        for (int round = 0; round < 3; round++) {
+            for (Segmenter.Mode mode : Segmenter.Mode.values()) {
+                long[] count = {0};
+                long t1 = System.currentTimeMillis();
+                segmenter.segment(text, 0, text.length(), mode, (begin, end, value) -> {
+                    count[0]++;
+                    return true;
+                });
+                long t2 = System.currentTimeMillis();
+                long millis = Math.max(1, t2 - t1);
+                System.out.println(mode + "\ttime:\t" + millis + "\twords:\t" + count[0]
+                        + "\tchars/s(M):\t" + (text.length() / millis / 1000));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+public class SegmenterTest {
+
+    private static Trie<Integer> dictionary() {
+        Trie<Integer> dictionary = new ConcurrentHashTrie<>();
+        dictionary.put("研究", 100);
+        dictionary.put("研究生", 10);
+        dictionary.put("生命", 100);
+        dictionary.put("命", 5);
+        dictionary.put("起源", 50);
+        return dictionary;
+    }
+
+    @Test
+    public void segment() {
+        Segmenter<Integer> segmenter = new Segmenter<>(dictionary(), Integer::doubleValue);
+        String text = "研究生命起源";
+        Assertions.assertEquals(List.of("研究生", "命", "起源"), segmenter.segment(text, Segmenter.Mode.FORWARD));
+        Assertions.assertEquals(List.of("研究", "生命", "起源"), segmenter.segment(text, Segmenter.Mode.BACKWARD));
+        Assertions.assertEquals(List.of("研究", "生命", "起源"), segmenter.segment(text, Segmenter.Mode.MAX_PROBABILITY));
+
+        // 未指定频次：词数最少，词数相同时取较长的词
+        Segmenter<Integer> shortest = new Segmenter<>(dictionary());
+        Assertions.assertEquals(List.of("研究生", "命", "起源"), shortest.segment(text, Segmenter.Mode.MAX_PROBABILITY));
+
+        // 词典中不存在的字符作为单字输出，值为空
+        for (Segmenter.Mode mode : Segmenter.Mode.values()) {
+            List<String> tokens = new ArrayList<>();
+            segmenter.segment("我们研究起源吗", 0, 7, mode, (begin, end, value) -> tokens.add(begin + "-" + end + ":" + value));
+            Assertions.assertEquals(List.of("0-0:null", "1-1:null", "2-3:100", "4-5:50", "6-6:null"), tokens);
+        }
+        Assertions.assertEquals(List.of(), segmenter.segment("", Segmenter.Mode.BACKWARD));
+    }
+
+    @Test
+    public void singleCharWord() {
+        // 单字的词与词典中不存在的单字得分相同时，输出词典中的词（值不为空）
+        Trie<Integer> dictionary = dictionary();
+        dictionary.put("我", 5);
+        for (Segmenter<Integer> segmenter : List.of(new Segmenter<>(dictionary), new Segmenter<>(dictionary, value -> 1.0))) {
+            for (Segmenter.Mode mode : Segmenter.Mode.values()) {
+                List<String> tokens = new ArrayList<>();
+                segmenter.segment("我研究", 0, 3, mode, (begin, end, value) -> tokens.add(begin + "-" + end + ":" + value));
+                Assertions.assertEquals(List.of("0-0:5", "1-2:100"), tokens, mode.name());
+            }
+        }
+    }
+
+    @Test
+    public void stop() {
+        Segmenter<Integer> segmenter = new Segmenter<>(dictionary(), Integer::doubleValue);
+        String text = "研究生命起源".repeat(2000);
+        for (Segmenter.Mode mode : Segmenter.Mode.values()) {
+            List<String> tokens = new ArrayList<>();
+            segmenter.segment(text, 3, text.length(), mode, (begin, end, value) -> tokens.add(text.substring(begin, end + 1)) && tokens.size() < 5);
+            Assertions.assertEquals(5, tokens.size());
+            Assertions.assertEquals("命", tokens.get(0));
+        }
+        // 停止后缓冲区已清空，可继续使用
+        Assertions.assertEquals(List.of("研究", "生命", "起源"), segmenter.segment("研究生命起源", Segmenter.Mode.BACKWARD));
+    }
+
+    @Test
+    public void boundedMemory() {
+        // 未匹配到词的长文本直接输出单字，不缓存
+        Segmenter<Integer> segmenter = new Segmenter<>(dictionary(), Integer::doubleValue);
+        String unmatched = "x".repeat(1_000_000) + "研究生命" + "y".repeat(1_000_000);
+        for (Segmenter.Mode mode : Segmenter.Mode.values()) {
+            int[] count = {0};
+            segmenter.segment(unmatched, 0, unmatched.length(), mode, (begin, end, value) -> ++count[0] > 0);
+            Assertions.assertEquals(2_000_002, count[0]);
+            Assertions.assertTrue(segmenter.capacity() < 1024);
+        }
+
+        // 词连续重叠、没有切分点的长文本被强制切分，结果仍覆盖全部字符
+        Trie<Integer> dictionary = new ConcurrentHashTrie<>();
+        dictionary.put("ab", 1);
+        dictionary.put("ba", 1);
+        String overlapped = "ab".repeat(300_000);
+        segmenter = new Segmenter<>(dictionary, Integer::doubleValue);
+        for (Segmenter.Mode mode : Segmenter.Mode.values()) {
+            int[] position = {0};
+            segmenter.segment(overlapped, 0, overlapped.length(), mode, (begin, end, value) -> {
+                Assertions.assertEquals(position[0], begin);
+                position[0] = end + 1;
+                return true;
+            });
+            Assertions.assertEquals(overlapped.length(), position[0]);
+            Assertions.assertTrue(segmenter.capacity() <= 2 * Segmenter.MAX_SEGMENT_LENGTH);
+        }
+    }
+
+    @Test
+    public void sameAsReference() {
+        // 长文本在切分点分段计算，结果应与整段计算的朴素实现相同
+        Random random = new Random(43);
+        Trie<Integer> dictionary = new ConcurrentHashTrie<>();
+        for (int i = 0; i < 300; i++) {
+            dictionary.put(randomString(random, 1 + random.nextInt(4)), 1 + random.nextInt(100));
+        }
+        String text = randomString(random, 30000);
+        Segmenter<Integer> segmenter = new Segmenter<>(dictionary, Integer::doubleValue);
+        Assertions.assertEquals(forward(dictionary, text), segmenter.segment(text, Segmenter.Mode.FORWARD));
+        Assertions.assertEquals(backward(dictionary, text), segmenter.segment(text, Segmenter.Mode.BACKWARD));
+        Assertions.assertEquals(maxProbability(dictionary, text), segmenter.segment(text, Segmenter.Mode.MAX_PROBABILITY));
+    }
+
+    private static List<String> forward(Trie<Integer> dictionary, String text) {
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < text.length(); ) {
+            int length = 1;
+            for (int j = Math.min(text.length(), i + dictionary.height()); j > i + 1; j--) {
+                if (dictionary.contains(text.substring(i, j))) {
+                    length = j - i;
+                    break;
+                }
+            }
+            words.add(text.substring(i, i + length));
+            i += length;
+        }
+        return words;
+    }
+
+    private static List<String> backward(Trie<Integer> dictionary, String text) {
+        List<String> words = new ArrayList<>();
+        for (int end = text.length(); end > 0; ) {
+            int length = 1;
+            for (int i = Math.max(0, end - dictionary.height()); i < end - 1; i++) {
+                if (dictionary.contains(text.substring(i, end))) {
+                    length = end - i;
+                    break;
+                }
+            }
+            words.add(0, text.substring(end - length, end));
+            end -= length;
+        }
+        return words;
+    }
+
+    private static List<String> maxProbability(Trie<Integer> dictionary, String text) {
+        double logTotal = Math.log(dictionary.values(Integer.MAX_VALUE).stream().mapToInt(Integer::intValue).sum());
+        int n = text.length();
+        double[] scores = new double[n + 1];
+        int[] routes = new int[n];
+        for (int i = n - 1; i >= 0; i--) {
+            scores[i] = -logTotal + scores[i + 1];
+            routes[i] = i + 1;
+            for (int j = i + 1; j <= Math.min(n, i + dictionary.height()); j++) {
+                Integer frequency = dictionary.get(text.substring(i, j));
+                if (frequency != null) {
+                    double score = Math.log(frequency) - logTotal + scores[j];
+                    if (score > scores[i] + 1e-9 || (score >= scores[i] - 1e-9 && j >= routes[i])) {
+                        scores[i] = score;
+                        routes[i] = j;
+                    }
+                }
+            }
+        }
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < n; i = routes[i]) {
+            words.add(text.substring(i, routes[i]));
+        }
+        return words;
+    }
+
+    private static String randomString(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(12));
+        }
+        return new String(chars);
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+public class ShardedTrieTest {
+
+    @Test
+    public void route() {
+        ShardedTrie<String> trie = new ShardedTrie<>(4);
+        Assertions.assertEquals(4, trie.shards());
+        trie.put("abc", "abc");
+        trie.put("bcd", "bcd");
+        trie.put("ab", "ab");
+        // 首字符相同的 key 位于同一分片
+        Assertions.assertEquals(trie.indexOf('a'), trie.indexOf("ab".charAt(0)));
+        Assertions.assertNotEquals(trie.indexOf('a'), trie.indexOf('b'));
+        Assertions.assertEquals(List.of("ab", "abc", "bcd"), trie.keys(Integer.MAX_VALUE));
+        Assertions.assertEquals(3, trie.height());
+        Assertions.assertEquals(3, trie.size());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ShardedTrie<String>(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> trie.put("", "a"));
+    }
+
+    @Test
+    public void normalizer() {
+        ShardedTrie<String> trie = new ShardedTrie<>(3, CharNormalizer.HALF_WIDTH_LOWER_CASE);
+        trie.put("ABC", "abc");
+        // 归一化后再路由：变体位于同一分片
+        Assertions.assertEquals("abc", trie.get("abc"));
+        Assertions.assertEquals("abc", trie.get("ＡＢＣ"));
+        Assertions.assertEquals(1, trie.match("xxAbCxx").size());
+        Assertions.assertEquals("abc", trie.remove("aBc"));
+        Assertions.assertTrue(trie.isEmpty());
+    }
+
+    @Test
+    public void sameAsTrie() {
+        // 与单个 ConcurrentHashTrie 比较：随机添加、删除之后，所有读操作的结果均应完全相同
+        sameAsTrie(new ShardedTrie<>(3));
+        sameAsTrie(new ShardedTrie<>(2, RadixTrie::new, CharNormalizer.IDENTITY, c -> c * 31 + 7));
+        sameAsTrie(new ShardedTrie<>(1));
+    }
+
+    private static void sameAsTrie(Trie<String> trie) {
+        Random random = new Random(29);
+        Trie<String> expected = new ConcurrentHashTrie<>();
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            String key = randomString(random, 1 + random.nextInt(10));
+            keys.add(key);
+            Assertions.assertEquals(expected.put(key, key + i), trie.put(key, key + i));
+        }
+        for (int i = 0; i < 2000; i++) {
+            String key = keys.get(random.nextInt(keys.size()));
+            Assertions.assertEquals(expected.remove(key), trie.remove(key));
+        }
+        TreeMap<String, String> map = new TreeMap<>();
+        for (int i = 0; i < 1000; i++) {
+            String key = randomString(random, 1 + random.nextInt(12));
+            map.put(key, key);
+        }
+        expected.putAll(map);
+        trie.putAll(map);
+
+        Assertions.assertEquals(expected.size(), trie.size());
+        Assertions.assertEquals(expected.height(), trie.height());
+        for (int depth = 0; depth <= 13; depth++) {
+            Assertions.assertEquals(expected.keys(depth), trie.keys(depth));
+            Assertions.assertEquals(expected.values(depth), trie.values(depth));
+            Assertions.assertEquals(expected.stream(depth).toList(), trie.stream(depth).toList());
+        }
+        List<String> firsts = new ArrayList<>();
+        trie.traversal(Integer.MAX_VALUE, (key, value) -> firsts.add(key) && firsts.size() < 10);
+        Assertions.assertEquals(expected.keys(Integer.MAX_VALUE).subList(0, 10), firsts);
+
+        for (int i = 0; i < 300; i++) {
+            String prefix = randomString(random, 1 + random.nextInt(5));
+            Assertions.assertEquals(expected.get(prefix), trie.get(prefix));
+            Assertions.assertEquals(expected.contains(prefix), trie.contains(prefix));
+            Assertions.assertEquals(expected.prefixMatch(prefix + prefix), trie.prefixMatch(prefix + prefix));
+            Assertions.assertEquals(expected.prefixMatch(prefix + prefix, false), trie.prefixMatch(prefix + prefix, false));
+            Assertions.assertEquals(expected.prefixMatchAll(prefix + prefix), trie.prefixMatchAll(prefix + prefix));
+            Assertions.assertEquals(expected.prefixMatchAll(prefix + prefix, 2), trie.prefixMatchAll(prefix + prefix, 2));
+            Assertions.assertEquals(expected.keyWithPrefix(prefix), trie.keyWithPrefix(prefix));
+            Assertions.assertEquals(expected.keysWithPrefix(prefix, 7, 3, false), trie.keysWithPrefix(prefix, 7, 3, false));
+            Assertions.assertEquals(expected.keysWithPrefix(prefix), trie.keysWithPrefix(prefix));
+            Assertions.assertEquals(expected.streamWithPrefix(prefix, 2).toList(), trie.streamWithPrefix(prefix, 2).toList());
+            for (int maxDistance = 0; maxDistance <= 2; maxDistance++) {
+                Assertions.assertEquals(expected.fuzzyMatch(prefix, maxDistance), trie.fuzzyMatch(prefix, maxDistance));
+                Assertions.assertEquals(expected.fuzzyMatch(prefix, maxDistance, 5), trie.fuzzyMatch(prefix, maxDistance, 5));
+            }
+        }
+
+        String text = randomString(random, 3000);
+        for (boolean longestMatch : new boolean[]{true, false}) {
+            for (boolean oneByOne : new boolean[]{true, false}) {
+                Assertions.assertEquals(expected.match(text, longestMatch, oneByOne), trie.match(text, longestMatch, oneByOne));
+                List<String> expectedStream = new ArrayList<>();
+                expected.match((CharSequence) text, 5, text.length(), longestMatch, oneByOne,
+                        (begin, end, value) -> expectedStream.add(begin + "-" + end + ":" + value));
+                List<String> actualStream = new ArrayList<>();
+                trie.match((CharSequence) text, 5, text.length(), longestMatch, oneByOne,
+                        (begin, end, value) -> actualStream.add(begin + "-" + end + ":" + value));
+                Assertions.assertEquals(expectedStream, actualStream);
+            }
+        }
+        for (boolean oneByOne : new boolean[]{true, false}) {
+            for (int maximum : new int[]{1, 100, Integer.MAX_VALUE}) {
+                Assertions.assertEquals(expected.matchAll(text, oneByOne, maximum), trie.matchAll(text, oneByOne, maximum));
+            }
+        }
+        Assertions.assertEquals(expected.matchAll(text), trie.matchAll(text));
+
+        trie.clear();
+        Assertions.assertTrue(trie.isEmpty());
+        Assertions.assertEquals(0, trie.height());
+        Assertions.assertEquals(List.of(), trie.keys(Integer.MAX_VALUE));
+    }
+
+    private static String randomString(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(4));
+        }
+        return new String(chars);
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+/**
+ * 比较有序数组节点与默认节点（链表 + AVL树）的内存占用和查找速度（中文词典）
+ *
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+@Disabled
+public class SortedArrayNodePerformanceTest {
+
+    @Test
+    public void heapAndGet() {
+        Random random = new Random(7);
+        TreeMap<String, String> treeMap = new TreeMap<>();
+        // 常用汉字约 3500 个，词长 2 ~ 4
+        while (treeMap.size() < 1000000) {
+            char[] chars = new char[2 + random.nextInt(3)];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = (char) (0x4E00 + (int) Math.abs(random.nextGaussian() * 1000) % 3500);
+            }
+            String key = new String(chars);
+            treeMap.put(key, key);
+        }
+        List<String> keys = new ArrayList<>(treeMap.keySet());
+        Collections.shuffle(keys, random);
+
+        heapAndGet("LinkedNode     \t", new ConcurrentHashTrie<>(), treeMap, keys);
+        heapAndGet("SortedArrayNode\t", ConcurrentHashTrie.sortedArray(), treeMap, keys);
+    }
+
+    private static void heapAndGet(String method, Trie<String> trie, TreeMap<String, String> treeMap, List<String> keys) {
+        long before = usedMemory();
+        long t1 = System.currentTimeMillis();
+        for (String key : keys) {
+            trie.put(key, key);
+        }
+        long t2 = System.currentTimeMillis();
+        long after = usedMemory();
+        System.out.println(method + "put:\t" + (t2 - t1) + "\theap(MB):\t" + ((after - before) >> 20));
+
+        for (int round = 0; round < 3; round++) {
+            long t3 = System.currentTimeMillis();
+            int found = 0;
+            for (String key : keys) {
+                if (trie.get(key) != null) {
+                    found++;
+                }
+            }
+            long t4 = System.currentTimeMillis();
+            System.out.println(method + "get:\t" + (t4 - t3));
+            Assertions.assertEquals(treeMap.size(), found);
+        }
+
+        long t7 = System.currentTimeMillis();
+        List<String> all = trie.keys(Integer.MAX_VALUE);
+        long t8 = System.currentTimeMillis();
+        System.out.println(method + "keys:\t" + (t8 - t7));
+        Assertions.assertEquals(treeMap.size(), all.size());
+
+        String text = String.join("", keys.subList(0, 200000));
+        long t5 = System.currentTimeMillis();
+        int size = trie.matchAll(text).size();
+        long t6 = System.currentTimeMillis();
+        System.out.println(method + "matchAll:\t" + (t6 - t5) + "\tfound:\t" + size);
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
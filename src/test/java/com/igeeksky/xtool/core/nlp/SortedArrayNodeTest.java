@@ -0,0 +1,193 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+/**
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+public class SortedArrayNodeTest {
+
+    private final SortedArrayNodeCreator<String> creator = new SortedArrayNodeCreator<>();
+    private final SortedArrayNodeConvertor<String> convertor = new SortedArrayNodeConvertor<>();
+
+    @Test
+    public void addChild() {
+        SortedArrayNode<String> parent = new SortedArrayNode<>('0');
+        String chars = "中文分词abc";
+        for (int i = 0; i < chars.length(); i++) {
+            Node<String> child = parent.addChild(chars.charAt(i), creator, convertor);
+            Assertions.assertSame(child, parent.addChild(chars.charAt(i), creator, convertor));
+        }
+        Assertions.assertEquals(chars.length(), parent.size());
+
+        // 子节点按字符升序排列
+        char[] sorted = chars.toCharArray();
+        Arrays.sort(sorted);
+        int i = 0;
+        for (Node<String> child : parent) {
+            Assertions.assertEquals(sorted[i++], child.c);
+            Assertions.assertSame(child, parent.findChild(child.c));
+        }
+        Assertions.assertEquals(sorted.length, i);
+        Assertions.assertNull(parent.findChild('d'));
+    }
+
+    @Test
+    public void deleteChild() {
+        SortedArrayNode<String> parent = new SortedArrayNode<>('0');
+        for (char c = 'a'; c <= 'z'; c++) {
+            parent.addChild(c, creator, convertor);
+        }
+        for (char c = 'a'; c <= 'z'; c += 2) {
+            parent.deleteChild(parent.findChild(c), convertor);
+        }
+        Assertions.assertEquals(13, parent.size());
+        for (char c = 'a'; c <= 'z'; c++) {
+            Node<String> child = parent.findChild(c);
+            if ((c - 'a') % 2 == 0) {
+                Assertions.assertNull(child);
+            } else {
+                Assertions.assertEquals(c, child.c);
+            }
+        }
+        for (char c = 'b'; c <= 'p'; c += 2) {
+            parent.deleteChild(parent.findChild(c), convertor);
+        }
+        // 空闲位置过多时缩容
+        Assertions.assertEquals(5, parent.size());
+        Assertions.assertEquals(5, parent.table.length);
+        Assertions.assertNull(parent.keys);
+        StringBuilder remaining = new StringBuilder();
+        parent.forEach(child -> remaining.append(child.c));
+        Assertions.assertEquals("rtvxz", remaining.toString());
+
+        for (char c = 'r'; c <= 'z'; c += 2) {
+            parent.deleteChild(parent.findChild(c), convertor);
+        }
+        Assertions.assertEquals(0, parent.size());
+        Assertions.assertNull(parent.table);
+        Assertions.assertNull(parent.findChild('b'));
+        Assertions.assertFalse(parent.iterator().hasNext());
+    }
+
+    @Test
+    public void presize() {
+        SortedArrayNode<String> parent = new SortedArrayNode<>('0');
+        parent.presize(3);
+        parent.addChild('c', creator, convertor);
+        parent.addChild('a', creator, convertor);
+        parent.addChild('b', creator, convertor);
+        Assertions.assertEquals(3, parent.table.length);
+        Assertions.assertNull(parent.keys);
+
+        parent = new SortedArrayNode<>('0');
+        parent.presize(20);
+        for (char c = 't'; c >= 'a'; c--) {
+            parent.addChild(c, creator, convertor);
+        }
+        Assertions.assertEquals(20, parent.table.length);
+        Assertions.assertEquals("abcdefghijklmnopqrst", new String(parent.keys));
+    }
+
+    @Test
+    public void scanToBinarySearch() {
+        // 子节点数量超过阈值时创建 keys，删除至阈值以下时移除 keys
+        SortedArrayNode<String> parent = new SortedArrayNode<>('0');
+        int threshold = TrieConstants.SORTED_ARRAY_SCAN_THRESHOLD;
+        for (int i = threshold; i >= 0; i--) {
+            parent.addChild((char) ('a' + i), creator, convertor);
+            Assertions.assertEquals(parent.size() > threshold, parent.keys != null);
+        }
+        for (int i = 0; i <= threshold; i++) {
+            Assertions.assertEquals((char) ('a' + i), parent.findChild((char) ('a' + i)).c);
+            Assertions.assertEquals((char) ('a' + i), parent.keys[i]);
+        }
+        Assertions.assertNull(parent.findChild('z'));
+        parent.deleteChild(parent.findChild('e'), convertor);
+        Assertions.assertNull(parent.findChild('e'));
+        Assertions.assertEquals('f', parent.findChild('f').c);
+        for (char c = 'a'; c <= 'f'; c++) {
+            Node<String> child = parent.findChild(c);
+            if (child != null) {
+                parent.deleteChild(child, convertor);
+            }
+        }
+        Assertions.assertEquals(threshold - 5, parent.size());
+        Assertions.assertNull(parent.keys);
+        Assertions.assertEquals('g', parent.findChild('g').c);
+    }
+
+    @Test
+    public void sameAsLinkedNode() {
+        // 与默认节点比较：随机增删 key 后，读操作的结果均应完全相同
+        Random random = new Random(31);
+        Trie<String> expected = new ConcurrentHashTrie<>();
+        Trie<String> trie = ConcurrentHashTrie.sortedArray();
+        TreeMap<String, String> map = new TreeMap<>();
+        for (int i = 0; i < 3000; i++) {
+            String key = randomString(random, 1 + random.nextInt(5));
+            map.put(key, key);
+        }
+        expected.putAll(map);
+        trie.putAll(map);
+        for (int i = 0; i < 20000; i++) {
+            String key = randomString(random, 1 + random.nextInt(5));
+            if (random.nextInt(3) == 0) {
+                Assertions.assertEquals(expected.remove(key), trie.remove(key));
+            } else {
+                Assertions.assertEquals(expected.put(key, key), trie.put(key, key));
+            }
+        }
+        Assertions.assertEquals(expected.size(), trie.size());
+        Assertions.assertEquals(expected.height(), trie.height());
+        Assertions.assertEquals(expected.keys(Integer.MAX_VALUE), trie.keys(Integer.MAX_VALUE));
+        for (int i = 0; i < 300; i++) {
+            String prefix = randomString(random, 1 + random.nextInt(3));
+            Assertions.assertEquals(expected.get(prefix), trie.get(prefix));
+            Assertions.assertEquals(expected.keysWithPrefix(prefix, 10, 3, false), trie.keysWithPrefix(prefix, 10, 3, false));
+            String text = randomString(random, 50);
+            Assertions.assertEquals(expected.matchAll(text), trie.matchAll(text));
+        }
+    }
+
+    @Test
+    public void sortedArrayWithNormalizer() {
+        ConcurrentHashTrie<String> trie = ConcurrentHashTrie.sortedArray(4, CharNormalizer.LOWER_CASE);
+        Assertions.assertSame(CharNormalizer.LOWER_CASE, trie.normalizer());
+        trie.put("ABC", "abc");
+        trie.put("abd", "abd");
+        Assertions.assertEquals("abc", trie.get("aBc"));
+        Assertions.assertEquals(List.of("abc", "abd"), trie.keys(10));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ConcurrentHashTrie.sortedArray(0, CharNormalizer.IDENTITY));
+    }
+
+    private static String randomString(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            // 包含较多的中文字符，使节点的子节点数量较多
+            chars[i] = (random.nextInt(4) == 0) ? (char) ('a' + random.nextInt(3)) : (char) (0x4E00 + random.nextInt(40));
+        }
+        return new String(chars);
+    }
+}
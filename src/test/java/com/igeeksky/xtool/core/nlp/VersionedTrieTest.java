@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 Patrick.lau All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.igeeksky.xtool.core.nlp;
+
+import com.igeeksky.xtool.core.tuple.Tuples;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author Patrick.Lau
+ * @since 1.2.1
+ */
+public class VersionedTrieTest {
+
+    @Test
+    public void updateAndReload() {
+        VersionedTrie<String> trie = new VersionedTrie<>();
+        Assertions.assertTrue(trie.isEmpty());
+        Assertions.assertEquals(0L, trie.version());
+
+        Assertions.assertNull(trie.put("abc", "abc"));
+        Assertions.assertEquals("abc", trie.put("abc", "ABC"));
+        Assertions.assertEquals(2L, trie.version());
+
+        Trie<String> snapshot = trie.snapshot();
+        trie.update(map -> {
+            map.put("ab", "ab");
+            map.put("bcd", "bcd");
+            map.remove("abc");
+        });
+        Assertions.assertEquals(3L, trie.version());
+        Assertions.assertEquals(List.of("ab", "bcd"), trie.keys(Integer.MAX_VALUE));
+        Assertions.assertEquals(List.of(Tuples.of("ab", "ab")), trie.keysWithPrefix("a"));
+        // 旧版本保持不变
+        Assertions.assertEquals(List.of("abc"), snapshot.keys(Integer.MAX_VALUE));
+        Assertions.assertEquals("ABC", snapshot.get("abc"));
+
+        Assertions.assertNull(trie.remove("abc"));
+        Assertions.assertEquals(3L, trie.version());
+        Assertions.assertEquals("bcd", trie.remove("bcd"));
+        Assertions.assertEquals(1, trie.size());
+
+        TreeMap<String, String> dictionary = new TreeMap<>();
+        dictionary.put("xyz", "xyz");
+        trie.reload(dictionary);
+        Assertions.assertEquals(List.of("xyz"), trie.keys(Integer.MAX_VALUE));
+        Assertions.assertEquals(1, trie.match("axyzb").size());
+
+        // 修改操作抛出异常时，不发布新版本
+        long version = trie.version();
+        Assertions.assertThrows(IllegalStateException.class, () -> trie.update(map -> {
+            map.clear();
+            throw new IllegalStateException();
+        }));
+        Assertions.assertEquals(version, trie.version());
+        Assertions.assertTrue(trie.contains("xyz"));
+
+        trie.clear();
+        Assertions.assertTrue(trie.isEmpty());
+    }
+
+    @Test
+    public void customBuilder() {
+        VersionedTrie<String> trie = new VersionedTrie<>(map -> {
+            ConcurrentHashTrie<String> version = new ConcurrentHashTrie<>(CharNormalizer.LOWER_CASE);
+            version.putAll(map);
+            return version;
+        });
+        trie.put("Java", "java");
+        Assertions.assertEquals("java", trie.get("JAVA"));
+        Assertions.assertEquals("java", trie.put("JAVA", "JAVA"));
+        Assertions.assertEquals(List.of("java"), trie.keys(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void consistentReads() throws InterruptedException {
+        // 每个版本要么同时包含全部 key，要么全部不包含：读线程不应读到修改了一半的词典
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            words.add("word" + i);
+        }
+        String text = String.join(" ", words);
+        VersionedTrie<String> trie = new VersionedTrie<>();
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger inconsistent = new AtomicInteger();
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                int count = trie.match(text, true, false).size();
+                if (count != 0 && count != words.size()) {
+                    inconsistent.incrementAndGet();
+                }
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 200; i++) {
+            boolean add = (i % 2 == 0);
+            trie.update(map -> words.forEach(word -> {
+                if (add) {
+                    map.put(word, word);
+                } else {
+                    map.remove(word);
+                }
+            }));
+        }
+        running.set(false);
+        reader.join();
+        Assertions.assertEquals(0, inconsistent.get());
+        Assertions.assertEquals(200L, trie.version());
+    }
+
+}